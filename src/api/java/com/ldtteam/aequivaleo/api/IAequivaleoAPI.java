@@ -3,6 +3,9 @@ package com.ldtteam.aequivaleo.api;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.ldtteam.aequivaleo.api.analysis.AnalysisState;
+import com.ldtteam.aequivaleo.api.analysis.IAnalysisMetrics;
+import com.ldtteam.aequivaleo.api.analysis.IAnalysisProgress;
+import com.ldtteam.aequivaleo.api.analysis.IAnalysisScheduler;
 import com.ldtteam.aequivaleo.api.compound.container.registry.ICompoundContainerFactoryManager;
 import com.ldtteam.aequivaleo.api.compound.information.ICompoundInformationRegistry;
 import com.ldtteam.aequivaleo.api.gameobject.equivalent.IGameObjectEquivalencyHandlerRegistry;
@@ -11,6 +14,7 @@ import com.ldtteam.aequivaleo.api.plugin.IAequivaleoPluginManager;
 import com.ldtteam.aequivaleo.api.recipe.IRecipeTypeProcessingRegistry;
 import com.ldtteam.aequivaleo.api.recipe.equivalency.IEquivalencyRecipeRegistry;
 import com.ldtteam.aequivaleo.api.recipe.equivalency.calculator.IRecipeCalculator;
+import com.ldtteam.aequivaleo.api.recipe.equivalency.ingredient.IIngredientCandidateInterner;
 import com.ldtteam.aequivaleo.api.recipe.equivalency.ingredient.data.IIngredientSerializerRegistry;
 import com.ldtteam.aequivaleo.api.results.IEquivalencyResults;
 import com.ldtteam.aequivaleo.api.results.IResultsAdapterHandlerRegistry;
@@ -154,6 +158,15 @@ public interface IAequivaleoAPI
      */
     IIngredientSerializerRegistry getIngredientSerializerRegistry();
 
+    /**
+     * Gives access to the interner which shares the candidate sets of structurally identical ingredients.
+     *
+     * @return The ingredient candidate interner.
+     */
+    default IIngredientCandidateInterner getIngredientCandidateInterner() {
+        return IIngredientCandidateInterner.UNSHARED;
+    }
+
     /**
      * Returns the aequivaleo mod container.
      * Allows for the creation of configurations in the name of aequivaleo by its plugins.
@@ -172,6 +185,29 @@ public interface IAequivaleoAPI
      */
     AnalysisState getState(final ResourceKey<Level> key);
 
+    /**
+     * Gives access to the timing and size metrics of the current, or last, reload of the analysis engine for a given world.
+     *
+     * @param key The registry key of the world to look up.
+     * @return The metrics of the reload.
+     */
+    IAnalysisMetrics getAnalysisMetrics(final ResourceKey<Level> key);
+
+    /**
+     * Gives access to the live progress of the analysis engine for a given world.
+     *
+     * @param key The registry key of the world to look up.
+     * @return The progress of the analysis.
+     */
+    IAnalysisProgress getAnalysisProgress(final ResourceKey<Level> key);
+
+    /**
+     * Gives access to the scheduler on which the analysis engine executes its work.
+     *
+     * @return The analysis scheduler.
+     */
+    IAnalysisScheduler getAnalysisScheduler();
+
     class Holder {
         private static IAequivaleoAPI apiInstance;
 
@@ -0,0 +1,63 @@
+package com.ldtteam.aequivaleo.api.analysis;
+
+/**
+ * The individual phases a reload of the analysis engine goes through, in order of execution.
+ */
+public enum AnalysisPhase
+{
+    /**
+     * Reading and parsing of the json data from the datapacks.
+     * This phase is shared between all worlds, all worlds report the same numbers for it.
+     */
+    DATA_PARSING,
+
+    /**
+     * Resetting the registries and bootstrapping tag, instanced and type wrapper information.
+     */
+    BOOTSTRAP,
+
+    /**
+     * Invoking the plugins so that they can register their recipes and information.
+     */
+    PLUGIN_RECIPE_COLLECTION,
+
+    /**
+     * Registering the parsed value, locking and recipe data of the datapacks into the registries of a world.
+     */
+    DATA_REGISTRATION,
+
+    /**
+     * Building the recipe graph from the registered recipes, and hashing it into the key of the results cache.
+     */
+    GRAPH_BUILD,
+
+    /**
+     * Detecting and reducing cliques in the recipe graph.
+     */
+    CLIQUE_REDUCTION,
+
+    /**
+     * Detecting and reducing cycles in the recipe graph.
+     */
+    CYCLE_REDUCTION,
+
+    /**
+     * Walking the reduced graph and calculating the values of each node.
+     */
+    BFS_ANALYSIS,
+
+    /**
+     * Publishing the calculated values into the results of the world.
+     */
+    RESULTS_PUBLISHING,
+
+    /**
+     * Reading or writing the results cache.
+     */
+    CACHE_IO,
+
+    /**
+     * Sending the results to the connected players.
+     */
+    NETWORK_SYNC
+}
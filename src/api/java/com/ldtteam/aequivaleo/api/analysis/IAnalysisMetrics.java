@@ -0,0 +1,102 @@
+package com.ldtteam.aequivaleo.api.analysis;
+
+import com.google.gson.JsonObject;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+
+/**
+ * Contains the timing and size metrics of a single reload of the analysis engine for a given world.
+ *
+ * Metrics are updated while the reload runs, so values of phases which did not run yet are 0.
+ */
+public interface IAnalysisMetrics
+{
+    /**
+     * The key of the world these metrics belong to.
+     *
+     * @return The world key.
+     */
+    ResourceKey<Level> getWorldKey();
+
+    /**
+     * The system time in milliseconds at which the reload started.
+     *
+     * @return The start time of the reload, 0 if no reload has been started for the world.
+     */
+    long getStartTime();
+
+    /**
+     * Indicates if the reload these metrics belong to has finished, regardless of whether it was successful or not.
+     *
+     * @return {@code True} when finished, {@code False} when not.
+     */
+    boolean isCompleted();
+
+    /**
+     * The wall clock time spent in a given phase.
+     *
+     * @param phase The phase in question.
+     * @return The time in nanoseconds.
+     */
+    long getWallTime(AnalysisPhase phase);
+
+    /**
+     * The cpu time spent in a given phase by the thread which drove the phase.
+     * Work which the phase hands off to the worker pools of the analysis is not included.
+     *
+     * @param phase The phase in question.
+     * @return The time in nanoseconds, or -1 if the JVM does not support the measurement of thread cpu time.
+     */
+    long getCpuTime(AnalysisPhase phase);
+
+    /**
+     * The amount of bytes allocated during a given phase by the thread which drove the phase.
+     * Allocations made by the worker pools of the analysis are not included.
+     *
+     * @param phase The phase in question.
+     * @return The amount of allocated bytes, or -1 if the JVM does not support the measurement of thread allocations.
+     */
+    long getAllocatedBytes(AnalysisPhase phase);
+
+    /**
+     * The wall clock time spent in all phases combined.
+     *
+     * @return The time in nanoseconds.
+     */
+    long getTotalWallTime();
+
+    /**
+     * The amount of nodes in the recipe graph, before it was reduced.
+     *
+     * @return The amount of nodes.
+     */
+    int getNodeCount();
+
+    /**
+     * The amount of edges in the recipe graph, before it was reduced.
+     *
+     * @return The amount of edges.
+     */
+    int getEdgeCount();
+
+    /**
+     * The amount of cliques which have been reduced in the recipe graph.
+     *
+     * @return The amount of cliques.
+     */
+    int getCliqueCount();
+
+    /**
+     * The amount of cycles which have been reduced in the recipe graph.
+     *
+     * @return The amount of cycles.
+     */
+    int getCycleCount();
+
+    /**
+     * Converts the metrics into json, for export or display purposes.
+     *
+     * @return The json representation of the metrics.
+     */
+    JsonObject toJson();
+}
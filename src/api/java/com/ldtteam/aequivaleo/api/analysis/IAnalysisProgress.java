@@ -0,0 +1,48 @@
+package com.ldtteam.aequivaleo.api.analysis;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Describes the live progress of the analysis engine for a given world.
+ *
+ * The values are updated from the analysis threads while they work, so consecutive calls may return
+ * values from different points in time. Callers which need a consistent view should poll periodically.
+ */
+public interface IAnalysisProgress
+{
+    /**
+     * The current state of the analysis engine for the world.
+     *
+     * @return The current state.
+     */
+    AnalysisState getState();
+
+    /**
+     * The phase the current, or last, reload of the world is in.
+     *
+     * @return The current phase, or {@code null} when no reload has been started yet.
+     */
+    @Nullable
+    AnalysisPhase getPhase();
+
+    /**
+     * The amount of work units which have been processed in the current phase.
+     *
+     * @return The amount of processed units.
+     */
+    long getProcessed();
+
+    /**
+     * The total amount of work units of the current phase.
+     *
+     * @return The total amount of units, or 0 if the phase does not know its amount of work upfront.
+     */
+    long getTotal();
+
+    /**
+     * Estimates the remaining time of the current phase, based on the throughput of the phase so far.
+     *
+     * @return The estimated remaining time in milliseconds, or -1 if no estimate can be made.
+     */
+    long getEstimatedRemainingTime();
+}
@@ -0,0 +1,66 @@
+package com.ldtteam.aequivaleo.api.analysis;
+
+import com.ldtteam.aequivaleo.api.IAequivaleoAPI;
+
+import java.util.Collection;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * The long-lived scheduler on which all work of the analysis engine is executed.
+ *
+ * Work is split over separate, bounded lanes, so that the analysis neither starves itself nor the common pool,
+ * which is used by the server and other mods. Plugins which want to process work in parallel during a reload
+ * should use this scheduler instead of parallel streams.
+ */
+public interface IAnalysisScheduler
+{
+    /**
+     * Gives access to the current instance of the scheduler.
+     *
+     * @return The scheduler.
+     */
+    static IAnalysisScheduler getInstance() {
+        return IAequivaleoAPI.getInstance().getAnalysisScheduler();
+    }
+
+    /**
+     * Gives access to the executor of a given lane.
+     *
+     * @param lane The lane.
+     * @return The executor which runs its tasks on the threads of the lane.
+     */
+    Executor getExecutor(final Lane lane);
+
+    /**
+     * Processes all elements in parallel on the given lane and blocks until all of them have been processed.
+     * Can safely be called from a thread of the same lane.
+     *
+     * @param lane The lane to process the elements on.
+     * @param elements The elements to process.
+     * @param consumer The callback which processes a single element.
+     * @param <T> The type of the elements.
+     */
+    <T> void forEach(final Lane lane, final Collection<T> elements, final Consumer<T> consumer);
+
+    /**
+     * The lanes of the scheduler.
+     */
+    enum Lane
+    {
+        /**
+         * Reading and parsing of data, as well as reading and writing of caches.
+         */
+        IO,
+
+        /**
+         * Collecting and converting recipes, for example during plugin callbacks.
+         */
+        RECIPE_COLLECTION,
+
+        /**
+         * Running the per world analysis and the steps following it.
+         */
+        ANALYSIS
+    }
+}
@@ -59,7 +59,7 @@ public final class CompoundInstance implements Comparable<CompoundInstance>
         if (o.getType() != getType())
             return getType().compareTo(o.getType());
 
-        return (int) (getAmount() - o.getAmount());
+        return Double.compare(getAmount(), o.getAmount());
     }
 
     @Override
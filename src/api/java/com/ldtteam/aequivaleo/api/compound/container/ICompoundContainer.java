@@ -41,6 +41,20 @@ public interface ICompoundContainer<T> extends Comparable<ICompoundContainer<?>>
         return false;
     }
 
+    /**
+     * A cheap 64-bit key, built from for example the registry name and a hash of the nbt of the content.
+     * It is used to build the sort keys of ingredients and recipes.
+     *
+     * Containers which compare as equal need to return the same key, as such the contents count should only
+     * be included when the comparison takes it into account. The default key is the same for all containers,
+     * which leaves the ordering to the full comparison.
+     *
+     * @return The sort key.
+     */
+    default long getSortKey() {
+        return 0L;
+    }
+
     /**
      * Gives access to the content as a filename.
      *
@@ -1,6 +1,7 @@
 package com.ldtteam.aequivaleo.api.compound.information.datagen;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.google.gson.Gson;
@@ -10,6 +11,8 @@ import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
 import com.ldtteam.aequivaleo.api.compound.container.registry.ICompoundContainerFactoryManager;
 import com.ldtteam.aequivaleo.api.compound.information.datagen.data.CompoundInstanceData;
 import com.ldtteam.aequivaleo.api.compound.information.datagen.data.CompoundInstanceRef;
+import com.ldtteam.aequivaleo.api.datagen.DataBundle;
+import com.ldtteam.aequivaleo.api.datagen.DataBundleWriter;
 import com.ldtteam.aequivaleo.api.util.Constants;
 import net.minecraft.data.HashCache;
 import net.minecraft.data.DataProvider;
@@ -23,7 +26,9 @@ import org.jetbrains.annotations.NotNull;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -94,7 +99,9 @@ public abstract class AbstractInformationProvider implements DataProvider
     {
         for (Path dataSavePath : getPathsToWrite(worldData.getPath()))
         {
-            for (Map.Entry<Set<ICompoundContainer<?>>, DataSpec> entry : worldData.getDataToWrite().entrySet())
+            final DataBundleWriter bundleWriter = shouldWriteBundle() ? new DataBundleWriter(gson, DataBundle.Kind.INFORMATION) : null;
+
+            for (Map.Entry<Set<ICompoundContainer<?>>, DataSpec> entry : getSortedDataToWrite(worldData))
             {
                 Set<ICompoundContainer<?>> containers = entry.getKey();
                 if (containers.isEmpty())
@@ -118,12 +125,13 @@ public abstract class AbstractInformationProvider implements DataProvider
                     spec.conditions
                     );
 
-                final String fileName = data.getContainers()
-                                          .stream()
-                                          .filter(ICompoundContainer::canBeLoadedFromDisk)
-                                          .map(ICompoundContainer::getContentAsFileName)
-                                          .findFirst()
-                                          .orElseThrow(() -> new IllegalStateException("Could not find disk loadable container, even though previous check passed!"));
+                if (bundleWriter != null)
+                {
+                    bundleWriter.writeInformation(data);
+                    continue;
+                }
+
+                final String fileName = getFileName(data);
 
                 final Path itemPath = dataSavePath.resolve(String.format("%s.json", fileName));
 
@@ -134,9 +142,53 @@ public abstract class AbstractInformationProvider implements DataProvider
                   itemPath
                 );
             }
+
+            if (bundleWriter != null && !bundleWriter.isEmpty())
+            {
+                bundleWriter.save(cache, dataSavePath.resolve(DataBundle.FILE_NAME));
+            }
         }
     }
 
+    /**
+     * Indicates if the data of each world should be compiled into a single binary {@link DataBundle},
+     * instead of a json file per entry. Bundles load considerably faster on servers with a lot of data.
+     *
+     * @return {@code True} to write a bundle, {@code False} to write json files.
+     */
+    protected boolean shouldWriteBundle()
+    {
+        return false;
+    }
+
+    private List<Map.Entry<Set<ICompoundContainer<?>>, DataSpec>> getSortedDataToWrite(final WorldData worldData)
+    {
+        if (!shouldWriteBundle())
+            return Lists.newArrayList(worldData.getDataToWrite().entrySet());
+
+        //Bundles are written in file name order, so that their content is stable between runs.
+        return worldData.getDataToWrite().entrySet()
+                 .stream()
+                 .filter(entry -> entry.getKey().stream().anyMatch(ICompoundContainer::canBeLoadedFromDisk))
+                 .sorted(Comparator.comparing(entry -> getFileName(entry.getKey())))
+                 .collect(Collectors.toList());
+    }
+
+    private static String getFileName(final CompoundInstanceData data)
+    {
+        return getFileName(data.getContainers());
+    }
+
+    private static String getFileName(final Set<ICompoundContainer<?>> containers)
+    {
+        return containers
+                 .stream()
+                 .filter(ICompoundContainer::canBeLoadedFromDisk)
+                 .map(ICompoundContainer::getContentAsFileName)
+                 .findFirst()
+                 .orElseThrow(() -> new IllegalStateException("Could not find disk loadable container, even though previous check passed!"));
+    }
+
     public abstract void calculateDataToSave();
 
     public SpecBuilder specFor(final Tag<?> tag) {
@@ -0,0 +1,50 @@
+package com.ldtteam.aequivaleo.api.datagen;
+
+/**
+ * Describes the binary data bundle format, a precompiled alternative to the json data files of a single data directory.
+ *
+ * A bundle is a gzip compressed stream with the following layout, all numbers are big endian:
+ *  - The {@link #MAGIC} and {@link #VERSION} as ints, followed by the ordinal of its {@link Kind} as a byte.
+ *  - The string table: An int count, followed by each string as an int byte length and its utf-8 bytes.
+ *  - The entries: An int count, followed by each entry.
+ *
+ * Registry names, modes and the json payloads of containers, ingredients and conditions are stored once in the
+ * string table, entries only reference them by their index. {@link #NO_REFERENCE} is used for absent strings.
+ *
+ * An information entry consists of: The conditions reference, the mode reference, an int count of target container
+ * references and an int count of compound type references, each followed by its amount as a double.
+ *
+ * A recipe entry consists of: The recipe name reference, the conditions reference and the int counted references of
+ * the input ingredients, the residue containers and the output containers.
+ */
+public final class DataBundle
+{
+    /**
+     * The extension of bundle files, they are read from the same directories as the json files they replace.
+     */
+    public static final String EXTENSION = ".aqbundle";
+
+    /**
+     * The name of the file written by the data generators.
+     */
+    public static final String FILE_NAME = "data" + EXTENSION;
+
+    public static final int MAGIC   = 0x41514244;
+    public static final int VERSION = 1;
+
+    public static final int NO_REFERENCE = -1;
+
+    private DataBundle()
+    {
+        throw new IllegalStateException("Tried to initialize: DataBundle but this is a Utility class.");
+    }
+
+    /**
+     * The kind of data stored in a bundle.
+     */
+    public enum Kind
+    {
+        INFORMATION,
+        RECIPES
+    }
+}
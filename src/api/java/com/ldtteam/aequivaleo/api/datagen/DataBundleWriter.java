@@ -0,0 +1,210 @@
+package com.ldtteam.aequivaleo.api.datagen;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
+import com.ldtteam.aequivaleo.api.compound.information.datagen.data.CompoundInstanceData;
+import com.ldtteam.aequivaleo.api.compound.information.datagen.data.CompoundInstanceRef;
+import com.ldtteam.aequivaleo.api.recipe.equivalency.data.GenericRecipeData;
+import com.ldtteam.aequivaleo.api.recipe.equivalency.ingredient.IRecipeIngredient;
+import net.minecraft.data.DataProvider;
+import net.minecraft.data.HashCache;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.common.crafting.CraftingHelper;
+import net.minecraftforge.common.crafting.conditions.ICondition;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compiles information or recipe data into a single {@link DataBundle}.
+ */
+public final class DataBundleWriter
+{
+    private final Gson             gson;
+    private final DataBundle.Kind  kind;
+    private final Map<String, Integer> stringIndices = Maps.newHashMap();
+    private final List<String>     strings       = Lists.newArrayList();
+    private final ByteArrayOutputStream entryBytes = new ByteArrayOutputStream();
+    private final DataOutputStream entries       = new DataOutputStream(entryBytes);
+    private int                    entryCount    = 0;
+
+    public DataBundleWriter(final Gson gson, final DataBundle.Kind kind)
+    {
+        this.gson = gson;
+        this.kind = kind;
+    }
+
+    /**
+     * Adds the given information to the bundle.
+     *
+     * @param data The information.
+     */
+    public void writeInformation(final CompoundInstanceData data)
+    {
+        checkKind(DataBundle.Kind.INFORMATION);
+
+        try
+        {
+            entries.writeInt(conditionsReference(data.getConditions()));
+            entries.writeInt(reference(data.getMode().name()));
+            writeContainers(data.getContainers());
+
+            entries.writeInt(data.getCompoundInstances().size());
+            for (final CompoundInstanceRef ref : data.getCompoundInstances())
+            {
+                entries.writeInt(reference(ref.getType().toString()));
+                entries.writeDouble(ref.getAmount());
+            }
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+
+        entryCount++;
+    }
+
+    /**
+     * Adds the given recipe to the bundle.
+     *
+     * @param name The name of the recipe.
+     * @param data The recipe.
+     */
+    public void writeRecipe(final ResourceLocation name, final GenericRecipeData data)
+    {
+        checkKind(DataBundle.Kind.RECIPES);
+
+        try
+        {
+            entries.writeInt(reference(name.toString()));
+            entries.writeInt(conditionsReference(data.getConditions()));
+
+            entries.writeInt(data.getInputs().size());
+            for (final IRecipeIngredient input : data.getInputs())
+            {
+                entries.writeInt(reference(gson.toJson(input, IRecipeIngredient.class)));
+            }
+
+            writeContainers(data.getRequiredKnownOutputs());
+            writeContainers(data.getOutputs());
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+
+        entryCount++;
+    }
+
+    /**
+     * Indicates if no entries have been added to the bundle.
+     *
+     * @return {@code True} when empty.
+     */
+    public boolean isEmpty()
+    {
+        return entryCount == 0;
+    }
+
+    /**
+     * Compiles the bundle.
+     *
+     * @return The compressed bundle.
+     * @throws IOException When compiling fails.
+     */
+    public byte[] toByteArray() throws IOException
+    {
+        final ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(result)))
+        {
+            out.writeInt(DataBundle.MAGIC);
+            out.writeInt(DataBundle.VERSION);
+            out.writeByte(kind.ordinal());
+
+            out.writeInt(strings.size());
+            for (final String string : strings)
+            {
+                final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+
+            entries.flush();
+            out.writeInt(entryCount);
+            entryBytes.writeTo(out);
+        }
+
+        return result.toByteArray();
+    }
+
+    /**
+     * Writes the bundle to the given path, if its content changed since the last run of the data generator.
+     *
+     * @param cache The cache of the data generator.
+     * @param path The path to write to.
+     * @throws IOException When writing fails.
+     */
+    public void save(final HashCache cache, final Path path) throws IOException
+    {
+        final byte[] bytes = toByteArray();
+        final String hash = DataProvider.SHA1.hashBytes(bytes).toString();
+        if (!Objects.equals(cache.getHash(path), hash) || !Files.exists(path))
+        {
+            Files.createDirectories(path.getParent());
+            Files.write(path, bytes);
+        }
+
+        cache.putNew(path, hash);
+    }
+
+    private void writeContainers(final Collection<ICompoundContainer<?>> containers) throws IOException
+    {
+        entries.writeInt(containers.size());
+        for (final ICompoundContainer<?> container : containers)
+        {
+            entries.writeInt(reference(gson.toJson(container, ICompoundContainer.class)));
+        }
+    }
+
+    private int conditionsReference(final Collection<ICondition> conditions)
+    {
+        if (conditions.isEmpty())
+            return DataBundle.NO_REFERENCE;
+
+        final JsonArray array = new JsonArray();
+        conditions.stream()
+          .sorted(Comparator.comparing(condition -> condition.getID().toString()))
+          .map(CraftingHelper::serialize)
+          .forEach(array::add);
+
+        return reference(gson.toJson(array));
+    }
+
+    private int reference(final String string)
+    {
+        return stringIndices.computeIfAbsent(string, key -> {
+            strings.add(key);
+            return strings.size() - 1;
+        });
+    }
+
+    private void checkKind(final DataBundle.Kind requiredKind)
+    {
+        if (kind != requiredKind)
+            throw new IllegalStateException(String.format("Can not write %s data into a %s bundle.", requiredKind, kind));
+    }
+}
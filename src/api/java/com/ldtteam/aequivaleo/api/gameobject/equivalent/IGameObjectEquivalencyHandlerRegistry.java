@@ -41,6 +41,44 @@ public interface IGameObjectEquivalencyHandlerRegistry
       final Predicate<ICompoundContainer<?>> canHandleRightPredicate,
       @NotNull final BiFunction<ICompoundContainer<L>, ICompoundContainer<R>, Optional<Boolean>> handler);
 
+    /**
+     * Registers a handler that can validate if two game objects contained in wrapper are actually equal to one another.
+     * The callback should not check the wrapper or the internal size of the game object.
+     *
+     * Unlike the predicate based variant, the handler is only ever considered for game objects which are instances of the given types,
+     * which allows the registry to skip it entirely for all other game objects.
+     *
+     * @param <L> The left type of game object that the handler can check.
+     * @param <R> The right type of game object that the handler can check.
+     * @param leftType The type of game object that can be handled by the left side of this handler.
+     * @param rightType The type of game object that can be handled by the right side of this handler.
+     * @param handler The callback to add to the registry, which can help with equivalency checking for game objects.
+     * @return The registry with the handler added.
+     */
+    <L, R> IGameObjectEquivalencyHandlerRegistry registerNewHandler(
+      @NotNull final Class<L> leftType,
+      @NotNull final Class<R> rightType,
+      @NotNull final BiFunction<ICompoundContainer<L>, ICompoundContainer<R>, Optional<Boolean>> handler);
+
+    /**
+     * Registers a handler that can validate if two game objects contained in wrapper are actually equal to one another.
+     * The callback should not check the wrapper or the internal size of the game object.
+     *
+     * @param <T> The type of game object that the handler can check.
+     * @param type The type of game object that can be handled by this handler.
+     * @param handler The callback to add to the registry, which can help with equivalency checking for game objects.
+     * @return The registry with the handler added.
+     */
+    default <T> IGameObjectEquivalencyHandlerRegistry registerNewHandler(
+      @NotNull final Class<T> type,
+      @NotNull final BiFunction<ICompoundContainer<T>, ICompoundContainer<T>, Optional<Boolean>> handler) {
+        return this.registerNewHandler(
+          type,
+          type,
+          handler
+        );
+    }
+
     /**
      * Registers a handler that can validate if two game objects contained in wrapper are actually equal to one another.
      * The callback should not check the wrapper or the internal size of the game object.
@@ -0,0 +1,112 @@
+package com.ldtteam.aequivaleo.api.mediation;
+
+import com.ldtteam.aequivaleo.api.compound.CompoundInstance;
+import com.ldtteam.aequivaleo.api.compound.type.ICompoundType;
+import com.ldtteam.aequivaleo.api.compound.type.group.ICompoundTypeGroup;
+
+import java.util.Set;
+
+/**
+ * Represents a single mediation procedure in the flat format used by {@link IBulkMediationEngine bulk engines}.
+ *
+ * The candidates are stored as rows of a flat amount array, with one column per compound type of the group.
+ * Compound types which a candidate does not contain are stored as {@link Double#NaN}.
+ */
+public interface IBulkMediationContext
+{
+
+    /**
+     * The group for which mediation is performed.
+     *
+     * @return The group.
+     */
+    ICompoundTypeGroup getGroup();
+
+    /**
+     * The amount of candidates, the rows of the {@link #getAmounts() amount array}.
+     *
+     * @return The amount of candidates.
+     */
+    int getCandidateCount();
+
+    /**
+     * The amount of compound types in the group, the columns of the {@link #getAmounts() amount array}.
+     *
+     * @return The amount of compound types.
+     */
+    int getTypeCount();
+
+    /**
+     * Gives access to the compound type of the given column.
+     *
+     * @param typeIndex The column.
+     * @return The compound type.
+     */
+    ICompoundType getType(final int typeIndex);
+
+    /**
+     * Gives access to the flat amount array, the amount of the type in column {@code t} of the candidate in row {@code c}
+     * is stored at {@code c * getTypeCount() + t}.
+     * The array is shared and must not be modified, it might be longer than the candidates require.
+     *
+     * @return The flat amount array.
+     */
+    double[] getAmounts();
+
+    /**
+     * Gives access to the amount of a single type of a candidate.
+     *
+     * @param candidateIndex The row of the candidate.
+     * @param typeIndex The column of the type.
+     * @return The amount, {@link Double#NaN} when the candidate does not contain the type.
+     */
+    default double getAmount(final int candidateIndex, final int typeIndex)
+    {
+        return getAmounts()[candidateIndex * getTypeCount() + typeIndex];
+    }
+
+    /**
+     * Gives access to the summed amount of all types of a candidate.
+     *
+     * @param candidateIndex The row of the candidate.
+     * @return The total amount.
+     */
+    default double getTotalAmount(final int candidateIndex)
+    {
+        double total = 0;
+        for (int typeIndex = 0; typeIndex < getTypeCount(); typeIndex++)
+        {
+            final double amount = getAmount(candidateIndex, typeIndex);
+            if (!Double.isNaN(amount))
+            {
+                total += amount;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Indicates if the source of the candidate is incomplete.
+     * See {@link IMediationCandidate#isSourceIncomplete()} for the exact definition.
+     *
+     * @param candidateIndex The row of the candidate.
+     * @return {@code True} when the source of the candidate was incomplete.
+     */
+    boolean isSourceIncomplete(final int candidateIndex);
+
+    /**
+     * Can be used to determine if the target nodes parents are all analyzed already.
+     * See {@link IMediationContext#areTargetParentsAnalyzed()} for the exact definition.
+     *
+     * @return {@code True} when all parents where analyzed, {@code False} when not.
+     */
+    boolean areTargetParentsAnalyzed();
+
+    /**
+     * Converts the given candidate back into compound instances.
+     *
+     * @param candidateIndex The row of the candidate.
+     * @return The compound instances of the candidate.
+     */
+    Set<CompoundInstance> getInstances(final int candidateIndex);
+}
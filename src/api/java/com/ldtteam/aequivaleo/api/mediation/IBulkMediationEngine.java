@@ -0,0 +1,28 @@
+package com.ldtteam.aequivaleo.api.mediation;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An optional extension of the {@link IMediationEngine} which mediates directly on the flat candidate data of the analysis engine.
+ * This allows common engines, like minimal value or first complete, to run without the creation of candidate objects.
+ *
+ * Engines implementing this interface are still required to implement the object based
+ * {@link #determineMediationResult(IMediationContext)}, which is used when the flat data is not available.
+ */
+public interface IBulkMediationEngine extends IMediationEngine
+{
+
+    /**
+     * Indicates that no candidate is selected, and that the target node has no value for the group.
+     */
+    int NO_RESULT = -1;
+
+    /**
+     * Invoked to select a unique and deterministic candidate in the case where
+     * multiple candidate values are present for a given node and a given compound type group.
+     *
+     * @param context The flat context.
+     * @return The row of the selected candidate, or {@link #NO_RESULT}.
+     */
+    int selectCandidate(@NotNull final IBulkMediationContext context);
+}
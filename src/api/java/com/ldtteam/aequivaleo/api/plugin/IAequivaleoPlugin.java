@@ -2,6 +2,7 @@ package com.ldtteam.aequivaleo.api.plugin;
 
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.world.level.Level;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
@@ -35,6 +36,15 @@ public interface IAequivaleoPlugin
      */
     default void onCommonSetup() {};
 
+    /**
+     * Called once per reload, before the data of any world is reloaded.
+     * Allows for work which is the same for all worlds, like converting the recipes of the servers recipe manager,
+     * to be done only once. The results can then be registered for each world in {@link #onReloadStartedFor(ServerLevel)}.
+     *
+     * @param server The server which is reloading its data.
+     */
+    default void onReloadStarted(final MinecraftServer server) {};
+
     /**
      * Called when the data for a world is being reloaded.
      * Allows for the registration of recipes.
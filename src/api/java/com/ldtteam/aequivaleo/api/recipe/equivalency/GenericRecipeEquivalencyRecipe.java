@@ -2,6 +2,7 @@ package com.ldtteam.aequivaleo.api.recipe.equivalency;
 
 import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
 import com.ldtteam.aequivaleo.api.recipe.equivalency.ingredient.IRecipeIngredient;
+import com.ldtteam.aequivaleo.api.util.SortKeys;
 import net.minecraft.resources.ResourceLocation;
 import org.apache.commons.lang3.Validate;
 
@@ -17,6 +18,9 @@ public class GenericRecipeEquivalencyRecipe implements IGenericRecipeEquivalency
     protected final SortedSet<ICompoundContainer<?>> requiredKnownOutputs;
     protected final SortedSet<ICompoundContainer<?>> outputs;
 
+    private volatile boolean sortKeyCalculated = false;
+    private long             sortKey;
+
     public GenericRecipeEquivalencyRecipe(
       final ResourceLocation recipeName, final Set<IRecipeIngredient> inputs, final Set<ICompoundContainer<?>> requiredKnownOutputs, final Set<ICompoundContainer<?>> outputs)
     {
@@ -44,6 +48,19 @@ public class GenericRecipeEquivalencyRecipe implements IGenericRecipeEquivalency
         return outputs;
     }
 
+    @Override
+    public long getSortKey()
+    {
+        //Calculated lazily, subclasses might provide their offset factor from their own fields.
+        if (!sortKeyCalculated)
+        {
+            sortKey = SortKeys.of(this);
+            sortKeyCalculated = true;
+        }
+
+        return sortKey;
+    }
+
     public ResourceLocation getRecipeName()
     {
         return recipeName;
@@ -2,6 +2,7 @@ package com.ldtteam.aequivaleo.api.recipe.equivalency;
 
 import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
 import com.ldtteam.aequivaleo.api.recipe.equivalency.ingredient.IRecipeIngredient;
+import com.ldtteam.aequivaleo.api.util.SortKeys;
 import com.ldtteam.aequivaleo.api.util.SortedSetComparator;
 import org.jetbrains.annotations.NotNull;
 
@@ -63,8 +64,24 @@ public interface IEquivalencyRecipe extends Comparable<IEquivalencyRecipe>
                  getOutputs().stream().allMatch(ICompoundContainer::isValid);
     }
 
+    /**
+     * A cheap 64-bit key which is used to order recipes before the full comparison is performed.
+     * Recipes which compare as equal need to return the same key.
+     *
+     * Implementations with immutable contents should calculate this once and cache it.
+     *
+     * @return The sort key.
+     */
+    default long getSortKey() {
+        return SortKeys.of(this);
+    }
+
     @Override
     default int compareTo(@NotNull IEquivalencyRecipe recipe) {
+        final int keyComparison = Long.compare(getSortKey(), recipe.getSortKey());
+        if (keyComparison != 0)
+            return keyComparison;
+
         final int inputComparison = SortedSetComparator.<IRecipeIngredient>getInstance().compare(getInputs(), recipe.getInputs());
         if (inputComparison != 0)
             return inputComparison;
@@ -77,6 +94,6 @@ public interface IEquivalencyRecipe extends Comparable<IEquivalencyRecipe>
         if (outputComparison != 0)
             return outputComparison;
 
-        return (int) (getOffsetFactor() - recipe.getOffsetFactor());
+        return Double.compare(getOffsetFactor(), recipe.getOffsetFactor());
     }
 }
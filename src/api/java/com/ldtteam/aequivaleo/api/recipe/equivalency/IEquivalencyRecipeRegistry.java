@@ -5,6 +5,8 @@ import net.minecraft.resources.ResourceKey;
 import net.minecraft.world.level.Level;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
+
 /**
  * A registry containing recipes which the analysis engine uses to determine how compounds are passed from inputs to outputs.
  */
@@ -30,4 +32,17 @@ public interface IEquivalencyRecipeRegistry
      */
     @NotNull
     IEquivalencyRecipeRegistry register(@NotNull final IEquivalencyRecipe recipe);
+
+    /**
+     * Adds all the given recipes to the registry at once.
+     *
+     * @param recipes The recipes to add.
+     * @return The registry with the recipes added.
+     */
+    @NotNull
+    default IEquivalencyRecipeRegistry registerAll(@NotNull final Collection<? extends IEquivalencyRecipe> recipes)
+    {
+        recipes.forEach(this::register);
+        return this;
+    }
 }
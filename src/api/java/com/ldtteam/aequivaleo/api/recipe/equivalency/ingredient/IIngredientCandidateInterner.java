@@ -0,0 +1,61 @@
+package com.ldtteam.aequivaleo.api.recipe.equivalency.ingredient;
+
+import com.ldtteam.aequivaleo.api.IAequivaleoAPI;
+import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Shares the candidate sets of structurally identical ingredients.
+ * When, and for how long, candidate sets are shared is decided by Aequivaleo itself, for example during a reload.
+ */
+public interface IIngredientCandidateInterner
+{
+    /**
+     * An interner which does not share any candidate sets, used when Aequivaleo is not available.
+     */
+    IIngredientCandidateInterner UNSHARED = new IIngredientCandidateInterner()
+    {
+        @NotNull
+        @Override
+        public SortedSet<ICompoundContainer<?>> intern(@NotNull final Set<ICompoundContainer<?>> candidates)
+        {
+            return Collections.unmodifiableSortedSet(new TreeSet<>(candidates));
+        }
+
+        @Override
+        public boolean isInterned(@NotNull final Set<ICompoundContainer<?>> candidates)
+        {
+            return false;
+        }
+    };
+
+    static IIngredientCandidateInterner getInstance() {
+        final IAequivaleoAPI api = IAequivaleoAPI.getInstance();
+        final IIngredientCandidateInterner interner = api == null ? null : api.getIngredientCandidateInterner();
+        return interner == null ? UNSHARED : interner;
+    }
+
+    /**
+     * Returns the immutable candidate set for the given candidates.
+     * The given candidates need to be valid already.
+     *
+     * @param candidates The candidates.
+     * @return The shared candidate set, or an immutable copy if candidate sets are not shared at the moment.
+     */
+    @NotNull
+    SortedSet<ICompoundContainer<?>> intern(@NotNull final Set<ICompoundContainer<?>> candidates);
+
+    /**
+     * Indicates if the given set is a candidate set which is currently shared.
+     * Such a set can be reused as is, without copying or validating it again.
+     *
+     * @param candidates The set to check.
+     * @return {@code True} when the set is shared.
+     */
+    boolean isInterned(@NotNull final Set<ICompoundContainer<?>> candidates);
+}
@@ -1,6 +1,7 @@
 package com.ldtteam.aequivaleo.api.recipe.equivalency.ingredient;
 
 import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
+import com.ldtteam.aequivaleo.api.util.SortKeys;
 import com.ldtteam.aequivaleo.api.util.SortedSetComparator;
 import org.jetbrains.annotations.NotNull;
 
@@ -38,14 +39,28 @@ public interface IRecipeIngredient extends Comparable<IRecipeIngredient>
      */
     Double getRequiredCount();
 
+    /**
+     * A cheap 64-bit key which is used to order ingredients before the full comparison is performed.
+     * Ingredients which compare as equal need to return the same key.
+     *
+     * @return The sort key.
+     */
+    default long getSortKey()
+    {
+        return SortKeys.of(this);
+    }
 
     @Override
     default int compareTo(@NotNull final IRecipeIngredient iRecipeIngredient)
     {
+        final int keyComparison = Long.compare(getSortKey(), iRecipeIngredient.getSortKey());
+        if (keyComparison != 0)
+            return keyComparison;
+
         final int candidateComparison = SortedSetComparator.<ICompoundContainer<?>>getInstance().compare(getCandidates(), iRecipeIngredient.getCandidates());
         if (candidateComparison != 0)
             return candidateComparison;
 
-        return (int) (getRequiredCount() - iRecipeIngredient.getRequiredCount());
+        return Double.compare(getRequiredCount(), iRecipeIngredient.getRequiredCount());
     }
 }
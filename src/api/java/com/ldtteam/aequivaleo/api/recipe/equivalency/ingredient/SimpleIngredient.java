@@ -1,6 +1,7 @@
 package com.ldtteam.aequivaleo.api.recipe.equivalency.ingredient;
 
 import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
+import com.ldtteam.aequivaleo.api.util.SortKeys;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
@@ -17,13 +18,27 @@ public class SimpleIngredient implements IRecipeIngredient
 
     private final SortedSet<ICompoundContainer<?>> candidates;
     private final double                           count;
+    private final long                             sortKey;
+    private final int                              hashCode;
 
     SimpleIngredient(final Set<ICompoundContainer<?>> candidates, final double count) {
-        this.candidates = candidates.stream().filter(ICompoundContainer::isValid).collect(Collectors.toCollection(TreeSet::new));
-        this.count = count;
+        final IIngredientCandidateInterner interner = IIngredientCandidateInterner.getInstance();
+        if (interner.isInterned(candidates))
+        {
+            //Shared candidate sets have already been validated.
+            this.candidates = interner.intern(candidates);
+        }
+        else
+        {
+            this.candidates = interner.intern(candidates.stream().filter(ICompoundContainer::isValid).collect(Collectors.toCollection(TreeSet::new)));
+
+            candidates.stream().filter(container -> !container.isValid())
+              .forEach(inValidContainer -> LOGGER.debug(String.format("Tried to add invalid container to ingredient: %s", inValidContainer)));
+        }
 
-        candidates.stream().filter(container -> !container.isValid())
-          .forEach(inValidContainer -> LOGGER.debug(String.format("Tried to add invalid container to ingredient: %s", inValidContainer)));
+        this.count = count;
+        this.sortKey = SortKeys.of(this);
+        this.hashCode = Objects.hash(this.candidates, count);
     }
 
     @Override
@@ -38,6 +53,12 @@ public class SimpleIngredient implements IRecipeIngredient
         return count;
     }
 
+    @Override
+    public long getSortKey()
+    {
+        return sortKey;
+    }
+
     @Override
     public boolean equals(final Object o)
     {
@@ -50,14 +71,15 @@ public class SimpleIngredient implements IRecipeIngredient
             return false;
         }
         final SimpleIngredient that = (SimpleIngredient) o;
-        return Double.compare(that.count, count) == 0 &&
-                 getCandidates().equals(that.getCandidates());
+        return hashCode == that.hashCode &&
+                 Double.compare(that.count, count) == 0 &&
+                 (getCandidates() == that.getCandidates() || getCandidates().equals(that.getCandidates()));
     }
 
     @Override
     public int hashCode()
     {
-        return Objects.hash(getCandidates(), count);
+        return hashCode;
     }
 
     @Override
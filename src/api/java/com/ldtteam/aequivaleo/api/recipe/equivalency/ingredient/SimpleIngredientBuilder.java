@@ -20,20 +20,20 @@ public class SimpleIngredientBuilder {
     }
 
     public SimpleIngredientBuilder from(final SortedSet<ICompoundContainer<?>> containers) {
+        //Shared candidate sets are immutable, and are passed on as is when no other candidates are set.
         this.candidates = containers;
         return this;
     }
 
     public SimpleIngredientBuilder withCandidate(final ICompoundContainer<?> container) {
-        this.candidates.clear();
+        this.candidates = Sets.newTreeSet();
         this.candidates.add(container);
         return this;
     }
 
     public SimpleIngredientBuilder withCandidates(final Set<ICompoundContainer<?>> candidates)
     {
-        this.candidates.clear();
-        this.candidates.addAll(candidates);
+        this.candidates = Sets.newTreeSet(candidates);
         return this;
     }
 
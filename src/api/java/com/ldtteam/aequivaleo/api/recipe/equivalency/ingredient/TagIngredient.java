@@ -2,6 +2,7 @@ package com.ldtteam.aequivaleo.api.recipe.equivalency.ingredient;
 
 import com.ldtteam.aequivaleo.api.IAequivaleoAPI;
 import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
+import com.ldtteam.aequivaleo.api.util.SortKeys;
 import net.minecraft.tags.Tag;
 import net.minecraft.tags.TagCollection;
 import net.minecraft.tags.StaticTagHelper;
@@ -21,6 +22,7 @@ public class TagIngredient implements IRecipeIngredient
     private final ResourceLocation tagName;
     private final SortedSet<ICompoundContainer<?>> containers;
     private final double count;
+    private final long sortKey;
 
     public TagIngredient(final ResourceLocation tagType, final ResourceLocation tagName, final double count) {
         this.tagType = tagType;
@@ -34,6 +36,8 @@ public class TagIngredient implements IRecipeIngredient
           .map(TagCollection::getAllTags)
           .filter(c -> c.containsKey(tagName))
           .ifPresent(t -> addContainersFrom(t.get(tagName)));
+
+        this.sortKey = SortKeys.of(this);
     }
 
     private void addContainersFrom(final Tag<?> tag)
@@ -55,6 +59,12 @@ public class TagIngredient implements IRecipeIngredient
         return count;
     }
 
+    @Override
+    public long getSortKey()
+    {
+        return sortKey;
+    }
+
     public ResourceLocation getTagType()
     {
         return tagType;
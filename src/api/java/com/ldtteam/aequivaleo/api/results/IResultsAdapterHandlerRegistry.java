@@ -37,4 +37,19 @@ public interface IResultsAdapterHandlerRegistry
      * @return The registry.
      */
     <T> IResultsAdapterHandlerRegistry registerHandler(final Predicate<Object> canHandlePredicate, final Function<T, Set<?>> alternativesProducer);
+
+    /**
+     * Method used to register a handler which looks up alternatives for objects of the given type if the objects
+     * results are not found in the results cache.
+     *
+     * Unlike the predicate based variant, the handler is only ever considered for instances of the given type,
+     * which allows the registry to skip it entirely for all other objects.
+     *
+     * @param type The type of the objects the handler can handle.
+     * @param alternativesProducer Producer which handles the calculation of alternatives from the given source object.
+     * @param <T> The type of the source object.
+     *
+     * @return The registry.
+     */
+    <T> IResultsAdapterHandlerRegistry registerHandler(final Class<T> type, final Function<T, Set<?>> alternativesProducer);
 }
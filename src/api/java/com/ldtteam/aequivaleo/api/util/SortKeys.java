@@ -0,0 +1,109 @@
+package com.ldtteam.aequivaleo.api.util;
+
+import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
+import com.ldtteam.aequivaleo.api.recipe.equivalency.IEquivalencyRecipe;
+import com.ldtteam.aequivaleo.api.recipe.equivalency.ingredient.IRecipeIngredient;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.Collection;
+
+/**
+ * Utilities to build the 64-bit sort keys of containers, ingredients and recipes.
+ *
+ * A sort key is a cheap, stable prefix of the full ordering: Two objects which compare as equal
+ * are required to have the same sort key, objects with different keys are ordered by their key alone.
+ * Keys are only built from registry names, content hashes and amounts, so they are identical between runs.
+ */
+public final class SortKeys
+{
+    private static final long MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private SortKeys()
+    {
+        throw new IllegalStateException("Tried to initialize: SortKeys but this is a Utility class.");
+    }
+
+    /**
+     * Combines the given key with the given value.
+     *
+     * @param key The current key.
+     * @param value The value to mix in.
+     * @return The combined key.
+     */
+    public static long mix(final long key, final long value)
+    {
+        final long combined = (key ^ value) * MULTIPLIER;
+        return combined ^ (combined >>> 29);
+    }
+
+    /**
+     * Combines the given key with the given amount.
+     * Amounts which are equal according to {@link Double#compare(double, double)} produce the same key.
+     *
+     * @param key The current key.
+     * @param amount The amount to mix in.
+     * @return The combined key.
+     */
+    public static long mix(final long key, final double amount)
+    {
+        return mix(key, Double.doubleToLongBits(amount));
+    }
+
+    /**
+     * Creates a key from a registry name and a secondary content hash.
+     *
+     * @param name The registry name of the content.
+     * @param contentHash A hash of the additional data of the content, for example its nbt.
+     * @return The key.
+     */
+    public static long of(final ResourceLocation name, final int contentHash)
+    {
+        return ((long) name.toString().hashCode() << 32) | (contentHash & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Creates the key of the given containers, in their iteration order.
+     *
+     * @param containers The containers.
+     * @return The key.
+     */
+    public static long ofContainers(final Collection<? extends ICompoundContainer<?>> containers)
+    {
+        long key = containers.size();
+        for (final ICompoundContainer<?> container : containers)
+        {
+            key = mix(key, container.getSortKey());
+        }
+        return key;
+    }
+
+    /**
+     * Creates the key of the given ingredient.
+     *
+     * @param ingredient The ingredient.
+     * @return The key.
+     */
+    public static long of(final IRecipeIngredient ingredient)
+    {
+        return mix(ofContainers(ingredient.getCandidates()), ingredient.getRequiredCount());
+    }
+
+    /**
+     * Creates the key of the given recipe.
+     *
+     * @param recipe The recipe.
+     * @return The key.
+     */
+    public static long of(final IEquivalencyRecipe recipe)
+    {
+        long key = recipe.getInputs().size();
+        for (final IRecipeIngredient input : recipe.getInputs())
+        {
+            key = mix(key, input.getSortKey());
+        }
+
+        key = mix(key, ofContainers(recipe.getRequiredKnownOutputs()));
+        key = mix(key, ofContainers(recipe.getOutputs()));
+        return mix(key, recipe.getOffsetFactor());
+    }
+}
@@ -0,0 +1,157 @@
+package com.ldtteam.aequivaleo.analyzer.benchmark;
+
+import com.ldtteam.aequivaleo.analyzer.JGraphTBasedCompoundAnalyzer;
+import com.ldtteam.aequivaleo.analyzer.jgrapht.BuildRecipeGraph;
+import com.ldtteam.aequivaleo.api.compound.CompoundInstance;
+import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
+import com.ldtteam.aequivaleo.utils.IOUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the individual phases of the analysis pipeline on synthetic recipe graphs.
+ *
+ * Every phase is measured separately, the graph state a phase requires is rebuilt before each invocation,
+ * since all phases after the graph creation mutate the graph or its nodes.
+ *
+ * Run via: {@code ./gradlew jmh -PjmhArgs="AnalysisPipelineBenchmark -p size=10000"}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AnalysisPipelineBenchmark
+{
+    @Param({"1000", "10000"})
+    public int size;
+
+    @Param({"3"})
+    public int fanIn;
+
+    @Param({"0.0", "0.05"})
+    public double cycleDensity;
+
+    @Param({"0.0", "0.2"})
+    public double cliqueDensity;
+
+    private ResourceKey<Level>           worldKey;
+    private JGraphTBasedCompoundAnalyzer analyzer;
+
+    private List<Map.Entry<ICompoundContainer<?>, Set<CompoundInstance>>> results;
+    private byte[] serializedResults;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setupTrial()
+    {
+        BenchmarkEnvironment.setup();
+
+        worldKey = BenchmarkEnvironment.createWorldKey(String.format("benchmark_%d_%d_%s_%s", size, fanIn, cycleDensity, cliqueDensity));
+        new SyntheticRecipeGraphGenerator(size, fanIn, cycleDensity, cliqueDensity, 42L).generate(worldKey);
+        analyzer = new JGraphTBasedCompoundAnalyzer(worldKey, true);
+
+        results = new ArrayList<>(analyzer.calculateAndGet().entrySet());
+
+        final ByteBuf buf = Unpooled.buffer();
+        IOUtils.writeCompoundDataEntries(new FriendlyByteBuf(buf), results);
+        serializedResults = new byte[buf.readableBytes()];
+        buf.readBytes(serializedResults);
+        buf.release();
+    }
+
+    @State(Scope.Thread)
+    public static class CliqueReductionState
+    {
+        BuildRecipeGraph graph;
+
+        @Setup(org.openjdk.jmh.annotations.Level.Invocation)
+        public void setup(final AnalysisPipelineBenchmark benchmark)
+        {
+            graph = benchmark.analyzer.createGraph();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class CycleReductionState
+    {
+        BuildRecipeGraph graph;
+
+        @Setup(org.openjdk.jmh.annotations.Level.Invocation)
+        public void setup(final AnalysisPipelineBenchmark benchmark)
+        {
+            graph = benchmark.analyzer.createGraph();
+            benchmark.analyzer.reduceCliques(graph.getRecipeGraph());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class AnalysisState
+    {
+        BuildRecipeGraph graph;
+
+        @Setup(org.openjdk.jmh.annotations.Level.Invocation)
+        public void setup(final AnalysisPipelineBenchmark benchmark)
+        {
+            graph = benchmark.analyzer.createGraph();
+            benchmark.analyzer.reduceCliques(graph.getRecipeGraph());
+            benchmark.analyzer.reduceCycles(graph.getRecipeGraph());
+            benchmark.analyzer.reconnectSourceNode(graph.getRecipeGraph(), graph.getSourceNode());
+        }
+    }
+
+    @Benchmark
+    public BuildRecipeGraph createGraph()
+    {
+        return analyzer.createGraph();
+    }
+
+    @Benchmark
+    public BuildRecipeGraph cliqueReduction(final CliqueReductionState state)
+    {
+        analyzer.reduceCliques(state.graph.getRecipeGraph());
+        return state.graph;
+    }
+
+    @Benchmark
+    public BuildRecipeGraph cycleReduction(final CycleReductionState state)
+    {
+        analyzer.reduceCycles(state.graph.getRecipeGraph());
+        return state.graph;
+    }
+
+    @Benchmark
+    public BuildRecipeGraph bfsAnalysis(final AnalysisState state)
+    {
+        analyzer.analyzeGraph(state.graph.getRecipeGraph(), state.graph.getSourceNode());
+        return state.graph;
+    }
+
+    @Benchmark
+    public void cacheWrite(final Blackhole blackhole)
+    {
+        final ByteBuf buf = Unpooled.buffer();
+        IOUtils.writeCompoundDataEntries(new FriendlyByteBuf(buf), results);
+        blackhole.consume(buf.readableBytes());
+        buf.release();
+    }
+
+    @Benchmark
+    public List<Map.Entry<ICompoundContainer<?>, Set<CompoundInstance>>> cacheRead()
+    {
+        final List<Map.Entry<ICompoundContainer<?>, Set<CompoundInstance>>> readResults = new ArrayList<>();
+        IOUtils.readCompoundData(new FriendlyByteBuf(Unpooled.wrappedBuffer(serializedResults)), readResults);
+        return readResults;
+    }
+}
@@ -0,0 +1,258 @@
+package com.ldtteam.aequivaleo.analyzer.benchmark;
+
+import com.google.common.collect.ImmutableList;
+import com.ldtteam.aequivaleo.Aequivaleo;
+import com.ldtteam.aequivaleo.api.compound.CompoundInstance;
+import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
+import com.ldtteam.aequivaleo.api.compound.container.factory.ICompoundContainerFactory;
+import com.ldtteam.aequivaleo.api.compound.type.ICompoundType;
+import com.ldtteam.aequivaleo.api.compound.type.group.ICompoundTypeGroup;
+import com.ldtteam.aequivaleo.api.mediation.IBulkMediationContext;
+import com.ldtteam.aequivaleo.api.mediation.IBulkMediationEngine;
+import com.ldtteam.aequivaleo.api.mediation.IMediationCandidate;
+import com.ldtteam.aequivaleo.api.mediation.IMediationContext;
+import com.ldtteam.aequivaleo.api.mediation.IMediationEngine;
+import com.ldtteam.aequivaleo.api.recipe.equivalency.IEquivalencyRecipe;
+import com.ldtteam.aequivaleo.api.util.Constants;
+import com.ldtteam.aequivaleo.api.util.ModRegistries;
+import com.ldtteam.aequivaleo.api.util.RegistryUtils;
+import com.ldtteam.aequivaleo.compound.container.registry.CompoundContainerFactoryManager;
+import com.ldtteam.aequivaleo.config.CommonConfiguration;
+import com.ldtteam.aequivaleo.config.Configuration;
+import com.ldtteam.aequivaleo.config.ServerConfiguration;
+import com.ldtteam.aequivaleo.testing.compound.container.testing.StringCompoundContainer;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.Level;
+import net.minecraftforge.common.ForgeConfigSpec;
+import net.minecraftforge.registries.ForgeRegistry;
+import net.minecraftforge.registries.ForgeRegistryEntry;
+import net.minecraftforge.registries.IForgeRegistry;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Field;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Sets up the minimal static environment (configuration, registries and factories) the analysis engine needs,
+ * without booting the game. Mirrors the mocking performed by the analyzer unit tests.
+ */
+public final class BenchmarkEnvironment
+{
+    private static boolean initialized = false;
+
+    private static ICompoundType compoundType;
+
+    private BenchmarkEnvironment()
+    {
+        throw new IllegalStateException("Can not instantiate an instance of: BenchmarkEnvironment. This is a utility class");
+    }
+
+    public static synchronized void setup()
+    {
+        if (initialized)
+            return;
+
+        setupConfiguration();
+        setupContainerFactories();
+        setupCompoundTypes();
+
+        initialized = true;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static ResourceKey<Level> createWorldKey(final String name)
+    {
+        final ResourceKey<Level> key = mock(ResourceKey.class);
+        when(key.location()).thenReturn(new ResourceLocation(Constants.MOD_ID, name));
+        return key;
+    }
+
+    public static CompoundInstance instance(final double amount)
+    {
+        return new CompoundInstance(compoundType, amount);
+    }
+
+    private static void setupConfiguration()
+    {
+        final Aequivaleo mod = mock(Aequivaleo.class);
+
+        final Configuration config = mock(Configuration.class);
+        final ForgeConfigSpec.BooleanValue alwaysFalseConfig = mock(ForgeConfigSpec.BooleanValue.class);
+        when(alwaysFalseConfig.get()).thenReturn(false);
+        final ForgeConfigSpec.IntValue cacheFileCount = mock(ForgeConfigSpec.IntValue.class);
+        when(cacheFileCount.get()).thenReturn(1);
+
+        final ServerConfiguration serverConfig = mock(ServerConfiguration.class);
+        serverConfig.exportGraph = alwaysFalseConfig;
+        serverConfig.writeResultsToLog = alwaysFalseConfig;
+        serverConfig.maxCacheFilesToKeep = cacheFileCount;
+        when(config.getServer()).thenReturn(serverConfig);
+
+        final CommonConfiguration commonConfiguration = mock(CommonConfiguration.class);
+        commonConfiguration.debugAnalysisLog = alwaysFalseConfig;
+        when(config.getCommon()).thenReturn(commonConfiguration);
+
+        when(mod.getConfiguration()).thenReturn(config);
+
+        try
+        {
+            final Field instanceField = Aequivaleo.class.getDeclaredField("INSTANCE");
+            instanceField.setAccessible(true);
+            instanceField.set(null, mod);
+        }
+        catch (NoSuchFieldException | IllegalAccessException e)
+        {
+            throw new IllegalStateException("Failed to inject the benchmark mod instance.", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void setupContainerFactories()
+    {
+        final ICompoundContainerFactory<String> factory = new SerializableStringContainerFactory();
+        final ForgeRegistry<ICompoundContainerFactory<?>> registry = mock(ForgeRegistry.class);
+        when(registry.iterator()).thenAnswer(invocation -> ImmutableList.<ICompoundContainerFactory<?>>of(factory).iterator());
+        when(registry.getID(any(ICompoundContainerFactory.class))).thenReturn(0);
+        when(registry.getValue(anyInt())).thenReturn(factory);
+
+        ModRegistries.CONTAINER_FACTORY = registry;
+        CompoundContainerFactoryManager.getInstance().bake();
+    }
+
+    private static void setupCompoundTypes()
+    {
+        final BenchmarkCompoundTypeGroup group = new BenchmarkCompoundTypeGroup();
+        group.setRegistryName(new ResourceLocation(Constants.MOD_ID, "benchmark"));
+
+        final BenchmarkCompoundType type = new BenchmarkCompoundType(group);
+        type.setRegistryName(new ResourceLocation(Constants.MOD_ID, "benchmark"));
+
+        final IForgeRegistry<ICompoundType> registry = RegistryUtils.makeRegistry("compound_type", ICompoundType.class).create();
+        registry.register(type);
+
+        ModRegistries.COMPOUND_TYPE = registry;
+        compoundType = type;
+    }
+
+    /**
+     * The string container factory from the test sources does not support the network format.
+     * The cache benchmarks need a real round trip, so this variant writes the string and count.
+     */
+    private static final class SerializableStringContainerFactory extends StringCompoundContainer.Factory
+    {
+        @Override
+        public void write(final ICompoundContainer<String> object, final FriendlyByteBuf buffer)
+        {
+            buffer.writeUtf(object.getContents());
+            buffer.writeDouble(object.getContentsCount());
+        }
+
+        @Override
+        public ICompoundContainer<String> read(final FriendlyByteBuf buffer)
+        {
+            return new StringCompoundContainer(buffer.readUtf(32767), buffer.readDouble());
+        }
+    }
+
+    private static final class BenchmarkCompoundType extends ForgeRegistryEntry<ICompoundType> implements ICompoundType
+    {
+        private final ICompoundTypeGroup group;
+
+        private BenchmarkCompoundType(final ICompoundTypeGroup group) {this.group = group;}
+
+        @Override
+        public ICompoundTypeGroup getGroup()
+        {
+            return group;
+        }
+    }
+
+    /**
+     * Selects the complete candidate with the minimal total value, supports both the object and the bulk mediation api.
+     */
+    private static final class MinimalValueMediationEngine implements IBulkMediationEngine
+    {
+        @NotNull
+        @Override
+        public Optional<Set<CompoundInstance>> determineMediationResult(@NotNull final IMediationContext context)
+        {
+            return context.getCandidates()
+                     .stream()
+                     .filter(candidate -> !candidate.getValues().isEmpty())
+                     .min(Comparator.comparing(IMediationCandidate::isSourceIncomplete)
+                            .thenComparingDouble(candidate -> candidate.getValues()
+                                                                .stream()
+                                                                .mapToDouble(CompoundInstance::getAmount)
+                                                                .sum()))
+                     .map(IMediationCandidate::getValues);
+        }
+
+        @Override
+        public int selectCandidate(@NotNull final IBulkMediationContext context)
+        {
+            int selected = NO_RESULT;
+            boolean selectedIncomplete = true;
+            double selectedTotal = Double.MAX_VALUE;
+            for (int candidate = 0; candidate < context.getCandidateCount(); candidate++)
+            {
+                final boolean incomplete = context.isSourceIncomplete(candidate);
+                final double total = context.getTotalAmount(candidate);
+                if (selected == NO_RESULT || (selectedIncomplete && !incomplete) || (selectedIncomplete == incomplete && total < selectedTotal))
+                {
+                    selected = candidate;
+                    selectedIncomplete = incomplete;
+                    selectedTotal = total;
+                }
+            }
+            return selected;
+        }
+    }
+
+    /**
+     * A group which behaves like the common "minimal value wins" groups of the dependent mods.
+     */
+    private static final class BenchmarkCompoundTypeGroup extends ForgeRegistryEntry<ICompoundTypeGroup> implements ICompoundTypeGroup
+    {
+        private static final IMediationEngine MEDIATION_ENGINE = new MinimalValueMediationEngine();
+
+        @NotNull
+        @Override
+        public IMediationEngine getMediationEngine()
+        {
+            return MEDIATION_ENGINE;
+        }
+
+        @Override
+        public boolean shouldIncompleteRecipeBeProcessed(@NotNull final IEquivalencyRecipe recipe)
+        {
+            return true;
+        }
+
+        @Override
+        public boolean canContributeToRecipeAsInput(final IEquivalencyRecipe recipe, final CompoundInstance compoundInstance)
+        {
+            return true;
+        }
+
+        @Override
+        public boolean canContributeToRecipeAsOutput(final IEquivalencyRecipe recipe, final CompoundInstance compoundInstance)
+        {
+            return true;
+        }
+
+        @Override
+        public boolean isValidFor(final ICompoundContainer<?> wrapper, final CompoundInstance compoundInstance)
+        {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.ldtteam.aequivaleo.analyzer.benchmark;
+
+import com.google.common.collect.ImmutableSet;
+import com.ldtteam.aequivaleo.analyzer.EquivalencyRecipeRegistry;
+import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
+import com.ldtteam.aequivaleo.api.recipe.equivalency.ingredient.IRecipeIngredient;
+import com.ldtteam.aequivaleo.api.recipe.equivalency.ingredient.SimpleIngredientBuilder;
+import com.ldtteam.aequivaleo.compound.information.CompoundInformationRegistry;
+import com.ldtteam.aequivaleo.testing.compound.container.testing.StringCompoundContainer;
+import com.ldtteam.aequivaleo.testing.recipe.equivalency.TestingEquivalencyRecipe;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+
+import java.util.*;
+
+/**
+ * Generates a deterministic, synthetic recipe graph into the registries of a given world.
+ *
+ * The generated graph consists of:
+ *  - A set of root items which have a value registered.
+ *  - One crafting recipe per none root item, whose inputs are picked from items with a lower index (a DAG).
+ *  - Optional reverse "compression" recipes which introduce cycles.
+ *  - Optional tags, whose members are connected to the tag container in both directions, forming cliques.
+ */
+public final class SyntheticRecipeGraphGenerator
+{
+    private static final int ROOT_ITEM_RATIO = 10;
+    private static final int TAG_SIZE        = 8;
+    private static final int COMPRESSION_FACTOR = 9;
+
+    private final int    size;
+    private final int    fanIn;
+    private final double cycleDensity;
+    private final double cliqueDensity;
+    private final long   seed;
+
+    /**
+     * Creates a new generator.
+     *
+     * @param size The amount of items in the graph.
+     * @param fanIn The amount of ingredients per crafting recipe.
+     * @param cycleDensity The chance (0-1) that a crafting recipe gets a reverse recipe, creating a cycle.
+     * @param cliqueDensity The fraction (0-1) of items which are part of a tag, creating a clique.
+     * @param seed The seed for the random generator, makes the graph reproducible.
+     */
+    public SyntheticRecipeGraphGenerator(final int size, final int fanIn, final double cycleDensity, final double cliqueDensity, final long seed)
+    {
+        this.size = size;
+        this.fanIn = fanIn;
+        this.cycleDensity = cycleDensity;
+        this.cliqueDensity = cliqueDensity;
+        this.seed = seed;
+    }
+
+    public void generate(final ResourceKey<Level> worldKey)
+    {
+        final Random random = new Random(seed);
+        final CompoundInformationRegistry informationRegistry = CompoundInformationRegistry.getInstance(worldKey);
+        final EquivalencyRecipeRegistry recipeRegistry = EquivalencyRecipeRegistry.getInstance(worldKey);
+
+        informationRegistry.reset();
+        recipeRegistry.reset();
+
+        final int rootCount = Math.max(1, size / ROOT_ITEM_RATIO);
+        for (int i = 0; i < rootCount; i++)
+        {
+            informationRegistry.registerValue(container(item(i), 1), ImmutableSet.of(BenchmarkEnvironment.instance(1 + random.nextInt(64))));
+        }
+
+        for (int i = rootCount; i < size; i++)
+        {
+            final Map<Integer, Integer> inputCounts = new TreeMap<>();
+            final int inputCount = Math.min(fanIn, i);
+            for (int j = 0; j < inputCount; j++)
+            {
+                inputCounts.merge(random.nextInt(i), 1 + random.nextInt(4), Integer::sum);
+            }
+
+            final Set<IRecipeIngredient> inputs = new HashSet<>();
+            inputCounts.forEach((input, count) -> inputs.add(ingredient(container(item(input), count))));
+
+            recipeRegistry.register(new TestingEquivalencyRecipe(
+              String.format("craft_%d", i),
+              inputs,
+              Collections.emptySet(),
+              ImmutableSet.of(container(item(i), 1 + random.nextInt(4)))
+            ));
+
+            if (random.nextDouble() < cycleDensity)
+            {
+                final int target = inputCounts.keySet().iterator().next();
+                recipeRegistry.register(new TestingEquivalencyRecipe(
+                  String.format("compress_%d_%d", i, target),
+                  ImmutableSet.of(ingredient(container(item(i), COMPRESSION_FACTOR))),
+                  Collections.emptySet(),
+                  ImmutableSet.of(container(item(target), 1))
+                ));
+            }
+        }
+
+        final int taggedItemCount = (int) (size * cliqueDensity);
+        for (int tag = 0; tag * TAG_SIZE < taggedItemCount; tag++)
+        {
+            final ICompoundContainer<?> tagContainer = container(String.format("tag_%d", tag), 1);
+            for (int member = 0; member < TAG_SIZE; member++)
+            {
+                final ICompoundContainer<?> memberContainer = container(item(random.nextInt(size)), 1);
+
+                recipeRegistry.register(new TestingEquivalencyRecipe(
+                  String.format("tag_%d_to_member_%d", tag, member),
+                  ImmutableSet.of(ingredient(tagContainer)),
+                  Collections.emptySet(),
+                  ImmutableSet.of(memberContainer)
+                ));
+                recipeRegistry.register(new TestingEquivalencyRecipe(
+                  String.format("member_%d_to_tag_%d", member, tag),
+                  ImmutableSet.of(ingredient(memberContainer)),
+                  Collections.emptySet(),
+                  ImmutableSet.of(tagContainer)
+                ));
+            }
+        }
+    }
+
+    private static String item(final int index)
+    {
+        return String.format("item_%d", index);
+    }
+
+    private static ICompoundContainer<?> container(final String name, final double count)
+    {
+        return new StringCompoundContainer(name, count);
+    }
+
+    private static IRecipeIngredient ingredient(final ICompoundContainer<?> container)
+    {
+        return new SimpleIngredientBuilder().from(container).createIngredient();
+    }
+}
@@ -7,12 +7,18 @@ import com.google.common.collect.Sets;
 import com.google.gson.Gson;
 import com.google.gson.JsonParseException;
 import com.ldtteam.aequivaleo.Aequivaleo;
+import com.ldtteam.aequivaleo.analyzer.metrics.AnalysisMetrics;
+import com.ldtteam.aequivaleo.analyzer.metrics.AnalysisMetricsManager;
+import com.ldtteam.aequivaleo.analyzer.metrics.PhaseTimer;
 import com.ldtteam.aequivaleo.api.IAequivaleoAPI;
+import com.ldtteam.aequivaleo.api.analysis.AnalysisPhase;
 import com.ldtteam.aequivaleo.api.analysis.AnalysisState;
+import com.ldtteam.aequivaleo.api.analysis.IAnalysisScheduler;
 import com.ldtteam.aequivaleo.api.compound.CompoundInstance;
 import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
 import com.ldtteam.aequivaleo.api.compound.information.ICompoundInformationRegistry;
 import com.ldtteam.aequivaleo.api.compound.information.datagen.data.CompoundInstanceData;
+import com.ldtteam.aequivaleo.api.datagen.DataBundle;
 import com.ldtteam.aequivaleo.api.recipe.equivalency.GenericRecipeEquivalencyRecipe;
 import com.ldtteam.aequivaleo.api.recipe.equivalency.IEquivalencyRecipe;
 import com.ldtteam.aequivaleo.api.recipe.equivalency.IEquivalencyRecipeRegistry;
@@ -20,17 +26,22 @@ import com.ldtteam.aequivaleo.api.recipe.equivalency.data.GenericRecipeData;
 import com.ldtteam.aequivaleo.api.util.Constants;
 import com.ldtteam.aequivaleo.api.util.GroupingUtils;
 import com.ldtteam.aequivaleo.bootstrap.WorldBootstrapper;
+import com.ldtteam.aequivaleo.compound.information.CompoundInformationRegistry;
 import com.ldtteam.aequivaleo.compound.data.serializers.CompoundInstanceDataSerializer;
 import com.ldtteam.aequivaleo.plugin.PluginManger;
 import com.ldtteam.aequivaleo.recipe.equivalency.RecipeCalculator;
 import com.ldtteam.aequivaleo.recipe.equivalency.data.GenericRecipeDataSerializer;
+import com.ldtteam.aequivaleo.recipe.equivalency.ingredient.IngredientCandidateInterner;
 import com.ldtteam.aequivaleo.results.EquivalencyResults;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.packs.resources.SimplePreparableReloadListener;
 import net.minecraft.util.profiling.ProfilerFiller;
 import net.minecraft.server.packs.resources.Resource;
 import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
 import net.minecraftforge.event.AddReloadListenerEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
@@ -39,14 +50,14 @@ import net.minecraftforge.fmlserverevents.FMLServerStartedEvent;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -90,177 +101,152 @@ public class AequivaleoReloadListener extends SimplePreparableReloadListener<Aeq
     private static DataDrivenData parseData(final ResourceManager resourceManager) {
         if (ServerLifecycleHooks.getCurrentServer() == null)
         {
-            return new DataDrivenData();
+            return new DataDrivenData(AnalysisGeneration.UNTRACKED, null);
         }
 
-        final Map<ResourceLocation, List<CompoundInstanceData>> valueData = new HashMap<>();
-        final Map<ResourceLocation, List<CompoundInstanceData>> lockedData = new HashMap<>();
-        final Map<ResourceLocation, List<IEquivalencyRecipe>> additionalRecipes = new HashMap<>();
+        final AnalysisGeneration generation = AnalysisGeneration.startNext(Aequivaleo.getInstance().getConfiguration().getServer().analysisTimeout.get());
+        LOGGER.info(String.format("Starting analysis generation: %d", generation.getId()));
+
+        //Ingredients parsed from data and converted from recipes share their candidate sets until the worlds are analyzed.
+        final IngredientCandidateInterner.Session internerSession = IngredientCandidateInterner.getInstance().startSession();
+
         final List<ServerLevel> worlds = Lists.newArrayList(ServerLifecycleHooks.getCurrentServer().getAllLevels());
+        worlds.forEach(world -> AnalysisStateManager.startProgress(world.dimension(), generation));
+        final List<AnalysisMetrics> metrics = worlds.stream().map(world -> AnalysisMetricsManager.startReload(world.dimension(), generation)).collect(Collectors.toList());
 
-        try {
+        try (PhaseTimer ignored = PhaseTimer.start(AnalysisPhase.DATA_PARSING, metrics)) {
             worlds.forEach(world -> AnalysisStateManager.setState(world.dimension(), AnalysisState.LOADING_DATA));
 
-            valueData.put(
-              GENERAL_DATA_NAME,
-              readInstanceData(
-                resourceManager,
-                "aequivaleo/value/general"
-              )
-            );
+            final DataDrivenData dataDrivenData = new DataDrivenData(generation, internerSession);
+
+            //All listings are gathered up front, in the same order in which the files used to be read.
+            final List<DataFile> files = Lists.newArrayList();
+            for (final DataType type : DataType.values())
+            {
+                collectDataFiles(resourceManager, type, null, dataDrivenData, files);
+
+                worlds.forEach(world -> {
+                    try {
+                        collectDataFiles(resourceManager, type, world, dataDrivenData, files);
+                    }
+                    catch (Exception ex) {
+                        LOGGER.error("Failed to list " + type.getDescription() + " data for: " + world.dimension(), ex);
+                        AnalysisStateManager.setState(world.dimension(), AnalysisState.ERRORED);
+                    }
+                });
+            }
 
-            worlds.forEach(world -> {
-                try {
-                    final String path = "aequivaleo/value/" + world.dimension().location().getNamespace() + "/" + world.dimension().location().getPath();
-
-                    valueData.put(
-                      world.dimension().location(),
-                      readInstanceData(
-                        resourceManager,
-                        path
-                      )
-                    );
-                }
-                catch (Exception ex) {
-                    LOGGER.error("Failed to load value data for: " + world.dimension(), ex);
-                    AnalysisStateManager.setState(world.dimension(), AnalysisState.ERRORED);
-                }
-            });
+            final Gson gson = IAequivaleoAPI.getInstance().getGson();
+            final Executor ioExecutor = AnalysisScheduler.getInstance().getExecutor(IAnalysisScheduler.Lane.IO);
+            final List<CompletableFuture<List<?>>> parsedFiles = files.stream()
+              .map(file -> CompletableFuture.<List<?>>supplyAsync(() -> file.parse(resourceManager, gson), ioExecutor))
+              .collect(Collectors.toList());
 
-            lockedData.put(
-              GENERAL_DATA_NAME,
-              readInstanceData(
-                resourceManager,
-                "aequivaleo/locked/general"
-              )
-            );
+            //The results are collected in listing order, which keeps the content of each bucket deterministic.
+            for (int i = 0; i < files.size(); i++)
+            {
+                final DataFile file = files.get(i);
+                final Map<ResourceLocation, List<Object>> buckets = dataDrivenData.getBuckets(file.getType());
+                if (!buckets.containsKey(file.getBucketName()))
+                    continue;
 
-            worlds.forEach(world -> {
                 try {
-                    final String path = "aequivaleo/locked/" + world.dimension().location().getNamespace() + "/" + world.dimension().location().getPath();
-
-                    lockedData.put(
-                      world.dimension().location(),
-                      readInstanceData(
-                        resourceManager,
-                        path
-                      )
-                    );
-                }
-                catch (Exception ex)
-                {
-                    LOGGER.error("Failed to load locking data for: " + world.dimension(), ex);
-                    AnalysisStateManager.setState(world.dimension(), AnalysisState.ERRORED);
+                    buckets.get(file.getBucketName()).addAll(parsedFiles.get(i).join());
                 }
-            });
+                catch (CompletionException ex) {
+                    if (file.getWorld() == null)
+                        throw ex;
 
-            additionalRecipes.put(
-              GENERAL_DATA_NAME,
-              readAdditionalRecipeData(
-                resourceManager,
-                "aequivaleo/recipes/general"
-              )
-            );
-
-            worlds.forEach(world -> {
-                try {
-                    final String path = "aequivaleo/recipes/" + world.dimension().location().getNamespace() + "/" + world.dimension().location().getPath();
-
-                    additionalRecipes.put(
-                      world.dimension().location(),
-                      readAdditionalRecipeData(
-                        resourceManager,
-                        path
-                      )
-                    );
-                }
-                catch (Exception ex)
-                {
-                    LOGGER.error("Failed to load additional recipe data for: " + world.dimension(), ex);
-                    AnalysisStateManager.setState(world.dimension(), AnalysisState.ERRORED);
+                    LOGGER.error("Failed to load " + file.getType().getDescription() + " data for: " + file.getWorld().dimension(), ex.getCause());
+                    AnalysisStateManager.setState(file.getWorld().dimension(), AnalysisState.ERRORED);
+                    buckets.remove(file.getBucketName());
                 }
-            });
+            }
 
-            final DataDrivenData dataDrivenData = new DataDrivenData();
-            dataDrivenData.valueData.putAll(valueData);
-            dataDrivenData.lockedData.putAll(lockedData);
-            dataDrivenData.dataDrivenRecipes.putAll(additionalRecipes);
             return dataDrivenData;
         }
         catch (Exception ex) {
             LOGGER.error("General failure occurred during loading of data.", ex);
             worlds.forEach(world -> AnalysisStateManager.setState(world.dimension(), AnalysisState.ERRORED));
-            return new DataDrivenData();
+            return new DataDrivenData(generation, internerSession);
         }
     }
 
+    private static void collectDataFiles(
+      @NotNull final ResourceManager resourceManager,
+      @NotNull final DataType type,
+      @Nullable final ServerLevel world,
+      @NotNull final DataDrivenData data,
+      @NotNull final List<DataFile> files)
+    {
+        final ResourceLocation bucketName = world == null ? GENERAL_DATA_NAME : world.dimension().location();
+        final String targetPath = world == null ?
+                                    type.getRootPath() + "/general" :
+                                    type.getRootPath() + "/" + bucketName.getNamespace() + "/" + bucketName.getPath();
+
+        final List<DataFile> bucketFiles = resourceManager.listResources(targetPath, s -> s.endsWith(JSON_EXTENSION) || s.endsWith(DataBundle.EXTENSION))
+                                             .stream()
+                                             .map(location -> new DataFile(type, bucketName, world, targetPath, location))
+                                             .collect(Collectors.toList());
+
+        data.getBuckets(type).put(bucketName, Lists.newArrayList());
+        files.addAll(bucketFiles);
+    }
+
     @NotNull
-    private static List<CompoundInstanceData> readInstanceData(@NotNull final ResourceManager resourceManager, @NotNull final String targetPath)  {
-        final List<CompoundInstanceData> collectedData = Lists.newArrayList();
+    private static CompoundInstanceData readInstanceData(@NotNull final ResourceManager resourceManager, @NotNull final Gson gson, @NotNull final String targetPath, @NotNull final ResourceLocation resourceLocation)  {
         final int targetPathLength = targetPath.length() + 1; //Account for the seperator.
 
-        final Gson gson = IAequivaleoAPI.getInstance().getGson();
-
-        resourceManager.listResources(targetPath, s -> s.endsWith(JSON_EXTENSION)).forEach(resourceLocation -> {
-            String locationPath = resourceLocation.getPath();
-            ResourceLocation resourceLocationWithoutExtension = new ResourceLocation(resourceLocation.getNamespace(), locationPath.substring(targetPathLength, locationPath.length() - JSON_EXTENSION_LENGTH));
-
-            try (
-              Resource iresource = resourceManager.getResource(resourceLocation);
-              InputStream inputstream = iresource.getInputStream();
-              Reader reader = new BufferedReader(new InputStreamReader(inputstream, StandardCharsets.UTF_8))
-            ) {
-                CompoundInstanceData data = gson.fromJson(reader, CompoundInstanceDataSerializer.HANDLED_TYPE);
-                if (data != null) {
-                    collectedData.add(data);
-                } else {
-                    LOGGER.error("Couldn't load data file {} from {} as it's null or empty", resourceLocationWithoutExtension, resourceLocation);
-                    throw new IllegalStateException("Empty data file.");
-                }
-            } catch (IllegalArgumentException | IOException | JsonParseException ex) {
-                LOGGER.error("Couldn't parse data file {} from {}", resourceLocationWithoutExtension, resourceLocation, ex);
-                throw new IllegalStateException("Parsing failure.", ex);
+        String locationPath = resourceLocation.getPath();
+        ResourceLocation resourceLocationWithoutExtension = new ResourceLocation(resourceLocation.getNamespace(), locationPath.substring(targetPathLength, locationPath.length() - JSON_EXTENSION_LENGTH));
+
+        try (
+          Resource iresource = resourceManager.getResource(resourceLocation);
+          InputStream inputstream = iresource.getInputStream();
+          Reader reader = new BufferedReader(new InputStreamReader(inputstream, StandardCharsets.UTF_8))
+        ) {
+            CompoundInstanceData data = gson.fromJson(reader, CompoundInstanceDataSerializer.HANDLED_TYPE);
+            if (data != null) {
+                return data;
+            } else {
+                LOGGER.error("Couldn't load data file {} from {} as it's null or empty", resourceLocationWithoutExtension, resourceLocation);
+                throw new IllegalStateException("Empty data file.");
             }
-        });
-
-        return collectedData;
+        } catch (IllegalArgumentException | IOException | JsonParseException ex) {
+            LOGGER.error("Couldn't parse data file {} from {}", resourceLocationWithoutExtension, resourceLocation, ex);
+            throw new IllegalStateException("Parsing failure.", ex);
+        }
     }
 
     @NotNull
-    private static List<IEquivalencyRecipe> readAdditionalRecipeData(@NotNull final ResourceManager resourceManager, @NotNull final String targetPath)  {
-        final List<IEquivalencyRecipe> collectedData = Lists.newArrayList();
+    private static Optional<IEquivalencyRecipe> readAdditionalRecipeData(@NotNull final ResourceManager resourceManager, @NotNull final Gson gson, @NotNull final String targetPath, @NotNull final ResourceLocation resourceLocation)  {
         final int targetPathLength = targetPath.length() + 1; //Account for the separator.
 
-        final Gson gson = IAequivaleoAPI.getInstance().getGson();
-
-        resourceManager.listResources(targetPath, s -> s.endsWith(JSON_EXTENSION)).forEach(resourceLocation -> {
-            String locationPath = resourceLocation.getPath();
-            ResourceLocation resourceLocationWithoutExtension = new ResourceLocation(resourceLocation.getNamespace(), locationPath.substring(targetPathLength, locationPath.length() - JSON_EXTENSION_LENGTH));
-
-            final ResourceLocation name = new ResourceLocation(resourceLocationWithoutExtension.getNamespace(), resourceLocationWithoutExtension.getPath().replace(targetPath, ""));
-
-            try (
-              Resource iresource = resourceManager.getResource(resourceLocation);
-              InputStream inputstream = iresource.getInputStream();
-              Reader reader = new BufferedReader(new InputStreamReader(inputstream, StandardCharsets.UTF_8))
-            ) {
-                GenericRecipeData data = gson.fromJson(reader, GenericRecipeDataSerializer.HANDLED_TYPE);
-                if (data != null) {
-                    if (data.getConditions().size() != 1 || data.getConditions().iterator().next().test())
-                        collectedData.add(new GenericRecipeEquivalencyRecipe(name, data.getInputs(), data.getRequiredKnownOutputs(), data.getOutputs()));
-                    else
-                        LOGGER.info("Skipping the load of file {} from {} its conditions indicate it is disabled.", resourceLocationWithoutExtension, resourceLocation);
-                } else {
-                    LOGGER.error("Couldn't load data file {} from {} as it's null or empty", resourceLocationWithoutExtension, resourceLocation);
-                    throw new IllegalStateException("Empty recipe file.");
-                }
-            } catch (IllegalArgumentException | IOException | JsonParseException ex) {
-                LOGGER.error("Couldn't parse data file {} from {}", resourceLocationWithoutExtension, resourceLocation, ex);
-                throw new IllegalStateException("Parsing failure.", ex);
+        String locationPath = resourceLocation.getPath();
+        ResourceLocation resourceLocationWithoutExtension = new ResourceLocation(resourceLocation.getNamespace(), locationPath.substring(targetPathLength, locationPath.length() - JSON_EXTENSION_LENGTH));
+
+        final ResourceLocation name = new ResourceLocation(resourceLocationWithoutExtension.getNamespace(), resourceLocationWithoutExtension.getPath().replace(targetPath, ""));
+
+        try (
+          Resource iresource = resourceManager.getResource(resourceLocation);
+          InputStream inputstream = iresource.getInputStream();
+          Reader reader = new BufferedReader(new InputStreamReader(inputstream, StandardCharsets.UTF_8))
+        ) {
+            GenericRecipeData data = gson.fromJson(reader, GenericRecipeDataSerializer.HANDLED_TYPE);
+            if (data != null) {
+                if (data.getConditions().size() != 1 || data.getConditions().iterator().next().test())
+                    return Optional.of(new GenericRecipeEquivalencyRecipe(name, data.getInputs(), data.getRequiredKnownOutputs(), data.getOutputs()));
+
+                LOGGER.info("Skipping the load of file {} from {} its conditions indicate it is disabled.", resourceLocationWithoutExtension, resourceLocation);
+                return Optional.empty();
+            } else {
+                LOGGER.error("Couldn't load data file {} from {} as it's null or empty", resourceLocationWithoutExtension, resourceLocation);
+                throw new IllegalStateException("Empty recipe file.");
             }
-        });
-
-        return collectedData;
+        } catch (IllegalArgumentException | IOException | JsonParseException ex) {
+            LOGGER.error("Couldn't parse data file {} from {}", resourceLocationWithoutExtension, resourceLocation, ex);
+            throw new IllegalStateException("Parsing failure.", ex);
+        }
     }
 
     private static void reloadResources(final DataDrivenData data, final boolean forceReload)
@@ -268,27 +254,31 @@ public class AequivaleoReloadListener extends SimplePreparableReloadListener<Aeq
         final Map<ResourceLocation, List<CompoundInstanceData>> valueData = data.valueData;
         final Map<ResourceLocation, List<CompoundInstanceData>> lockedData = data.lockedData;
         final Map<ResourceLocation, List<IEquivalencyRecipe>> additionalRecipes = data.dataDrivenRecipes;
+        final AnalysisGeneration generation = data.generation;
 
         if ((lockedData.isEmpty() && valueData.isEmpty()) || ServerLifecycleHooks.getCurrentServer() == null)
+        {
+            data.endInternerSession();
+            return;
+        }
+
+        if (generation.isSuperseded())
+        {
+            LOGGER.info(String.format("Skipping analysis generation: %d, it has already been superseded.", generation.getId()));
+            data.endInternerSession();
             return;
+        }
 
         final List<ServerLevel> worlds = Lists.newArrayList(ServerLifecycleHooks.getCurrentServer().getAllLevels());
 
         LOGGER.info("Analyzing information");
         try {
-            final ClassLoader classLoader = Aequivaleo.class.getClassLoader();
-            final AtomicInteger genericThreadCounter = new AtomicInteger();
-            final int maxThreadCount = Math.max(1, Math.max(4, Runtime.getRuntime().availableProcessors() - 2));
-            final ExecutorService aequivaleoReloadExecutor = Executors.newFixedThreadPool(maxThreadCount, runnable -> {
-                final Thread thread = new Thread(runnable);
-                thread.setContextClassLoader(classLoader);
-                thread.setName(String.format("Aequivaleo analysis runner: %s", genericThreadCounter.incrementAndGet()));
-                return thread;
-            });
+            final Executor analysisExecutor = AnalysisScheduler.getInstance().getExecutor(IAnalysisScheduler.Lane.ANALYSIS);
 
             RecipeCalculator.IngredientHandler.getInstance().reset();
 
-            CompletableFuture.allOf(worlds.stream()
+            CompletableFuture.runAsync(() -> runGlobalPluginCallbacks(ServerLifecycleHooks.getCurrentServer(), generation), analysisExecutor)
+              .thenComposeAsync(ignored -> CompletableFuture.allOf(worlds.stream()
                                       .map(world -> CompletableFuture.runAsync(
                                         new AequivaleoWorldAnalysisRunner(
                                           world,
@@ -298,27 +288,55 @@ public class AequivaleoReloadListener extends SimplePreparableReloadListener<Aeq
                                           lockedData.get(world.dimension().location()),
                                           additionalRecipes.get(GENERAL_DATA_NAME),
                                           additionalRecipes.get(world.dimension().location()),
-                                          forceReload),
-                                        aequivaleoReloadExecutor
-                                      )).toArray(CompletableFuture[]::new))
-              .thenRunAsync(() -> worlds.forEach(world -> AnalysisStateManager.setStateIfNotError(world.dimension(), AnalysisState.SYNCING)))
-              .thenRunAsync(EquivalencyResults::updateAllPlayers)
-              .thenRunAsync(() -> worlds.forEach(world -> AnalysisStateManager.setStateIfNotError(world.dimension(), AnalysisState.POST_PROCESSING)))
-              .thenRunAsync(() -> worlds.forEach(world -> PluginManger.getInstance().run(plugin -> plugin.onReloadFinishedFor(world))
-              ))
-              .thenRunAsync(() -> RecipeCalculator.IngredientHandler.getInstance().logErrors())
-              .thenRunAsync(() -> worlds.forEach(world -> AnalysisStateManager.setStateIfNotError(world.dimension(), AnalysisState.COMPLETED)))
-              .thenRunAsync(aequivaleoReloadExecutor::shutdown);
+                                          forceReload,
+                                          generation),
+                                        analysisExecutor
+                                      )).toArray(CompletableFuture[]::new)), analysisExecutor)
+              .whenComplete((ignored, throwable) -> data.endInternerSession())
+              .thenRunAsync(() -> generation.runIfNotSuperseded(() -> worlds.forEach(world -> AnalysisStateManager.setStateIfNotError(world.dimension(), AnalysisState.SYNCING))), analysisExecutor)
+              .thenRunAsync(() -> generation.runIfNotSuperseded(EquivalencyResults::updateAllPlayers), analysisExecutor)
+              .thenRunAsync(() -> generation.runIfNotSuperseded(() -> worlds.forEach(world -> AnalysisStateManager.setStateIfNotError(world.dimension(), AnalysisState.POST_PROCESSING))), analysisExecutor)
+              .thenRunAsync(() -> generation.runIfNotSuperseded(() -> worlds.forEach(world -> PluginManger.getInstance().runDuringReload(plugin -> plugin.onReloadFinishedFor(world))
+              )), analysisExecutor)
+              .thenRunAsync(() -> RecipeCalculator.IngredientHandler.getInstance().logErrors(), analysisExecutor)
+              .thenRunAsync(() -> generation.runIfNotSuperseded(() -> worlds.forEach(world -> AnalysisStateManager.setStateIfNotError(world.dimension(), AnalysisState.COMPLETED))), analysisExecutor)
+              .thenRunAsync(() -> generation.runIfNotSuperseded(() -> worlds.forEach(world -> AnalysisMetricsManager.completeReload(world.dimension()))), analysisExecutor);
         }
         catch (Exception ex)
         {
             LOGGER.error("General failure during setup of the async analysis engine", ex);
+            data.endInternerSession();
             worlds.forEach(world -> AnalysisStateManager.setState(world.dimension(), AnalysisState.ERRORED));
         }
     }
 
+    /**
+     * Gives the plugins a chance to prepare the data which is the same for all worlds, before the worlds are reloaded.
+     * A failure here does not prevent the worlds from being analyzed, they just miss the shared data of the failing plugin.
+     *
+     * @param server The server which is reloading.
+     * @param generation The generation of the reload.
+     */
+    private static void runGlobalPluginCallbacks(final MinecraftServer server, final AnalysisGeneration generation)
+    {
+        LOGGER.info("Invoking global plugin callbacks");
+        try {
+            generation.checkCancelled();
+            PluginManger.getInstance().runDuringReload(plugin -> plugin.onReloadStarted(server));
+        } catch (AnalysisCancelledException ex) {
+            LOGGER.info(String.format("Skipping global plugin callbacks of generation: %d, it has been cancelled.", generation.getId()));
+        } catch (Exception ex) {
+            LOGGER.error("Failed to invoke the global plugin callbacks.", ex);
+        }
+    }
+
     private static class AequivaleoWorldAnalysisRunner implements Runnable
     {
+        /**
+         * Only one generation may work on the registries of a world at a time.
+         * A superseded generation releases its world as soon as it notices its cancellation.
+         */
+        private static final Map<ResourceKey<Level>, Object> WORLD_LOCKS = Maps.newConcurrentMap();
 
         private final ServerLevel                serverWorld;
         private final List<CompoundInstanceData> valueGeneralData;
@@ -328,6 +346,7 @@ public class AequivaleoReloadListener extends SimplePreparableReloadListener<Aeq
         private final List<IEquivalencyRecipe> genericAdditionalRecipes;
         private final List<IEquivalencyRecipe> worldAdditionalRecipes;
         private final boolean                  forceReload;
+        private final AnalysisGeneration       generation;
 
         private AequivaleoWorldAnalysisRunner(
           final ServerLevel serverWorld,
@@ -337,7 +356,8 @@ public class AequivaleoReloadListener extends SimplePreparableReloadListener<Aeq
           final List<CompoundInstanceData> lockedWorldData,
           final List<IEquivalencyRecipe> genericAdditionalRecipes,
           final List<IEquivalencyRecipe> worldAdditionalRecipes,
-          final boolean forceReload)
+          final boolean forceReload,
+          final AnalysisGeneration generation)
         {
             this.valueGeneralData = valueGeneralData;
             this.valueWorldData = valueWorldData;
@@ -347,12 +367,16 @@ public class AequivaleoReloadListener extends SimplePreparableReloadListener<Aeq
             this.genericAdditionalRecipes = genericAdditionalRecipes;
             this.worldAdditionalRecipes = worldAdditionalRecipes;
             this.forceReload = forceReload;
+            this.generation = generation;
         }
 
         @Override
         public void run()
         {
-            reloadEquivalencyData();
+            synchronized (WORLD_LOCKS.computeIfAbsent(getServerWorld().dimension(), key -> new Object()))
+            {
+                reloadEquivalencyData();
+            }
         }
 
         private void reloadEquivalencyData()
@@ -362,68 +386,104 @@ public class AequivaleoReloadListener extends SimplePreparableReloadListener<Aeq
                 if (AnalysisStateManager.getState(getServerWorld().dimension()).isErrored())
                     return;
 
+                generation.checkCancelled();
                 WorldBootstrapper.onWorldReload(getServerWorld());
+                generation.checkCancelled();
 
-                final Map<Set<ICompoundContainer<?>>, Collection<CompoundInstanceData>> valueGeneralGroupedData = groupDataByContainer(valueGeneralData);
-                final Map<Set<ICompoundContainer<?>>, Collection<CompoundInstanceData>> valueWorldGroupedData = groupDataByContainer(valueWorldData);
-
-                final Map<Set<ICompoundContainer<?>>, Collection<CompoundInstanceData>> lockedGeneralGroupedData = groupDataByContainer(lockedGeneralData);
-                final Map<Set<ICompoundContainer<?>>, Collection<CompoundInstanceData>> lockedWorldGroupedData = groupDataByContainer(lockedWorldData);
+                final AnalysisMetrics metrics = AnalysisMetricsManager.getMetrics(getServerWorld().dimension(), generation);
+                try (PhaseTimer ignored = metrics.time(AnalysisPhase.DATA_REGISTRATION))
+                {
+                    final Map<Set<ICompoundContainer<?>>, Collection<CompoundInstanceData>> valueGeneralGroupedData = groupDataByContainer(valueGeneralData);
+                    final Map<Set<ICompoundContainer<?>>, Collection<CompoundInstanceData>> valueWorldGroupedData = groupDataByContainer(valueWorldData);
+
+                    final Map<Set<ICompoundContainer<?>>, Collection<CompoundInstanceData>> lockedGeneralGroupedData = groupDataByContainer(lockedGeneralData);
+                    final Map<Set<ICompoundContainer<?>>, Collection<CompoundInstanceData>> lockedWorldGroupedData = groupDataByContainer(lockedWorldData);
+
+                    final Map<ICompoundContainer<?>, Set<CompoundInstance>> valueTargetMap = Maps.newHashMap();
+                    final Map<ICompoundContainer<?>, Set<CompoundInstance>> lockedTargetMap = Maps.newHashMap();
+
+                    final Set<Set<ICompoundContainer<?>>> valueKeySets = ImmutableSet.<Set<ICompoundContainer<?>>>builder()
+                                                                       .addAll(valueGeneralGroupedData.keySet())
+                                                                       .addAll(valueWorldGroupedData.keySet())
+                                                                       .build();
+
+                    valueKeySets.forEach(container -> {
+                        valueGeneralGroupedData.getOrDefault(container, Sets.newHashSet()).stream().sorted(Comparator.comparingInt(compoundInstanceData -> compoundInstanceData.getMode()
+                                                                                                                                                              .ordinal())).forEachOrdered(
+                          compoundInstanceData -> compoundInstanceData.handle(valueTargetMap)
+                        );
+
+                        valueWorldGroupedData.getOrDefault(container, Sets.newHashSet()).stream().sorted(Comparator.comparingInt(compoundInstanceData -> compoundInstanceData.getMode()
+                                                                                                                                                            .ordinal())).forEachOrdered(
+                          compoundInstanceData -> compoundInstanceData.handle(valueTargetMap)
+                        );
+                    });
+
+                    final Set<Set<ICompoundContainer<?>>> lockedKeySets = ImmutableSet.<Set<ICompoundContainer<?>>>builder()
+                      .addAll(lockedGeneralGroupedData.keySet())
+                      .addAll(lockedWorldGroupedData.keySet())
+                      .build();
+
+                    lockedKeySets.forEach(container -> {
+                        lockedGeneralGroupedData.getOrDefault(container, Sets.newHashSet()).stream().sorted(Comparator.comparingInt(compoundInstanceData -> compoundInstanceData.getMode()
+                                                                                                                                                        .ordinal())).forEachOrdered(
+                            compoundInstanceData -> compoundInstanceData.handle(lockedTargetMap)
+                        );
 
-                final Map<ICompoundContainer<?>, Set<CompoundInstance>> valueTargetMap = Maps.newHashMap();
-                final Map<ICompoundContainer<?>, Set<CompoundInstance>> lockedTargetMap = Maps.newHashMap();
+                        lockedWorldGroupedData.getOrDefault(container, Sets.newHashSet()).stream().sorted(Comparator.comparingInt(compoundInstanceData -> compoundInstanceData.getMode()
+                                                                                                                                                        .ordinal())).forEachOrdered(
+                          compoundInstanceData -> compoundInstanceData.handle(lockedTargetMap)
+                        );
+                    });
 
-                final Set<Set<ICompoundContainer<?>>> valueKeySets = ImmutableSet.<Set<ICompoundContainer<?>>>builder()
-                                                                   .addAll(valueGeneralGroupedData.keySet())
-                                                                   .addAll(valueWorldGroupedData.keySet())
-                                                                   .build();
+                    valueTargetMap.forEach(ICompoundInformationRegistry.getInstance(getServerWorld().dimension())
+                                              ::registerValue);
 
-                valueKeySets.forEach(container -> {
-                    valueGeneralGroupedData.getOrDefault(container, Sets.newHashSet()).stream().sorted(Comparator.comparingInt(compoundInstanceData -> compoundInstanceData.getMode()
-                                                                                                                                                          .ordinal())).forEachOrdered(
-                      compoundInstanceData -> compoundInstanceData.handle(valueTargetMap)
-                    );
+                    lockedTargetMap.forEach(ICompoundInformationRegistry.getInstance(getServerWorld().dimension())
+                      ::registerLocking);
 
-                    valueWorldGroupedData.getOrDefault(container, Sets.newHashSet()).stream().sorted(Comparator.comparingInt(compoundInstanceData -> compoundInstanceData.getMode()
-                                                                                                                                                        .ordinal())).forEachOrdered(
-                      compoundInstanceData -> compoundInstanceData.handle(valueTargetMap)
-                    );
-                });
 
-                final Set<Set<ICompoundContainer<?>>> lockedKeySets = ImmutableSet.<Set<ICompoundContainer<?>>>builder()
-                  .addAll(lockedGeneralGroupedData.keySet())
-                  .addAll(lockedWorldGroupedData.keySet())
-                  .build();
-
-                lockedKeySets.forEach(container -> {
-                    lockedGeneralGroupedData.getOrDefault(container, Sets.newHashSet()).stream().sorted(Comparator.comparingInt(compoundInstanceData -> compoundInstanceData.getMode()
-                                                                                                                                                    .ordinal())).forEachOrdered(
-                        compoundInstanceData -> compoundInstanceData.handle(lockedTargetMap)
-                    );
-
-                    lockedWorldGroupedData.getOrDefault(container, Sets.newHashSet()).stream().sorted(Comparator.comparingInt(compoundInstanceData -> compoundInstanceData.getMode()
-                                                                                                                                                    .ordinal())).forEachOrdered(
-                      compoundInstanceData -> compoundInstanceData.handle(lockedTargetMap)
-                    );
-                });
+                    genericAdditionalRecipes.forEach(IEquivalencyRecipeRegistry.getInstance(getServerWorld().dimension())::register);
+                    worldAdditionalRecipes.forEach(IEquivalencyRecipeRegistry.getInstance(getServerWorld().dimension())::register);
 
-                valueTargetMap.forEach(ICompoundInformationRegistry.getInstance(getServerWorld().dimension())
-                                          ::registerValue);
+                    //The bootstrap is done, from here on out the analysis only reads the information.
+                    CompoundInformationRegistry.getInstance(getServerWorld().dimension()).freeze();
+                    EquivalencyRecipeRegistry.getInstance(getServerWorld().dimension()).freeze();
+                }
 
-                lockedTargetMap.forEach(ICompoundInformationRegistry.getInstance(getServerWorld().dimension())
-                  ::registerLocking);
+                generation.runIfCurrent(() -> AnalysisStateManager.setStateIfNotError(getServerWorld().dimension(), AnalysisState.PROCESSING));
 
+                JGraphTBasedCompoundAnalyzer analyzer = new JGraphTBasedCompoundAnalyzer(getServerWorld(), forceReload, true, generation);
+                final Map<ICompoundContainer<?>, Set<CompoundInstance>> results = analyzer.calculateAndGet();
 
-                genericAdditionalRecipes.forEach(IEquivalencyRecipeRegistry.getInstance(getServerWorld().dimension())::register);
-                worldAdditionalRecipes.forEach(IEquivalencyRecipeRegistry.getInstance(getServerWorld().dimension())::register);
+                final boolean[] published = new boolean[1];
+                generation.runIfCurrent(() -> {
+                    try (PhaseTimer ignored = metrics.time(AnalysisPhase.RESULTS_PUBLISHING))
+                    {
+                        published[0] = EquivalencyResults.getInstance(getServerWorld().dimension()).set(generation, results);
+                    }
+                });
 
-                AnalysisStateManager.setStateIfNotError(getServerWorld().dimension(), AnalysisState.PROCESSING);
+                if (!published[0])
+                    throw new AnalysisCancelledException(generation);
+            } catch (AnalysisCancelledException cancelledException) {
+                if (generation.isSuperseded())
+                {
+                    LOGGER.info(String.format("Aborted the analysis of: %s. %s", getServerWorld().dimension().location(), cancelledException.getMessage()));
+                    return;
+                }
 
-                JGraphTBasedCompoundAnalyzer analyzer = new JGraphTBasedCompoundAnalyzer(getServerWorld(), forceReload, true);
-                EquivalencyResults.getInstance(getServerWorld().dimension()).set(analyzer.calculateAndGet());
+                LOGGER.error(String.format("Failed to analyze: %s. %s", getServerWorld().dimension().location(), cancelledException.getMessage()));
+                generation.runIfNotSuperseded(() -> AnalysisStateManager.setState(getServerWorld().dimension(), AnalysisState.ERRORED));
             } catch (Throwable t) {
+                if (generation.isSuperseded())
+                {
+                    LOGGER.info(String.format("Aborted the analysis of: %s. It failed after being superseded.", getServerWorld().dimension().location()), t);
+                    return;
+                }
+
                 LOGGER.fatal(String.format("Failed to analyze: %s", getServerWorld().dimension().location()), t);
-                AnalysisStateManager.setState(getServerWorld().dimension(), AnalysisState.ERRORED);
+                generation.runIfNotSuperseded(() -> AnalysisStateManager.setState(getServerWorld().dimension(), AnalysisState.ERRORED));
             }
             LOGGER.info("Finished aequivaleo data reload for world: " + getServerWorld().dimension().location());
         }
@@ -446,9 +506,119 @@ public class AequivaleoReloadListener extends SimplePreparableReloadListener<Aeq
         }
     }
 
+    private enum DataType
+    {
+        VALUE("aequivaleo/value", "value"),
+        LOCKED("aequivaleo/locked", "locking"),
+        RECIPES("aequivaleo/recipes", "additional recipe");
+
+        private final String rootPath;
+        private final String description;
+
+        DataType(final String rootPath, final String description)
+        {
+            this.rootPath = rootPath;
+            this.description = description;
+        }
+
+        public String getRootPath()
+        {
+            return rootPath;
+        }
+
+        public String getDescription()
+        {
+            return description;
+        }
+    }
+
+    /**
+     * A single data file or data bundle of a datapack, which still needs to be parsed.
+     */
+    private static final class DataFile
+    {
+        private final DataType         type;
+        private final ResourceLocation bucketName;
+        @Nullable
+        private final ServerLevel      world;
+        private final String           targetPath;
+        private final ResourceLocation location;
+
+        private DataFile(
+          final DataType type,
+          final ResourceLocation bucketName,
+          @Nullable final ServerLevel world,
+          final String targetPath,
+          final ResourceLocation location)
+        {
+            this.type = type;
+            this.bucketName = bucketName;
+            this.world = world;
+            this.targetPath = targetPath;
+            this.location = location;
+        }
+
+        private List<?> parse(final ResourceManager resourceManager, final Gson gson)
+        {
+            if (location.getPath().endsWith(DataBundle.EXTENSION))
+                return DataBundleReader.read(resourceManager, gson, location, type == DataType.RECIPES ? DataBundle.Kind.RECIPES : DataBundle.Kind.INFORMATION);
+
+            if (type == DataType.RECIPES)
+                return readAdditionalRecipeData(resourceManager, gson, targetPath, location).map(Collections::singletonList).orElse(Collections.emptyList());
+
+            return Collections.singletonList(readInstanceData(resourceManager, gson, targetPath, location));
+        }
+
+        public DataType getType()
+        {
+            return type;
+        }
+
+        public ResourceLocation getBucketName()
+        {
+            return bucketName;
+        }
+
+        @Nullable
+        public ServerLevel getWorld()
+        {
+            return world;
+        }
+    }
+
     public static class DataDrivenData {
+        final AnalysisGeneration generation;
         final Map<ResourceLocation, List<CompoundInstanceData>> valueData = new HashMap<>();
         final Map<ResourceLocation, List<CompoundInstanceData>> lockedData = new HashMap<>();
         final Map<ResourceLocation, List<IEquivalencyRecipe>> dataDrivenRecipes = new HashMap<>();
+        @Nullable
+        final IngredientCandidateInterner.Session internerSession;
+
+        DataDrivenData(final AnalysisGeneration generation, @Nullable final IngredientCandidateInterner.Session internerSession)
+        {
+            this.generation = generation;
+            this.internerSession = internerSession;
+        }
+
+        private void endInternerSession()
+        {
+            if (internerSession != null)
+                IngredientCandidateInterner.getInstance().endSession(internerSession);
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Map<ResourceLocation, List<Object>> getBuckets(final DataType type)
+        {
+            switch (type)
+            {
+                case VALUE:
+                    return (Map) valueData;
+                case LOCKED:
+                    return (Map) lockedData;
+                case RECIPES:
+                default:
+                    return (Map) dataDrivenRecipes;
+            }
+        }
     }
 }
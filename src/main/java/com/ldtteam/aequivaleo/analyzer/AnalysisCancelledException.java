@@ -0,0 +1,20 @@
+package com.ldtteam.aequivaleo.analyzer;
+
+/**
+ * Thrown by the analysis engine when the generation it is running for has been cancelled.
+ */
+public class AnalysisCancelledException extends RuntimeException
+{
+    private final AnalysisGeneration generation;
+
+    public AnalysisCancelledException(final AnalysisGeneration generation)
+    {
+        super(String.format("Analysis generation %d has been %s.", generation.getId(), generation.isSuperseded() ? "superseded" : "timed out"));
+        this.generation = generation;
+    }
+
+    public AnalysisGeneration getGeneration()
+    {
+        return generation;
+    }
+}
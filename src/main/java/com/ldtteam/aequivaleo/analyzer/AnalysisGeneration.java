@@ -0,0 +1,180 @@
+package com.ldtteam.aequivaleo.analyzer;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Identifies a single reload of the analysis engine and acts as its cancellation token.
+ *
+ * Starting a new generation cancels the previous one. Long running parts of the analysis check their generation
+ * cooperatively and abort with an {@link AnalysisCancelledException} once it is cancelled or its time budget ran out.
+ * Anything which publishes results has to go through {@link #runIfCurrent(Runnable)}, so that a stale
+ * generation does not publish its data. Error and terminal states go through
+ * {@link #runIfNotSuperseded(Runnable)} instead, so that a generation which ran out of time still reports its outcome.
+ *
+ * The callbacks run without holding any lock, so starting a new generation never waits for an old one.
+ * Data which must never be replaced by an older generation is additionally guarded by {@link #claim(AtomicLong)}.
+ */
+public final class AnalysisGeneration
+{
+    /**
+     * A generation which is never cancelled and always allowed to publish.
+     * Used by analyses which are not driven by a reload, like tests and benchmarks.
+     */
+    public static final AnalysisGeneration UNTRACKED = new AnalysisGeneration(-1, 0);
+
+    private static final Object     LOCK    = new Object();
+    private static final AtomicLong COUNTER = new AtomicLong();
+
+    private static AnalysisGeneration current = null;
+
+    private final    long    id;
+    private final    long    deadline;
+    private volatile boolean superseded = false;
+
+    private AnalysisGeneration(final long id, final long deadline)
+    {
+        this.id = id;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Starts a new generation and cancels the currently running one, if any.
+     *
+     * @param timeoutInSeconds The time budget of the new generation, 0 or less for an unlimited budget.
+     * @return The new generation.
+     */
+    public static AnalysisGeneration startNext(final int timeoutInSeconds)
+    {
+        return startNext(timeoutInSeconds, TimeUnit.SECONDS);
+    }
+
+    @VisibleForTesting
+    static AnalysisGeneration startNext(final long timeout, final TimeUnit unit)
+    {
+        synchronized (LOCK)
+        {
+            if (current != null)
+            {
+                current.superseded = true;
+            }
+
+            final long deadline = timeout <= 0 ? 0 : System.nanoTime() + unit.toNanos(timeout);
+            current = new AnalysisGeneration(COUNTER.incrementAndGet(), deadline);
+            return current;
+        }
+    }
+
+    public long getId()
+    {
+        return id;
+    }
+
+    /**
+     * Indicates if a newer generation has been started.
+     *
+     * @return {@code True} when this generation is outdated.
+     */
+    public boolean isSuperseded()
+    {
+        return superseded;
+    }
+
+    /**
+     * Indicates if this generation ran out of its time budget.
+     *
+     * @return {@code True} when the time budget has been exceeded.
+     */
+    public boolean isTimedOut()
+    {
+        return deadline != 0 && System.nanoTime() - deadline > 0;
+    }
+
+    public boolean isCancelled()
+    {
+        return isSuperseded() || isTimedOut();
+    }
+
+    /**
+     * Aborts the current analysis if this generation has been cancelled.
+     *
+     * @throws AnalysisCancelledException When the generation is cancelled.
+     */
+    public void checkCancelled()
+    {
+        if (isCancelled())
+        {
+            throw new AnalysisCancelledException(this);
+        }
+    }
+
+    /**
+     * Advances the given stamp to this generation, unless it already holds a newer generation.
+     * Used to guard data which is replaced by each generation, so that a generation which got superseded
+     * while publishing can never replace the data of a newer one.
+     *
+     * @param stamp The id of the generation which last replaced the guarded data.
+     * @return {@code True} when this generation may replace the guarded data.
+     */
+    public boolean claim(final AtomicLong stamp)
+    {
+        if (this == UNTRACKED)
+            return true;
+
+        return stamp.getAndAccumulate(id, Math::max) <= id;
+    }
+
+    /**
+     * Runs the given callback, but only if this generation is still the current one and not cancelled.
+     * The callback runs outside of the lock, a newer generation may be started while it runs.
+     *
+     * @param runnable The callback to run.
+     * @return {@code True} when the callback was run.
+     */
+    public boolean runIfCurrent(final Runnable runnable)
+    {
+        return runIf(runnable, true);
+    }
+
+    /**
+     * Runs the given callback, but only if this generation is still the current one.
+     * Unlike {@link #runIfCurrent(Runnable)} this also runs the callback when the time budget has been exceeded,
+     * which allows a timed out generation to report its failure and finish its reload.
+     * The callback runs outside of the lock, a newer generation may be started while it runs.
+     *
+     * @param runnable The callback to run.
+     * @return {@code True} when the callback was run.
+     */
+    public boolean runIfNotSuperseded(final Runnable runnable)
+    {
+        return runIf(runnable, false);
+    }
+
+    private boolean runIf(final Runnable runnable, final boolean requireTimeBudget)
+    {
+        if (this == UNTRACKED)
+        {
+            runnable.run();
+            return true;
+        }
+
+        synchronized (LOCK)
+        {
+            if (current != this || isSuperseded() || (requireTimeBudget && isTimedOut()))
+                return false;
+        }
+
+        runnable.run();
+        return true;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "AnalysisGeneration{" +
+                 "id=" + id +
+                 '}';
+    }
+}
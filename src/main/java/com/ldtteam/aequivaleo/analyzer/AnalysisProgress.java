@@ -0,0 +1,120 @@
+package com.ldtteam.aequivaleo.analyzer;
+
+import com.ldtteam.aequivaleo.api.analysis.AnalysisPhase;
+import com.ldtteam.aequivaleo.api.analysis.AnalysisState;
+import com.ldtteam.aequivaleo.api.analysis.IAnalysisProgress;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The progress of the analysis of a single world during a single reload generation.
+ * Processed units are tracked in a striped counter so that they can be updated from the hot loops of the analysis.
+ */
+public class AnalysisProgress implements IAnalysisProgress
+{
+    private final ResourceKey<Level> worldKey;
+    private final AnalysisGeneration generation;
+
+    private volatile AnalysisPhase phase          = null;
+    private volatile long          phaseStartTime = 0;
+    private volatile long          total          = 0;
+    private final    LongAdder     processed      = new LongAdder();
+
+    AnalysisProgress(final ResourceKey<Level> worldKey, final AnalysisGeneration generation)
+    {
+        this.worldKey = worldKey;
+        this.generation = generation;
+    }
+
+    public AnalysisGeneration getGeneration()
+    {
+        return generation;
+    }
+
+    public void startPhase(final AnalysisPhase phase)
+    {
+        this.total = 0;
+        this.processed.reset();
+        this.phaseStartTime = System.nanoTime();
+        this.phase = phase;
+    }
+
+    public void setTotal(final long total)
+    {
+        this.total = total;
+    }
+
+    public void increment()
+    {
+        this.processed.increment();
+    }
+
+    /**
+     * Reports the amount of work which is left in the current phase.
+     * Used by phases which only learn how much work they have once they started, the first report determines the total.
+     * Only one thread may report the remaining work of a phase.
+     *
+     * @param remaining The amount of work which is left.
+     */
+    public void setRemaining(final long remaining)
+    {
+        if (remaining > this.total)
+            this.total = remaining;
+
+        this.processed.add((this.total - remaining) - this.processed.sum());
+    }
+
+    @Override
+    public AnalysisState getState()
+    {
+        return AnalysisStateManager.getState(worldKey);
+    }
+
+    @Nullable
+    @Override
+    public AnalysisPhase getPhase()
+    {
+        return phase;
+    }
+
+    @Override
+    public long getProcessed()
+    {
+        return processed.sum();
+    }
+
+    @Override
+    public long getTotal()
+    {
+        return total;
+    }
+
+    @Override
+    public long getEstimatedRemainingTime()
+    {
+        final long currentTotal = getTotal();
+        final long currentProcessed = getProcessed();
+        if (phase == null || currentTotal <= 0 || currentProcessed <= 0)
+            return -1;
+
+        final long elapsed = System.nanoTime() - phaseStartTime;
+        final long remainingUnits = Math.max(0, currentTotal - currentProcessed);
+        return TimeUnit.NANOSECONDS.toMillis((long) (elapsed * (remainingUnits / (double) currentProcessed)));
+    }
+
+    @Override
+    public String toString()
+    {
+        final long remaining = getEstimatedRemainingTime();
+        return String.format("%s (%s): %d/%d%s",
+          getState(),
+          phase == null ? "-" : phase.name().toLowerCase(),
+          getProcessed(),
+          getTotal(),
+          remaining < 0 ? "" : String.format(", ~%ds remaining", TimeUnit.MILLISECONDS.toSeconds(remaining)));
+    }
+}
@@ -0,0 +1,114 @@
+package com.ldtteam.aequivaleo.analyzer;
+
+import com.ldtteam.aequivaleo.Aequivaleo;
+import com.ldtteam.aequivaleo.api.analysis.IAnalysisScheduler;
+import com.ldtteam.aequivaleo.config.CommonConfiguration;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * The scheduler of the analysis engine.
+ *
+ * Each lane is backed by its own long-lived {@link ForkJoinPool}, which is created on first use with the thread count
+ * and priority from the common configuration. Parallel streams started from within a lane run on that lane instead of
+ * the common pool.
+ */
+public final class AnalysisScheduler implements IAnalysisScheduler
+{
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final AnalysisScheduler INSTANCE = new AnalysisScheduler();
+
+    public static AnalysisScheduler getInstance()
+    {
+        return INSTANCE;
+    }
+
+    private final Map<Lane, ForkJoinPool> lanes = new EnumMap<>(Lane.class);
+
+    private AnalysisScheduler()
+    {
+    }
+
+    @Override
+    public Executor getExecutor(final Lane lane)
+    {
+        return getPool(lane);
+    }
+
+    @Override
+    public <T> void forEach(final Lane lane, final Collection<T> elements, final Consumer<T> consumer)
+    {
+        final ForkJoinPool pool = getPool(lane);
+        if (ForkJoinTask.getPool() == pool)
+        {
+            //Already on the lane, the parallel stream will use its pool.
+            elements.parallelStream().forEach(consumer);
+            return;
+        }
+
+        pool.submit(() -> elements.parallelStream().forEach(consumer)).join();
+    }
+
+    private ForkJoinPool getPool(final Lane lane)
+    {
+        synchronized (lanes)
+        {
+            return lanes.computeIfAbsent(lane, AnalysisScheduler::createPool);
+        }
+    }
+
+    private static ForkJoinPool createPool(final Lane lane)
+    {
+        final CommonConfiguration configuration = Aequivaleo.getInstance().getConfiguration().getCommon();
+        final int threadCount = getThreadCount(lane, configuration);
+        final int priority = configuration.analysisThreadPriority.get();
+        final ClassLoader classLoader = Aequivaleo.class.getClassLoader();
+        final String laneName = lane.name().toLowerCase().replace('_', ' ');
+        final AtomicInteger threadCounter = new AtomicInteger();
+
+        LOGGER.info(String.format("Creating the %s lane of the analysis scheduler with %d threads.", laneName, threadCount));
+        return new ForkJoinPool(
+          threadCount,
+          pool -> {
+              final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+              thread.setContextClassLoader(classLoader);
+              thread.setName(String.format("Aequivaleo %s runner: %s", laneName, threadCounter.incrementAndGet()));
+              thread.setPriority(priority);
+              return thread;
+          },
+          (thread, throwable) -> LOGGER.error(String.format("Uncaught exception in: %s", thread.getName()), throwable),
+          false
+        );
+    }
+
+    private static int getThreadCount(final Lane lane, final CommonConfiguration configuration)
+    {
+        final int processors = Runtime.getRuntime().availableProcessors();
+        switch (lane)
+        {
+            case IO:
+                return configuredOrDefault(configuration.ioThreadCount.get(), Math.min(4, Math.max(1, processors / 2)));
+            case RECIPE_COLLECTION:
+                return configuredOrDefault(configuration.recipeCollectionThreadCount.get(), Math.max(1, processors - 2));
+            case ANALYSIS:
+            default:
+                return configuredOrDefault(configuration.analysisThreadCount.get(), Math.max(4, processors - 2));
+        }
+    }
+
+    private static int configuredOrDefault(final int configured, final int automatic)
+    {
+        return configured > 0 ? configured : automatic;
+    }
+}
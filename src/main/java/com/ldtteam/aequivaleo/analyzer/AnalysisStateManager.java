@@ -10,12 +10,50 @@ import java.util.Map;
 public class AnalysisStateManager
 {
     private static final Map<ResourceKey<Level>, AnalysisState> STATE_MAP = Maps.newConcurrentMap();
+    private static final Map<ResourceKey<Level>, AnalysisProgress> PROGRESS_MAP = Maps.newConcurrentMap();
 
     public static AnalysisState getState(final ResourceKey<Level> key)
     {
         return STATE_MAP.getOrDefault(key, AnalysisState.UNINITIALIZED);
     }
 
+    public static AnalysisProgress getProgress(final ResourceKey<Level> key)
+    {
+        return PROGRESS_MAP.computeIfAbsent(key, k -> new AnalysisProgress(k, AnalysisGeneration.UNTRACKED));
+    }
+
+    /**
+     * Gives access to the progress of the given world during the given generation.
+     * A generation which is no longer the one whose progress is exposed gets a detached progress,
+     * so that it can not override the progress of a newer generation.
+     *
+     * @param key The key of the world.
+     * @param generation The generation which reports its progress.
+     * @return The progress to report into.
+     */
+    public static AnalysisProgress getProgress(final ResourceKey<Level> key, final AnalysisGeneration generation)
+    {
+        final AnalysisProgress progress = getProgress(key);
+        if (progress.getGeneration() == generation)
+            return progress;
+
+        return new AnalysisProgress(key, generation);
+    }
+
+    /**
+     * Discards the progress of the previous generation of the given world and starts tracking the progress of the given one.
+     *
+     * @param key The key of the world.
+     * @param generation The new generation.
+     * @return The progress of the new generation.
+     */
+    public static AnalysisProgress startProgress(final ResourceKey<Level> key, final AnalysisGeneration generation)
+    {
+        final AnalysisProgress progress = new AnalysisProgress(key, generation);
+        PROGRESS_MAP.put(key, progress);
+        return progress;
+    }
+
     private AnalysisStateManager()
     {
     }
@@ -0,0 +1,248 @@
+package com.ldtteam.aequivaleo.analyzer;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
+import com.ldtteam.aequivaleo.api.compound.information.datagen.data.CompoundInstanceData;
+import com.ldtteam.aequivaleo.api.compound.information.datagen.data.CompoundInstanceRef;
+import com.ldtteam.aequivaleo.api.datagen.DataBundle;
+import com.ldtteam.aequivaleo.api.recipe.equivalency.GenericRecipeEquivalencyRecipe;
+import com.ldtteam.aequivaleo.api.recipe.equivalency.ingredient.IRecipeIngredient;
+import com.ldtteam.aequivaleo.api.util.ModRegistries;
+import com.ldtteam.aequivaleo.compound.container.registry.CompoundContainerFactoryManager;
+import com.ldtteam.aequivaleo.recipe.equivalency.ingredient.data.IngredientSerializerRegistry;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.Resource;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraftforge.common.crafting.CraftingHelper;
+import net.minecraftforge.common.crafting.conditions.ICondition;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads a precompiled {@link DataBundle} in a single sequential pass.
+ *
+ * Each distinct container, ingredient and condition payload is only parsed once per bundle, no matter how many entries reference it.
+ */
+final class DataBundleReader
+{
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final String CONDITIONS_KEY = "conditions";
+
+    private final Gson             gson;
+    private final ResourceLocation location;
+
+    private String[]  strings;
+    private Object[]  parsed;
+    private Boolean[] conditionResults;
+
+    private DataBundleReader(final Gson gson, final ResourceLocation location)
+    {
+        this.gson = gson;
+        this.location = location;
+    }
+
+    /**
+     * Reads the bundle at the given location.
+     *
+     * @param resourceManager The resource manager to read from.
+     * @param gson The gson instance to parse the payloads with.
+     * @param location The location of the bundle.
+     * @param kind The kind of data expected in the bundle.
+     * @return The enabled entries of the bundle, either {@link CompoundInstanceData} or {@link GenericRecipeEquivalencyRecipe} instances.
+     */
+    @NotNull
+    static List<Object> read(@NotNull final ResourceManager resourceManager, @NotNull final Gson gson, @NotNull final ResourceLocation location, @NotNull final DataBundle.Kind kind)
+    {
+        try (
+          Resource resource = resourceManager.getResource(location);
+          DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(resource.getInputStream())))
+        ) {
+            return new DataBundleReader(gson, location).read(in, kind);
+        } catch (IllegalArgumentException | IOException | JsonParseException ex) {
+            LOGGER.error("Couldn't read data bundle {}", location, ex);
+            throw new IllegalStateException("Parsing failure.", ex);
+        }
+    }
+
+    private List<Object> read(final DataInputStream in, final DataBundle.Kind kind) throws IOException
+    {
+        if (in.readInt() != DataBundle.MAGIC)
+            throw new IOException("Not a data bundle.");
+
+        final int version = in.readInt();
+        if (version != DataBundle.VERSION)
+            throw new IOException(String.format("Unsupported data bundle version: %d", version));
+
+        final int bundleKind = in.readByte();
+        if (bundleKind != kind.ordinal())
+            throw new IOException(String.format("Expected a bundle with %s data.", kind));
+
+        strings = new String[in.readInt()];
+        for (int i = 0; i < strings.length; i++)
+        {
+            final byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        parsed = new Object[strings.length];
+        conditionResults = new Boolean[strings.length];
+
+        final int entryCount = in.readInt();
+        final List<Object> result = Lists.newArrayListWithExpectedSize(entryCount);
+        for (int i = 0; i < entryCount; i++)
+        {
+            if (kind == DataBundle.Kind.INFORMATION)
+                readInformation(in, result);
+            else
+                readRecipe(in, result);
+        }
+
+        return result;
+    }
+
+    private void readInformation(final DataInputStream in, final List<Object> result) throws IOException
+    {
+        final int conditions = in.readInt();
+        final int mode = in.readInt();
+        final int[] targets = readReferences(in);
+
+        final int refCount = in.readInt();
+        final int[] refTypes = new int[refCount];
+        final double[] refAmounts = new double[refCount];
+        for (int i = 0; i < refCount; i++)
+        {
+            refTypes[i] = in.readInt();
+            refAmounts[i] = in.readDouble();
+        }
+
+        //Payloads of disabled entries are never parsed.
+        if (!areConditionsMet(conditions))
+            return;
+
+        final Set<CompoundInstanceRef> refs = new LinkedHashSet<>();
+        for (int i = 0; i < refCount; i++)
+        {
+            final ResourceLocation type = new ResourceLocation(strings[refTypes[i]]);
+            if (ModRegistries.COMPOUND_TYPE.containsKey(type))
+                refs.add(new CompoundInstanceRef(type, refAmounts[i]));
+        }
+
+        result.add(new CompoundInstanceData(
+          CompoundInstanceData.Mode.valueOf(strings[mode]),
+          getContainers(targets),
+          refs,
+          getConditions(conditions)
+        ));
+    }
+
+    private void readRecipe(final DataInputStream in, final List<Object> result) throws IOException
+    {
+        final int name = in.readInt();
+        final int conditions = in.readInt();
+        final int[] inputs = readReferences(in);
+        final int[] residues = readReferences(in);
+        final int[] outputs = readReferences(in);
+
+        if (!areConditionsMet(conditions))
+        {
+            LOGGER.info("Skipping the load of recipe {} from {} its conditions indicate it is disabled.", strings[name], location);
+            return;
+        }
+
+        final Set<IRecipeIngredient> ingredients = Sets.newHashSet();
+        for (final int input : inputs)
+        {
+            final Object ingredient = parse(input, IngredientSerializerRegistry.HANDLED_TYPE);
+            if (ingredient instanceof IRecipeIngredient)
+                ingredients.add((IRecipeIngredient) ingredient);
+        }
+
+        result.add(new GenericRecipeEquivalencyRecipe(
+          new ResourceLocation(strings[name]),
+          ingredients,
+          getContainers(residues),
+          getContainers(outputs)
+        ));
+    }
+
+    private static int[] readReferences(final DataInputStream in) throws IOException
+    {
+        final int[] references = new int[in.readInt()];
+        for (int i = 0; i < references.length; i++)
+        {
+            references[i] = in.readInt();
+        }
+        return references;
+    }
+
+    private Set<ICompoundContainer<?>> getContainers(final int[] references)
+    {
+        final Set<ICompoundContainer<?>> containers = new LinkedHashSet<>();
+        for (final int reference : references)
+        {
+            final Object container = parse(reference, CompoundContainerFactoryManager.HANDLED_TYPE);
+            if (container instanceof ICompoundContainer)
+                containers.add((ICompoundContainer<?>) container);
+        }
+        return containers;
+    }
+
+    private Object parse(final int reference, final Type type)
+    {
+        if (parsed[reference] == null)
+            parsed[reference] = gson.fromJson(strings[reference], type);
+
+        return parsed[reference];
+    }
+
+    private boolean areConditionsMet(final int reference)
+    {
+        if (reference == DataBundle.NO_REFERENCE)
+            return true;
+
+        if (conditionResults[reference] == null)
+        {
+            final JsonObject wrapper = new JsonObject();
+            wrapper.add(CONDITIONS_KEY, getConditionsArray(reference));
+            conditionResults[reference] = CraftingHelper.processConditions(wrapper, CONDITIONS_KEY);
+        }
+
+        return conditionResults[reference];
+    }
+
+    private Set<ICondition> getConditions(final int reference)
+    {
+        final Set<ICondition> conditions = Sets.newHashSet();
+        if (reference == DataBundle.NO_REFERENCE)
+            return conditions;
+
+        final JsonArray array = getConditionsArray(reference);
+        for (int i = 0; i < array.size(); i++)
+        {
+            conditions.add(CraftingHelper.getCondition(array.get(i).getAsJsonObject()));
+        }
+        return conditions;
+    }
+
+    private JsonArray getConditionsArray(final int reference)
+    {
+        return gson.fromJson(strings[reference], JsonArray.class);
+    }
+}
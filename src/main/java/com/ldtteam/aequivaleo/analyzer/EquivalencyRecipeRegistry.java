@@ -1,20 +1,25 @@
 package com.ldtteam.aequivaleo.analyzer;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
 import com.ldtteam.aequivaleo.api.recipe.equivalency.IEquivalencyRecipe;
 import com.ldtteam.aequivaleo.api.recipe.equivalency.IEquivalencyRecipeRegistry;
 import net.minecraft.resources.ResourceKey;
+import net.minecraft.tags.Tag;
 import net.minecraft.world.level.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
 
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Map;
-import java.util.Set;
-import java.util.SortedSet;
-import java.util.TreeSet;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class EquivalencyRecipeRegistry implements IEquivalencyRecipeRegistry
 {
@@ -26,7 +31,10 @@ public class EquivalencyRecipeRegistry implements IEquivalencyRecipeRegistry
         return INSTANCES.computeIfAbsent(worldKey, (dimType) -> new EquivalencyRecipeRegistry());
     }
 
-    private final Set<IEquivalencyRecipe> recipes = Sets.newConcurrentHashSet();
+    private final Queue<IEquivalencyRecipe> pendingRecipes    = new ConcurrentLinkedQueue<>();
+    private final Queue<TagEquivalence>     tagEquivalences   = new ConcurrentLinkedQueue<>();
+    private final AtomicLong                modificationCount = new AtomicLong();
+    private volatile FrozenRecipes          frozenRecipes     = null;
 
     private EquivalencyRecipeRegistry()
     {
@@ -34,6 +42,7 @@ public class EquivalencyRecipeRegistry implements IEquivalencyRecipeRegistry
 
     /**
      * Adds a new recipe to the registry.
+     * The recipe is only validated and sorted when the registry is {@link #freeze() frozen}.
      *
      * @param recipe The recipe to add.
      * @return The registry.
@@ -41,45 +50,145 @@ public class EquivalencyRecipeRegistry implements IEquivalencyRecipeRegistry
     @NotNull
     @Override
     public IEquivalencyRecipeRegistry register(@NotNull final IEquivalencyRecipe recipe)
+    {
+        pendingRecipes.add(recipe);
+        modificationCount.incrementAndGet();
+        return this;
+    }
+
+    /**
+     * Adds all the given recipes to the registry at once.
+     *
+     * @param recipes The recipes to add.
+     * @return The registry.
+     */
+    @NotNull
+    @Override
+    public EquivalencyRecipeRegistry registerAll(@NotNull final Collection<? extends IEquivalencyRecipe> recipes)
+    {
+        pendingRecipes.addAll(recipes);
+        modificationCount.incrementAndGet();
+        return this;
+    }
+
+    /**
+     * Registers a tag whose elements share their value with the tag.
+     * The analysis represents each tag as a single node, instead of an equivalency recipe per element and direction.
+     *
+     * @param tag The tag.
+     * @param tagContainer The container of the tag.
+     * @param elements The containers of the elements of the tag.
+     * @return The registry.
+     */
+    @NotNull
+    public EquivalencyRecipeRegistry registerTagEquivalence(
+      @NotNull final Tag.Named<?> tag,
+      @NotNull final ICompoundContainer<?> tagContainer,
+      @NotNull final Collection<ICompoundContainer<?>> elements)
+    {
+        if (!elements.isEmpty())
+        {
+            tagEquivalences.add(new TagEquivalence(tag, tagContainer, elements));
+        }
+        return this;
+    }
+
+    /**
+     * Gives access to the registered tags whose elements share their value with the tag.
+     *
+     * @return The tags in registration order.
+     */
+    @NotNull
+    public ImmutableList<TagEquivalence> getTagEquivalences()
+    {
+        return ImmutableList.copyOf(tagEquivalences);
+    }
+
+    public void reset()
+    {
+        pendingRecipes.clear();
+        tagEquivalences.clear();
+        modificationCount.incrementAndGet();
+    }
+
+    /**
+     * Freezes the registered recipes into an immutable, sorted, list.
+     * Invalid and duplicate recipes are removed, the sorting makes the analysis predictable.
+     * The list is reused until the registry is modified again.
+     *
+     * @return The sorted recipes.
+     */
+    @NotNull
+    public synchronized ImmutableList<IEquivalencyRecipe> freeze()
+    {
+        final FrozenRecipes current = frozenRecipes;
+        final long currentModificationCount = modificationCount.get();
+        if (current != null && current.modificationCount == currentModificationCount)
+        {
+            return current.recipes;
+        }
+
+        final IEquivalencyRecipe[] recipes = Sets.newHashSet(pendingRecipes)
+                                               .parallelStream()
+                                               .filter(EquivalencyRecipeRegistry::isValid)
+                                               .toArray(IEquivalencyRecipe[]::new);
+        Arrays.parallelSort(recipes);
+
+        //Recipes which compare as equal are considered duplicates, only the first one is kept.
+        final ImmutableList.Builder<IEquivalencyRecipe> builder = ImmutableList.builder();
+        IEquivalencyRecipe previous = null;
+        for (final IEquivalencyRecipe recipe : recipes)
+        {
+            if (previous == null || previous.compareTo(recipe) != 0)
+            {
+                builder.add(recipe);
+                previous = recipe;
+            }
+        }
+
+        final FrozenRecipes frozen = new FrozenRecipes(currentModificationCount, builder.build());
+        frozenRecipes = frozen;
+        return frozen.recipes;
+    }
+
+    private static boolean isValid(@NotNull final IEquivalencyRecipe recipe)
     {
         if (recipe.getOutputs().stream().anyMatch(container -> !container.isValid()))
         {
             LOGGER.debug(String.format("Skipping recipe because output is invalid: %s", recipe));
-            return this;
+            return false;
         }
 
         if (recipe.getRequiredKnownOutputs().stream().anyMatch(container -> !container.isValid()))
         {
             LOGGER.debug(String.format("Skipping recipe because required known outputs (residues) is invalid: %s", recipe));
-            return this;
+            return false;
         }
 
         if (recipe.getInputs().stream().anyMatch(input -> input.getCandidates().isEmpty()))
         {
             LOGGER.debug(String.format("Skipping recipe because input is empty: %s", recipe));
-            return this;
+            return false;
         }
 
         if (recipe.getInputs().isEmpty())
         {
             LOGGER.debug(String.format("Skipping recipe, because it has no inputs: %s", recipe));
-            return this;
+            return false;
         }
 
-        recipes.add(recipe);
-        return this;
+        return true;
     }
 
-    public void reset()
+    private static final class FrozenRecipes
     {
-        recipes.clear();
-    }
+        private final long                              modificationCount;
+        private final ImmutableList<IEquivalencyRecipe> recipes;
 
-    @NotNull
-    public SortedSet<IEquivalencyRecipe> get()
-    {
-        //We need to sort here, to ensure ordering is properly guaranteed.
-        //Makes analysis predictable.
-        return new TreeSet<>(recipes);
+        private FrozenRecipes(final long modificationCount, final ImmutableList<IEquivalencyRecipe> recipes)
+        {
+            this.modificationCount = modificationCount;
+            this.recipes = recipes;
+        }
     }
 }
@@ -1,5 +1,6 @@
 package com.ldtteam.aequivaleo.analyzer;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Sets;
 import com.ldtteam.aequivaleo.Aequivaleo;
 import com.ldtteam.aequivaleo.analyzer.debug.GraphIOHandler;
@@ -11,6 +12,10 @@ import com.ldtteam.aequivaleo.analyzer.jgrapht.cycles.JGraphTCyclesReducer;
 import com.ldtteam.aequivaleo.analyzer.jgrapht.graph.AequivaleoGraph;
 import com.ldtteam.aequivaleo.analyzer.jgrapht.iterator.AnalysisBFSGraphIterator;
 import com.ldtteam.aequivaleo.analyzer.jgrapht.node.*;
+import com.ldtteam.aequivaleo.analyzer.metrics.AnalysisMetrics;
+import com.ldtteam.aequivaleo.analyzer.metrics.AnalysisMetricsManager;
+import com.ldtteam.aequivaleo.analyzer.metrics.PhaseTimer;
+import com.ldtteam.aequivaleo.api.analysis.AnalysisPhase;
 import com.ldtteam.aequivaleo.api.compound.CompoundInstance;
 import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
 import com.ldtteam.aequivaleo.api.recipe.equivalency.IEquivalencyRecipe;
@@ -18,16 +23,19 @@ import com.ldtteam.aequivaleo.api.recipe.equivalency.ingredient.IRecipeIngredien
 import com.ldtteam.aequivaleo.api.recipe.equivalency.ingredient.SimpleIngredientBuilder;
 import com.ldtteam.aequivaleo.api.util.AequivaleoLogger;
 import com.ldtteam.aequivaleo.compound.information.CompoundInformationRegistry;
+import com.ldtteam.aequivaleo.compound.information.CompoundInformationSnapshot;
 import com.ldtteam.aequivaleo.compound.container.registry.CompoundContainerFactoryManager;
+import com.ldtteam.aequivaleo.results.CompoundInstanceSetInterner;
 import com.ldtteam.aequivaleo.utils.AnalysisLogHandler;
 import com.ldtteam.aequivaleo.utils.WorldCacheUtils;
+import net.minecraft.resources.ResourceKey;
 import net.minecraft.world.level.Level;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraftforge.fml.ModList;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.apache.logging.log4j.core.jmx.Server;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jgrapht.Graph;
 
 import java.util.*;
@@ -40,19 +48,65 @@ public class JGraphTBasedCompoundAnalyzer
 
     private static final Object ANALYSIS_LOCK = new Object();
 
+    @Nullable
     private final Level world;
+    private final ResourceKey<Level> worldKey;
     private final boolean forceReload;
     private final boolean writeCachedData;
+    private final AnalysisGeneration generation;
+    private final AnalysisMetrics metrics;
+    private final AnalysisProgress progress;
 
     private Map<ICompoundContainer<?>, Set<CompoundInstance>> results = new TreeMap<>();
 
+    private CompoundInformationSnapshot information;
+
     public JGraphTBasedCompoundAnalyzer(final Level world, final boolean forceReload, final boolean writeCachedData) {
+        this(world, forceReload, writeCachedData, AnalysisGeneration.UNTRACKED);
+    }
+
+    /**
+     * Creates an analyzer which runs as part of the given reload generation.
+     * The analysis aborts with an {@link AnalysisCancelledException} once the generation is cancelled.
+     *
+     * @param world The world to analyze.
+     * @param forceReload Indicates if cached results should be ignored.
+     * @param writeCachedData Indicates if the results should be written to the cache.
+     * @param generation The reload generation the analysis belongs to.
+     */
+    public JGraphTBasedCompoundAnalyzer(final Level world, final boolean forceReload, final boolean writeCachedData, final AnalysisGeneration generation) {
+        this(world, world.dimension(), forceReload, writeCachedData, generation);
+    }
+
+    /**
+     * Creates an analyzer which is not backed by a world instance.
+     * Such an analyzer can neither read nor write cached results and is intended for tooling, like benchmarks.
+     *
+     * @param worldKey The key of the world whose registries are analyzed.
+     * @param forceReload Indicates if cached results should be ignored.
+     */
+    public JGraphTBasedCompoundAnalyzer(final ResourceKey<Level> worldKey, final boolean forceReload) {
+        this(null, worldKey, forceReload, false, AnalysisGeneration.UNTRACKED);
+    }
+
+    private JGraphTBasedCompoundAnalyzer(
+      @Nullable final Level world,
+      final ResourceKey<Level> worldKey,
+      final boolean forceReload,
+      final boolean writeCachedData,
+      final AnalysisGeneration generation) {
         this.world = world;
+        this.worldKey = worldKey;
         this.forceReload = forceReload;
         this.writeCachedData = writeCachedData;
+        this.generation = generation;
+        this.metrics = AnalysisMetricsManager.getMetrics(worldKey, generation);
+        this.progress = AnalysisStateManager.getProgress(worldKey, generation);
     }
 
     public BuildRecipeGraph createGraph() {
+        this.information = CompoundInformationRegistry.getInstance(worldKey).freeze();
+
         final Map<ICompoundContainer<?>, Set<CompoundInstance>> resultingCompounds = new TreeMap<>();
 
         final IGraph recipeGraph = new AequivaleoGraph();
@@ -60,9 +114,17 @@ public class JGraphTBasedCompoundAnalyzer
         final Map<ICompoundContainer<?>, INode> compoundNodes = new HashMap<>();
         final Map<IRecipeIngredient, INode> ingredientNodes = new HashMap<>();
 
-        for (IEquivalencyRecipe recipe : EquivalencyRecipeRegistry.getInstance(world.dimension())
-                                           .get())
+        final List<IEquivalencyRecipe> tagRecipes = addTagEquivalenceNodes(recipeGraph, compoundNodes);
+
+        final List<IEquivalencyRecipe> recipes = new ArrayList<>(EquivalencyRecipeRegistry.getInstance(worldKey).freeze());
+        recipes.addAll(tagRecipes);
+        progress.setTotal(recipes.size());
+
+        for (IEquivalencyRecipe recipe : recipes)
         {
+            progress.increment();
+            generation.checkCancelled();
+
             if (recipe.getInputs().isEmpty())
             {
                 LOGGER.warn(String.format("Skipping recipe with no ingredients: %s", recipe));
@@ -113,12 +175,20 @@ public class JGraphTBasedCompoundAnalyzer
                 final INode outputWrapperGraphNode = compoundNodes.get(unitOutputWrapper);
                 recipeGraph.addVertex(outputWrapperGraphNode);
 
+                //Outputs which share a tag equivalence node end up on the same edge.
+                if (recipeGraph.containsEdge(recipeGraphNode, outputWrapperGraphNode))
+                {
+                    final double existingWeight = recipeGraph.getEdgeWeight(recipeGraph.getEdge(recipeGraphNode, outputWrapperGraphNode));
+                    recipeGraph.setEdgeWeight(recipeGraphNode, outputWrapperGraphNode, existingWeight + output.getContentsCount());
+                    continue;
+                }
+
                 recipeGraph.addEdge(recipeGraphNode, outputWrapperGraphNode);
                 recipeGraph.setEdgeWeight(recipeGraphNode, outputWrapperGraphNode, output.getContentsCount());
             }
         }
 
-        for (ICompoundContainer<?> valueWrapper : CompoundInformationRegistry.getInstance(world.dimension()).getValueInformation().keySet())
+        for (ICompoundContainer<?> valueWrapper : information.getValueInformation().keySet())
         {
             INode node;
             if (!recipeGraph.containsVertex(new ContainerNode(valueWrapper)))
@@ -141,12 +211,12 @@ public class JGraphTBasedCompoundAnalyzer
                 throw new IllegalStateException("Container node for locked information needs to be in the graph node map!");
             }
 
-            node.forceSetResult(CompoundInformationRegistry.getInstance(world.dimension()).getValueInformation().get(valueWrapper));
+            node.forceSetResult(information.getValueInformation().get(valueWrapper));
         }
 
         if (Aequivaleo.getInstance().getConfiguration().getServer().exportGraph.get())
         {
-            GraphIOHandler.getInstance().export(world.dimension().location().toString().replace(":", "_").concat(".json"), recipeGraph);
+            GraphIOHandler.getInstance().export(worldKey.location().toString().replace(":", "_").concat(".json"), recipeGraph);
         }
 
         final Set<ContainerNode> rootNodes = findRootNodes(recipeGraph);
@@ -178,12 +248,121 @@ public class JGraphTBasedCompoundAnalyzer
           source);
     }
 
+    /**
+     * Adds a single node for each tag, whose elements share their value with it.
+     * Containers with value or locking information of their own, and containers which are part of more than one tag,
+     * keep their own node, which is linked in both directions to the node of each of their tags.
+     * Tags whose members all keep their own node are represented by tag equivalency recipes instead.
+     *
+     * @param recipeGraph The graph to add the nodes to.
+     * @param compoundNodes The container nodes, the members of each tag are mapped to the node of the tag.
+     * @return The tag equivalency recipes which still need to be added to the graph.
+     */
+    private List<IEquivalencyRecipe> addTagEquivalenceNodes(final IGraph recipeGraph, final Map<ICompoundContainer<?>, INode> compoundNodes)
+    {
+        final List<TagEquivalence> tagEquivalences = EquivalencyRecipeRegistry.getInstance(worldKey).getTagEquivalences();
+        final Map<ICompoundContainer<?>, Integer> memberships = new HashMap<>();
+        for (TagEquivalence tagEquivalence : tagEquivalences)
+        {
+            for (ICompoundContainer<?> member : getUnitMembers(tagEquivalence))
+            {
+                memberships.merge(member, 1, Integer::sum);
+            }
+        }
+
+        final List<IEquivalencyRecipe> fallbackRecipes = new ArrayList<>();
+        for (TagEquivalence tagEquivalence : tagEquivalences)
+        {
+            generation.checkCancelled();
+
+            final ICompoundContainer<?> tagContainer = createUnitWrapper(tagEquivalence.getTagContainer());
+            final List<ICompoundContainer<?>> sharedMembers = new ArrayList<>();
+            final List<ICompoundContainer<?>> independentMembers = new ArrayList<>();
+            for (ICompoundContainer<?> member : getUnitMembers(tagEquivalence))
+            {
+                if (memberships.get(member) > 1 || information.getValueInformation().containsKey(member) || information.getLockingInformation().containsKey(member))
+                {
+                    independentMembers.add(member);
+                }
+                else
+                {
+                    sharedMembers.add(member);
+                }
+            }
+
+            if (sharedMembers.isEmpty())
+            {
+                for (ICompoundContainer<?> element : independentMembers)
+                {
+                    if (!element.equals(tagContainer))
+                    {
+                        fallbackRecipes.add(tagEquivalence.createRecipe(tagContainer, element));
+                        fallbackRecipes.add(tagEquivalence.createRecipe(element, tagContainer));
+                    }
+                }
+                continue;
+            }
+
+            final TagEquivalenceNode groupNode = new TagEquivalenceNode(tagEquivalence, tagContainer, sharedMembers);
+            recipeGraph.addVertex(groupNode);
+            for (ICompoundContainer<?> member : sharedMembers)
+            {
+                compoundNodes.put(member, groupNode);
+            }
+
+            for (ICompoundContainer<?> member : independentMembers)
+            {
+                final INode memberNode = compoundNodes.computeIfAbsent(member, ContainerNode::new);
+                recipeGraph.addVertex(memberNode);
+
+                recipeGraph.addEdge(memberNode, groupNode);
+                recipeGraph.setEdgeWeight(memberNode, groupNode, 1d);
+                recipeGraph.addEdge(groupNode, memberNode);
+                recipeGraph.setEdgeWeight(groupNode, memberNode, 1d);
+            }
+        }
+
+        return fallbackRecipes;
+    }
+
+    private Set<ICompoundContainer<?>> getUnitMembers(final TagEquivalence tagEquivalence)
+    {
+        final Set<ICompoundContainer<?>> members = new LinkedHashSet<>();
+        members.add(createUnitWrapper(tagEquivalence.getTagContainer()));
+        for (ICompoundContainer<?> element : tagEquivalence.getElements())
+        {
+            members.add(createUnitWrapper(element));
+        }
+        return members;
+    }
+
     private IGraph reduceGraph(final IGraph recipeGraph, final SourceNode sourceNode) {
+        generation.checkCancelled();
+        try (PhaseTimer ignored = metrics.time(AnalysisPhase.CLIQUE_REDUCTION))
+        {
+            reduceCliques(recipeGraph);
+        }
+
+        generation.checkCancelled();
+        try (PhaseTimer ignored = metrics.time(AnalysisPhase.CYCLE_REDUCTION))
+        {
+            reduceCycles(recipeGraph);
+            reconnectSourceNode(recipeGraph, sourceNode);
+        }
 
+        return recipeGraph;
+    }
+
+    @VisibleForTesting
+    public void reduceCliques(final IGraph recipeGraph) {
         LOGGER.warn("Starting clique reduction.");
 
         final JGraphTCliqueReducer<IGraph> cliqueReducer = new JGraphTCliqueReducer<>(
-          (graph, iNodes, iRecipeNodes, iRecipeInputNodes) -> new CliqueNode(graph, iNodes),
+          (graph, iNodes, iRecipeNodes, iRecipeInputNodes) -> {
+              generation.checkCancelled();
+              metrics.onCliqueReduced();
+              return new CliqueNode(graph, iNodes);
+          },
           sets -> {
               if (sets.size() == 1)
                   return Sets.newHashSet(); //Cover a weird etch case where a clique exists out of a single node........
@@ -213,22 +392,36 @@ public class JGraphTBasedCompoundAnalyzer
                                                     .filter(Objects::nonNull)
                                                     .collect(Collectors.toSet()))
                        .orElseGet(Sets::newHashSet);
-          }, INode::onNeighborReplaced);
+          },
+          INode::onNeighborReplaced,
+          progress::setRemaining);
 
         cliqueReducer.reduce(recipeGraph);
 
         LOGGER.warn("Finished clique reduction.");
+    }
 
+    @VisibleForTesting
+    public void reduceCycles(final IGraph recipeGraph) {
         LOGGER.warn("Starting cycle reduction.");
 
         final JGraphTCyclesReducer<IGraph, INode, IEdge> cyclesReducer = new JGraphTCyclesReducer<>(
-          InnerNode::new,
-          INode::onNeighborReplaced);
+          (graph, cycle) -> {
+              generation.checkCancelled();
+              metrics.onCycleReduced();
+              return new InnerNode(graph, cycle);
+          },
+          INode::onNeighborReplaced,
+          true,
+          progress::setRemaining);
 
         cyclesReducer.reduce(recipeGraph);
 
         LOGGER.warn("Finished cycle reduction.");
+    }
 
+    @VisibleForTesting
+    public void reconnectSourceNode(final IGraph recipeGraph, final SourceNode sourceNode) {
         recipeGraph.removeVertex(sourceNode);
 
         final Set<INode> sourceNodeLinks = findDanglingNodes(recipeGraph);
@@ -240,52 +433,81 @@ public class JGraphTBasedCompoundAnalyzer
             recipeGraph.addEdge(sourceNode, rootNode);
             recipeGraph.setEdgeWeight(sourceNode, rootNode, 1d);
         }
+    }
 
-        return recipeGraph;
+    @VisibleForTesting
+    public void analyzeGraph(final IGraph recipeGraph, final SourceNode source) {
+        final StatCollector statCollector = new StatCollector(worldKey.location().toString(), recipeGraph.vertexSet().size(), progress);
+        final AnalysisBFSGraphIterator analysisBFSGraphIterator = new AnalysisBFSGraphIterator(recipeGraph, source);
+
+        try
+        {
+            while (analysisBFSGraphIterator.hasNext())
+            {
+                generation.checkCancelled();
+                analysisBFSGraphIterator.next().collectStats(statCollector);
+            }
+        }
+        finally
+        {
+            //A cancelled analysis never exhausts the iterator, release its index here.
+            recipeGraph.setMissingDataIndex(null);
+        }
+
+        statCollector.onCalculationComplete();
     }
 
     public void calculate()
     {
-        final BuildRecipeGraph buildRecipeGraph = createGraph();
+        final BuildRecipeGraph buildRecipeGraph;
+        final int graphHash;
+        try (PhaseTimer ignored = metrics.time(AnalysisPhase.GRAPH_BUILD))
+        {
+            buildRecipeGraph = createGraph();
+
+            //Only worlds backed by a server level use the cache, skip hashing the graph otherwise.
+            graphHash = getWorld() instanceof ServerLevel ? new CacheKey(ModList.get(), buildRecipeGraph.getRecipeGraph()).hashCode() : 0;
+        }
+
         final IGraph noneReducedGraph = buildRecipeGraph.getRecipeGraph();
+        metrics.setGraphSize(noneReducedGraph.vertexSet().size(), noneReducedGraph.edgeSet().size());
+
         final Map<ICompoundContainer<?>, Set<CompoundInstance>>                      resultingCompounds = buildRecipeGraph.getResultingCompounds();
         final Map<ICompoundContainer<?>, INode>  compoundNodes = buildRecipeGraph.getCompoundNodes();
         final Set<INode> notDefinedGraphNodes = buildRecipeGraph.getNotDefinedGraphNodes();
         final SourceNode source = buildRecipeGraph.getSourceNode();
 
-        final CacheKey key = new CacheKey(ModList.get(), noneReducedGraph);
-        final int graphHash = key.hashCode();
         if (!forceReload && getWorld() instanceof ServerLevel) {
             //We are allowed to lookup cached values
-            final Optional<Map<ICompoundContainer<?>, Set<CompoundInstance>>> cachedResults = WorldCacheUtils.loadCachedResults((ServerLevel) getWorld(), graphHash);
+            final Optional<Map<ICompoundContainer<?>, Set<CompoundInstance>>> cachedResults;
+            try (PhaseTimer ignored = metrics.time(AnalysisPhase.CACHE_IO))
+            {
+                cachedResults = WorldCacheUtils.loadCachedResults((ServerLevel) getWorld(), graphHash);
+            }
+
             if (cachedResults.isPresent()) {
-                LOGGER.warn(String.format("Using cached results for: %s", getWorld().dimension().location()));
+                LOGGER.warn(String.format("Using cached results for: %s", worldKey.location()));
                 this.results = cachedResults.get();
-                LOGGER.warn(String.format("Cached results contained %d entries for: %s", this.results.size(), getWorld().dimension().location()));
+                LOGGER.warn(String.format("Cached results contained %d entries for: %s", this.results.size(), worldKey.location()));
                 return;
             }
         }
 
         final IGraph recipeGraph = reduceGraph(noneReducedGraph, source);
 
-        final StatCollector statCollector = new StatCollector(getWorld().dimension().location().toString(), recipeGraph.vertexSet().size());
-        final AnalysisBFSGraphIterator analysisBFSGraphIterator = new AnalysisBFSGraphIterator(recipeGraph, source);
-
-        while (analysisBFSGraphIterator.hasNext())
+        try (PhaseTimer ignored = metrics.time(AnalysisPhase.BFS_ANALYSIS))
         {
-            analysisBFSGraphIterator.next().collectStats(statCollector);
+            analyzeGraph(recipeGraph, source);
         }
 
-        statCollector.onCalculationComplete();
-
-        for (ICompoundContainer<?> valueWrapper : CompoundInformationRegistry.getInstance(world.dimension()).getLockingInformation().keySet())
+        for (ICompoundContainer<?> valueWrapper : information.getLockingInformation().keySet())
         {
             INode node;
             if (!recipeGraph.containsVertex(new ContainerNode(valueWrapper)))
             {
                 LOGGER.debug(String.format("Adding missing locking node for container: %s", valueWrapper));
                 compoundNodes.putIfAbsent(valueWrapper, new ContainerNode(valueWrapper));
-                resultingCompounds.computeIfAbsent(valueWrapper, wrapper -> Sets.newHashSet()).addAll(CompoundInformationRegistry.getInstance(world.dimension()).getLockingInformation().get(valueWrapper));
+                resultingCompounds.computeIfAbsent(valueWrapper, wrapper -> Sets.newHashSet()).addAll(information.getLockingInformation().get(valueWrapper));
             }
             node = compoundNodes.get(valueWrapper);
 
@@ -294,16 +516,18 @@ public class JGraphTBasedCompoundAnalyzer
                 throw new IllegalStateException("Container node for locked information needs to be in the graph node map!");
             }
 
-            node.forceSetResult(CompoundInformationRegistry.getInstance(world.dimension()).getLockingInformation().get(valueWrapper));
+            node.forceSetResult(information.getLockingInformation().get(valueWrapper));
         }
 
         extractCompoundInstancesFromGraph(recipeGraph.vertexSet(), resultingCompounds, notDefinedGraphNodes);
+        //Many containers end up with the same compounds, those share one canonical set.
+        resultingCompounds.replaceAll((container, instances) -> CompoundInstanceSetInterner.getInstance().intern(instances));
 
         if (Aequivaleo.getInstance().getConfiguration().getServer().writeResultsToLog.get())
         {
             synchronized (ANALYSIS_LOCK)
             {
-                AequivaleoLogger.startBigWarning(String.format("WARNING: Missing root equivalency data in world: %s", getWorld().dimension().location()));
+                AequivaleoLogger.startBigWarning(String.format("WARNING: Missing root equivalency data in world: %s", worldKey.location()));
                 for (INode node : notDefinedGraphNodes)
                 {
                     if (node instanceof IContainerNode)
@@ -312,9 +536,9 @@ public class JGraphTBasedCompoundAnalyzer
                     }
                     recipeGraph.removeVertex(node);
                 }
-                AequivaleoLogger.endBigWarning(String.format("WARNING: Missing root equivalency data in world: %s", getWorld().dimension().location()));
+                AequivaleoLogger.endBigWarning(String.format("WARNING: Missing root equivalency data in world: %s", worldKey.location()));
 
-                AequivaleoLogger.startBigWarning(String.format("RESULT: Compound analysis for world: %s", getWorld().dimension().location()));
+                AequivaleoLogger.startBigWarning(String.format("RESULT: Compound analysis for world: %s", worldKey.location()));
                 for (Map.Entry<ICompoundContainer<?>, Set<CompoundInstance>> entry : resultingCompounds.entrySet())
                 {
                     ICompoundContainer<?> wrapper = entry.getKey();
@@ -324,18 +548,21 @@ public class JGraphTBasedCompoundAnalyzer
                         AequivaleoLogger.bigWarningMessage("{}: {}", wrapper, compounds);
                     }
                 }
-                AequivaleoLogger.endBigWarning(String.format("RESULT: Compound analysis for world: %s", getWorld().dimension().location()));
+                AequivaleoLogger.endBigWarning(String.format("RESULT: Compound analysis for world: %s", worldKey.location()));
             }
         }
         else
         {
-            AequivaleoLogger.bigWarningSimple(String.format("Finished the analysis of: %s", getWorld().dimension().location()));
+            AequivaleoLogger.bigWarningSimple(String.format("Finished the analysis of: %s", worldKey.location()));
         }
 
         if (writeCachedData && getWorld() instanceof ServerLevel) {
-            LOGGER.warn(String.format("Writing results to cache for: %s", getWorld().dimension().location()));
-            WorldCacheUtils.writeCachedResults((ServerLevel) getWorld(), graphHash, resultingCompounds);
-            LOGGER.warn(String.format("Written %d results to cache for: %s", resultingCompounds.size(), getWorld().dimension().location()));
+            LOGGER.warn(String.format("Writing results to cache for: %s", worldKey.location()));
+            try (PhaseTimer ignored = metrics.time(AnalysisPhase.CACHE_IO))
+            {
+                WorldCacheUtils.writeCachedResults((ServerLevel) getWorld(), graphHash, resultingCompounds);
+            }
+            LOGGER.warn(String.format("Written %d results to cache for: %s", resultingCompounds.size(), worldKey.location()));
         }
         this.results = resultingCompounds;
     }
@@ -444,8 +671,7 @@ public class JGraphTBasedCompoundAnalyzer
 
     private Set<CompoundInstance> getLockedInformationInstances(@NotNull final ICompoundContainer<?> wrapper)
     {
-        final Set<CompoundInstance> lockedInstances = CompoundInformationRegistry.getInstance(world.dimension())
-                                                        .getLockingInformation()
+        final Set<CompoundInstance> lockedInstances = information.getLockingInformation()
                                                         .get(createUnitWrapper(wrapper));
 
         if (lockedInstances != null)
@@ -458,8 +684,7 @@ public class JGraphTBasedCompoundAnalyzer
 
     private Set<CompoundInstance> getValueInformationInstances(@NotNull final ICompoundContainer<?> wrapper)
     {
-        final Set<CompoundInstance> valueInstances = CompoundInformationRegistry.getInstance(world.dimension())
-                                                       .getValueInformation()
+        final Set<CompoundInstance> valueInstances = information.getValueInformation()
                                                        .get(createUnitWrapper(wrapper));
 
         if (valueInstances != null)
@@ -470,8 +695,14 @@ public class JGraphTBasedCompoundAnalyzer
         return new HashSet<>();
     }
 
+    @Nullable
     public Level getWorld()
     {
         return world;
     }
+
+    public ResourceKey<Level> getWorldKey()
+    {
+        return worldKey;
+    }
 }
@@ -2,6 +2,7 @@ package com.ldtteam.aequivaleo.analyzer;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
 
 public class StatCollector
 {
@@ -9,6 +10,8 @@ public class StatCollector
 
     private final String name;
     private final long   totalNodes;
+    @Nullable
+    private final AnalysisProgress progress;
     private       long             lastReportingTime = 0;
     private       long             visitedNodes      = 0;
     private       long             sourceNodesVisited;
@@ -18,9 +21,18 @@ public class StatCollector
     private       long             subCycleNodesVisited;
 
     public StatCollector(final String name, final int totalNodes)
+    {
+        this(name, totalNodes, null);
+    }
+
+    public StatCollector(final String name, final int totalNodes, @Nullable final AnalysisProgress progress)
     {
         this.name = name;
         this.totalNodes = totalNodes;
+        this.progress = progress;
+
+        if (progress != null)
+            progress.setTotal(totalNodes);
     }
 
     public void onVisitSourceNode()
@@ -55,6 +67,9 @@ public class StatCollector
     private void onVisitNode()
     {
         visitedNodes++;
+        if (progress != null)
+            progress.increment();
+
         final long now = System.currentTimeMillis();
 
         if (now >= lastReportingTime + (5 * 1000))
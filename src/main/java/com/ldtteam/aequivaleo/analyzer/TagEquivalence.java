@@ -0,0 +1,82 @@
+package com.ldtteam.aequivaleo.analyzer;
+
+import com.google.common.collect.ImmutableSet;
+import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
+import com.ldtteam.aequivaleo.recipe.equivalency.TagEquivalencyRecipe;
+import com.ldtteam.aequivaleo.vanilla.api.recipe.equivalency.ITagEquivalencyRecipe;
+import net.minecraft.tags.Tag;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+
+/**
+ * A group of containers which share their value, a tag and all of its elements.
+ */
+public final class TagEquivalence
+{
+    @NotNull
+    private final Tag.Named<?>                        tag;
+    @NotNull
+    private final ICompoundContainer<?>               tagContainer;
+    @NotNull
+    private final ImmutableSet<ICompoundContainer<?>> elements;
+
+    public TagEquivalence(
+      @NotNull final Tag.Named<?> tag,
+      @NotNull final ICompoundContainer<?> tagContainer,
+      @NotNull final Collection<ICompoundContainer<?>> elements)
+    {
+        this.tag = tag;
+        this.tagContainer = tagContainer;
+        this.elements = ImmutableSet.copyOf(elements);
+    }
+
+    @NotNull
+    public Tag.Named<?> getTag()
+    {
+        return tag;
+    }
+
+    @NotNull
+    public ICompoundContainer<?> getTagContainer()
+    {
+        return tagContainer;
+    }
+
+    @NotNull
+    public ImmutableSet<ICompoundContainer<?>> getElements()
+    {
+        return elements;
+    }
+
+    /**
+     * Creates the equivalency recipe which converts the given member of the group into another one.
+     * These recipes are not part of the recipe graph by default, they are the context which is passed to the callbacks
+     * of the compound type groups when a value passes between the tag and one of its elements.
+     *
+     * @param input The member which is converted.
+     * @param output The member which is produced.
+     * @return The recipe.
+     */
+    @NotNull
+    public ITagEquivalencyRecipe<?> createRecipe(@NotNull final ICompoundContainer<?> input, @NotNull final ICompoundContainer<?> output)
+    {
+        return createRecipe(tag, input, output);
+    }
+
+    private static <T> ITagEquivalencyRecipe<T> createRecipe(
+      @NotNull final Tag.Named<T> tag,
+      @NotNull final ICompoundContainer<?> input,
+      @NotNull final ICompoundContainer<?> output)
+    {
+        return new TagEquivalencyRecipe<>(tag, input, output);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "TagEquivalence{" +
+                 tag.getName() +
+                 '}';
+    }
+}
@@ -0,0 +1,208 @@
+package com.ldtteam.aequivaleo.analyzer.compound;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.ldtteam.aequivaleo.api.compound.type.ICompoundType;
+import com.ldtteam.aequivaleo.api.compound.type.group.ICompoundTypeGroup;
+import com.ldtteam.aequivaleo.api.util.ModRegistries;
+import net.minecraftforge.registries.IForgeRegistry;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns every registered compound type a compact id.
+ * The types of a group receive consecutive ids, so that a group is represented by a slice of the id range.
+ *
+ * Types which are not part of an index, for example because they were registered after it was built, receive an id
+ * through {@link #getInstanceFor(ICompoundType)}, which rebuilds the index with the missing type included.
+ */
+public final class CompoundTypeIndex
+{
+    /**
+     * The id returned for types which are not part of the index.
+     */
+    public static final int UNKNOWN = -1;
+
+    private static volatile CompoundTypeIndex instance = null;
+
+    /**
+     * Gives access to the index of the currently active compound type registry.
+     * The index is rebuilt if the registry instance changes.
+     *
+     * @return The index.
+     */
+    public static CompoundTypeIndex getInstance()
+    {
+        final IForgeRegistry<ICompoundType> registry = ModRegistries.COMPOUND_TYPE;
+        CompoundTypeIndex current = instance;
+        if (current == null || current.registry != registry)
+        {
+            synchronized (CompoundTypeIndex.class)
+            {
+                current = instance;
+                if (current == null || current.registry != registry)
+                {
+                    current = new CompoundTypeIndex(registry, Collections.emptyList());
+                    instance = current;
+                }
+            }
+        }
+
+        return current;
+    }
+
+    /**
+     * Gives access to an index which contains the given type.
+     * Returns the current index if it already contains the type, else the index is rebuilt with the type included.
+     * Types which were added like this are kept when the index is rebuilt again for the same registry,
+     * and the existing groups keep their position in {@link #getGroups()}.
+     *
+     * @param type The type which needs to be part of the index.
+     * @return The index.
+     */
+    public static CompoundTypeIndex getInstanceFor(final ICompoundType type)
+    {
+        final CompoundTypeIndex current = getInstance();
+        if (current.contains(type))
+        {
+            return current;
+        }
+
+        synchronized (CompoundTypeIndex.class)
+        {
+            final CompoundTypeIndex latest = getInstance();
+            if (latest.contains(type))
+            {
+                return latest;
+            }
+
+            final List<ICompoundType> additionalTypes = Lists.newArrayList(latest.additionalTypes);
+            additionalTypes.add(type);
+            final CompoundTypeIndex rebuilt = new CompoundTypeIndex(latest.registry, additionalTypes);
+            instance = rebuilt;
+            return rebuilt;
+        }
+    }
+
+    private final IForgeRegistry<ICompoundType>  registry;
+    private final List<ICompoundType>            additionalTypes;
+    private final ICompoundType[]                types;
+    private final List<ICompoundTypeGroup>       groups;
+    private final Map<ICompoundType, Integer>    typeIds     = Maps.newHashMap();
+    private final Map<ICompoundTypeGroup, int[]> groupSlices = Maps.newHashMap();
+
+    private CompoundTypeIndex(final IForgeRegistry<ICompoundType> registry, final Collection<ICompoundType> additionalTypes)
+    {
+        this.registry = registry;
+        this.additionalTypes = Collections.unmodifiableList(Lists.newArrayList(additionalTypes));
+
+        final Map<ICompoundTypeGroup, List<ICompoundType>> typesByGroup = Maps.newLinkedHashMap();
+        for (final ICompoundType type : registry)
+        {
+            typesByGroup.computeIfAbsent(type.getGroup(), group -> Lists.newArrayList()).add(type);
+        }
+        for (final ICompoundType type : additionalTypes)
+        {
+            final List<ICompoundType> groupTypes = typesByGroup.computeIfAbsent(type.getGroup(), group -> Lists.newArrayList());
+            if (!groupTypes.contains(type))
+            {
+                groupTypes.add(type);
+            }
+        }
+
+        final List<ICompoundType> orderedTypes = Lists.newArrayList();
+        typesByGroup.forEach((group, groupTypes) -> {
+            final int start = orderedTypes.size();
+            for (final ICompoundType type : groupTypes)
+            {
+                typeIds.put(type, orderedTypes.size());
+                orderedTypes.add(type);
+            }
+            groupSlices.put(group, new int[] {start, orderedTypes.size()});
+        });
+
+        this.types = orderedTypes.toArray(new ICompoundType[0]);
+        this.groups = Collections.unmodifiableList(Lists.newArrayList(typesByGroup.keySet()));
+    }
+
+    /**
+     * The amount of types in this index.
+     *
+     * @return The amount of types.
+     */
+    public int size()
+    {
+        return types.length;
+    }
+
+    /**
+     * Indicates if the given type is part of this index.
+     *
+     * @param type The type.
+     * @return True when the type has an id in this index.
+     */
+    public boolean contains(final ICompoundType type)
+    {
+        return typeIds.containsKey(type);
+    }
+
+    /**
+     * Gives access to the compact id of the given type.
+     *
+     * @param type The type.
+     * @return The id of the type, or {@link #UNKNOWN} when the type is not part of this index.
+     */
+    public int getId(final ICompoundType type)
+    {
+        final Integer id = typeIds.get(type);
+        return id == null ? UNKNOWN : id;
+    }
+
+    /**
+     * Gives access to the type with the given compact id.
+     *
+     * @param id The id.
+     * @return The type.
+     */
+    public ICompoundType getType(final int id)
+    {
+        return types[id];
+    }
+
+    /**
+     * The groups of the types in this index, in the order of their slices.
+     *
+     * @return The groups.
+     */
+    public List<ICompoundTypeGroup> getGroups()
+    {
+        return groups;
+    }
+
+    /**
+     * The first id (inclusive) of the slice of the given group.
+     *
+     * @param group The group.
+     * @return The start of the slice.
+     */
+    public int getGroupStart(final ICompoundTypeGroup group)
+    {
+        final int[] slice = groupSlices.get(group);
+        return slice == null ? 0 : slice[0];
+    }
+
+    /**
+     * The last id (exclusive) of the slice of the given group.
+     *
+     * @param group The group.
+     * @return The end of the slice.
+     */
+    public int getGroupEnd(final ICompoundTypeGroup group)
+    {
+        final int[] slice = groupSlices.get(group);
+        return slice == null ? 0 : slice[1];
+    }
+}
@@ -0,0 +1,226 @@
+package com.ldtteam.aequivaleo.analyzer.compound;
+
+import com.google.common.collect.Sets;
+import com.ldtteam.aequivaleo.api.compound.CompoundInstance;
+import com.ldtteam.aequivaleo.api.compound.type.ICompoundType;
+import com.ldtteam.aequivaleo.api.compound.type.group.ICompoundTypeGroup;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * The internal representation of a set of compound instances during the analysis.
+ * Stores the amounts in a dense array indexed by the compact id of the compound type, see {@link CompoundTypeIndex}.
+ * Types which are not part of the vector are stored as {@link Double#NaN}, so that a zero amount remains present.
+ *
+ * Vectors are only converted to compound instances where the API requires them.
+ * Adding a type which is not part of the index of the vector moves the vector to an index which contains the type.
+ */
+public final class CompoundVector
+{
+    private CompoundTypeIndex index;
+    private double[]          amounts;
+
+    private CompoundVector(final CompoundTypeIndex index, final double[] amounts)
+    {
+        this.index = index;
+        this.amounts = amounts;
+    }
+
+    /**
+     * Creates a new empty vector.
+     *
+     * @return The empty vector.
+     */
+    public static CompoundVector empty()
+    {
+        final CompoundTypeIndex index = CompoundTypeIndex.getInstance();
+        final double[] amounts = new double[index.size()];
+        Arrays.fill(amounts, Double.NaN);
+        return new CompoundVector(index, amounts);
+    }
+
+    /**
+     * Creates a new vector from the given instances.
+     * The amounts of instances of the same type are summed.
+     *
+     * @param instances The instances.
+     * @return The vector.
+     */
+    public static CompoundVector of(final Collection<CompoundInstance> instances)
+    {
+        final CompoundVector vector = empty();
+        for (final CompoundInstance instance : instances)
+        {
+            vector.add(instance.getType(), instance.getAmount());
+        }
+        return vector;
+    }
+
+    public CompoundTypeIndex getIndex()
+    {
+        return index;
+    }
+
+    public boolean contains(final int id)
+    {
+        return !Double.isNaN(amounts[id]);
+    }
+
+    public double get(final int id)
+    {
+        return amounts[id];
+    }
+
+    public void set(final int id, final double amount)
+    {
+        amounts[id] = amount;
+    }
+
+    public void add(final int id, final double amount)
+    {
+        amounts[id] = contains(id) ? amounts[id] + amount : amount;
+    }
+
+    public void add(final ICompoundType type, final double amount)
+    {
+        if (!index.contains(type))
+        {
+            moveTo(CompoundTypeIndex.getInstanceFor(type));
+        }
+
+        add(index.getId(type), amount);
+    }
+
+    /**
+     * The amount of the given type.
+     *
+     * @param type The type.
+     * @return The amount, or {@link Double#NaN} when the type is not present.
+     */
+    public double get(final ICompoundType type)
+    {
+        final int id = index.getId(type);
+        return id == CompoundTypeIndex.UNKNOWN ? Double.NaN : amounts[id];
+    }
+
+    private void moveTo(final CompoundTypeIndex target)
+    {
+        final double[] moved = new double[target.size()];
+        Arrays.fill(moved, Double.NaN);
+        for (int i = 0; i < amounts.length; i++)
+        {
+            if (contains(i))
+            {
+                moved[target.getId(index.getType(i))] = amounts[i];
+            }
+        }
+
+        this.index = target;
+        this.amounts = moved;
+    }
+
+    /**
+     * Creates a new vector with all amounts multiplied by the given factor.
+     *
+     * @param factor The factor.
+     * @return The scaled vector.
+     */
+    public CompoundVector scale(final double factor)
+    {
+        final double[] scaled = new double[amounts.length];
+        for (int i = 0; i < amounts.length; i++)
+        {
+            scaled[i] = amounts[i] * factor;
+        }
+        return new CompoundVector(index, scaled);
+    }
+
+    /**
+     * Creates a new vector with all amounts divided by the given divisor.
+     *
+     * @param divisor The divisor.
+     * @return The divided vector.
+     */
+    public CompoundVector divide(final double divisor)
+    {
+        final double[] divided = new double[amounts.length];
+        for (int i = 0; i < amounts.length; i++)
+        {
+            divided[i] = amounts[i] / divisor;
+        }
+        return new CompoundVector(index, divided);
+    }
+
+    public boolean isEmpty()
+    {
+        for (final double amount : amounts)
+        {
+            if (!Double.isNaN(amount))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Indicates if any type of the given group is present in this vector.
+     *
+     * @param group The group.
+     * @return True when the vector contains data for the group.
+     */
+    public boolean hasGroup(final ICompoundTypeGroup group)
+    {
+        final int end = index.getGroupEnd(group);
+        for (int i = index.getGroupStart(group); i < end; i++)
+        {
+            if (contains(i))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Converts this vector into compound instances.
+     *
+     * @return The instances.
+     */
+    public Set<CompoundInstance> toInstances()
+    {
+        return toInstances(0, amounts.length);
+    }
+
+    /**
+     * Converts the slice of the given group of this vector into compound instances.
+     *
+     * @param group The group.
+     * @return The instances of the group.
+     */
+    public Set<CompoundInstance> toInstances(final ICompoundTypeGroup group)
+    {
+        return toInstances(index.getGroupStart(group), index.getGroupEnd(group));
+    }
+
+    private Set<CompoundInstance> toInstances(final int start, final int end)
+    {
+        final Set<CompoundInstance> instances = Sets.newHashSet();
+        for (int i = start; i < end; i++)
+        {
+            if (contains(i))
+            {
+                instances.add(new CompoundInstance(index.getType(i), amounts[i]));
+            }
+        }
+        return instances;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "CompoundVector{" + toInstances() + '}';
+    }
+}
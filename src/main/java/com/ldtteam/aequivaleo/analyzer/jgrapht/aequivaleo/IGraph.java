@@ -1,7 +1,23 @@
 package com.ldtteam.aequivaleo.analyzer.jgrapht.aequivaleo;
 
+import com.ldtteam.aequivaleo.analyzer.jgrapht.iterator.MissingDataIndex;
+import org.jetbrains.annotations.Nullable;
 import org.jgrapht.Graph;
 
 public interface IGraph extends Graph<INode, IEdge>
 {
+    /**
+     * Gives access to the missing data index of the analysis which is currently running on this graph.
+     *
+     * @return The index, or null if no analysis is running on this graph.
+     */
+    @Nullable
+    MissingDataIndex getMissingDataIndex();
+
+    /**
+     * Sets the missing data index of the analysis which is currently running on this graph.
+     *
+     * @param missingDataIndex The index, or null to remove it.
+     */
+    void setMissingDataIndex(@Nullable MissingDataIndex missingDataIndex);
 }
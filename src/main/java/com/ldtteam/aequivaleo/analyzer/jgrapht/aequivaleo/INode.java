@@ -1,9 +1,12 @@
 package com.ldtteam.aequivaleo.analyzer.jgrapht.aequivaleo;
 
+import com.ldtteam.aequivaleo.analyzer.compound.CompoundVector;
 import com.ldtteam.aequivaleo.analyzer.jgrapht.core.IAnalysisGraphNode;
+import com.ldtteam.aequivaleo.analyzer.jgrapht.iterator.MissingDataIndex;
 import com.ldtteam.aequivaleo.api.compound.CompoundInstance;
 import com.ldtteam.aequivaleo.api.compound.type.group.ICompoundTypeGroup;
 
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -16,6 +19,15 @@ public interface INode extends IAnalysisGraphNode<IGraph, Set<CompoundInstance>,
         return this;
     }
 
+    /**
+     * Gives access to the result of this node in its internal vector representation.
+     *
+     * @return The result as a vector, if present.
+     */
+    default Optional<CompoundVector> getResultingVector() {
+        return getResultingValue().map(CompoundVector::of);
+    }
+
     @Override
     default boolean hasUncalculatedChildren(final IGraph graph) {
         if (!graph.containsVertex(this))
@@ -36,29 +48,34 @@ public interface INode extends IAnalysisGraphNode<IGraph, Set<CompoundInstance>,
 
     @Override
     default boolean hasMissingData(IGraph graph, ICompoundTypeGroup group) {
+        final MissingDataIndex missingDataIndex = graph.getMissingDataIndex();
+        if (missingDataIndex != null)
+        {
+            return missingDataIndex.hasMissingData(this, group);
+        }
+
+        //No analysis is running on the graph, so there is nothing to share the index with.
+        return new MissingDataIndex(graph).hasMissingData(this, group);
+    }
+
+    /**
+     * Determines if this node on its own is missing data of the given group, without looking at its parents.
+     *
+     * @param group The group to check.
+     * @return The state of the data of the group on this node.
+     */
+    default MissingDataState getOwnMissingDataState(ICompoundTypeGroup group) {
         if (!getResultingValue().isPresent() || getResultingValue().get().isEmpty())
         {
-            return true;
+            return MissingDataState.MISSING;
         }
         for (CompoundInstance i : getResultingValue().get())
         {
             if (i.getType().getGroup() == group)
             {
-                return false;
+                return MissingDataState.COMPLETE;
             }
         }
-        if (!graph.containsVertex(this))
-        {
-            return false;
-        }
-        for (IEdge iEdge : graph.incomingEdgesOf(this))
-        {
-            INode node = graph.getEdgeSource(iEdge);
-            if (node.hasMissingData(graph, group))
-            {
-                return true;
-            }
-        }
-        return false;
+        return MissingDataState.INHERITED;
     }
 }
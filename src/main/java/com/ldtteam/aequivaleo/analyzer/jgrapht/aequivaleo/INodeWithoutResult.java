@@ -17,20 +17,8 @@ public interface INodeWithoutResult extends INode
     }
 
     @Override
-    default boolean hasMissingData(IGraph graph, ICompoundTypeGroup group)
+    default MissingDataState getOwnMissingDataState(ICompoundTypeGroup group)
     {
-        if (!graph.containsVertex(this))
-        {
-            return false;
-        }
-        for (IEdge iEdge : graph.incomingEdgesOf(this))
-        {
-            INode node = graph.getEdgeSource(iEdge);
-            if (node.hasMissingData(graph, group))
-            {
-                return true;
-            }
-        }
-        return false;
+        return MissingDataState.INHERITED;
     }
 }
@@ -1,6 +1,7 @@
 package com.ldtteam.aequivaleo.analyzer.jgrapht.aequivaleo;
 
 import com.google.common.collect.Sets;
+import com.ldtteam.aequivaleo.analyzer.compound.CompoundVector;
 import com.ldtteam.aequivaleo.analyzer.jgrapht.node.RecipeNode;
 import com.ldtteam.aequivaleo.api.compound.CompoundInstance;
 import com.ldtteam.aequivaleo.api.recipe.equivalency.IEquivalencyRecipe;
@@ -27,6 +28,18 @@ public interface IRecipeInputNode extends INode
      */
     Set<CompoundInstance> getInputInstances(final IRecipeNode recipeNode);
 
+    /**
+     * Returns the input of this node for a given recipe in the internal vector representation.
+     * The returned vector is not allowed to be modified.
+     *
+     * @param recipeNode The node of the recipe in question.
+     *
+     * @return The vector with which this node contributes to the recipe as an input.
+     */
+    default CompoundVector getInputVector(final IRecipeNode recipeNode) {
+        return CompoundVector.of(getInputInstances(recipeNode));
+    }
+
     /**
      * Returns the nodes which are the input for a given recipe node.
      *
@@ -1,6 +1,5 @@
 package com.ldtteam.aequivaleo.analyzer.jgrapht.aequivaleo;
 
-import com.ldtteam.aequivaleo.api.compound.CompoundInstance;
 import com.ldtteam.aequivaleo.api.compound.type.group.ICompoundTypeGroup;
 import com.ldtteam.aequivaleo.api.recipe.equivalency.IEquivalencyRecipe;
 import org.jetbrains.annotations.NotNull;
@@ -44,18 +43,7 @@ public interface IRecipeNode extends INode
             }
             else if (node instanceof IRecipeResidueNode) {
                 final IRecipeResidueNode inputNode = (IRecipeResidueNode) node;
-                final Set<CompoundInstance> instances = inputNode.getResidueInstances(this);
-                boolean hasNoMatchingGroup = true;
-                for (CompoundInstance instance : instances)
-                {
-                    ICompoundTypeGroup g = instance.getGroup();
-                    if (g.equals(group))
-                    {
-                        hasNoMatchingGroup = false;
-                        break;
-                    }
-                }
-                if (hasNoMatchingGroup) {
+                if (!inputNode.getResidueVector(this).hasGroup(group)) {
                     return true;
                 }
             }
@@ -1,5 +1,6 @@
 package com.ldtteam.aequivaleo.analyzer.jgrapht.aequivaleo;
 
+import com.ldtteam.aequivaleo.analyzer.compound.CompoundVector;
 import com.ldtteam.aequivaleo.api.compound.CompoundInstance;
 
 import java.util.Set;
@@ -18,4 +19,16 @@ public interface IRecipeResidueNode extends INode
      * @return The compound instances with which this node contributes to the recipe as a residue.
      */
     Set<CompoundInstance> getResidueInstances(IRecipeNode recipeNode);
+
+    /**
+     * Returns the residue of this node for a given recipe in the internal vector representation.
+     * The returned vector is not allowed to be modified.
+     *
+     * @param recipeNode The node of the recipe in question.
+     *
+     * @return The vector with which this node contributes to the recipe as a residue.
+     */
+    default CompoundVector getResidueVector(IRecipeNode recipeNode) {
+        return CompoundVector.of(getResidueInstances(recipeNode));
+    }
 }
@@ -0,0 +1,20 @@
+package com.ldtteam.aequivaleo.analyzer.jgrapht.aequivaleo;
+
+/**
+ * Describes what a node knows on its own about the data of a given compound type group.
+ */
+public enum MissingDataState
+{
+    /**
+     * The node itself is missing the data.
+     */
+    MISSING,
+    /**
+     * The node itself has the data, its parents do not matter.
+     */
+    COMPLETE,
+    /**
+     * The node does not know, its parents decide.
+     */
+    INHERITED
+}
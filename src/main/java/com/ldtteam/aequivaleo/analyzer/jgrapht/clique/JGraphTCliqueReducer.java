@@ -19,6 +19,7 @@ import org.jgrapht.alg.interfaces.MaximalCliqueEnumerationAlgorithm;
 
 import java.util.*;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
 
 public class JGraphTCliqueReducer<G extends Graph<INode, IEdge>>
@@ -29,15 +30,26 @@ public class JGraphTCliqueReducer<G extends Graph<INode, IEdge>>
     private final QuadFunction<G, Set<INode>, Set<IRecipeNode>, Set<IRecipeInputNode>, INode> vertexReplacerFunction;
     private final Function<List<Set<IRecipeNode>>, Set<IRecipeNode>> cliqueRecipeExtractor;
     private final TriConsumer<INode, INode, INode>                 onNeighborNodeReplacedCallback;
+    private final IntConsumer                                      onRemainingCliquesChangedCallback;
 
     public JGraphTCliqueReducer(
       final QuadFunction<G, Set<INode>, Set<IRecipeNode>, Set<IRecipeInputNode>, INode> vertexReplacerFunction,
       final Function<List<Set<IRecipeNode>>, Set<IRecipeNode>> cliqueRecipeExtractor,
       final TriConsumer<INode, INode, INode> onNeighborNodeReplacedCallback)
+    {
+        this(vertexReplacerFunction, cliqueRecipeExtractor, onNeighborNodeReplacedCallback, remaining -> {});
+    }
+
+    public JGraphTCliqueReducer(
+      final QuadFunction<G, Set<INode>, Set<IRecipeNode>, Set<IRecipeInputNode>, INode> vertexReplacerFunction,
+      final Function<List<Set<IRecipeNode>>, Set<IRecipeNode>> cliqueRecipeExtractor,
+      final TriConsumer<INode, INode, INode> onNeighborNodeReplacedCallback,
+      final IntConsumer onRemainingCliquesChangedCallback)
     {
         this.vertexReplacerFunction = vertexReplacerFunction;
         this.cliqueRecipeExtractor = cliqueRecipeExtractor;
         this.onNeighborNodeReplacedCallback = onNeighborNodeReplacedCallback;
+        this.onRemainingCliquesChangedCallback = onRemainingCliquesChangedCallback;
     }
 
     @SuppressWarnings({"SuspiciousMethodCalls", "DuplicatedCode"})
@@ -51,6 +63,8 @@ public class JGraphTCliqueReducer<G extends Graph<INode, IEdge>>
         LinkedHashSet<Set<INode>> sortedCliques = new LinkedHashSet<>(foundCliques);
 
         while(!sortedCliques.isEmpty()) {
+            onRemainingCliquesChangedCallback.accept(sortedCliques.size());
+
             final Set<INode> clique = sortedCliques.iterator().next();
             List<Set<IRecipeNode>> list = new ArrayList<>();
             for (INode cliqueEntry : clique)
@@ -266,6 +280,8 @@ public class JGraphTCliqueReducer<G extends Graph<INode, IEdge>>
 
             AnalysisLogHandler.debug(LOGGER, String.format(" > Removed clique: %s", clique));
         }
+
+        onRemainingCliquesChangedCallback.accept(0);
     }
 
     private <V, E> void removeNodes(final Graph<V, E> graph, final Set<V> nodes) {
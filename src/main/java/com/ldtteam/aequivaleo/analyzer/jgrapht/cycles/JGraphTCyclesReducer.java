@@ -17,6 +17,7 @@ import org.jgrapht.alg.cycle.HawickJamesSimpleCycles;
 
 import java.util.*;
 import java.util.function.BiFunction;
+import java.util.function.IntConsumer;
 
 public class JGraphTCyclesReducer<G extends Graph<V, E>, V, E extends IAnalysisEdge>
 {
@@ -26,6 +27,7 @@ public class JGraphTCyclesReducer<G extends Graph<V, E>, V, E extends IAnalysisE
     private final BiFunction<G, List<V>, V> vertexReplacerFunction;
     private final TriConsumer<V, V, V> onNeighborNodeReplacedCallback;
     private final boolean reduceSingularCycle;
+    private final IntConsumer onRemainingCyclesChangedCallback;
 
     public JGraphTCyclesReducer(
       final BiFunction<G, List<V>, V> vertexReplacerFunction,
@@ -37,9 +39,18 @@ public class JGraphTCyclesReducer<G extends Graph<V, E>, V, E extends IAnalysisE
       final BiFunction<G, List<V>, V> vertexReplacerFunction,
       final TriConsumer<V, V, V> onNeighborNodeReplacedCallback,
       final boolean reduceSingularCycle) {
+        this(vertexReplacerFunction, onNeighborNodeReplacedCallback, reduceSingularCycle, remaining -> {});
+    }
+
+    public JGraphTCyclesReducer(
+      final BiFunction<G, List<V>, V> vertexReplacerFunction,
+      final TriConsumer<V, V, V> onNeighborNodeReplacedCallback,
+      final boolean reduceSingularCycle,
+      final IntConsumer onRemainingCyclesChangedCallback) {
         this.vertexReplacerFunction = vertexReplacerFunction;
         this.onNeighborNodeReplacedCallback = onNeighborNodeReplacedCallback;
         this.reduceSingularCycle = reduceSingularCycle;
+        this.onRemainingCyclesChangedCallback = onRemainingCyclesChangedCallback;
     }
 
     public void reduce(final G graph) {
@@ -76,6 +87,8 @@ public class JGraphTCyclesReducer<G extends Graph<V, E>, V, E extends IAnalysisE
         sortedCycles.sort(Comparator.comparing(List::size));
 
         while(!sortedCycles.isEmpty()) {
+            onRemainingCyclesChangedCallback.accept(sortedCycles.size());
+
             final List<V> cycle = sortedCycles.get(0);
 
             AnalysisLogHandler.debug(LOGGER, String.format(" > Removing cycle: %s", cycle));
@@ -161,6 +174,7 @@ public class JGraphTCyclesReducer<G extends Graph<V, E>, V, E extends IAnalysisE
             AnalysisLogHandler.debug(LOGGER, String.format(" > Removed cycle: %s", cycle));
         }
 
+        onRemainingCyclesChangedCallback.accept(0);
         return true;
     }
 
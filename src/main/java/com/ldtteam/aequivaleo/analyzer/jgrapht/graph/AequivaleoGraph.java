@@ -4,6 +4,8 @@ import com.ldtteam.aequivaleo.analyzer.jgrapht.aequivaleo.IEdge;
 import com.ldtteam.aequivaleo.analyzer.jgrapht.aequivaleo.IGraph;
 import com.ldtteam.aequivaleo.analyzer.jgrapht.aequivaleo.INode;
 import com.ldtteam.aequivaleo.analyzer.jgrapht.edge.Edge;
+import com.ldtteam.aequivaleo.analyzer.jgrapht.iterator.MissingDataIndex;
+import org.jetbrains.annotations.Nullable;
 import org.jgrapht.graph.DirectedWeightedMultigraph;
 
 import java.util.concurrent.atomic.AtomicLong;
@@ -11,6 +13,9 @@ import java.util.function.Supplier;
 
 public class AequivaleoGraph extends SimpleAnalysisGraph<INode, IEdge> implements IGraph
 {
+    @Nullable
+    private MissingDataIndex missingDataIndex = null;
+
     public AequivaleoGraph()
     {
         super(createEdgeSupplier());
@@ -19,4 +24,17 @@ public class AequivaleoGraph extends SimpleAnalysisGraph<INode, IEdge> implement
     private static Supplier<IEdge> createEdgeSupplier() {
         return Edge::new;
     }
+
+    @Nullable
+    @Override
+    public MissingDataIndex getMissingDataIndex()
+    {
+        return missingDataIndex;
+    }
+
+    @Override
+    public void setMissingDataIndex(@Nullable final MissingDataIndex missingDataIndex)
+    {
+        this.missingDataIndex = missingDataIndex;
+    }
 }
@@ -25,6 +25,7 @@ public class AnalysisBFSGraphIterator extends CrossComponentIterator<INode, IEdg
     private final Queue<INode> completeQueue = new ArrayDeque<>();
     private final PriorityQueue<INode> incompleteQueue = new PriorityQueue<>(Comparator.comparing(n -> depthMap.getOrDefault(n, Integer.MAX_VALUE)));
     private final IGraph analysisGraph;
+    private final MissingDataIndex missingDataIndex;
 
     public AnalysisBFSGraphIterator(final IGraph iteratingGraph, final INode sourceGraphNode) {
         this(iteratingGraph, sourceGraphNode, iteratingGraph);
@@ -42,6 +43,8 @@ public class AnalysisBFSGraphIterator extends CrossComponentIterator<INode, IEdg
         this.depthMap.putAll(depthMapBFSIterator.getDepthMap());
         this.startNode = sourceGraphNode;
         this.analysisGraph = analysisGraph;
+        this.missingDataIndex = new MissingDataIndex(analysisGraph);
+        this.analysisGraph.setMissingDataIndex(this.missingDataIndex);
 
         if (this.getGraph() != this.analysisGraph) {
             validateGraphs();
@@ -60,6 +63,19 @@ public class AnalysisBFSGraphIterator extends CrossComponentIterator<INode, IEdg
         }
     }
 
+    @Override
+    public boolean hasNext()
+    {
+        final boolean hasNext = super.hasNext();
+        if (!hasNext && this.analysisGraph.getMissingDataIndex() == this.missingDataIndex)
+        {
+            //The analysis is done, the index is not needed anymore.
+            this.analysisGraph.setMissingDataIndex(null);
+        }
+
+        return hasNext;
+    }
+
     @Override
     protected boolean isConnectedComponentExhausted()
     {
@@ -91,6 +107,7 @@ public class AnalysisBFSGraphIterator extends CrossComponentIterator<INode, IEdg
         final INode vertex = innerProvideNextVertex();
 
         vertex.determineResult(this.analysisGraph);
+        this.missingDataIndex.onProcessed(vertex);
         if (vertex instanceof INodeWithoutResult) {
             AnalysisLogHandler.debug(LOGGER, String.format("  > Processed node without result: %s", vertex));
         }
@@ -0,0 +1,244 @@
+package com.ldtteam.aequivaleo.analyzer.jgrapht.iterator;
+
+import com.google.common.collect.Maps;
+import com.ldtteam.aequivaleo.analyzer.jgrapht.aequivaleo.IEdge;
+import com.ldtteam.aequivaleo.analyzer.jgrapht.aequivaleo.IGraph;
+import com.ldtteam.aequivaleo.analyzer.jgrapht.aequivaleo.INode;
+import com.ldtteam.aequivaleo.analyzer.jgrapht.aequivaleo.MissingDataState;
+import com.ldtteam.aequivaleo.api.compound.type.group.ICompoundTypeGroup;
+
+import java.util.*;
+
+/**
+ * Memoizes, per compound type group, whether a node or any of its ancestors is missing data.
+ *
+ * The structure of the graph is indexed up front: every node gets an index in topological order, and the parents of
+ * each node are stored as an array of indices. The structure of the graph may not change while the index is in use.
+ *
+ * The state of a node is memoized once the node and the ancestors its state depends on have been processed, since their
+ * results can not change anymore after that. States which still depend on unprocessed nodes are calculated from the
+ * current results of the ancestors, in topological order without recursing over the graph.
+ */
+public class MissingDataIndex
+{
+    private final Map<INode, Integer>                  nodeIndices;
+    private final INode[]                              nodes;
+    private final int[][]                              parents;
+    private final BitSet                               processed   = new BitSet();
+    private final Map<ICompoundTypeGroup, GroupStates> groupStates = Maps.newHashMap();
+
+    public MissingDataIndex(final IGraph graph)
+    {
+        final List<INode> order = sortTopologically(graph);
+
+        this.nodeIndices = Maps.newHashMapWithExpectedSize(order.size());
+        this.nodes = order.toArray(new INode[0]);
+        for (int i = 0; i < nodes.length; i++)
+        {
+            nodeIndices.put(nodes[i], i);
+        }
+
+        this.parents = new int[nodes.length][];
+        for (int i = 0; i < nodes.length; i++)
+        {
+            parents[i] = graph.incomingEdgesOf(nodes[i])
+                           .stream()
+                           .mapToInt(edge -> nodeIndices.get(graph.getEdgeSource(edge)))
+                           .distinct()
+                           .toArray();
+        }
+    }
+
+    /**
+     * Orders the nodes of the graph so that every node comes after its parents.
+     * Nodes which are part of a cycle have no such order, they are placed at the end.
+     */
+    private static List<INode> sortTopologically(final IGraph graph)
+    {
+        final List<INode> order = new ArrayList<>(graph.vertexSet().size());
+        final Map<INode, Integer> remainingIncomingEdges = Maps.newHashMapWithExpectedSize(graph.vertexSet().size());
+        final Deque<INode> ready = new ArrayDeque<>();
+        for (final INode node : graph.vertexSet())
+        {
+            final int incomingEdges = graph.inDegreeOf(node);
+            remainingIncomingEdges.put(node, incomingEdges);
+            if (incomingEdges == 0)
+            {
+                ready.add(node);
+            }
+        }
+
+        while (!ready.isEmpty())
+        {
+            final INode node = ready.poll();
+            order.add(node);
+
+            for (final IEdge edge : graph.outgoingEdgesOf(node))
+            {
+                final INode target = graph.getEdgeTarget(edge);
+                if (remainingIncomingEdges.merge(target, -1, Integer::sum) == 0)
+                {
+                    ready.add(target);
+                }
+            }
+        }
+
+        if (order.size() < graph.vertexSet().size())
+        {
+            for (final INode node : graph.vertexSet())
+            {
+                if (remainingIncomingEdges.get(node) > 0)
+                {
+                    order.add(node);
+                }
+            }
+        }
+
+        return order;
+    }
+
+    /**
+     * Marks a node as processed, its result is final from now on.
+     *
+     * @param node The node that was processed.
+     */
+    public void onProcessed(final INode node)
+    {
+        final Integer index = nodeIndices.get(node);
+        if (index != null)
+        {
+            processed.set(index);
+        }
+    }
+
+    /**
+     * Determines if the given node, or any of its ancestors, is missing data of the given group.
+     *
+     * @param node The node to check.
+     * @param group The group to check.
+     * @return True when data is missing.
+     */
+    public boolean hasMissingData(final INode node, final ICompoundTypeGroup group)
+    {
+        final Integer index = nodeIndices.get(node);
+        if (index == null)
+        {
+            //Nodes outside of the graph have no ancestors.
+            return node.getOwnMissingDataState(group) == MissingDataState.MISSING;
+        }
+
+        return groupStates.computeIfAbsent(group, GroupStates::new).hasMissingData(index);
+    }
+
+    private final class GroupStates
+    {
+        private final ICompoundTypeGroup group;
+
+        private final BitSet memoized = new BitSet();
+        private final BitSet missing  = new BitSet();
+
+        private GroupStates(final ICompoundTypeGroup group)
+        {
+            this.group = group;
+        }
+
+        private boolean hasMissingData(final int index)
+        {
+            if (memoized.get(index))
+            {
+                return missing.get(index);
+            }
+
+            //Collect the ancestors whose state is not memoized yet, stopping at nodes which decide on their own.
+            final BitSet pending = new BitSet();
+            final BitSet ownMissing = new BitSet();
+            final BitSet inherited = new BitSet();
+            final Deque<Integer> toVisit = new ArrayDeque<>();
+            toVisit.push(index);
+            while (!toVisit.isEmpty())
+            {
+                final int current = toVisit.pop();
+                if (pending.get(current))
+                {
+                    continue;
+                }
+                pending.set(current);
+
+                final MissingDataState state = nodes[current].getOwnMissingDataState(group);
+                if (state != MissingDataState.INHERITED)
+                {
+                    ownMissing.set(current, state == MissingDataState.MISSING);
+                    continue;
+                }
+
+                inherited.set(current);
+                for (final int parent : parents[current])
+                {
+                    if (!memoized.get(parent) && !pending.get(parent))
+                    {
+                        toVisit.push(parent);
+                    }
+                }
+            }
+
+            //Parents come before their children, so a single pass in index order resolves all collected nodes.
+            final BitSet resolved = new BitSet();
+            final BitSet resolvedMissing = new BitSet();
+            final BitSet stable = new BitSet();
+            for (int current = pending.nextSetBit(0); current >= 0; current = pending.nextSetBit(current + 1))
+            {
+                final boolean currentMissing;
+                boolean currentStable = processed.get(current);
+                if (!inherited.get(current))
+                {
+                    currentMissing = ownMissing.get(current);
+                }
+                else
+                {
+                    boolean anyParentMissing = false;
+                    boolean anyStableParentMissing = false;
+                    boolean allParentsStable = true;
+                    for (final int parent : parents[current])
+                    {
+                        final boolean parentMissing;
+                        final boolean parentStable;
+                        if (memoized.get(parent))
+                        {
+                            parentMissing = missing.get(parent);
+                            parentStable = true;
+                        }
+                        else if (resolved.get(parent))
+                        {
+                            parentMissing = resolvedMissing.get(parent);
+                            parentStable = stable.get(parent);
+                        }
+                        else
+                        {
+                            //Only a parent on a cycle can be unresolved here, it does not contribute any missing data.
+                            parentMissing = false;
+                            parentStable = false;
+                        }
+
+                        anyParentMissing |= parentMissing;
+                        anyStableParentMissing |= parentMissing && parentStable;
+                        allParentsStable &= parentStable;
+                    }
+
+                    currentMissing = anyParentMissing;
+                    currentStable &= anyStableParentMissing || allParentsStable;
+                }
+
+                resolved.set(current);
+                resolvedMissing.set(current, currentMissing);
+                if (currentStable)
+                {
+                    stable.set(current);
+                    memoized.set(current);
+                    missing.set(current, currentMissing);
+                }
+            }
+
+            return resolvedMissing.get(index);
+        }
+    }
+}
@@ -1,14 +1,16 @@
 package com.ldtteam.aequivaleo.analyzer.jgrapht.node;
 
-import com.google.common.collect.*;
+import com.ldtteam.aequivaleo.analyzer.compound.CompoundTypeIndex;
+import com.ldtteam.aequivaleo.analyzer.compound.CompoundVector;
 import com.ldtteam.aequivaleo.analyzer.jgrapht.aequivaleo.IEdge;
 import com.ldtteam.aequivaleo.analyzer.jgrapht.aequivaleo.IGraph;
 import com.ldtteam.aequivaleo.analyzer.jgrapht.aequivaleo.INode;
 import com.ldtteam.aequivaleo.api.compound.CompoundInstance;
 import com.ldtteam.aequivaleo.api.compound.type.group.ICompoundTypeGroup;
+import com.ldtteam.aequivaleo.api.mediation.IBulkMediationEngine;
 import com.ldtteam.aequivaleo.api.mediation.IMediationCandidate;
 import com.ldtteam.aequivaleo.api.mediation.IMediationContext;
-import com.ldtteam.aequivaleo.api.util.GroupingUtils;
+import com.ldtteam.aequivaleo.mediation.SimpleBulkMediationContext;
 import com.ldtteam.aequivaleo.mediation.SimpleMediationCandidate;
 import com.ldtteam.aequivaleo.mediation.SimpleMediationContext;
 import com.ldtteam.aequivaleo.utils.AnalysisLogHandler;
@@ -18,6 +20,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.function.Supplier;
 
 public abstract class AbstractNode implements INode
 {
@@ -26,56 +29,69 @@ public abstract class AbstractNode implements INode
 
     @Nullable
     private       Set<CompoundInstance>                            result       = null;
+    @Nullable
+    private       CompoundVector                                   resultVector = null;
     @NotNull
-    private final Multimap<INode, Optional<Set<CompoundInstance>>> candidates    = HashMultimap.create();
+    private final CandidateBuffer                                  candidates   = new CandidateBuffer(this);
 
     @NotNull
     @Override
     public Optional<Set<CompoundInstance>> getResultingValue()
     {
+        if (result == null && resultVector != null)
+        {
+            result = resultVector.toInstances();
+        }
         return Optional.ofNullable(result);
     }
 
+    @NotNull
     @Override
-    public void addCandidateResult(final INode neighbor, final IEdge sourceEdge, final Optional<Set<CompoundInstance>> instances)
+    public Optional<CompoundVector> getResultingVector()
     {
-        if (neighbor == this)
+        if (resultVector == null && result != null)
         {
-            this.candidates.removeAll(this);
+            resultVector = CompoundVector.of(result);
         }
+        return Optional.ofNullable(resultVector);
+    }
 
-        this.candidates.put(neighbor, instances);
+    /**
+     * Sets the result of this node from the internal vector representation.
+     * The instances are only created when they are requested.
+     *
+     * @param vector The new result.
+     */
+    protected void setResultVector(@Nullable final CompoundVector vector)
+    {
+        this.result = null;
+        this.resultVector = vector;
+    }
+
+    private void setResult(@Nullable final Set<CompoundInstance> instances)
+    {
+        this.result = instances;
+        this.resultVector = null;
+    }
+
+    @Override
+    public void addCandidateResult(final INode neighbor, final IEdge sourceEdge, final Optional<Set<CompoundInstance>> instances)
+    {
+        this.candidates.add(neighbor, instances);
     }
 
     @NotNull
     @Override
     public Set<Set<CompoundInstance>> getCandidates()
     {
-        Set<Set<CompoundInstance>> set = new HashSet<>();
-        for (Optional<Set<CompoundInstance>> compoundInstances : candidates.values())
-        {
-            if (compoundInstances.isPresent())
-            {
-                Set<CompoundInstance> instances = compoundInstances.get();
-                set.add(instances);
-            }
-        }
-        return set;
+        return candidates.getValues();
     }
 
     @NotNull
     @Override
     public Set<INode> getAnalyzedNeighbors()
     {
-        List<INode> list = new ArrayList<>();
-        for (INode n : candidates.keySet())
-        {
-            if (n != this)
-            {
-                list.add(n);
-            }
-        }
-        return ImmutableSet.copyOf(list);
+        return candidates.getAnalyzedNeighbors();
     }
 
     @Override
@@ -96,7 +112,7 @@ public abstract class AbstractNode implements INode
     public void forceSetResult(final Set<CompoundInstance> compoundInstances)
     {
         AnalysisLogHandler.debug(LOGGER, String.format("Force setting the result of: %s to: %s", this, compoundInstances));
-        this.result = compoundInstances;
+        setResult(compoundInstances);
     }
 
     @Override
@@ -106,23 +122,23 @@ public abstract class AbstractNode implements INode
         //Short circuit empty result.
         if (getCandidates().size() == 0)
         {
-            if (result != null)
+            if (result != null || resultVector != null)
             {
-                AnalysisLogHandler.debug(LOGGER, String.format("  > No candidates available. Using current value: %s", this.result));
+                AnalysisLogHandler.debug(LOGGER, String.format("  > No candidates available. Using current value: %s", result != null ? result : resultVector));
             }
             else
             {
                 AnalysisLogHandler.debug(LOGGER, "  > No candidates available, and result not forced. Setting empty collection!");
-                this.result = null;
+                setResult(null);
             }
             return;
         }
 
         //Locking happens via the intrinsic value of node itself.
         //Return that value if it exists.
-        if (this.candidates.containsKey(this))
+        if (this.candidates.containsOwnerCandidate())
         {
-            this.result = this.candidates.get(this).iterator().next().orElse(null);
+            setResult(this.candidates.getOwnerCandidate().orElse(null));
             AnalysisLogHandler.debug(LOGGER, String.format("  > Candidate data contained forced value: %s", this.result));
             return;
         }
@@ -131,58 +147,166 @@ public abstract class AbstractNode implements INode
         //So we take that.
         if (getCandidates().size() == 1)
         {
-            this.result = getCandidates().iterator().next();
+            setResult(getCandidates().iterator().next());
             AnalysisLogHandler.debug(LOGGER, String.format("  > Candidate data contained exactly one entry: %s", this.result));
             return;
         }
 
         AnalysisLogHandler.debug(LOGGER, "  > Candidate data contains more then one entry. Mediation is required. Invoking type group callbacks to determine value.");
 
-        final Table<ICompoundTypeGroup, INode, Set<CompoundInstance>> typeNodeCandidates = HashBasedTable.create();
-        this.candidates.forEach((node, optionalResult) -> {
-            if (optionalResult.isPresent()) {
-                final Map<ICompoundTypeGroup, Collection<CompoundInstance>> groupedInstances = GroupingUtils.groupByUsingSetToMap(
-                  optionalResult.get(),
-                  compoundInstance -> compoundInstance.getType().getGroup()
-                );
+        final boolean hasUncalculatedChildren = hasUncalculatedChildren(graph);
+        final Supplier<Boolean> areTargetParentsAnalyzed = () -> !hasUncalculatedChildren;
+        final CompoundTypeIndex index = CompoundTypeIndex.getInstance();
 
-                groupedInstances.forEach((group, candidates) -> typeNodeCandidates.put(group, node, new HashSet<>(candidates)));
+        //Groups with a bulk engine are collected into flat rows, all other groups into instance sets.
+        //The candidates are read as vectors, which are already sliced per group. Groups keep their position when the
+        //index is rebuilt, so the position of the group in the index of a vector identifies the group.
+        //For each group only the last value provided by a neighbor is used, the rows are keyed by neighbor index.
+        final int neighborCount = this.candidates.getNeighborCount();
+        GroupCandidates[] groupCandidates = new GroupCandidates[index.getGroups().size()];
+        for (int candidateIndex = 0; candidateIndex < this.candidates.size(); candidateIndex++)
+        {
+            final CompoundVector vector = this.candidates.getVector(candidateIndex);
+            if (vector == null)
+            {
+                continue;
             }
-        });
 
-        final boolean hasUncalculatedChildren = hasUncalculatedChildren(graph);
+            final INode node = this.candidates.getNeighbor(candidateIndex);
+            final int neighborIndex = this.candidates.getNeighborIndex(candidateIndex);
+            final List<ICompoundTypeGroup> groups = vector.getIndex().getGroups();
+            if (groups.size() > groupCandidates.length)
+            {
+                groupCandidates = Arrays.copyOf(groupCandidates, groups.size());
+            }
+
+            for (int groupIndex = 0; groupIndex < groups.size(); groupIndex++)
+            {
+                final ICompoundTypeGroup group = groups.get(groupIndex);
+                if (!vector.hasGroup(group))
+                {
+                    continue;
+                }
+
+                if (groupCandidates[groupIndex] == null)
+                {
+                    groupCandidates[groupIndex] = new GroupCandidates(group, index, areTargetParentsAnalyzed, neighborCount);
+                }
+
+                groupCandidates[groupIndex].set(neighborIndex, vector, () -> node.hasMissingData(graph, group));
+            }
+        }
+
+        //The mediated values of the groups are written into a single vector, each group fills its own slice.
+        final CompoundVector workingResult = CompoundVector.empty();
+        for (final GroupCandidates candidatesOfGroup : groupCandidates)
+        {
+            if (candidatesOfGroup != null)
+            {
+                candidatesOfGroup.mediateInto(workingResult, areTargetParentsAnalyzed);
+            }
+        }
+
+        setResultVector(workingResult);
+        AnalysisLogHandler.debug(LOGGER, String.format("  > Mediation completed. Determined value is: %s", this.resultVector));
+    }
+
+    /**
+     * The candidates of a single group during mediation, keyed by the neighbor index of the candidate buffer.
+     */
+    private static final class GroupCandidates
+    {
+        private static final int NO_ROW = -1;
+
+        private final ICompoundTypeGroup group;
+
+        @Nullable
+        private final SimpleBulkMediationContext bulkContext;
+        @Nullable
+        private final int[]                      bulkRows;
+        @Nullable
+        private final IMediationCandidate[]      classicCandidates;
+
+        private GroupCandidates(
+          final ICompoundTypeGroup group,
+          final CompoundTypeIndex index,
+          final Supplier<Boolean> areTargetParentsAnalyzed,
+          final int neighborCount)
+        {
+            this.group = group;
+            if (group.getMediationEngine() instanceof IBulkMediationEngine)
+            {
+                this.bulkContext = new SimpleBulkMediationContext(group, index, areTargetParentsAnalyzed);
+                this.bulkRows = new int[neighborCount];
+                Arrays.fill(this.bulkRows, NO_ROW);
+                this.classicCandidates = null;
+            }
+            else
+            {
+                this.bulkContext = null;
+                this.bulkRows = null;
+                this.classicCandidates = new IMediationCandidate[neighborCount];
+            }
+        }
 
-        final Map<ICompoundTypeGroup, Set<CompoundInstance>> mediatedValues = Maps.newHashMap();
-        typeNodeCandidates.rowKeySet().forEach(compoundTypeGroup -> {
-            final Map<INode, Set<CompoundInstance>> instancesForGroup = typeNodeCandidates.row(compoundTypeGroup);
+        /**
+         * Sets the value of a neighbor for this group, replacing any value the neighbor provided before.
+         */
+        private void set(final int neighborIndex, final CompoundVector vector, final Supplier<Boolean> isSourceIncomplete)
+        {
+            if (bulkContext != null && bulkRows != null)
+            {
+                final int row = bulkRows[neighborIndex];
+                if (row == NO_ROW)
+                {
+                    bulkRows[neighborIndex] = bulkContext.addCandidate(isSourceIncomplete);
+                }
+                else
+                {
+                    bulkContext.resetCandidate(row, isSourceIncomplete);
+                }
 
-            final Set<IMediationCandidate> mediationCandidates =
-              new HashSet<>();
-            for (INode node : instancesForGroup.keySet())
+                bulkContext.addAmounts(bulkRows[neighborIndex], vector);
+            }
+            else if (classicCandidates != null)
             {
-                SimpleMediationCandidate simpleMediationCandidate = new SimpleMediationCandidate(instancesForGroup.get(node), () -> node.hasMissingData(graph, compoundTypeGroup));
-                mediationCandidates.add(simpleMediationCandidate);
+                classicCandidates[neighborIndex] = new SimpleMediationCandidate(vector.toInstances(group), isSourceIncomplete);
+            }
+        }
+
+        private void mediateInto(final CompoundVector target, final Supplier<Boolean> areTargetParentsAnalyzed)
+        {
+            if (bulkContext != null)
+            {
+                final int selectedCandidate = ((IBulkMediationEngine) group.getMediationEngine()).selectCandidate(bulkContext);
+                if (selectedCandidate != IBulkMediationEngine.NO_RESULT)
+                {
+                    bulkContext.addTo(selectedCandidate, target);
+                }
+                return;
+            }
+
+            final Set<IMediationCandidate> mediationCandidates = new HashSet<>();
+            for (final IMediationCandidate candidate : Objects.requireNonNull(classicCandidates))
+            {
+                if (candidate != null)
+                {
+                    mediationCandidates.add(candidate);
+                }
             }
 
             final IMediationContext context = new SimpleMediationContext(
               mediationCandidates,
-              () -> !hasUncalculatedChildren
+              areTargetParentsAnalyzed
             );
 
-            final Optional<Set<CompoundInstance>> mediatedValue = compoundTypeGroup.getMediationEngine().determineMediationResult(context);
-
-            mediatedValue.ifPresent(instances -> mediatedValues.put(
-              compoundTypeGroup,
-              instances
-            ));
-        });
-
-        Set<CompoundInstance> workingResult = new HashSet<>();
-        for (Set<CompoundInstance> compoundInstances : mediatedValues.values())
-        {
-            workingResult.addAll(compoundInstances);
+            final Optional<Set<CompoundInstance>> mediatedValue = group.getMediationEngine().determineMediationResult(context);
+            mediatedValue.ifPresent(instances -> {
+                for (final CompoundInstance instance : instances)
+                {
+                    target.add(instance.getType(), instance.getAmount());
+                }
+            });
         }
-        this.result = workingResult;
-        AnalysisLogHandler.debug(LOGGER, String.format("  > Mediation completed. Determined value is: %s", this.result));
     }
 }
@@ -0,0 +1,315 @@
+package com.ldtteam.aequivaleo.analyzer.jgrapht.node;
+
+import com.ldtteam.aequivaleo.analyzer.compound.CompoundVector;
+import com.ldtteam.aequivaleo.analyzer.jgrapht.aequivaleo.INode;
+import com.ldtteam.aequivaleo.api.compound.CompoundInstance;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * An append only buffer for the candidate results of a node.
+ *
+ * The hash of a candidate value is calculated once when it is added, and the distinct values and analyzed neighbors
+ * are tracked while adding. This allows the candidates to be queried through views, without rebuilding any sets.
+ * The vector of a distinct value is created once, when it is first requested, and shared by all candidates with that value.
+ * Candidates can be accessed by their index, and every neighbor has a dense index, so that callers can key their own
+ * data by plain arrays instead of maps.
+ * Candidate values are not allowed to be modified after they have been added.
+ */
+final class CandidateBuffer
+{
+    private final INode owner;
+
+    private final Set<Entry>                    entries           = new HashSet<>();
+    private final List<Entry>                   orderedEntries    = new ArrayList<>();
+    private final Map<INode, Integer>           neighborIndices   = new HashMap<>();
+    private final Map<HashedValue, HashedValue> distinctValues    = new LinkedHashMap<>();
+    private final Set<INode>                    analyzedNeighbors = new LinkedHashSet<>();
+    @Nullable
+    private       Entry                         ownerEntry        = null;
+
+    private final Set<Set<CompoundInstance>> valuesView            = new ValuesView();
+    private final Set<INode>                 analyzedNeighborsView = Collections.unmodifiableSet(analyzedNeighbors);
+
+    CandidateBuffer(final INode owner)
+    {
+        this.owner = owner;
+    }
+
+    /**
+     * Adds a new candidate.
+     * A candidate of the owner itself replaces its previous candidate.
+     *
+     * @param neighbor The neighbor that provided the candidate.
+     * @param value The candidate value.
+     */
+    void add(final INode neighbor, final Optional<Set<CompoundInstance>> value)
+    {
+        //Equal values share one instance, so that its vector is only created once.
+        final Entry entry = new Entry(
+          neighbor,
+          neighborIndices.computeIfAbsent(neighbor, n -> neighborIndices.size()),
+          value.map(HashedValue::new).map(hashed -> distinctValues.getOrDefault(hashed, hashed)).orElse(null)
+        );
+        if (neighbor == owner)
+        {
+            if (ownerEntry != null)
+            {
+                entries.remove(ownerEntry);
+                orderedEntries.remove(ownerEntry);
+                rebuildDistinctValues();
+            }
+            ownerEntry = entry;
+        }
+        else
+        {
+            analyzedNeighbors.add(neighbor);
+        }
+
+        if (entries.add(entry))
+        {
+            orderedEntries.add(entry);
+            if (entry.value != null)
+            {
+                distinctValues.putIfAbsent(entry.value, entry.value);
+            }
+        }
+    }
+
+    /**
+     * A view of the distinct present candidate values.
+     *
+     * @return The distinct values.
+     */
+    Set<Set<CompoundInstance>> getValues()
+    {
+        return valuesView;
+    }
+
+    /**
+     * A view of the neighbors, other than the owner, which provided a candidate.
+     *
+     * @return The analyzed neighbors.
+     */
+    Set<INode> getAnalyzedNeighbors()
+    {
+        return analyzedNeighborsView;
+    }
+
+    boolean containsOwnerCandidate()
+    {
+        return ownerEntry != null;
+    }
+
+    Optional<Set<CompoundInstance>> getOwnerCandidate()
+    {
+        return ownerEntry == null || ownerEntry.value == null ? Optional.empty() : Optional.of(ownerEntry.value.value);
+    }
+
+    /**
+     * Invokes the consumer for every candidate in the order they were added.
+     *
+     * @param consumer The consumer.
+     */
+    void forEach(final BiConsumer<INode, Optional<Set<CompoundInstance>>> consumer)
+    {
+        for (final Entry entry : orderedEntries)
+        {
+            consumer.accept(entry.neighbor, entry.value == null ? Optional.empty() : Optional.of(entry.value.value));
+        }
+    }
+
+    /**
+     * The amount of candidates.
+     *
+     * @return The amount of candidates.
+     */
+    int size()
+    {
+        return orderedEntries.size();
+    }
+
+    /**
+     * The amount of distinct neighbors, including the owner, which provided a candidate.
+     * Neighbor indices are in the range from zero to this value.
+     *
+     * @return The amount of neighbors.
+     */
+    int getNeighborCount()
+    {
+        return neighborIndices.size();
+    }
+
+    /**
+     * The neighbor which provided the candidate with the given index.
+     *
+     * @param candidateIndex The index of the candidate, in the order the candidates were added.
+     * @return The neighbor.
+     */
+    INode getNeighbor(final int candidateIndex)
+    {
+        return orderedEntries.get(candidateIndex).neighbor;
+    }
+
+    /**
+     * The dense index of the neighbor which provided the candidate with the given index.
+     * All candidates of the same neighbor have the same neighbor index.
+     *
+     * @param candidateIndex The index of the candidate, in the order the candidates were added.
+     * @return The neighbor index.
+     */
+    int getNeighborIndex(final int candidateIndex)
+    {
+        return orderedEntries.get(candidateIndex).neighborIndex;
+    }
+
+    /**
+     * The value of the candidate with the given index as a vector.
+     * The vector is not allowed to be modified.
+     *
+     * @param candidateIndex The index of the candidate, in the order the candidates were added.
+     * @return The vector, or null when the candidate has no value.
+     */
+    @Nullable
+    CompoundVector getVector(final int candidateIndex)
+    {
+        final Entry entry = orderedEntries.get(candidateIndex);
+        return entry.value == null ? null : entry.value.getVector();
+    }
+
+    private void rebuildDistinctValues()
+    {
+        distinctValues.clear();
+        for (final Entry entry : orderedEntries)
+        {
+            if (entry.value != null)
+            {
+                distinctValues.putIfAbsent(entry.value, entry.value);
+            }
+        }
+    }
+
+    private static final class HashedValue
+    {
+        private final Set<CompoundInstance> value;
+        private final int                   hash;
+        @Nullable
+        private       CompoundVector        vector = null;
+
+        private HashedValue(final Set<CompoundInstance> value)
+        {
+            this.value = value;
+            this.hash = value.hashCode();
+        }
+
+        private CompoundVector getVector()
+        {
+            if (vector == null)
+            {
+                vector = CompoundVector.of(value);
+            }
+            return vector;
+        }
+
+        @Override
+        public boolean equals(final Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (!(o instanceof HashedValue))
+            {
+                return false;
+            }
+
+            final HashedValue that = (HashedValue) o;
+            return hash == that.hash && value.equals(that.value);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+    }
+
+    private static final class Entry
+    {
+        private final INode       neighbor;
+        private final int         neighborIndex;
+        @Nullable
+        private final HashedValue value;
+        private final int         hash;
+
+        private Entry(final INode neighbor, final int neighborIndex, @Nullable final HashedValue value)
+        {
+            this.neighbor = neighbor;
+            this.neighborIndex = neighborIndex;
+            this.value = value;
+            this.hash = 31 * neighbor.hashCode() + (value == null ? 0 : value.hash);
+        }
+
+        @Override
+        public boolean equals(final Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (!(o instanceof Entry))
+            {
+                return false;
+            }
+
+            final Entry that = (Entry) o;
+            return hash == that.hash && neighbor.equals(that.neighbor) && Objects.equals(value, that.value);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+    }
+
+    private final class ValuesView extends AbstractSet<Set<CompoundInstance>>
+    {
+        @NotNull
+        @Override
+        public Iterator<Set<CompoundInstance>> iterator()
+        {
+            final Iterator<HashedValue> iterator = distinctValues.keySet().iterator();
+            return new Iterator<>()
+            {
+                @Override
+                public boolean hasNext()
+                {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Set<CompoundInstance> next()
+                {
+                    return iterator.next().value;
+                }
+            };
+        }
+
+        @Override
+        public int size()
+        {
+            return distinctValues.size();
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public boolean contains(final Object o)
+        {
+            return o instanceof Set && distinctValues.containsKey(new HashedValue((Set<CompoundInstance>) o));
+        }
+    }
+}
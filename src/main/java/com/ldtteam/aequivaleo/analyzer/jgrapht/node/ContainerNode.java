@@ -1,6 +1,7 @@
 package com.ldtteam.aequivaleo.analyzer.jgrapht.node;
 
 import com.ldtteam.aequivaleo.analyzer.StatCollector;
+import com.ldtteam.aequivaleo.analyzer.compound.CompoundVector;
 import com.ldtteam.aequivaleo.analyzer.jgrapht.aequivaleo.*;
 import com.ldtteam.aequivaleo.api.compound.CompoundInstance;
 import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
@@ -86,4 +87,10 @@ public class ContainerNode extends AbstractNode implements IContainerNode, IReci
     {
         return getResultingValue().orElse(Collections.emptySet());
     }
+
+    @Override
+    public CompoundVector getResidueVector(final IRecipeNode recipeNode)
+    {
+        return getResultingVector().orElseGet(CompoundVector::empty);
+    }
 }
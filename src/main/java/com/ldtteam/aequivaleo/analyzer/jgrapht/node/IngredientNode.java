@@ -1,6 +1,7 @@
 package com.ldtteam.aequivaleo.analyzer.jgrapht.node;
 
 import com.ldtteam.aequivaleo.analyzer.StatCollector;
+import com.ldtteam.aequivaleo.analyzer.compound.CompoundVector;
 import com.ldtteam.aequivaleo.analyzer.jgrapht.aequivaleo.IRecipeInputNode;
 import com.ldtteam.aequivaleo.analyzer.jgrapht.aequivaleo.IRecipeNode;
 import com.ldtteam.aequivaleo.analyzer.jgrapht.aequivaleo.IStartAnalysisNode;
@@ -71,4 +72,9 @@ public class IngredientNode extends AbstractNode implements IRecipeInputNode, IS
         return getResultingValue().orElse(Collections.emptySet());
     }
 
+    @Override
+    public CompoundVector getInputVector(final IRecipeNode recipeNode)
+    {
+        return getResultingVector().orElseGet(CompoundVector::empty);
+    }
 }
@@ -1,16 +1,15 @@
 package com.ldtteam.aequivaleo.analyzer.jgrapht.node;
 
 import com.ldtteam.aequivaleo.analyzer.StatCollector;
+import com.ldtteam.aequivaleo.analyzer.compound.CompoundTypeIndex;
+import com.ldtteam.aequivaleo.analyzer.compound.CompoundVector;
 import com.ldtteam.aequivaleo.analyzer.jgrapht.aequivaleo.*;
 import com.ldtteam.aequivaleo.api.compound.CompoundInstance;
-import com.ldtteam.aequivaleo.api.compound.type.ICompoundType;
 import com.ldtteam.aequivaleo.api.compound.type.group.ICompoundTypeGroup;
 import com.ldtteam.aequivaleo.api.recipe.equivalency.IEquivalencyRecipe;
-import com.ldtteam.aequivaleo.api.util.GroupingUtils;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class RecipeNode extends AbstractNode implements IRecipeNode
 {
@@ -76,25 +75,39 @@ public class RecipeNode extends AbstractNode implements IRecipeNode
             }
         }
 
-        final Set<CompoundInstance> summedCompoundInstances = new HashSet<>();
+        final CompoundVector summedCompoundVector = CompoundVector.empty();
         boolean atLeastOneValidIngredient = false;
-        Map<ICompoundType, Double> map = new HashMap<>();
         for (IRecipeInputNode inputNeighbor : inputNeighbors)
         {
-            for (CompoundInstance compoundInstance1 : inputNeighbor
-                                                        .getInputInstances(this))
+            final double edgeWeight = graph.getEdgeWeight(graph.getEdge(inputNeighbor, this));
+            final CompoundVector inputVector = inputNeighbor.getInputVector(this);
+            final CompoundTypeIndex inputIndex = inputVector.getIndex();
+            for (final ICompoundTypeGroup group : inputIndex.getGroups())
             {
-                if (!hasParentsWithMissingData(graph, compoundInstance1.getType().getGroup()) || compoundInstance1.getType()
-                                    .getGroup()
-                                    .shouldIncompleteRecipeBeProcessed(getRecipe()))
+                if (!inputVector.hasGroup(group))
                 {
-                    if (compoundInstance1.getType().getGroup().canContributeToRecipeAsInput(recipe, compoundInstance1))
+                    continue;
+                }
+
+                //The missing data state is the same for every type of a group, so it is only checked once.
+                if (hasParentsWithMissingData(graph, group) && !group.shouldIncompleteRecipeBeProcessed(getRecipe()))
+                {
+                    continue;
+                }
+
+                final int end = inputIndex.getGroupEnd(group);
+                for (int id = inputIndex.getGroupStart(group); id < end; id++)
+                {
+                    if (!inputVector.contains(id))
+                    {
+                        continue;
+                    }
+
+                    final CompoundInstance compoundInstance = new CompoundInstance(inputIndex.getType(id), inputVector.get(id));
+                    if (group.canContributeToRecipeAsInput(recipe, compoundInstance))
                     {
                         atLeastOneValidIngredient = true;
-                        AbstractMap.SimpleEntry<ICompoundType, Double> iCompoundTypeDoubleSimpleEntry = new HashMap.SimpleEntry<>(compoundInstance1.getType(),
-                          compoundInstance1.getAmount()
-                             * graph.getEdgeWeight(graph.getEdge(inputNeighbor, this)));
-                        map.merge(iCompoundTypeDoubleSimpleEntry.getKey(), iCompoundTypeDoubleSimpleEntry.getValue(), Double::sum);
+                        summedCompoundVector.add(compoundInstance.getType(), compoundInstance.getAmount() * edgeWeight);
                     }
                 }
             }
@@ -105,35 +118,33 @@ public class RecipeNode extends AbstractNode implements IRecipeNode
             return;
         }
 
-        for (Map.Entry<ICompoundType, Double> entry : map
-                                                        .entrySet())
+        for (final IRecipeResidueNode requiredKnownOutput : requiredKnownOutputs)
         {
-            double amount = entry.getValue();
-            for (final IRecipeResidueNode requiredKnownOutput : requiredKnownOutputs)
+            final double edgeWeight = graph.getEdgeWeight(graph.getEdge(requiredKnownOutput, this));
+            final CompoundVector residueVector = requiredKnownOutput.getResidueVector(this);
+            final CompoundTypeIndex residueIndex = residueVector.getIndex();
+            for (int residueId = 0; residueId < residueIndex.size(); residueId++)
             {
-                for (final CompoundInstance compoundInstance : requiredKnownOutput.getResidueInstances(this))
+                if (!residueVector.contains(residueId))
                 {
-                    if (compoundInstance.getType().equals(entry.getKey()))
-                    {
-                        amount = Math.max(0, amount - (compoundInstance.getAmount() * graph.getEdgeWeight(graph.getEdge(requiredKnownOutput, this))));
-                    }
+                    continue;
                 }
-            }
 
-            if (amount >= 0)
-            {
-                CompoundInstance instance = new CompoundInstance(entry.getKey(), amount);
-                summedCompoundInstances.add(instance);
+                final int id = summedCompoundVector.getIndex().getId(residueIndex.getType(residueId));
+                if (id != CompoundTypeIndex.UNKNOWN && summedCompoundVector.contains(id))
+                {
+                    summedCompoundVector.set(id, Math.max(0, summedCompoundVector.get(id) - (residueVector.get(residueId) * edgeWeight)));
+                }
             }
         }
 
-        this.forceSetResult(summedCompoundInstances, false);
+        setResultVector(summedCompoundVector);
     }
 
     @Override
     public void onReached(final IGraph graph)
     {
-        if (!this.getResultingValue().isPresent())
+        if (!this.getResultingVector().isPresent())
             return;
 
         final Set<IRecipeOutputNode> resultNeighbors = new HashSet<>();
@@ -153,31 +164,44 @@ public class RecipeNode extends AbstractNode implements IRecipeNode
                                                  .mapToDouble(graph::getEdgeWeight)
                                                  .sum();
 
-        for (IRecipeOutputNode neighbor : resultNeighbors)
+        if (resultNeighbors.isEmpty())
+            return;
+
+        //The per unit value is the same for every output, so it is only calculated and adapted once.
+        //The slices of the vector are already grouped, so every group adapts its own instances.
+        final CompoundVector unitVector = getResultingVector().get().divide(totalOutgoingEdgeWeight);
+        final CompoundTypeIndex index = unitVector.getIndex();
+        final Set<CompoundInstance> set = new HashSet<>();
+        for (final ICompoundTypeGroup group : index.getGroups())
         {
-            Set<CompoundInstance> set = new HashSet<>();
-            for (CompoundInstance totalCompoundInstance : getResultingValue().orElse(Collections.emptySet()))
+            final List<CompoundInstance> groupInstances = new ArrayList<>();
+            final int end = index.getGroupEnd(group);
+            for (int id = index.getGroupStart(group); id < end; id++)
             {
-                final Double unitAmount = totalCompoundInstance.getAmount() / totalOutgoingEdgeWeight;
-                CompoundInstance compoundInstance = new CompoundInstance(totalCompoundInstance.getType(), unitAmount);
-                if (!compoundInstance.getType().getGroup().canContributeToRecipeAsOutput(recipe, compoundInstance))
+                if (!unitVector.contains(id))
                 {
                     continue;
                 }
 
-                set.add(compoundInstance);
-            }
+                final CompoundInstance compoundInstance = new CompoundInstance(index.getType(id), unitVector.get(id));
+                if (!group.canContributeToRecipeAsOutput(recipe, compoundInstance))
+                {
+                    continue;
+                }
 
-            final Map<ICompoundTypeGroup, Collection<CompoundInstance>> groupedInstances = GroupingUtils.groupByUsingSetToMap(
-              set,
-              compoundInstance -> compoundInstance.getType().getGroup()
-            );
+                groupInstances.add(compoundInstance);
+            }
 
-            final Set<CompoundInstance> reducedSet = groupedInstances.entrySet().stream()
-              .flatMap(entry -> entry.getKey().adaptRecipeResult(this.recipe, entry.getValue()).stream())
-              .collect(Collectors.toSet());
+            if (!groupInstances.isEmpty())
+            {
+                set.addAll(group.adaptRecipeResult(recipe, groupInstances));
+            }
+        }
 
-            neighbor.addCandidateResult(this, graph.getEdge(this, neighbor), Optional.of(set));
+        final Optional<Set<CompoundInstance>> candidate = Optional.of(Collections.unmodifiableSet(set));
+        for (IRecipeOutputNode neighbor : resultNeighbors)
+        {
+            neighbor.addCandidateResult(this, graph.getEdge(this, neighbor), candidate);
         }
     }
 
@@ -2,6 +2,7 @@ package com.ldtteam.aequivaleo.analyzer.jgrapht.node;
 
 import com.ldtteam.aequivaleo.analyzer.StatCollector;
 import com.ldtteam.aequivaleo.analyzer.jgrapht.aequivaleo.IGraph;
+import com.ldtteam.aequivaleo.analyzer.jgrapht.aequivaleo.MissingDataState;
 import com.ldtteam.aequivaleo.api.compound.type.group.ICompoundTypeGroup;
 
 public class SourceNode extends AbstractNode
@@ -37,9 +38,9 @@ public class SourceNode extends AbstractNode
     }
 
     @Override
-    public boolean hasMissingData(final IGraph graph, ICompoundTypeGroup group)
+    public MissingDataState getOwnMissingDataState(final ICompoundTypeGroup group)
     {
         //We are always complete.
-        return false;
+        return MissingDataState.COMPLETE;
     }
 }
@@ -0,0 +1,362 @@
+package com.ldtteam.aequivaleo.analyzer.jgrapht.node;
+
+import com.google.common.collect.ImmutableSet;
+import com.ldtteam.aequivaleo.analyzer.StatCollector;
+import com.ldtteam.aequivaleo.analyzer.TagEquivalence;
+import com.ldtteam.aequivaleo.analyzer.jgrapht.aequivaleo.*;
+import com.ldtteam.aequivaleo.api.compound.CompoundInstance;
+import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
+import com.ldtteam.aequivaleo.api.compound.type.group.ICompoundTypeGroup;
+import com.ldtteam.aequivaleo.api.recipe.equivalency.IEquivalencyRecipe;
+import com.ldtteam.aequivaleo.api.recipe.equivalency.ingredient.IRecipeIngredient;
+import com.ldtteam.aequivaleo.compound.container.registry.CompoundContainerFactoryManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A single node which represents a tag and the elements of the tag which share their value with it.
+ * Edges to and from any of the containers in the group are connected to this node instead, so no equivalency recipes
+ * are needed between the members of the group.
+ *
+ * The members themselves are not part of the graph, they receive the value of this node once it is determined.
+ *
+ * Values still pass through the callbacks of the compound type groups, as if they were converted by a tag equivalency
+ * recipe from the member they enter through, into the tag, and from the tag into the member they leave through.
+ * {@link ICompoundTypeGroup#shouldIncompleteRecipeBeProcessed(IEquivalencyRecipe)} is not consulted, such a recipe has a
+ * single input which carries every instance it passes on, so it is never incomplete for the group of those instances.
+ */
+public class TagEquivalenceNode extends AbstractNode implements IInnerNode, IContainerNode, IRecipeResidueNode, IRecipeOutputNode, IStartAnalysisNode
+{
+    @NotNull
+    private final TagEquivalence equivalence;
+    @NotNull
+    private final ICompoundContainer<?> tagContainer;
+    @NotNull
+    private final Set<ICompoundContainer<?>> wrappers;
+    @NotNull
+    private final Set<ContainerNode> members;
+    private final int hashCode;
+
+    @NotNull
+    private final Map<ICompoundContainer<?>, IEquivalencyRecipe> recipesIntoTag = new ConcurrentHashMap<>();
+    @NotNull
+    private final Map<ICompoundContainer<?>, IEquivalencyRecipe> recipesFromTag = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new node for the given tag.
+     *
+     * @param equivalence The tag, and its elements.
+     * @param tagContainer The unit container of the tag.
+     * @param wrappers The unit containers which share their value through this node.
+     */
+    public TagEquivalenceNode(
+      @NotNull final TagEquivalence equivalence,
+      @NotNull final ICompoundContainer<?> tagContainer,
+      @NotNull final Collection<ICompoundContainer<?>> wrappers) {
+        this.equivalence = equivalence;
+        this.tagContainer = tagContainer;
+        this.wrappers = ImmutableSet.copyOf(wrappers);
+
+        final ImmutableSet.Builder<ContainerNode> builder = ImmutableSet.builder();
+        for (final ICompoundContainer<?> wrapper : this.wrappers)
+        {
+            builder.add(new ContainerNode(wrapper));
+        }
+        this.members = builder.build();
+        this.hashCode = this.wrappers.hashCode();
+    }
+
+    /**
+     * Gives access to the containers which share their value through this node.
+     *
+     * @return The containers of the group.
+     */
+    @NotNull
+    public Set<ICompoundContainer<?>> getWrappers()
+    {
+        return wrappers;
+    }
+
+    @NotNull
+    @Override
+    public Optional<ICompoundContainer<?>> getWrapper()
+    {
+        return Optional.empty();
+    }
+
+    @Override
+    public Set<ICompoundContainer<?>> getTargetedWrapper(final INode sourceNeighbor)
+    {
+        return wrappers;
+    }
+
+    @Override
+    public Set<ICompoundContainer<?>> getSourcedWrapper(final INode targetNeighbor)
+    {
+        return wrappers;
+    }
+
+    @Override
+    public Set<INode> getInnerNodes()
+    {
+        return ImmutableSet.<INode>copyOf(members);
+    }
+
+    @Override
+    public Set<INode> getSourceNeighborOf(final INode neighbor)
+    {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public Set<INode> getTargetNeighborOf(final INode neighbor)
+    {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public void addCandidateResult(final INode neighbor, final IEdge sourceEdge, final Optional<Set<CompoundInstance>> instances)
+    {
+        final Set<ICompoundContainer<?>> entries = getEntries(neighbor);
+
+        //Instances which are not valid for any of the members could never end up in a result.
+        super.addCandidateResult(neighbor, sourceEdge, instances.map(innerInstances -> {
+            Set<CompoundInstance> set = new HashSet<>();
+            for (CompoundInstance i : innerInstances)
+            {
+                if (isValidForAnyMember(i) && canEnter(entries, i))
+                {
+                    set.add(i);
+                }
+            }
+            return set;
+        }));
+    }
+
+    @Override
+    public void determineResult(final IGraph graph)
+    {
+        super.determineResult(graph);
+        updateMembers();
+    }
+
+    @Override
+    public void forceSetResult(final Set<CompoundInstance> compoundInstances)
+    {
+        super.forceSetResult(compoundInstances);
+        updateMembers();
+    }
+
+    @Override
+    public void onReached(final IGraph graph)
+    {
+        for (IEdge accessibleWeightEdge : graph.outgoingEdgesOf(this))
+        {
+            INode v = graph.getEdgeTarget(accessibleWeightEdge);
+            v.addCandidateResult(
+              this,
+              accessibleWeightEdge,
+              getResultingValue().map(instances -> getExitingInstances(getExits(v), instances))
+            );
+        }
+    }
+
+    private void updateMembers()
+    {
+        final Optional<Set<CompoundInstance>> result = getResultingValue();
+        for (ContainerNode member : members)
+        {
+            final ICompoundContainer<?> wrapper = member.getWrapper().orElseThrow(() -> new IllegalStateException("Container node without wrapper."));
+            member.forceSetResult(result.map(instances -> getExitingInstances(Collections.singleton(wrapper), instances)).orElse(null));
+        }
+    }
+
+    @Override
+    public Set<CompoundInstance> getResidueInstances(final IRecipeNode recipeNode)
+    {
+        return getResultingValue()
+                 .map(instances -> getExitingInstances(getMembers(recipeNode.getRecipe().getRequiredKnownOutputs()), instances))
+                 .orElse(Collections.emptySet());
+    }
+
+    /**
+     * Determines through which members a value of the given neighbor enters this node.
+     *
+     * @param neighbor The neighbor which provides the value.
+     * @return The members, or {@code null} if they can not be determined.
+     */
+    @Nullable
+    private Set<ICompoundContainer<?>> getEntries(final INode neighbor)
+    {
+        if (neighbor instanceof IContainerNode && ((IContainerNode) neighbor).getWrapper().isPresent())
+        {
+            return Collections.singleton(((IContainerNode) neighbor).getWrapper().get());
+        }
+
+        if (neighbor instanceof IRecipeNode)
+        {
+            return getMembers(((IRecipeNode) neighbor).getRecipe().getOutputs());
+        }
+
+        return null;
+    }
+
+    /**
+     * Determines through which members a value of this node leaves to the given neighbor.
+     *
+     * @param neighbor The neighbor which receives the value.
+     * @return The members, or {@code null} if they can not be determined.
+     */
+    @Nullable
+    private Set<ICompoundContainer<?>> getExits(final INode neighbor)
+    {
+        if (neighbor instanceof IContainerNode && ((IContainerNode) neighbor).getWrapper().isPresent())
+        {
+            return Collections.singleton(((IContainerNode) neighbor).getWrapper().get());
+        }
+
+        if (neighbor instanceof IngredientNode)
+        {
+            final IRecipeIngredient ingredient = ((IngredientNode) neighbor).getIngredient();
+            return getMembers(ingredient.getCandidates());
+        }
+
+        return null;
+    }
+
+    @Nullable
+    private Set<ICompoundContainer<?>> getMembers(final Collection<ICompoundContainer<?>> containers)
+    {
+        final Set<ICompoundContainer<?>> set = new HashSet<>();
+        for (ICompoundContainer<?> container : containers)
+        {
+            final ICompoundContainer<?> unitContainer = createUnitWrapper(container);
+            if (wrappers.contains(unitContainer))
+            {
+                set.add(unitContainer);
+            }
+        }
+
+        return set.isEmpty() ? null : set;
+    }
+
+    private boolean isValidForAnyMember(final CompoundInstance instance)
+    {
+        for (ICompoundContainer<?> wrapper : wrappers)
+        {
+            if (instance.getType().getGroup().isValidFor(wrapper, instance))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean canEnter(@Nullable final Set<ICompoundContainer<?>> entries, final CompoundInstance instance)
+    {
+        if (entries == null || entries.contains(tagContainer))
+        {
+            return true;
+        }
+
+        final ICompoundTypeGroup group = instance.getType().getGroup();
+        for (ICompoundContainer<?> entry : entries)
+        {
+            final IEquivalencyRecipe recipe = recipesIntoTag.computeIfAbsent(entry, member -> equivalence.createRecipe(member, tagContainer));
+            if (group.canContributeToRecipeAsInput(recipe, instance) && group.canContributeToRecipeAsOutput(recipe, instance))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean canExit(final ICompoundContainer<?> exit, final CompoundInstance instance)
+    {
+        final ICompoundTypeGroup group = instance.getType().getGroup();
+        if (!group.isValidFor(exit, instance))
+        {
+            return false;
+        }
+
+        if (exit.equals(tagContainer))
+        {
+            return true;
+        }
+
+        final IEquivalencyRecipe recipe = recipesFromTag.computeIfAbsent(exit, member -> equivalence.createRecipe(tagContainer, member));
+        return group.canContributeToRecipeAsInput(recipe, instance) && group.canContributeToRecipeAsOutput(recipe, instance);
+    }
+
+    private Set<CompoundInstance> getExitingInstances(@Nullable final Set<ICompoundContainer<?>> exits, final Set<CompoundInstance> instances)
+    {
+        if (exits == null)
+        {
+            return instances;
+        }
+
+        final Set<CompoundInstance> set = new HashSet<>();
+        for (CompoundInstance i : instances)
+        {
+            for (ICompoundContainer<?> exit : exits)
+            {
+                if (canExit(exit, i))
+                {
+                    set.add(i);
+                    break;
+                }
+            }
+        }
+        return set;
+    }
+
+    private static ICompoundContainer<?> createUnitWrapper(@NotNull final ICompoundContainer<?> wrapper)
+    {
+        if (wrapper.getContentsCount() == 1d)
+        {
+            return wrapper;
+        }
+
+        return CompoundContainerFactoryManager.getInstance().wrapInContainer(wrapper.getContents(), 1d);
+    }
+
+    @Override
+    public void collectStats(final StatCollector statCollector)
+    {
+        statCollector.onVisitContainerNode();
+    }
+
+    @Override
+    public boolean equals(final Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+        if (!(o instanceof TagEquivalenceNode))
+        {
+            return false;
+        }
+
+        final TagEquivalenceNode that = (TagEquivalenceNode) o;
+
+        return getWrappers().equals(that.getWrappers());
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return hashCode;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "TagEquivalenceNode{" +
+                 equivalence.getTag().getName() +
+                 '}';
+    }
+}
@@ -0,0 +1,208 @@
+package com.ldtteam.aequivaleo.analyzer.metrics;
+
+import com.google.gson.JsonObject;
+import com.ldtteam.aequivaleo.analyzer.AnalysisGeneration;
+import com.ldtteam.aequivaleo.api.analysis.AnalysisPhase;
+import com.ldtteam.aequivaleo.api.analysis.IAnalysisMetrics;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class AnalysisMetrics implements IAnalysisMetrics
+{
+    private static final int PHASE_COUNT = AnalysisPhase.values().length;
+
+    private final ResourceKey<Level> worldKey;
+    private final AnalysisGeneration generation;
+    private final long               startTime;
+    private volatile boolean         completed = false;
+
+    private final AtomicLongArray wallTimes      = new AtomicLongArray(PHASE_COUNT);
+    private final AtomicLongArray cpuTimes       = new AtomicLongArray(PHASE_COUNT);
+    private final AtomicLongArray allocatedBytes = new AtomicLongArray(PHASE_COUNT);
+
+    private final AtomicInteger nodeCount   = new AtomicInteger();
+    private final AtomicInteger edgeCount   = new AtomicInteger();
+    private final AtomicInteger cliqueCount = new AtomicInteger();
+    private final AtomicInteger cycleCount  = new AtomicInteger();
+
+    AnalysisMetrics(final ResourceKey<Level> worldKey, final AnalysisGeneration generation, final long startTime)
+    {
+        this.worldKey = worldKey;
+        this.generation = generation;
+        this.startTime = startTime;
+    }
+
+    /**
+     * Starts measuring the given phase on the current thread.
+     *
+     * @param phase The phase to measure.
+     * @return The timer which records the measurement when closed.
+     */
+    public PhaseTimer time(final AnalysisPhase phase)
+    {
+        return new PhaseTimer(phase, Collections.singleton(this));
+    }
+
+    void record(final AnalysisPhase phase, final long wallTime, final long cpuTime, final long allocated)
+    {
+        wallTimes.addAndGet(phase.ordinal(), wallTime);
+        recordOptional(cpuTimes, phase, cpuTime);
+        recordOptional(allocatedBytes, phase, allocated);
+    }
+
+    private static void recordOptional(final AtomicLongArray target, final AnalysisPhase phase, final long value)
+    {
+        //Once a measurement is unsupported the phase stays unsupported.
+        if (value < 0)
+        {
+            target.set(phase.ordinal(), -1);
+            return;
+        }
+
+        target.getAndUpdate(phase.ordinal(), current -> current < 0 ? current : current + value);
+    }
+
+    public void setGraphSize(final int nodes, final int edges)
+    {
+        this.nodeCount.set(nodes);
+        this.edgeCount.set(edges);
+    }
+
+    public void onCliqueReduced()
+    {
+        this.cliqueCount.incrementAndGet();
+    }
+
+    public void onCycleReduced()
+    {
+        this.cycleCount.incrementAndGet();
+    }
+
+    void markCompleted()
+    {
+        this.completed = true;
+    }
+
+    @Override
+    public ResourceKey<Level> getWorldKey()
+    {
+        return worldKey;
+    }
+
+    public AnalysisGeneration getGeneration()
+    {
+        return generation;
+    }
+
+    @Override
+    public long getStartTime()
+    {
+        return startTime;
+    }
+
+    @Override
+    public boolean isCompleted()
+    {
+        return completed;
+    }
+
+    @Override
+    public long getWallTime(final AnalysisPhase phase)
+    {
+        return wallTimes.get(phase.ordinal());
+    }
+
+    @Override
+    public long getCpuTime(final AnalysisPhase phase)
+    {
+        return cpuTimes.get(phase.ordinal());
+    }
+
+    @Override
+    public long getAllocatedBytes(final AnalysisPhase phase)
+    {
+        return allocatedBytes.get(phase.ordinal());
+    }
+
+    @Override
+    public long getTotalWallTime()
+    {
+        long total = 0;
+        for (int i = 0; i < PHASE_COUNT; i++)
+        {
+            total += wallTimes.get(i);
+        }
+        return total;
+    }
+
+    @Override
+    public int getNodeCount()
+    {
+        return nodeCount.get();
+    }
+
+    @Override
+    public int getEdgeCount()
+    {
+        return edgeCount.get();
+    }
+
+    @Override
+    public int getCliqueCount()
+    {
+        return cliqueCount.get();
+    }
+
+    @Override
+    public int getCycleCount()
+    {
+        return cycleCount.get();
+    }
+
+    @Override
+    public JsonObject toJson()
+    {
+        final JsonObject object = new JsonObject();
+        object.addProperty("world", worldKey.location().toString());
+        object.addProperty("startTime", startTime);
+        object.addProperty("completed", completed);
+        object.addProperty("totalWallTimeNanos", getTotalWallTime());
+
+        final JsonObject phases = new JsonObject();
+        for (final AnalysisPhase phase : AnalysisPhase.values())
+        {
+            final JsonObject phaseObject = new JsonObject();
+            phaseObject.addProperty("wallTimeNanos", getWallTime(phase));
+            phaseObject.addProperty("cpuTimeNanos", getCpuTime(phase));
+            phaseObject.addProperty("allocatedBytes", getAllocatedBytes(phase));
+            phases.add(phase.name().toLowerCase(), phaseObject);
+        }
+        object.add("phases", phases);
+
+        final JsonObject graph = new JsonObject();
+        graph.addProperty("nodes", getNodeCount());
+        graph.addProperty("edges", getEdgeCount());
+        graph.addProperty("cliques", getCliqueCount());
+        graph.addProperty("cycles", getCycleCount());
+        object.add("graph", graph);
+
+        return object;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "AnalysisMetrics{" +
+                 "worldKey=" + worldKey.location() +
+                 ", totalWallTime=" + getTotalWallTime() / 1_000_000 + "ms" +
+                 ", nodes=" + getNodeCount() +
+                 ", edges=" + getEdgeCount() +
+                 ", cliques=" + getCliqueCount() +
+                 ", cycles=" + getCycleCount() +
+                 '}';
+    }
+}
@@ -0,0 +1,102 @@
+package com.ldtteam.aequivaleo.analyzer.metrics;
+
+import com.google.common.collect.Maps;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.ldtteam.aequivaleo.Aequivaleo;
+import com.ldtteam.aequivaleo.analyzer.AnalysisGeneration;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+public class AnalysisMetricsManager
+{
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final Map<ResourceKey<Level>, AnalysisMetrics> METRICS_MAP = Maps.newConcurrentMap();
+
+    private AnalysisMetricsManager()
+    {
+    }
+
+    /**
+     * Gives access to the metrics of the current, or last, reload of the given world.
+     *
+     * @param key The key of the world.
+     * @return The metrics of the reload.
+     */
+    public static AnalysisMetrics getMetrics(final ResourceKey<Level> key)
+    {
+        return METRICS_MAP.computeIfAbsent(key, k -> new AnalysisMetrics(k, AnalysisGeneration.UNTRACKED, 0));
+    }
+
+    /**
+     * Gives access to the metrics of the given world during the given generation.
+     * A generation which is no longer the one whose metrics are exposed gets detached metrics,
+     * so that it can not override the measurements of a newer generation.
+     *
+     * @param key The key of the world.
+     * @param generation The generation which records its metrics.
+     * @return The metrics to record into.
+     */
+    public static AnalysisMetrics getMetrics(final ResourceKey<Level> key, final AnalysisGeneration generation)
+    {
+        final AnalysisMetrics metrics = getMetrics(key);
+        if (metrics.getGeneration() == generation)
+            return metrics;
+
+        return new AnalysisMetrics(key, generation, 0);
+    }
+
+    /**
+     * Discards the metrics of the previous reload of the given world and starts collecting new ones.
+     *
+     * @param key The key of the world.
+     * @param generation The generation of the new reload.
+     * @return The metrics of the new reload.
+     */
+    public static AnalysisMetrics startReload(final ResourceKey<Level> key, final AnalysisGeneration generation)
+    {
+        final AnalysisMetrics metrics = new AnalysisMetrics(key, generation, System.currentTimeMillis());
+        METRICS_MAP.put(key, metrics);
+        return metrics;
+    }
+
+    public static void completeReload(final ResourceKey<Level> key)
+    {
+        final AnalysisMetrics metrics = getMetrics(key);
+        metrics.markCompleted();
+
+        LOGGER.info(String.format("Reload metrics for: %s: %s", key.location(), metrics));
+
+        if (Aequivaleo.getInstance().getConfiguration().getServer().exportMetrics.get())
+        {
+            export(metrics);
+        }
+    }
+
+    private static void export(final AnalysisMetrics metrics)
+    {
+        final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        final Path target = Paths.get(".", metrics.getWorldKey().location().toString().replace(":", "_").concat("_metrics.json"));
+
+        try (Writer writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8))
+        {
+            gson.toJson(metrics.toJson(), writer);
+            LOGGER.warn(String.format("Exported: %s as analysis metrics.", target.getFileName()));
+        }
+        catch (IOException e)
+        {
+            LOGGER.error(String.format("Failed to export the analysis metrics of: %s", metrics.getWorldKey().location()), e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.ldtteam.aequivaleo.analyzer.metrics;
+
+import com.ldtteam.aequivaleo.analyzer.AnalysisStateManager;
+import com.ldtteam.aequivaleo.api.analysis.AnalysisPhase;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collection;
+
+/**
+ * Measures the wall time, cpu time and allocations of the current thread between its creation and its closing,
+ * and records them for a given phase into the targeted metrics. Starting a timer also moves the progress of the
+ * targeted worlds into the given phase.
+ *
+ * Intended to be used in a try-with-resources block on the thread that performs the work.
+ */
+public final class PhaseTimer implements AutoCloseable
+{
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private final AnalysisPhase               phase;
+    private final Collection<AnalysisMetrics> targets;
+
+    private final long startWallTime;
+    private final long startCpuTime;
+    private final long startAllocatedBytes;
+
+    PhaseTimer(final AnalysisPhase phase, final Collection<AnalysisMetrics> targets)
+    {
+        this.phase = phase;
+        this.targets = targets;
+
+        for (final AnalysisMetrics target : targets)
+        {
+            AnalysisStateManager.getProgress(target.getWorldKey(), target.getGeneration()).startPhase(phase);
+        }
+
+        this.startCpuTime = getCurrentThreadCpuTime();
+        this.startAllocatedBytes = getCurrentThreadAllocatedBytes();
+        this.startWallTime = System.nanoTime();
+    }
+
+    /**
+     * Starts a timer which records the same measurement into several metrics.
+     * Used for phases which are shared between worlds.
+     *
+     * @param phase The phase to record.
+     * @param targets The metrics to record into.
+     * @return The running timer.
+     */
+    public static PhaseTimer start(final AnalysisPhase phase, final Collection<AnalysisMetrics> targets)
+    {
+        return new PhaseTimer(phase, targets);
+    }
+
+    @Override
+    public void close()
+    {
+        final long wallTime = System.nanoTime() - startWallTime;
+        final long cpuTime = startCpuTime < 0 ? -1 : getCurrentThreadCpuTime() - startCpuTime;
+        final long allocatedBytes = startAllocatedBytes < 0 ? -1 : getCurrentThreadAllocatedBytes() - startAllocatedBytes;
+
+        for (final AnalysisMetrics target : targets)
+        {
+            target.record(phase, wallTime, cpuTime, allocatedBytes);
+        }
+    }
+
+    private static long getCurrentThreadCpuTime()
+    {
+        if (!THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() || !THREAD_MX_BEAN.isThreadCpuTimeEnabled())
+            return -1;
+
+        return THREAD_MX_BEAN.getCurrentThreadCpuTime();
+    }
+
+    private static long getCurrentThreadAllocatedBytes()
+    {
+        if (!(THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean))
+            return -1;
+
+        final com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+        if (!allocationBean.isThreadAllocatedMemorySupported() || !allocationBean.isThreadAllocatedMemoryEnabled())
+            return -1;
+
+        return allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -1,10 +1,15 @@
 package com.ldtteam.aequivaleo.apiimpl;
 
 import com.google.gson.GsonBuilder;
+import com.ldtteam.aequivaleo.analyzer.AnalysisScheduler;
 import com.ldtteam.aequivaleo.analyzer.AnalysisStateManager;
 import com.ldtteam.aequivaleo.analyzer.EquivalencyRecipeRegistry;
+import com.ldtteam.aequivaleo.analyzer.metrics.AnalysisMetricsManager;
 import com.ldtteam.aequivaleo.api.IAequivaleoAPI;
 import com.ldtteam.aequivaleo.api.analysis.AnalysisState;
+import com.ldtteam.aequivaleo.api.analysis.IAnalysisMetrics;
+import com.ldtteam.aequivaleo.api.analysis.IAnalysisProgress;
+import com.ldtteam.aequivaleo.api.analysis.IAnalysisScheduler;
 import com.ldtteam.aequivaleo.api.compound.container.registry.ICompoundContainerFactoryManager;
 import com.ldtteam.aequivaleo.api.compound.information.ICompoundInformationRegistry;
 import com.ldtteam.aequivaleo.api.gameobject.equivalent.IGameObjectEquivalencyHandlerRegistry;
@@ -13,6 +18,7 @@ import com.ldtteam.aequivaleo.api.plugin.IAequivaleoPluginManager;
 import com.ldtteam.aequivaleo.api.recipe.IRecipeTypeProcessingRegistry;
 import com.ldtteam.aequivaleo.api.recipe.equivalency.IEquivalencyRecipeRegistry;
 import com.ldtteam.aequivaleo.api.recipe.equivalency.calculator.IRecipeCalculator;
+import com.ldtteam.aequivaleo.api.recipe.equivalency.ingredient.IIngredientCandidateInterner;
 import com.ldtteam.aequivaleo.api.recipe.equivalency.ingredient.data.IIngredientSerializerRegistry;
 import com.ldtteam.aequivaleo.api.results.IEquivalencyResults;
 import com.ldtteam.aequivaleo.api.results.IResultsAdapterHandlerRegistry;
@@ -26,6 +32,8 @@ import com.ldtteam.aequivaleo.plugin.PluginManger;
 import com.ldtteam.aequivaleo.recipe.RecipeTypeProcessingRegistry;
 import com.ldtteam.aequivaleo.recipe.equivalency.RecipeCalculator;
 import com.ldtteam.aequivaleo.recipe.equivalency.data.GenericRecipeDataSerializer;
+import com.ldtteam.aequivaleo.recipe.equivalency.data.GenericRecipeDataStreamingAdapterFactory;
+import com.ldtteam.aequivaleo.recipe.equivalency.ingredient.IngredientCandidateInterner;
 import com.ldtteam.aequivaleo.recipe.equivalency.ingredient.data.IngredientSerializerRegistry;
 import com.ldtteam.aequivaleo.recipe.equivalency.ingredient.data.IngredientSetSerializer;
 import com.ldtteam.aequivaleo.results.EquivalencyResults;
@@ -111,7 +119,10 @@ public final class AequivaleoAPI implements IAequivaleoAPI
                  .registerTypeAdapter(IngredientSerializerRegistry.HANDLED_TYPE, IngredientSerializerRegistry.getInstance())
                  .registerTypeAdapter(IngredientSetSerializer.HANDLED_TYPE, new IngredientSetSerializer())
                  .registerTypeAdapter(GenericRecipeDataSerializer.HANDLED_TYPE, new GenericRecipeDataSerializer())
-                 .registerTypeAdapter(ResourceLocation.class, new ResourceLocation.Serializer());
+                 .registerTypeAdapter(ResourceLocation.class, new ResourceLocation.Serializer())
+                 //Registered after the serializers, so that they take precedence when reading and delegate writing to them.
+                 .registerTypeAdapterFactory(new CompoundDataStreamingAdapterFactory())
+                 .registerTypeAdapterFactory(new GenericRecipeDataStreamingAdapterFactory());
     }
 
     @Override
@@ -138,9 +149,33 @@ public final class AequivaleoAPI implements IAequivaleoAPI
         return IngredientSerializerRegistry.getInstance();
     }
 
+    @Override
+    public IIngredientCandidateInterner getIngredientCandidateInterner()
+    {
+        return IngredientCandidateInterner.getInstance();
+    }
+
     @Override
     public AnalysisState getState(final ResourceKey<Level> key)
     {
         return AnalysisStateManager.getState(key);
     }
+
+    @Override
+    public IAnalysisMetrics getAnalysisMetrics(final ResourceKey<Level> key)
+    {
+        return AnalysisMetricsManager.getMetrics(key);
+    }
+
+    @Override
+    public IAnalysisProgress getAnalysisProgress(final ResourceKey<Level> key)
+    {
+        return AnalysisStateManager.getProgress(key);
+    }
+
+    @Override
+    public IAnalysisScheduler getAnalysisScheduler()
+    {
+        return AnalysisScheduler.getInstance();
+    }
 }
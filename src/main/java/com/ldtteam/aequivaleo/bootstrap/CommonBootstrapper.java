@@ -35,25 +35,25 @@ public final class CommonBootstrapper
         //Handle itemstack equivalency:
         GameObjectEquivalencyHandlerRegistry.getInstance()
           .registerNewHandler(
-            (container) -> container.getContents() instanceof ItemStack,
+            ItemStack.class,
             (ICompoundContainer<ItemStack> left, ICompoundContainer<ItemStack> right) -> Optional.of(ItemStackUtils.compareItemStacksIgnoreStackSize(left.getContents(), right.getContents())));
 
         //Handle item equivalency:
         GameObjectEquivalencyHandlerRegistry.getInstance()
           .registerNewHandler(
-            (container) -> container.getContents() instanceof Item,
+            Item.class,
             (ICompoundContainer<Item> left, ICompoundContainer<Item> right) -> Optional.of(Objects.requireNonNull(left.getContents().getRegistryName()).toString().equals(Objects.requireNonNull(right.getContents()
                                                                                                                                                                                                    .getRegistryName()).toString())));
         //Handle fluidstack equivalency:
         GameObjectEquivalencyHandlerRegistry.getInstance()
           .registerNewHandler(
-            (container) -> container.getContents() instanceof FluidStack,
+            FluidStack.class,
             (ICompoundContainer<FluidStack> left, ICompoundContainer<FluidStack> right) -> Optional.of(FluidStackUtils.compareFluidStacksIgnoreStackSize(left.getContents(), right.getContents())));
 
         //Handle fluid equivalency:
         GameObjectEquivalencyHandlerRegistry.getInstance()
           .registerNewHandler(
-            (container) -> container.getContents() instanceof Fluid,
+            Fluid.class,
             (ICompoundContainer<Fluid> left, ICompoundContainer<Fluid> right) -> Optional.of(Objects.requireNonNull(left.getContents().getRegistryName()).toString().equals(Objects.requireNonNull(right.getContents()
                                                                                                                                                                                                    .getRegistryName()).toString())));
     }
@@ -2,33 +2,28 @@ package com.ldtteam.aequivaleo.bootstrap;
 
 import com.google.common.collect.Sets;
 import com.ldtteam.aequivaleo.analyzer.EquivalencyRecipeRegistry;
+import com.ldtteam.aequivaleo.analyzer.metrics.AnalysisMetrics;
+import com.ldtteam.aequivaleo.analyzer.metrics.AnalysisMetricsManager;
+import com.ldtteam.aequivaleo.analyzer.metrics.PhaseTimer;
+import com.ldtteam.aequivaleo.api.analysis.AnalysisPhase;
 import com.ldtteam.aequivaleo.api.compound.CompoundInstance;
 import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
 import com.ldtteam.aequivaleo.api.compound.information.ICompoundInformationRegistry;
 import com.ldtteam.aequivaleo.api.util.ModRegistries;
 import com.ldtteam.aequivaleo.compound.container.registry.CompoundContainerFactoryManager;
 import com.ldtteam.aequivaleo.compound.information.CompoundInformationRegistry;
-import com.ldtteam.aequivaleo.instanced.InstancedEquivalencyHandlerRegistry;
+import com.ldtteam.aequivaleo.instanced.InstancedEquivalencyCache;
 import com.ldtteam.aequivaleo.plugin.PluginManger;
-import com.ldtteam.aequivaleo.recipe.equivalency.InstancedEquivalency;
-import com.ldtteam.aequivaleo.recipe.equivalency.TagEquivalencyRecipe;
 import com.ldtteam.aequivaleo.vanilla.tags.TagEquivalencyRegistry;
-import net.minecraft.world.level.material.Fluids;
-import net.minecraft.world.item.ItemStack;
 import net.minecraft.tags.Tag;
-import net.minecraft.core.NonNullList;
 import net.minecraft.world.level.Level;
 import net.minecraft.server.level.ServerLevel;
-import net.minecraftforge.fluids.FluidStack;
-import net.minecraftforge.registries.ForgeRegistries;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Objects;
-import java.util.stream.StreamSupport;
 
 @SuppressWarnings("rawtypes")
 public final class WorldBootstrapper
@@ -43,14 +38,22 @@ public final class WorldBootstrapper
 
     public static void onWorldReload(final ServerLevel world)
     {
-        resetDataForWorld(world);
+        final AnalysisMetrics metrics = AnalysisMetricsManager.getMetrics(world.dimension());
 
-        doBootstrapTagInformation(world);
-        doBootstrapInstancedEquivalencies(world);
+        try (PhaseTimer ignored = metrics.time(AnalysisPhase.BOOTSTRAP))
+        {
+            resetDataForWorld(world);
+
+            doBootstrapTagInformation(world);
+            doBootstrapInstancedEquivalencies(world);
 
-        doHandleCompoundTypeWrappers(world);
+            doHandleCompoundTypeWrappers(world);
+        }
 
-        doHandlePluginLoad(world);
+        try (PhaseTimer ignored = metrics.time(AnalysisPhase.PLUGIN_RECIPE_COLLECTION))
+        {
+            doHandlePluginLoad(world);
+        }
     }
 
     private static void resetDataForWorld(final Level world)
@@ -70,98 +73,23 @@ public final class WorldBootstrapper
     private static <T> void doBootstrapSingleTagInformation(final Level world, final Tag.Named<T> tag) {
         final ICompoundContainer<Tag.Named> tagContainer = CompoundContainerFactoryManager.getInstance().wrapInContainer(tag, 1d);
 
-
-        final Collection<ICompoundContainer<?>> elementsOfTag = new ArrayList<>();
+        final Collection<ICompoundContainer<?>> elements = new ArrayList<>();
         for (T stack : tag.getValues())
         {
             ICompoundContainer<T> tiCompoundContainer = CompoundContainerFactoryManager.getInstance().wrapInContainer(stack, 1d);
-            elementsOfTag.add(tiCompoundContainer);
+            elements.add(tiCompoundContainer);
         }
 
-        for (ICompoundContainer<?> inputStack : elementsOfTag)
-        {
-            EquivalencyRecipeRegistry.getInstance(world.dimension())
-              .register(
-                new TagEquivalencyRecipe<>(
-                  tag,
-                  tagContainer,
-                  inputStack
-                ));
-
-            EquivalencyRecipeRegistry.getInstance(world.dimension())
-              .register(
-                new TagEquivalencyRecipe<>(
-                  tag,
-                  inputStack,
-                  tagContainer
-                ));
-        }
+        //The tag and its elements are represented as a single node during analysis.
+        EquivalencyRecipeRegistry.getInstance(world.dimension()).registerTagEquivalence(tag, tagContainer, elements);
     }
 
     private static void doBootstrapInstancedEquivalencies(
       @NotNull final ServerLevel world
     ) {
-        StreamSupport.stream(ForgeRegistries.ITEMS.spliterator(), true).forEach(item -> InstancedEquivalencyHandlerRegistry.getInstance().process(
-          item,
-          o -> {
-              final ICompoundContainer<?> sourceContainer = CompoundContainerFactoryManager.getInstance().wrapInContainer(item, 1);
-              final ICompoundContainer<?> targetContainer = CompoundContainerFactoryManager.getInstance().wrapInContainer(o, 1);
-
-              try {
-                  EquivalencyRecipeRegistry.getInstance(world.dimension())
-                    .register(new InstancedEquivalency(
-                      sourceContainer, targetContainer
-                    ))
-                    .register(new InstancedEquivalency(
-                      targetContainer, sourceContainer
-                    ));
-              } catch (Exception ex) {
-                  LOGGER.error(String.format("Failed to register equivalency between: %s and: %s",
-                    item.getRegistryName(),
-                    o), ex);
-              }
-          },
-          consumer -> {
-              final NonNullList<ItemStack> group = NonNullList.create();
-              if (item.getItemCategory() == null)
-                  return;
-
-              item.fillItemCategory(Objects.requireNonNull(item.getItemCategory()), group);
-
-              if (group.size() == 1)
-              {
-                  consumer.accept(group.get(0));
-              }
-          }
-        ));
-
-        StreamSupport.stream(ForgeRegistries.FLUIDS.spliterator(), true).forEach(fluid -> InstancedEquivalencyHandlerRegistry.getInstance().process(
-          fluid,
-          o -> {
-              final ICompoundContainer<?> sourceContainer = CompoundContainerFactoryManager.getInstance().wrapInContainer(fluid, 1);
-              final ICompoundContainer<?> targetContainer = CompoundContainerFactoryManager.getInstance().wrapInContainer(o, 1);
-
-              try {
-                  EquivalencyRecipeRegistry.getInstance(world.dimension())
-                    .register(new InstancedEquivalency(
-                      sourceContainer, targetContainer
-                    ))
-                    .register(new InstancedEquivalency(
-                      targetContainer, sourceContainer
-                    ));
-              } catch (Exception ex) {
-                  LOGGER.error(String.format("Failed to register equivalency between: %s and: %s",
-                    fluid.getRegistryName(),
-                    o), ex);
-              }
-          },
-          consumer -> {
-              if (fluid.isSame(Fluids.EMPTY))
-                  return;
-
-              consumer.accept(new FluidStack(fluid, 1));
-          }
-        ));
+        //The discovery only runs once, all worlds share its results.
+        EquivalencyRecipeRegistry.getInstance(world.dimension())
+          .registerAll(InstancedEquivalencyCache.getInstance().get());
     }
 
     private static void doHandleCompoundTypeWrappers(
@@ -174,6 +102,6 @@ public final class WorldBootstrapper
     private static void doHandlePluginLoad(
       @NotNull final ServerLevel world) {
         LOGGER.info(String.format("Invoking plugin callbacks: %s", world.dimension().location()));
-        PluginManger.getInstance().run(plugin -> plugin.onReloadStartedFor(world));
+        PluginManger.getInstance().runDuringReload(plugin -> plugin.onReloadStartedFor(world));
     }
 }
@@ -0,0 +1,64 @@
+package com.ldtteam.aequivaleo.command;
+
+import com.ldtteam.aequivaleo.analyzer.AnalysisStateManager;
+import com.ldtteam.aequivaleo.api.util.Constants;
+import com.mojang.brigadier.CommandDispatcher;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.commands.arguments.DimensionArgument;
+import net.minecraft.network.chat.TextComponent;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraftforge.event.RegisterCommandsEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+/**
+ * Registers the {@code /aequivaleo status [dimension]} command, which reports the live analysis progress per world.
+ */
+@Mod.EventBusSubscriber(modid = Constants.MOD_ID)
+public final class AnalysisStatusCommand
+{
+    private static final String DIMENSION_ARGUMENT = "dimension";
+
+    private AnalysisStatusCommand()
+    {
+        throw new IllegalStateException("Can not instantiate an instance of: AnalysisStatusCommand. This is a utility class");
+    }
+
+    @SubscribeEvent
+    public static void onRegisterCommands(final RegisterCommandsEvent event)
+    {
+        register(event.getDispatcher());
+    }
+
+    private static void register(final CommandDispatcher<CommandSourceStack> dispatcher)
+    {
+        dispatcher.register(
+          Commands.literal(Constants.MOD_ID)
+            .requires(source -> source.hasPermission(2))
+            .then(Commands.literal("status")
+                    .executes(context -> {
+                        int count = 0;
+                        for (final ServerLevel world : context.getSource().getServer().getAllLevels())
+                        {
+                            sendStatus(context.getSource(), world);
+                            count++;
+                        }
+                        return count;
+                    })
+                    .then(Commands.argument(DIMENSION_ARGUMENT, DimensionArgument.dimension())
+                            .executes(context -> {
+                                sendStatus(context.getSource(), DimensionArgument.getDimension(context, DIMENSION_ARGUMENT));
+                                return 1;
+                            })))
+        );
+    }
+
+    private static void sendStatus(final CommandSourceStack source, final ServerLevel world)
+    {
+        source.sendSuccess(
+          new TextComponent(String.format("%s: %s", world.dimension().location(), AnalysisStateManager.getProgress(world.dimension()))),
+          false
+        );
+    }
+}
@@ -120,7 +120,7 @@ public class CompoundTypeContainer implements ICompoundContainer<ICompoundType>
     @Override
     public int compareTo(@NotNull final ICompoundContainer<?> o)
     {
-        return !(o instanceof CompoundTypeContainer) ? -1 : (int) (getContentsCount() - o.getContentsCount());
+        return !(o instanceof CompoundTypeContainer) ? -1 : Double.compare(getContentsCount(), o.getContentsCount());
     }
 
     @Override
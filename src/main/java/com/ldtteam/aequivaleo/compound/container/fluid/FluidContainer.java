@@ -6,6 +6,7 @@ import com.ldtteam.aequivaleo.api.compound.container.dummy.Dummy;
 import com.ldtteam.aequivaleo.api.compound.container.factory.ICompoundContainerFactory;
 import com.ldtteam.aequivaleo.api.util.Constants;
 import com.ldtteam.aequivaleo.api.util.RegistryUtils;
+import com.ldtteam.aequivaleo.api.util.SortKeys;
 import net.minecraft.world.level.material.Fluid;
 import net.minecraft.world.level.material.Fluids;
 import net.minecraft.network.FriendlyByteBuf;
@@ -77,11 +78,13 @@ public class FluidContainer implements ICompoundContainer<Fluid>
     private final Fluid   fluid;
     private final double count;
     private final int hashCode;
+    private final long sortKey;
 
     public FluidContainer(final Fluid fluid, final double count) {
         this.fluid = fluid;
         this.count = count;
         this.hashCode = Objects.requireNonNull(fluid.getRegistryName()).hashCode();
+        this.sortKey = SortKeys.of(fluid.getRegistryName(), 0);
     }
 
     @Override
@@ -115,6 +118,12 @@ public class FluidContainer implements ICompoundContainer<Fluid>
           .getNamespace() + "_" + getContents().getRegistryName().getPath();
     }
 
+    @Override
+    public long getSortKey()
+    {
+        return sortKey;
+    }
+
     @Override
     public int compareTo(@NotNull final ICompoundContainer<?> o)
     {
@@ -15,6 +15,7 @@ import org.apache.commons.lang3.Validate;
 import org.jetbrains.annotations.NotNull;
 
 import java.lang.reflect.Type;
+import java.util.Objects;
 
 public class FluidStackContainer implements ICompoundContainer<FluidStack>
 {
@@ -88,6 +89,7 @@ public class FluidStackContainer implements ICompoundContainer<FluidStack>
     private final double     count;
 
     private final int hashCode;
+    private final long sortKey;
 
     public FluidStackContainer(final FluidStack stack, final double count)
     {
@@ -99,10 +101,12 @@ public class FluidStackContainer implements ICompoundContainer<FluidStack>
         if (stack.isEmpty())
         {
             this.hashCode = 0;
+            this.sortKey = 0;
             return;
         }
 
         this.hashCode = stack.writeToNBT(new CompoundTag()).hashCode();
+        this.sortKey = SortKeys.of(Objects.requireNonNull(stack.getFluid().getRegistryName()), stack.hasTag() ? stack.getTag().hashCode() : 0);
     }
 
     @Override
@@ -135,6 +139,12 @@ public class FluidStackContainer implements ICompoundContainer<FluidStack>
         throw new IllegalStateException("Tried to access the file name for the container. Container does not support.");
     }
 
+    @Override
+    public long getSortKey()
+    {
+        return sortKey;
+    }
+
     @Override
     public int compareTo(@NotNull final ICompoundContainer<?> o)
     {
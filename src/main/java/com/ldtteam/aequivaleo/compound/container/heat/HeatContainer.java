@@ -104,7 +104,7 @@ public class HeatContainer implements ICompoundContainer<Heat>
     @Override
     public int compareTo(@NotNull final ICompoundContainer<?> o)
     {
-        return !(o instanceof HeatContainer) ? -1 : (int) (getContentsCount() - o.getContentsCount());
+        return !(o instanceof HeatContainer) ? -1 : Double.compare(getContentsCount(), o.getContentsCount());
     }
 
     @Override
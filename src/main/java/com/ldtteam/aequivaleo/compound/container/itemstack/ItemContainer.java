@@ -6,6 +6,7 @@ import com.ldtteam.aequivaleo.api.compound.container.dummy.Dummy;
 import com.ldtteam.aequivaleo.api.compound.container.factory.ICompoundContainerFactory;
 import com.ldtteam.aequivaleo.api.util.Constants;
 import com.ldtteam.aequivaleo.api.util.RegistryUtils;
+import com.ldtteam.aequivaleo.api.util.SortKeys;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.Items;
 import net.minecraft.network.FriendlyByteBuf;
@@ -77,11 +78,13 @@ public class ItemContainer implements ICompoundContainer<Item>
     private final Item   item;
     private final double count;
     private final int hashCode;
+    private final long sortKey;
 
     public ItemContainer(final Item item, final double count) {
         this.item = item;
         this.count = count;
         this.hashCode = Objects.requireNonNull(item.getRegistryName()).hashCode();
+        this.sortKey = SortKeys.of(item.getRegistryName(), 0);
     }
 
     @Override
@@ -126,6 +129,12 @@ public class ItemContainer implements ICompoundContainer<Item>
                             .getNamespace() + "_" + getContents().getRegistryName().getPath();
     }
 
+    @Override
+    public long getSortKey()
+    {
+        return sortKey;
+    }
+
     @Override
     public int compareTo(@NotNull final ICompoundContainer<?> o)
     {
@@ -8,6 +8,7 @@ import com.ldtteam.aequivaleo.api.util.AequivaleoLogger;
 import com.ldtteam.aequivaleo.api.util.Comparators;
 import com.ldtteam.aequivaleo.api.util.Constants;
 import com.ldtteam.aequivaleo.api.util.ItemStackUtils;
+import com.ldtteam.aequivaleo.api.util.SortKeys;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.nbt.CompoundTag;
@@ -91,6 +92,7 @@ public class ItemStackContainer implements ICompoundContainer<ItemStack>
     private final double count;
 
     private final int hashCode;
+    private final long sortKey;
 
     public ItemStackContainer(final ItemStack stack, final double count) {
         this.stack = stack.copy();
@@ -101,10 +103,12 @@ public class ItemStackContainer implements ICompoundContainer<ItemStack>
         if (stack.isEmpty())
         {
             this.hashCode = 0;
+            this.sortKey = 0;
             return;
         }
 
         this.hashCode = stack.save(new CompoundTag()).hashCode();
+        this.sortKey = SortKeys.of(Objects.requireNonNull(stack.getItem().getRegistryName()), 31 * stack.getDamageValue() + (stack.hasTag() ? Objects.requireNonNull(stack.getTag()).hashCode() : 0));
     }
 
     @Override
@@ -150,6 +154,12 @@ public class ItemStackContainer implements ICompoundContainer<ItemStack>
                            .getNamespace() + "_" + getContents().getItem().getRegistryName().getPath();
     }
 
+    @Override
+    public long getSortKey()
+    {
+        return sortKey;
+    }
+
     @Override
     public int compareTo(@NotNull final ICompoundContainer<?> o)
     {
@@ -1,22 +1,27 @@
 package com.ldtteam.aequivaleo.compound.container.registry;
 
+import com.google.common.collect.Lists;
 import com.google.gson.*;
 import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
 import com.ldtteam.aequivaleo.api.compound.container.factory.ICompoundContainerFactory;
 import com.ldtteam.aequivaleo.api.compound.container.registry.ICompoundContainerFactoryManager;
 import com.ldtteam.aequivaleo.api.util.ModRegistries;
 import com.ldtteam.aequivaleo.api.util.Suppression;
+import com.ldtteam.aequivaleo.instanced.InstancedEquivalencyCache;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraftforge.registries.ForgeRegistry;
 import net.minecraftforge.registries.IForgeRegistry;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Type;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
 import static org.apache.commons.lang3.Validate.notNull;
@@ -39,20 +44,47 @@ public class CompoundContainerFactoryManager implements ICompoundContainerFactor
         return ModRegistries.CONTAINER_FACTORY;
     }
 
-    private final LinkedList<ExactTypedRegistryEntry<?>> typedRegistryEntries = new LinkedList<>();
+    /**
+     * The registered factories, ordered from the highest to the lowest priority.
+     * Factories registered later take priority over the ones registered before them.
+     */
+    private volatile List<ExactTypedRegistryEntry<?>> typedRegistryEntries = Collections.emptyList();
+
+    /**
+     * The resolved factories per concrete runtime class of the wrapped objects, filled lazily and reset on {@link #bake()}.
+     */
+    private volatile Map<Class<?>, FactoryResolution> factoryCache = new ConcurrentHashMap<>();
 
     private CompoundContainerFactoryManager()
     {
     }
 
     public void bake() {
-        typedRegistryEntries.clear();
+        final List<ExactTypedRegistryEntry<?>> entries = Lists.newArrayList();
         for (final ICompoundContainerFactory<?> iCompoundContainerFactory : getRegistry())
         {
-            typedRegistryEntries.add(
-              new ExactTypedRegistryEntry<>(iCompoundContainerFactory.getCanHandlePredicate(), iCompoundContainerFactory)
+            entries.add(
+              new ExactTypedRegistryEntry<>(iCompoundContainerFactory.getCanHandlePredicate(), iCompoundContainerFactory, usesDefaultPredicate(iCompoundContainerFactory))
             );
         }
+
+        typedRegistryEntries = Lists.reverse(entries);
+        factoryCache = new ConcurrentHashMap<>();
+
+        //The discovered instanced equivalencies hold containers created by the previous factories.
+        InstancedEquivalencyCache.getInstance().invalidate();
+    }
+
+    private static boolean usesDefaultPredicate(final ICompoundContainerFactory<?> factory)
+    {
+        try
+        {
+            return factory.getClass().getMethod("getCanHandlePredicate").getDeclaringClass() == ICompoundContainerFactory.class;
+        }
+        catch (NoSuchMethodException e)
+        {
+            return false;
+        }
     }
 
     /**
@@ -114,17 +146,45 @@ public class CompoundContainerFactoryManager implements ICompoundContainerFactor
     @SuppressWarnings(Suppression.UNCHECKED)
     private <T> Optional<? extends ICompoundContainerFactory<T>> getFactoryFor(@NotNull final T input)
     {
-        for (Iterator<ExactTypedRegistryEntry<?>> iterator = this.typedRegistryEntries.descendingIterator(); iterator.hasNext(); )
+        final FactoryResolution resolution = this.factoryCache.computeIfAbsent(input.getClass(), this::resolve);
+        for (final ExactTypedRegistryEntry<?> e : resolution.getInstanceCheckedEntries())
         {
-            final ExactTypedRegistryEntry<?> e = iterator.next();
             if (e.getCanHandlePredicate().test(input))
             {
-                ICompoundContainerFactory<?> f = e.getFactory();
-                ICompoundContainerFactory<T> tiCompoundContainerFactory = (ICompoundContainerFactory<T>) f;
-                return Optional.of(tiCompoundContainerFactory);
+                return Optional.of((ICompoundContainerFactory<T>) e.getFactory());
             }
         }
-        return Optional.empty();
+
+        return Optional.ofNullable((ICompoundContainerFactory<T>) resolution.getFactory());
+    }
+
+    /**
+     * Resolves the factories which might handle instances of the given class.
+     * Factories with the default predicate are decided by the class alone, factories with a custom predicate
+     * that take priority over the first matching default one still need to be tested with the instance itself.
+     *
+     * @param inputClass The concrete runtime class of the objects to wrap.
+     * @return The resolution for the class.
+     */
+    @NotNull
+    private FactoryResolution resolve(@NotNull final Class<?> inputClass)
+    {
+        final List<ExactTypedRegistryEntry<?>> instanceCheckedEntries = Lists.newArrayList();
+        for (final ExactTypedRegistryEntry<?> e : this.typedRegistryEntries)
+        {
+            if (!e.isClassBased())
+            {
+                instanceCheckedEntries.add(e);
+                continue;
+            }
+
+            if (e.getFactory().getContainedType().isAssignableFrom(inputClass))
+            {
+                return new FactoryResolution(instanceCheckedEntries, e.getFactory());
+            }
+        }
+
+        return new FactoryResolution(instanceCheckedEntries, null);
     }
 
     @Override
@@ -194,11 +254,14 @@ public class CompoundContainerFactoryManager implements ICompoundContainerFactor
         @NotNull
         private final ICompoundContainerFactory<T> factory;
 
+        private final boolean classBased;
+
         private ExactTypedRegistryEntry(
-          @NotNull final Predicate<Object> canHandlePredicate, @NotNull final ICompoundContainerFactory<T> factory)
+          @NotNull final Predicate<Object> canHandlePredicate, @NotNull final ICompoundContainerFactory<T> factory, final boolean classBased)
         {
             this.canHandlePredicate = canHandlePredicate;
             this.factory = factory;
+            this.classBased = classBased;
         }
 
         @NotNull
@@ -212,5 +275,42 @@ public class CompoundContainerFactoryManager implements ICompoundContainerFactor
         {
             return factory;
         }
+
+        /**
+         * Indicates if the factory uses the default predicate, in which case it can be resolved by class alone.
+         *
+         * @return True when class based, false when each instance needs to be tested.
+         */
+        boolean isClassBased()
+        {
+            return classBased;
+        }
+    }
+
+    private static final class FactoryResolution
+    {
+        @NotNull
+        private final List<ExactTypedRegistryEntry<?>> instanceCheckedEntries;
+
+        @Nullable
+        private final ICompoundContainerFactory<?> factory;
+
+        private FactoryResolution(@NotNull final List<ExactTypedRegistryEntry<?>> instanceCheckedEntries, @Nullable final ICompoundContainerFactory<?> factory)
+        {
+            this.instanceCheckedEntries = instanceCheckedEntries.isEmpty() ? Collections.emptyList() : instanceCheckedEntries;
+            this.factory = factory;
+        }
+
+        @NotNull
+        List<ExactTypedRegistryEntry<?>> getInstanceCheckedEntries()
+        {
+            return instanceCheckedEntries;
+        }
+
+        @Nullable
+        ICompoundContainerFactory<?> getFactory()
+        {
+            return factory;
+        }
     }
 }
@@ -134,7 +134,7 @@ public class TagContainer implements ICompoundContainer<Tag.Named>
     @Override
     public int compareTo(@NotNull final ICompoundContainer<?> o)
     {
-        return !(o instanceof CompoundTypeContainer) ? -1 : (int) (getContentsCount() - o.getContentsCount());
+        return !(o instanceof CompoundTypeContainer) ? -1 : Double.compare(getContentsCount(), o.getContentsCount());
     }
 
     @Override
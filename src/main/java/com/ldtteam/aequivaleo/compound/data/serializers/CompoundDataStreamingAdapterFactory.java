@@ -0,0 +1,273 @@
+package com.ldtteam.aequivaleo.compound.data.serializers;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import com.google.gson.*;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
+import com.ldtteam.aequivaleo.api.compound.information.datagen.data.CompoundInstanceData;
+import com.ldtteam.aequivaleo.api.compound.information.datagen.data.CompoundInstanceRef;
+import com.ldtteam.aequivaleo.api.util.ModRegistries;
+import com.ldtteam.aequivaleo.api.util.Suppression;
+import com.ldtteam.aequivaleo.compound.container.registry.CompoundContainerFactoryManager;
+import com.ldtteam.aequivaleo.utils.ConditionalJsonReader;
+import com.ldtteam.aequivaleo.utils.StreamingTypeAdapter;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.common.crafting.CraftingHelper;
+import net.minecraftforge.common.crafting.conditions.ICondition;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Reads compound instance data, compound instance sets and container sets directly from the json stream.
+ * Writing, and reading the payloads of the individual containers, is left to the tree based serializers.
+ */
+public final class CompoundDataStreamingAdapterFactory implements TypeAdapterFactory
+{
+    private static final TypeToken<?> INSTANCE_DATA_TYPE = TypeToken.get(CompoundInstanceDataSerializer.HANDLED_TYPE);
+    private static final TypeToken<?> REF_SET_TYPE       = TypeToken.get(CompoundInstanceRefSetSerializer.HANDLED_TYPE);
+    private static final TypeToken<?> CONTAINER_SET_TYPE = TypeToken.get(CompoundContainerSetSerializer.HANDLED_TYPE);
+
+    @SuppressWarnings(Suppression.UNCHECKED)
+    @Override
+    public <T> TypeAdapter<T> create(final Gson gson, final TypeToken<T> type)
+    {
+        if (type.equals(INSTANCE_DATA_TYPE))
+            return (TypeAdapter<T>) new InstanceDataAdapter(gson, (TypeAdapter<CompoundInstanceData>) gson.getDelegateAdapter(this, type));
+
+        if (type.equals(REF_SET_TYPE))
+            return (TypeAdapter<T>) new RefSetAdapter(gson, (TypeAdapter<Set<CompoundInstanceRef>>) gson.getDelegateAdapter(this, type));
+
+        if (type.equals(CONTAINER_SET_TYPE))
+            return (TypeAdapter<T>) new ContainerSetAdapter(gson, (TypeAdapter<Set<ICompoundContainer<?>>>) gson.getDelegateAdapter(this, type));
+
+        return null;
+    }
+
+    private static final class InstanceDataAdapter extends StreamingTypeAdapter<CompoundInstanceData>
+    {
+        private final TypeAdapter<JsonElement>                elementAdapter;
+        private final TypeAdapter<CompoundInstanceData.Mode>  modeAdapter;
+        private final TypeAdapter<Set<ICompoundContainer<?>>> containerSetAdapter;
+        private final TypeAdapter<Set<CompoundInstanceRef>>   refSetAdapter;
+
+        @SuppressWarnings(Suppression.UNCHECKED)
+        private InstanceDataAdapter(final Gson gson, final TypeAdapter<CompoundInstanceData> writeDelegate)
+        {
+            super(writeDelegate);
+            this.elementAdapter = gson.getAdapter(JsonElement.class);
+            this.modeAdapter = (TypeAdapter<CompoundInstanceData.Mode>) gson.getAdapter(TypeToken.get(CompoundInstanceDataModeSerializer.HANDLED_TYPE));
+            this.containerSetAdapter = (TypeAdapter<Set<ICompoundContainer<?>>>) gson.getAdapter(CONTAINER_SET_TYPE);
+            this.refSetAdapter = (TypeAdapter<Set<CompoundInstanceRef>>) gson.getAdapter(REF_SET_TYPE);
+        }
+
+        @Override
+        public CompoundInstanceData read(final JsonReader in, final ConditionalJsonReader outerReader) throws IOException
+        {
+            if (in.peek() == JsonToken.NULL)
+            {
+                in.nextNull();
+                return null;
+            }
+
+            if (in.peek() != JsonToken.BEGIN_OBJECT)
+                throw new JsonParseException("Can not deserialize compound instance data. Json is not an Object.");
+
+            final ConditionalJsonReader conditionalReader = ConditionalJsonReader.conditional();
+            CompoundInstanceData.Mode mode = CompoundInstanceData.Mode.ADDITIVE;
+            Set<ICompoundContainer<?>> containers = null;
+            Set<CompoundInstanceRef> instances = null;
+            JsonArray conditionsArray = new JsonArray();
+
+            in.beginObject();
+            while (in.hasNext())
+            {
+                final String name = in.nextName();
+                if (conditionalReader.isDisabled())
+                {
+                    in.skipValue();
+                    continue;
+                }
+
+                switch (name)
+                {
+                    case "conditions":
+                        conditionsArray = elementAdapter.read(in).getAsJsonArray();
+                        conditionalReader.readConditions(conditionsArray);
+                        break;
+                    case "mode":
+                        mode = readNested(in, modeAdapter, conditionalReader);
+                        break;
+                    case "targets":
+                        containers = readNested(in, containerSetAdapter, conditionalReader);
+                        break;
+                    case "compounds":
+                        instances = readNested(in, refSetAdapter, conditionalReader);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+
+            if (conditionalReader.isDisabled())
+                return CompoundInstanceData.DISABLED;
+
+            conditionalReader.rethrowDeferredFailure();
+
+            if (containers == null) {
+                throw new JsonParseException("Container data not found");
+            }
+
+            final Set<ICondition> conditions = Sets.newHashSet();
+            for (int i = 0; i < conditionsArray.size(); i++)
+            {
+                conditions.add(CraftingHelper.getCondition(conditionsArray.get(i).getAsJsonObject()));
+            }
+
+            return new CompoundInstanceData(
+              mode,
+              containers,
+              instances,
+              conditions);
+        }
+    }
+
+    private static final class RefSetAdapter extends StreamingTypeAdapter<Set<CompoundInstanceRef>>
+    {
+        private final TypeAdapter<CompoundInstanceRef> refAdapter;
+
+        @SuppressWarnings(Suppression.UNCHECKED)
+        private RefSetAdapter(final Gson gson, final TypeAdapter<Set<CompoundInstanceRef>> writeDelegate)
+        {
+            super(writeDelegate);
+            this.refAdapter = new RefAdapter((TypeAdapter<CompoundInstanceRef>) gson.getAdapter(TypeToken.get(CompoundInstanceRefSerializer.HANDLED_TYPE)));
+        }
+
+        @Override
+        public Set<CompoundInstanceRef> read(final JsonReader in, final ConditionalJsonReader conditionalReader) throws IOException
+        {
+            switch (in.peek())
+            {
+                case NULL:
+                    in.nextNull();
+                    return null;
+                case BEGIN_OBJECT:
+                    final CompoundInstanceRef ref = conditionalReader.readEntry(in, refAdapter);
+                    return ref == null ? Collections.emptySet() : ImmutableSet.of(ref);
+                case BEGIN_ARRAY:
+                    final Set<CompoundInstanceRef> result = Sets.newHashSet();
+                    in.beginArray();
+                    while (in.hasNext())
+                    {
+                        result.add(conditionalReader.readEntry(in, refAdapter));
+                    }
+                    in.endArray();
+                    return result;
+                default:
+                    throw new JsonParseException("For a Set<CompoundInstance> an array, null or object is required.");
+            }
+        }
+    }
+
+    private static final class RefAdapter extends StreamingTypeAdapter<CompoundInstanceRef>
+    {
+        private RefAdapter(final TypeAdapter<CompoundInstanceRef> writeDelegate)
+        {
+            super(writeDelegate);
+        }
+
+        @Override
+        public CompoundInstanceRef read(final JsonReader in, final ConditionalJsonReader conditionalReader) throws IOException
+        {
+            if (in.peek() == JsonToken.NULL)
+            {
+                in.nextNull();
+                return null;
+            }
+
+            if (in.peek() != JsonToken.BEGIN_OBJECT)
+            {
+                in.skipValue();
+                throw new JsonParseException("CompoundInstance requires a JsonObject.");
+            }
+
+            ResourceLocation location = null;
+            Double count = null;
+
+            in.beginObject();
+            while (in.hasNext())
+            {
+                switch (in.nextName())
+                {
+                    case "type":
+                        location = new ResourceLocation(in.nextString());
+                        break;
+                    case "amount":
+                        count = in.nextDouble();
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+
+            if (count == null)
+                throw new JsonParseException("CompoundInstance requires an amount.");
+
+            if (location == null || !ModRegistries.COMPOUND_TYPE.containsKey(location))
+            {
+                return null;
+            }
+
+            return new CompoundInstanceRef(
+              location,
+              count
+            );
+        }
+    }
+
+    private static final class ContainerSetAdapter extends StreamingTypeAdapter<Set<ICompoundContainer<?>>>
+    {
+        private final TypeAdapter<?> containerAdapter;
+
+        private ContainerSetAdapter(final Gson gson, final TypeAdapter<Set<ICompoundContainer<?>>> writeDelegate)
+        {
+            super(writeDelegate);
+            this.containerAdapter = gson.getAdapter(TypeToken.get(CompoundContainerFactoryManager.HANDLED_TYPE));
+        }
+
+        @Override
+        public Set<ICompoundContainer<?>> read(final JsonReader in, final ConditionalJsonReader conditionalReader) throws IOException
+        {
+            switch (in.peek())
+            {
+                case NULL:
+                    in.nextNull();
+                    return null;
+                case BEGIN_OBJECT:
+                    final Object container = conditionalReader.readEntry(in, containerAdapter);
+                    return container instanceof ICompoundContainer ? ImmutableSet.of((ICompoundContainer<?>) container) : Collections.emptySet();
+                case BEGIN_ARRAY:
+                    final Set<ICompoundContainer<?>> result = Sets.newHashSet();
+                    in.beginArray();
+                    while (in.hasNext())
+                    {
+                        final Object entry = conditionalReader.readEntry(in, containerAdapter);
+                        if (entry instanceof ICompoundContainer)
+                            result.add((ICompoundContainer<?>) entry);
+                    }
+                    in.endArray();
+                    return result;
+                default:
+                    throw new JsonParseException("Compound container set needs to be an array, null or object.");
+            }
+        }
+    }
+}
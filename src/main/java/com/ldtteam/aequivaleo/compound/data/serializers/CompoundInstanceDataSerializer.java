@@ -60,10 +60,7 @@ public final class CompoundInstanceDataSerializer implements JsonSerializer<Comp
     {
          final JsonObject result = new JsonObject();
 
-         result.add("mode", context.serialize(src.getMode(), CompoundInstanceDataModeSerializer.HANDLED_TYPE));
-         result.add("targets", context.serialize(src.getContainers(), CompoundContainerSetSerializer.HANDLED_TYPE));
-         result.add("compounds", context.serialize(src.getCompoundInstances(), CompoundInstanceRefSetSerializer.HANDLED_TYPE));
-
+        //Conditions are written first, so that a streaming reader can skip disabled data.
         if (!src.getConditions().isEmpty()) {
             final JsonArray conditions = new JsonArray();
             src.getConditions().stream()
@@ -74,6 +71,10 @@ public final class CompoundInstanceDataSerializer implements JsonSerializer<Comp
             result.add("conditions", conditions);
         }
 
+         result.add("mode", context.serialize(src.getMode(), CompoundInstanceDataModeSerializer.HANDLED_TYPE));
+         result.add("targets", context.serialize(src.getContainers(), CompoundContainerSetSerializer.HANDLED_TYPE));
+         result.add("compounds", context.serialize(src.getCompoundInstances(), CompoundInstanceRefSetSerializer.HANDLED_TYPE));
+
          return result;
     }
 }
@@ -13,6 +13,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class CompoundInformationRegistry implements ICompoundInformationRegistry
 {
@@ -29,6 +30,8 @@ public class CompoundInformationRegistry implements ICompoundInformationRegistry
 
     private final Map<ICompoundContainer<?>, ImmutableSet<CompoundInstance>> valueInformation = Maps.newConcurrentMap();
     private final Map<ICompoundContainer<?>, ImmutableSet<CompoundInstance>> lockedInformation = Maps.newConcurrentMap();
+    private final AtomicLong                                                  modificationCount = new AtomicLong();
+    private volatile CompoundInformationSnapshot                              snapshot = null;
 
     @Override
     public ICompoundInformationRegistry registerValue(
@@ -38,6 +41,7 @@ public class CompoundInformationRegistry implements ICompoundInformationRegistry
             throw new IllegalArgumentException("Can not set locked information with none unit stack.");
 
         valueInformation.put(wrapper, ImmutableSet.copyOf(compounds));
+        modificationCount.incrementAndGet();
 
         return this;
     }
@@ -60,6 +64,7 @@ public class CompoundInformationRegistry implements ICompoundInformationRegistry
             throw new IllegalArgumentException("Can not set locked information with none unit stack.");
 
         lockedInformation.put(wrapper, ImmutableSet.copyOf(instances));
+        modificationCount.incrementAndGet();
 
         return this;
     }
@@ -78,15 +83,41 @@ public class CompoundInformationRegistry implements ICompoundInformationRegistry
     {
         valueInformation.clear();
         lockedInformation.clear();
+        modificationCount.incrementAndGet();
+    }
+
+    /**
+     * Freezes the current information into an immutable snapshot.
+     * The snapshot is reused until the registry is modified again, so after the bootstrap of a reload
+     * all callers share the same snapshot instead of copying the information.
+     *
+     * @return The snapshot of the current information.
+     */
+    public CompoundInformationSnapshot freeze()
+    {
+        final CompoundInformationSnapshot current = snapshot;
+        final long currentModificationCount = modificationCount.get();
+        if (current != null && current.getModificationCount() == currentModificationCount)
+        {
+            return current;
+        }
+
+        final CompoundInformationSnapshot frozen = new CompoundInformationSnapshot(
+          currentModificationCount,
+          ImmutableMap.copyOf(valueInformation),
+          ImmutableMap.copyOf(lockedInformation)
+        );
+        snapshot = frozen;
+        return frozen;
     }
 
     public ImmutableMap<ICompoundContainer<?>, ImmutableSet<CompoundInstance>> getValueInformation()
     {
-        return ImmutableMap.copyOf(valueInformation);
+        return freeze().getValueInformation();
     }
 
     public ImmutableMap<ICompoundContainer<?>, ImmutableSet<CompoundInstance>> getLockingInformation()
     {
-        return ImmutableMap.copyOf(lockedInformation);
+        return freeze().getLockingInformation();
     }
 }
@@ -0,0 +1,46 @@
+package com.ldtteam.aequivaleo.compound.information;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.ldtteam.aequivaleo.api.compound.CompoundInstance;
+import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An immutable snapshot of the value and locking information of a {@link CompoundInformationRegistry}.
+ */
+public final class CompoundInformationSnapshot
+{
+    private final long modificationCount;
+    @NotNull
+    private final ImmutableMap<ICompoundContainer<?>, ImmutableSet<CompoundInstance>> valueInformation;
+    @NotNull
+    private final ImmutableMap<ICompoundContainer<?>, ImmutableSet<CompoundInstance>> lockingInformation;
+
+    CompoundInformationSnapshot(
+      final long modificationCount,
+      @NotNull final ImmutableMap<ICompoundContainer<?>, ImmutableSet<CompoundInstance>> valueInformation,
+      @NotNull final ImmutableMap<ICompoundContainer<?>, ImmutableSet<CompoundInstance>> lockingInformation)
+    {
+        this.modificationCount = modificationCount;
+        this.valueInformation = valueInformation;
+        this.lockingInformation = lockingInformation;
+    }
+
+    long getModificationCount()
+    {
+        return modificationCount;
+    }
+
+    @NotNull
+    public ImmutableMap<ICompoundContainer<?>, ImmutableSet<CompoundInstance>> getValueInformation()
+    {
+        return valueInformation;
+    }
+
+    @NotNull
+    public ImmutableMap<ICompoundContainer<?>, ImmutableSet<CompoundInstance>> getLockingInformation()
+    {
+        return lockingInformation;
+    }
+}
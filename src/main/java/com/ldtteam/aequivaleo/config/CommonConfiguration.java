@@ -9,6 +9,11 @@ public class CommonConfiguration extends AbstractAequivaleoConfiguration
     public ForgeConfigSpec.BooleanValue jsonPrettyPrint;
     public ForgeConfigSpec.IntValue networkBatchingSize;
     public ForgeConfigSpec.BooleanValue debugAnalysisLog;
+    public ForgeConfigSpec.IntValue ioThreadCount;
+    public ForgeConfigSpec.IntValue recipeCollectionThreadCount;
+    public ForgeConfigSpec.IntValue analysisThreadCount;
+    public ForgeConfigSpec.IntValue analysisThreadPriority;
+    public ForgeConfigSpec.BooleanValue compactResults;
 
     public CommonConfiguration(ForgeConfigSpec.Builder builder)
     {
@@ -23,6 +28,15 @@ public class CommonConfiguration extends AbstractAequivaleoConfiguration
         createCategory(builder, "export");
         jsonPrettyPrint = defineBoolean(builder, "json", false);
         finishCategory(builder);
+        createCategory(builder, "threads");
+        ioThreadCount = defineInteger(builder, "io", 0, 0, 256);
+        recipeCollectionThreadCount = defineInteger(builder, "recipes", 0, 0, 256);
+        analysisThreadCount = defineInteger(builder, "analysis", 0, 0, 256);
+        analysisThreadPriority = defineInteger(builder, "priority", Thread.NORM_PRIORITY - 1, Thread.MIN_PRIORITY, Thread.MAX_PRIORITY);
+        finishCategory(builder);
+        createCategory(builder, "results");
+        compactResults = defineBoolean(builder, "compact", false);
+        finishCategory(builder);
         finishCategory(builder);
     }
 
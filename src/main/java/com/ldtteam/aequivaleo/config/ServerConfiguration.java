@@ -12,15 +12,18 @@ public class ServerConfiguration extends AbstractAequivaleoConfiguration
 {
     public ForgeConfigSpec.BooleanValue exportGraph;
     public ForgeConfigSpec.BooleanValue writeResultsToLog;
+    public ForgeConfigSpec.BooleanValue exportMetrics;
     public ForgeConfigSpec.BooleanValue allowNoneSimpleIngredients;
     public ForgeConfigSpec.EnumValue<IngredientLogLevel> ingredientLogLevelEnumValue;
     public ForgeConfigSpec.IntValue maxCacheFilesToKeep;
+    public ForgeConfigSpec.IntValue analysisTimeout;
 
     protected ServerConfiguration(final ForgeConfigSpec.Builder builder)
     {
         createCategory(builder, "debugging");
         exportGraph = defineBoolean(builder, "debugging.export.graph", false);
         writeResultsToLog = defineBoolean(builder, "debugging.write.graph", false);
+        exportMetrics = defineBoolean(builder, "debugging.export.metrics", false);
         finishCategory(builder);
         createCategory(builder, "recipes");
         ingredientLogLevelEnumValue = defineEnum(builder, "recipes.ingredients.error.logging", IngredientLogLevel.FULL);
@@ -29,5 +32,8 @@ public class ServerConfiguration extends AbstractAequivaleoConfiguration
         createCategory(builder, "cache");
         maxCacheFilesToKeep = defineInteger(builder, "cache.max", 5, 1, Integer.MAX_VALUE);
         finishCategory(builder);
+        createCategory(builder, "analysis");
+        analysisTimeout = defineInteger(builder, "analysis.timeout", 0, 0, Integer.MAX_VALUE);
+        finishCategory(builder);
     }
 }
\ No newline at end of file
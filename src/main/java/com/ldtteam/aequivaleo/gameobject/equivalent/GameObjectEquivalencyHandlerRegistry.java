@@ -1,11 +1,14 @@
 package com.ldtteam.aequivaleo.gameobject.equivalent;
 
+import com.google.common.collect.Lists;
 import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
 import com.ldtteam.aequivaleo.api.gameobject.equivalent.IGameObjectEquivalencyHandlerRegistry;
 import com.ldtteam.aequivaleo.api.util.Suppression;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.function.Predicate;
 
@@ -24,15 +27,20 @@ public class GameObjectEquivalencyHandlerRegistry implements IGameObjectEquivale
 
     private final LinkedList<EquivalencyHandler<?, ?>> handlers = new LinkedList<>();
 
+    /**
+     * The handlers which apply to a given content class, in the order in which they are tried.
+     * Filled lazily and reset whenever a new handler is registered.
+     */
+    private volatile Map<Class<?>, List<EquivalencyHandler<?, ?>>> handlerChains = new ConcurrentHashMap<>();
+
     public boolean areGameObjectsEquivalent(
       @NotNull final ICompoundContainer<?> left, @NotNull final ICompoundContainer<?> right)
     {
         if (left.getContents().getClass() != right.getContents().getClass())
             return false;
 
-        for (Iterator<EquivalencyHandler<?, ?>> iterator = handlers.descendingIterator(); iterator.hasNext(); )
+        for (final EquivalencyHandler<?, ?> handler : handlerChains.computeIfAbsent(left.getContents().getClass(), this::buildHandlerChain))
         {
-            final EquivalencyHandler<?, ?> handler = iterator.next();
             Optional<Boolean> handleResult = attemptHandle(handler, left, right);
             if (handleResult.isPresent())
             {
@@ -42,6 +50,19 @@ public class GameObjectEquivalencyHandlerRegistry implements IGameObjectEquivale
         return false;
     }
 
+    private synchronized List<EquivalencyHandler<?, ?>> buildHandlerChain(final Class<?> contentClass)
+    {
+        final List<EquivalencyHandler<?, ?>> chain = Lists.newArrayList();
+        for (Iterator<EquivalencyHandler<?, ?>> iterator = handlers.descendingIterator(); iterator.hasNext(); )
+        {
+            final EquivalencyHandler<?, ?> handler = iterator.next();
+            if (handler.canHandle(contentClass))
+                chain.add(handler);
+        }
+
+        return chain.isEmpty() ? Collections.emptyList() : chain;
+    }
+
     @SuppressWarnings(Suppression.UNCHECKED)
     private static <L, R> Optional<Boolean> attemptHandle(
       final EquivalencyHandler<L, R> handler,
@@ -61,24 +82,60 @@ public class GameObjectEquivalencyHandlerRegistry implements IGameObjectEquivale
       final Predicate<ICompoundContainer<?>> canHandleRightPredicate,
       @NotNull final BiFunction<ICompoundContainer<L>, ICompoundContainer<R>, Optional<Boolean>> handler)
     {
-        this.handlers.add(new EquivalencyHandler<>(canHandleLeftPredicate, canHandleRightPredicate, handler));
+        return register(new EquivalencyHandler<>(null, canHandleLeftPredicate, null, canHandleRightPredicate, handler));
+    }
+
+    @Override
+    public <L, R> IGameObjectEquivalencyHandlerRegistry registerNewHandler(
+      @NotNull final Class<L> leftType,
+      @NotNull final Class<R> rightType,
+      @NotNull final BiFunction<ICompoundContainer<L>, ICompoundContainer<R>, Optional<Boolean>> handler)
+    {
+        //The chain only contains handlers whose types match the contents, so no further checks are needed when the handler is invoked.
+        return register(new EquivalencyHandler<>(leftType, container -> true, rightType, container -> true, handler));
+    }
+
+    private synchronized IGameObjectEquivalencyHandlerRegistry register(final EquivalencyHandler<?, ?> handler)
+    {
+        this.handlers.add(handler);
+        this.handlerChains = new ConcurrentHashMap<>();
         return this;
     }
 
     private static final class EquivalencyHandler<L, R> {
+        @Nullable
+        private final Class<L> leftType;
         private final Predicate<ICompoundContainer<?>> canHandleLeftPredicate;
+        @Nullable
+        private final Class<R> rightType;
         private final Predicate<ICompoundContainer<?>> canHandleRightPredicate;
         private final BiFunction<ICompoundContainer<L>, ICompoundContainer<R>, Optional<Boolean>> handler;
 
         private EquivalencyHandler(
+          @Nullable final Class<L> leftType,
           final Predicate<ICompoundContainer<?>> canHandleLeftPredicate,
+          @Nullable final Class<R> rightType,
           final Predicate<ICompoundContainer<?>> canHandleRightPredicate,
           final BiFunction<ICompoundContainer<L>, ICompoundContainer<R>, Optional<Boolean>> handler) {
+            this.leftType = leftType;
             this.canHandleLeftPredicate = canHandleLeftPredicate;
+            this.rightType = rightType;
             this.canHandleRightPredicate = canHandleRightPredicate;
             this.handler = handler;
         }
 
+        /**
+         * Checks if the handler might apply to contents of the given class.
+         * Handlers registered with predicates only can apply to any class.
+         *
+         * @param contentClass The class of the contents of both containers.
+         * @return True when the handler needs to be considered.
+         */
+        public boolean canHandle(final Class<?> contentClass)
+        {
+            return (leftType == null || leftType.isAssignableFrom(contentClass)) && (rightType == null || rightType.isAssignableFrom(contentClass));
+        }
+
         public Predicate<ICompoundContainer<?>> getCanHandleLeftPredicate()
         {
             return canHandleLeftPredicate;
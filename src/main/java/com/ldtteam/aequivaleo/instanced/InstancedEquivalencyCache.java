@@ -0,0 +1,174 @@
+package com.ldtteam.aequivaleo.instanced;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.ldtteam.aequivaleo.analyzer.AnalysisScheduler;
+import com.ldtteam.aequivaleo.api.analysis.IAnalysisScheduler;
+import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
+import com.ldtteam.aequivaleo.api.recipe.equivalency.IEquivalencyRecipe;
+import com.ldtteam.aequivaleo.compound.container.registry.CompoundContainerFactoryManager;
+import com.ldtteam.aequivaleo.recipe.equivalency.InstancedEquivalency;
+import net.minecraft.core.NonNullList;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.material.Fluids;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.registries.ForgeRegistries;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Holds the instanced equivalencies discovered from the item and fluid registries.
+ * Those registries can not change once the game has started, so the discovery only runs once and the resulting
+ * recipes are shared by all worlds, until a new handler is registered or the container factories are baked again.
+ */
+public final class InstancedEquivalencyCache
+{
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final InstancedEquivalencyCache INSTANCE = new InstancedEquivalencyCache();
+
+    public static InstancedEquivalencyCache getInstance()
+    {
+        return INSTANCE;
+    }
+
+    private volatile ImmutableList<IEquivalencyRecipe> equivalencies = null;
+
+    /**
+     * Counts the invalidations, a discovery result is only published if no invalidation happened while it ran.
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private volatile Supplier<ImmutableList<IEquivalencyRecipe>> discovery = InstancedEquivalencyCache::discover;
+
+    private InstancedEquivalencyCache()
+    {
+    }
+
+    /**
+     * Gives access to the discovered instanced equivalencies, running the discovery if needed.
+     * Each equivalency is contained in both directions.
+     *
+     * @return The equivalencies.
+     */
+    @NotNull
+    public ImmutableList<IEquivalencyRecipe> get()
+    {
+        ImmutableList<IEquivalencyRecipe> current = equivalencies;
+        if (current != null)
+        {
+            return current;
+        }
+
+        synchronized (this)
+        {
+            while (true)
+            {
+                current = equivalencies;
+                if (current != null)
+                {
+                    return current;
+                }
+
+                final long stamp = invalidations.get();
+                final ImmutableList<IEquivalencyRecipe> discovered = discovery.get();
+                if (invalidations.get() == stamp)
+                {
+                    //An invalidation can still happen between the check and the write, it then needs to win.
+                    equivalencies = discovered;
+                    if (invalidations.get() == stamp)
+                    {
+                        return discovered;
+                    }
+                    equivalencies = null;
+                }
+
+                LOGGER.info("Instanced equivalencies were invalidated during their discovery. Discovering them again.");
+            }
+        }
+    }
+
+    /**
+     * Drops the discovered equivalencies, the next request runs the discovery again.
+     * A discovery which is running while this is called does not publish its result.
+     */
+    public void invalidate()
+    {
+        invalidations.incrementAndGet();
+        equivalencies = null;
+    }
+
+    /**
+     * Replaces the discovery, used by tests which can not access the game registries.
+     *
+     * @param discovery The new discovery.
+     * @return The previous discovery.
+     */
+    @VisibleForTesting
+    Supplier<ImmutableList<IEquivalencyRecipe>> setDiscovery(@NotNull final Supplier<ImmutableList<IEquivalencyRecipe>> discovery)
+    {
+        final Supplier<ImmutableList<IEquivalencyRecipe>> previous = this.discovery;
+        this.discovery = discovery;
+        invalidate();
+        return previous;
+    }
+
+    private static ImmutableList<IEquivalencyRecipe> discover()
+    {
+        LOGGER.info("Discovering instanced equivalencies.");
+        final Queue<IEquivalencyRecipe> discovered = new ConcurrentLinkedQueue<>();
+
+        AnalysisScheduler.getInstance().forEach(IAnalysisScheduler.Lane.RECIPE_COLLECTION, ForgeRegistries.ITEMS.getValues(), item -> InstancedEquivalencyHandlerRegistry.getInstance().process(
+          item,
+          o -> addEquivalency(discovered, item, item.getRegistryName(), o),
+          consumer -> {
+              final NonNullList<ItemStack> group = NonNullList.create();
+              if (item.getItemCategory() == null)
+                  return;
+
+              item.fillItemCategory(Objects.requireNonNull(item.getItemCategory()), group);
+
+              if (group.size() == 1)
+              {
+                  consumer.accept(group.get(0));
+              }
+          }
+        ));
+
+        AnalysisScheduler.getInstance().forEach(IAnalysisScheduler.Lane.RECIPE_COLLECTION, ForgeRegistries.FLUIDS.getValues(), fluid -> InstancedEquivalencyHandlerRegistry.getInstance().process(
+          fluid,
+          o -> addEquivalency(discovered, fluid, fluid.getRegistryName(), o),
+          consumer -> {
+              if (fluid.isSame(Fluids.EMPTY))
+                  return;
+
+              consumer.accept(new FluidStack(fluid, 1));
+          }
+        ));
+
+        LOGGER.info(String.format("Discovered %d instanced equivalencies.", discovered.size() / 2));
+        return ImmutableList.copyOf(discovered);
+    }
+
+    private static void addEquivalency(final Queue<IEquivalencyRecipe> discovered, final Object source, final Object sourceName, final Object target)
+    {
+        try {
+            final ICompoundContainer<?> sourceContainer = CompoundContainerFactoryManager.getInstance().wrapInContainer(source, 1);
+            final ICompoundContainer<?> targetContainer = CompoundContainerFactoryManager.getInstance().wrapInContainer(target, 1);
+
+            discovered.add(new InstancedEquivalency(sourceContainer, targetContainer));
+            discovered.add(new InstancedEquivalency(targetContainer, sourceContainer));
+        } catch (Exception ex) {
+            LOGGER.error(String.format("Failed to register equivalency between: %s and: %s",
+              sourceName,
+              target), ex);
+        }
+    }
+}
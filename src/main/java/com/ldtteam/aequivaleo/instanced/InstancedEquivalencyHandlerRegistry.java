@@ -27,6 +27,7 @@ public class InstancedEquivalencyHandlerRegistry implements IInstancedEquivalenc
       @NotNull final T source, final Consumer<Consumer<Object>> handler)
     {
         this.handlers.put(source, handler);
+        InstancedEquivalencyCache.getInstance().invalidate();
         return this;
     }
 
@@ -0,0 +1,228 @@
+package com.ldtteam.aequivaleo.mediation;
+
+import com.google.common.collect.Sets;
+import com.ldtteam.aequivaleo.analyzer.compound.CompoundTypeIndex;
+import com.ldtteam.aequivaleo.analyzer.compound.CompoundVector;
+import com.ldtteam.aequivaleo.api.compound.CompoundInstance;
+import com.ldtteam.aequivaleo.api.compound.type.ICompoundType;
+import com.ldtteam.aequivaleo.api.compound.type.group.ICompoundTypeGroup;
+import com.ldtteam.aequivaleo.api.mediation.IBulkMediationContext;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.function.Supplier;
+
+public class SimpleBulkMediationContext implements IBulkMediationContext
+{
+    private static final byte UNKNOWN    = 0;
+    private static final byte COMPLETE   = 1;
+    private static final byte INCOMPLETE = 2;
+
+    @NotNull
+    private final ICompoundTypeGroup group;
+    @NotNull
+    private CompoundTypeIndex index;
+    private int               groupStart;
+    private int               typeCount;
+    @NotNull
+    private final Supplier<Boolean> areTargetParentsAnalyzedCallback;
+
+    private double[]            amounts;
+    private Supplier<Boolean>[] isSourceIncompleteCallbacks;
+    private byte[]              sourceStates;
+    private int                 candidateCount = 0;
+
+    @SuppressWarnings("unchecked")
+    public SimpleBulkMediationContext(
+      @NotNull final ICompoundTypeGroup group,
+      @NotNull final CompoundTypeIndex index,
+      @NotNull final Supplier<Boolean> areTargetParentsAnalyzedCallback)
+    {
+        this.group = group;
+        this.index = index;
+        this.groupStart = index.getGroupStart(group);
+        this.typeCount = index.getGroupEnd(group) - groupStart;
+        this.areTargetParentsAnalyzedCallback = areTargetParentsAnalyzedCallback;
+
+        this.amounts = new double[typeCount * 4];
+        this.isSourceIncompleteCallbacks = new Supplier[4];
+        this.sourceStates = new byte[4];
+    }
+
+    /**
+     * Adds a new, empty, candidate row.
+     *
+     * @param isSourceIncompleteCallback The callback which determines if the source of the candidate is incomplete.
+     * @return The row of the candidate.
+     */
+    public int addCandidate(@NotNull final Supplier<Boolean> isSourceIncompleteCallback)
+    {
+        if (candidateCount == sourceStates.length)
+        {
+            final int capacity = candidateCount * 2;
+            amounts = Arrays.copyOf(amounts, capacity * typeCount);
+            isSourceIncompleteCallbacks = Arrays.copyOf(isSourceIncompleteCallbacks, capacity);
+            sourceStates = Arrays.copyOf(sourceStates, capacity);
+        }
+
+        final int row = candidateCount++;
+        resetCandidate(row, isSourceIncompleteCallback);
+        return row;
+    }
+
+    /**
+     * Clears the given candidate row, so that it can be refilled.
+     *
+     * @param row The row of the candidate.
+     * @param isSourceIncompleteCallback The new callback which determines if the source of the candidate is incomplete.
+     */
+    public void resetCandidate(final int row, @NotNull final Supplier<Boolean> isSourceIncompleteCallback)
+    {
+        Arrays.fill(amounts, row * typeCount, (row + 1) * typeCount, Double.NaN);
+        isSourceIncompleteCallbacks[row] = isSourceIncompleteCallback;
+        sourceStates[row] = UNKNOWN;
+    }
+
+    /**
+     * Adds the given amount of a type to a candidate row.
+     * Amounts of the same type are summed.
+     *
+     * @param row The row of the candidate.
+     * @param type The type, which needs to be part of the group.
+     * @param amount The amount.
+     */
+    public void addAmount(final int row, final ICompoundType type, final double amount)
+    {
+        if (!index.contains(type))
+        {
+            moveTo(CompoundTypeIndex.getInstanceFor(type));
+        }
+
+        final int slot = row * typeCount + (index.getId(type) - groupStart);
+        amounts[slot] = Double.isNaN(amounts[slot]) ? amount : amounts[slot] + amount;
+    }
+
+    /**
+     * Adds the amounts of the slice of the group of this context in the given vector to a candidate row.
+     *
+     * @param row The row of the candidate.
+     * @param vector The vector.
+     */
+    public void addAmounts(final int row, final CompoundVector vector)
+    {
+        final CompoundTypeIndex vectorIndex = vector.getIndex();
+        final int end = vectorIndex.getGroupEnd(group);
+        for (int id = vectorIndex.getGroupStart(group); id < end; id++)
+        {
+            if (vector.contains(id))
+            {
+                addAmount(row, vectorIndex.getType(id), vector.get(id));
+            }
+        }
+    }
+
+    /**
+     * Adds the amounts of a candidate row to the given vector.
+     *
+     * @param row The row of the candidate.
+     * @param vector The vector.
+     */
+    public void addTo(final int row, final CompoundVector vector)
+    {
+        for (int typeIndex = 0; typeIndex < typeCount; typeIndex++)
+        {
+            final double amount = getAmount(row, typeIndex);
+            if (!Double.isNaN(amount))
+            {
+                vector.add(getType(typeIndex), amount);
+            }
+        }
+    }
+
+    private void moveTo(final CompoundTypeIndex target)
+    {
+        final int targetStart = target.getGroupStart(group);
+        final int targetCount = target.getGroupEnd(group) - targetStart;
+        final double[] moved = new double[sourceStates.length * targetCount];
+        Arrays.fill(moved, Double.NaN);
+        for (int row = 0; row < candidateCount; row++)
+        {
+            for (int typeIndex = 0; typeIndex < typeCount; typeIndex++)
+            {
+                final double amount = amounts[row * typeCount + typeIndex];
+                if (!Double.isNaN(amount))
+                {
+                    moved[row * targetCount + (target.getId(getType(typeIndex)) - targetStart)] = amount;
+                }
+            }
+        }
+
+        this.index = target;
+        this.groupStart = targetStart;
+        this.typeCount = targetCount;
+        this.amounts = moved;
+    }
+
+    @Override
+    public ICompoundTypeGroup getGroup()
+    {
+        return group;
+    }
+
+    @Override
+    public int getCandidateCount()
+    {
+        return candidateCount;
+    }
+
+    @Override
+    public int getTypeCount()
+    {
+        return typeCount;
+    }
+
+    @Override
+    public ICompoundType getType(final int typeIndex)
+    {
+        return index.getType(groupStart + typeIndex);
+    }
+
+    @Override
+    public double[] getAmounts()
+    {
+        return amounts;
+    }
+
+    @Override
+    public boolean isSourceIncomplete(final int candidateIndex)
+    {
+        if (sourceStates[candidateIndex] == UNKNOWN)
+        {
+            sourceStates[candidateIndex] = isSourceIncompleteCallbacks[candidateIndex].get() ? INCOMPLETE : COMPLETE;
+        }
+
+        return sourceStates[candidateIndex] == INCOMPLETE;
+    }
+
+    @Override
+    public boolean areTargetParentsAnalyzed()
+    {
+        return areTargetParentsAnalyzedCallback.get();
+    }
+
+    @Override
+    public Set<CompoundInstance> getInstances(final int candidateIndex)
+    {
+        final Set<CompoundInstance> instances = Sets.newHashSet();
+        for (int typeIndex = 0; typeIndex < typeCount; typeIndex++)
+        {
+            final double amount = getAmount(candidateIndex, typeIndex);
+            if (!Double.isNaN(amount))
+            {
+                instances.add(new CompoundInstance(getType(typeIndex), amount));
+            }
+        }
+        return instances;
+    }
+}
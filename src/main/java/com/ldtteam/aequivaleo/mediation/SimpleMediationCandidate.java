@@ -12,19 +12,19 @@ public class SimpleMediationCandidate implements IMediationCandidate
 {
 
     @NotNull
-    private final Set<CompoundInstance> values;
+    private final ImmutableSet<CompoundInstance> values;
     @NotNull
     private final Supplier<Boolean> isSourceIncompleteCallback;
 
     public SimpleMediationCandidate(@NotNull final Set<CompoundInstance> values, @NotNull final Supplier<Boolean> isSourceIncompleteCallback) {
-        this.values = values;
+        this.values = ImmutableSet.copyOf(values);
         this.isSourceIncompleteCallback = isSourceIncompleteCallback;
     }
 
     @Override
     public Set<CompoundInstance> getValues()
     {
-        return ImmutableSet.copyOf(values);
+        return values;
     }
 
     @Override
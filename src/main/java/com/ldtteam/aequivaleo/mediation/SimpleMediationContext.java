@@ -11,19 +11,19 @@ import java.util.function.Supplier;
 public class SimpleMediationContext implements IMediationContext
 {
     @NotNull
-    private final Set<IMediationCandidate> candidates;
+    private final ImmutableSet<IMediationCandidate> candidates;
     @NotNull
     private final Supplier<Boolean> areTargetParentsAnalyzedCallback;
 
     public SimpleMediationContext(@NotNull final Set<IMediationCandidate> candidates, @NotNull final Supplier<Boolean> areTargetParentsAnalyzedCallback) {
-        this.candidates = candidates;
+        this.candidates = ImmutableSet.copyOf(candidates);
         this.areTargetParentsAnalyzedCallback = areTargetParentsAnalyzedCallback;
     }
 
     @Override
     public Set<IMediationCandidate> getCandidates()
     {
-        return ImmutableSet.copyOf(candidates);
+        return candidates;
     }
 
     @Override
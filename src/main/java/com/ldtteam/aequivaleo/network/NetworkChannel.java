@@ -26,7 +26,7 @@ public class NetworkChannel
 {
     private static final Logger LOGGER = LogManager.getLogger();
 
-    private static final String LATEST_PROTO_VER = "1.0";
+    private static final String LATEST_PROTO_VER = "2.0";
     private static final String        ACCEPTED_PROTO_VERS = LATEST_PROTO_VER;
     /**
      * Forge network channel
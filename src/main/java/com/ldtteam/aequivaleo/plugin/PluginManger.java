@@ -1,6 +1,8 @@
 package com.ldtteam.aequivaleo.plugin;
 
 import com.google.common.collect.ImmutableSet;
+import com.ldtteam.aequivaleo.analyzer.AnalysisScheduler;
+import com.ldtteam.aequivaleo.api.analysis.IAnalysisScheduler;
 import com.ldtteam.aequivaleo.api.plugin.AequivaleoPlugin;
 import com.ldtteam.aequivaleo.api.plugin.IAequivaleoPlugin;
 import com.ldtteam.aequivaleo.api.plugin.IAequivaleoPluginManager;
@@ -49,6 +51,16 @@ public final class PluginManger implements IAequivaleoPluginManager
         getPlugins().parallelStream().forEach(callback);
     }
 
+    /**
+     * Invokes the callback on all plugins in parallel, using the recipe collection lane of the analysis scheduler
+     * instead of the common pool.
+     *
+     * @param callback The callback to invoke.
+     */
+    public void runDuringReload(Consumer<IAequivaleoPlugin> callback) {
+        AnalysisScheduler.getInstance().forEach(IAnalysisScheduler.Lane.RECIPE_COLLECTION, getPlugins(), callback);
+    }
+
     public void detect() {
         ModList modList = ModList.get();
         List<IAequivaleoPlugin> plugins = new ArrayList<>();
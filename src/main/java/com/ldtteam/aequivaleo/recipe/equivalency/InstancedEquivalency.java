@@ -4,6 +4,7 @@ import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
 import com.ldtteam.aequivaleo.api.recipe.equivalency.IInstancedEquivalency;
 import com.ldtteam.aequivaleo.api.recipe.equivalency.ingredient.IRecipeIngredient;
 import com.ldtteam.aequivaleo.api.recipe.equivalency.ingredient.SimpleIngredientBuilder;
+import com.ldtteam.aequivaleo.api.util.SortKeys;
 import org.apache.commons.lang3.Validate;
 
 import java.util.*;
@@ -12,6 +13,7 @@ public class InstancedEquivalency implements IInstancedEquivalency
 {
     private final SortedSet<IRecipeIngredient> source;
     private final SortedSet<ICompoundContainer<?>> target;
+    private final long sortKey;
 
     public InstancedEquivalency(final ICompoundContainer<?> source, final ICompoundContainer<?> target) {
         this.source = new TreeSet<>();
@@ -19,6 +21,7 @@ public class InstancedEquivalency implements IInstancedEquivalency
 
         this.source.add(new SimpleIngredientBuilder().from(Validate.notNull(source)).createSimpleIngredient());
         this.target.add(Validate.notNull(target));
+        this.sortKey = SortKeys.of(this);
     }
 
     @Override
@@ -51,6 +54,12 @@ public class InstancedEquivalency implements IInstancedEquivalency
         return target;
     }
 
+    @Override
+    public long getSortKey()
+    {
+        return sortKey;
+    }
+
     @Override
     public boolean equals(final Object o)
     {
@@ -4,6 +4,7 @@ import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
 import com.ldtteam.aequivaleo.vanilla.api.recipe.equivalency.ITagEquivalencyRecipe;
 import com.ldtteam.aequivaleo.api.recipe.equivalency.ingredient.IRecipeIngredient;
 import com.ldtteam.aequivaleo.api.recipe.equivalency.ingredient.SimpleIngredientBuilder;
+import com.ldtteam.aequivaleo.api.util.SortKeys;
 import net.minecraft.tags.Tag;
 import org.apache.commons.lang3.Validate;
 
@@ -16,6 +17,7 @@ public class TagEquivalencyRecipe<T> implements ITagEquivalencyRecipe<T>
     private final Tag.Named<T>          tag;
     private final SortedSet<IRecipeIngredient> inputs;
     private final SortedSet<ICompoundContainer<?>> outputs;
+    private final long sortKey;
 
     public TagEquivalencyRecipe(
       final Tag.Named<T> tag,
@@ -28,6 +30,7 @@ public class TagEquivalencyRecipe<T> implements ITagEquivalencyRecipe<T>
 
         this.inputs.add(new SimpleIngredientBuilder().from(Validate.notNull(inputs)).createSimpleIngredient());
         this.outputs.add(Validate.notNull(outputs));
+        this.sortKey = SortKeys.of(this);
     }
 
     @Override
@@ -60,6 +63,12 @@ public class TagEquivalencyRecipe<T> implements ITagEquivalencyRecipe<T>
         return getOutputs().size() / (double) getInputs().size();
     }
 
+    @Override
+    public long getSortKey()
+    {
+        return sortKey;
+    }
+
     @Override
     public boolean equals(final Object o)
     {
@@ -66,11 +66,7 @@ public class GenericRecipeDataSerializer implements JsonSerializer<GenericRecipe
     {
         final JsonObject object = new JsonObject();
 
-        object.add("input", context.serialize(src.getInputs(), IngredientSetSerializer.HANDLED_TYPE));
-        if (!src.getRequiredKnownOutputs().isEmpty())
-            object.add("residue", context.serialize(src.getRequiredKnownOutputs(), CompoundContainerSetSerializer.HANDLED_TYPE));
-        object.add("output", context.serialize(src.getOutputs(), CompoundContainerSetSerializer.HANDLED_TYPE));
-
+        //Conditions are written first, so that a streaming reader can skip disabled recipes.
         if (!src.getConditions().isEmpty()) {
             final JsonArray conditions = new JsonArray();
             src.getConditions().stream()
@@ -81,6 +77,11 @@ public class GenericRecipeDataSerializer implements JsonSerializer<GenericRecipe
             object.add("conditions", conditions);
         }
 
+        object.add("input", context.serialize(src.getInputs(), IngredientSetSerializer.HANDLED_TYPE));
+        if (!src.getRequiredKnownOutputs().isEmpty())
+            object.add("residue", context.serialize(src.getRequiredKnownOutputs(), CompoundContainerSetSerializer.HANDLED_TYPE));
+        object.add("output", context.serialize(src.getOutputs(), CompoundContainerSetSerializer.HANDLED_TYPE));
+
         return object;
     }
 }
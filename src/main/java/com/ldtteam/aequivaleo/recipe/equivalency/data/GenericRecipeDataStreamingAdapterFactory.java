@@ -0,0 +1,180 @@
+package com.ldtteam.aequivaleo.recipe.equivalency.data;
+
+import com.google.common.collect.Sets;
+import com.google.gson.*;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
+import com.ldtteam.aequivaleo.api.recipe.equivalency.data.GenericRecipeData;
+import com.ldtteam.aequivaleo.api.recipe.equivalency.data.GenericRecipeDataBuilder;
+import com.ldtteam.aequivaleo.api.recipe.equivalency.ingredient.IRecipeIngredient;
+import com.ldtteam.aequivaleo.api.util.Suppression;
+import com.ldtteam.aequivaleo.compound.data.serializers.CompoundContainerSetSerializer;
+import com.ldtteam.aequivaleo.recipe.equivalency.ingredient.data.IngredientSerializerRegistry;
+import com.ldtteam.aequivaleo.recipe.equivalency.ingredient.data.IngredientSetSerializer;
+import com.ldtteam.aequivaleo.utils.ConditionalJsonReader;
+import com.ldtteam.aequivaleo.utils.StreamingTypeAdapter;
+import net.minecraftforge.common.crafting.CraftingHelper;
+import net.minecraftforge.common.crafting.conditions.ICondition;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Reads generic recipe data and ingredient sets directly from the json stream.
+ * Writing, and reading the individual ingredients, is left to the tree based serializers.
+ */
+public final class GenericRecipeDataStreamingAdapterFactory implements TypeAdapterFactory
+{
+    private static final TypeToken<?> RECIPE_DATA_TYPE    = TypeToken.get(GenericRecipeDataSerializer.HANDLED_TYPE);
+    private static final TypeToken<?> INGREDIENT_SET_TYPE = TypeToken.get(IngredientSetSerializer.HANDLED_TYPE);
+
+    @SuppressWarnings(Suppression.UNCHECKED)
+    @Override
+    public <T> TypeAdapter<T> create(final Gson gson, final TypeToken<T> type)
+    {
+        if (type.equals(RECIPE_DATA_TYPE))
+            return (TypeAdapter<T>) new RecipeDataAdapter(gson, (TypeAdapter<GenericRecipeData>) gson.getDelegateAdapter(this, type));
+
+        if (type.equals(INGREDIENT_SET_TYPE))
+            return (TypeAdapter<T>) new IngredientSetAdapter(gson, (TypeAdapter<Set<IRecipeIngredient>>) gson.getDelegateAdapter(this, type));
+
+        return null;
+    }
+
+    private static final class RecipeDataAdapter extends StreamingTypeAdapter<GenericRecipeData>
+    {
+        private final TypeAdapter<JsonElement>                elementAdapter;
+        private final TypeAdapter<Set<IRecipeIngredient>>     ingredientSetAdapter;
+        private final TypeAdapter<Set<ICompoundContainer<?>>> containerSetAdapter;
+
+        @SuppressWarnings(Suppression.UNCHECKED)
+        private RecipeDataAdapter(final Gson gson, final TypeAdapter<GenericRecipeData> writeDelegate)
+        {
+            super(writeDelegate);
+            this.elementAdapter = gson.getAdapter(JsonElement.class);
+            this.ingredientSetAdapter = (TypeAdapter<Set<IRecipeIngredient>>) gson.getAdapter(INGREDIENT_SET_TYPE);
+            this.containerSetAdapter = (TypeAdapter<Set<ICompoundContainer<?>>>) gson.getAdapter(TypeToken.get(CompoundContainerSetSerializer.HANDLED_TYPE));
+        }
+
+        @Override
+        public GenericRecipeData read(final JsonReader in, final ConditionalJsonReader outerReader) throws IOException
+        {
+            if (in.peek() == JsonToken.NULL)
+            {
+                in.nextNull();
+                return null;
+            }
+
+            if (in.peek() != JsonToken.BEGIN_OBJECT)
+                throw new JsonParseException("Recipe needs to be an object.");
+
+            final ConditionalJsonReader conditionalReader = ConditionalJsonReader.conditional();
+            boolean hasInputs = false;
+            boolean hasOutputs = false;
+            Set<IRecipeIngredient> inputs = null;
+            Set<ICompoundContainer<?>> requiredKnownOutputs = Collections.emptySet();
+            Set<ICompoundContainer<?>> outputs = null;
+            JsonArray conditionsArray = new JsonArray();
+
+            in.beginObject();
+            while (in.hasNext())
+            {
+                final String name = in.nextName();
+                hasInputs |= name.equals("input");
+                hasOutputs |= name.equals("output");
+
+                if (conditionalReader.isDisabled())
+                {
+                    in.skipValue();
+                    continue;
+                }
+
+                switch (name)
+                {
+                    case "conditions":
+                        conditionsArray = elementAdapter.read(in).getAsJsonArray();
+                        conditionalReader.readConditions(conditionsArray);
+                        break;
+                    case "input":
+                        inputs = readNested(in, ingredientSetAdapter, conditionalReader);
+                        break;
+                    case "residue":
+                        requiredKnownOutputs = readNested(in, containerSetAdapter, conditionalReader);
+                        break;
+                    case "output":
+                        outputs = readNested(in, containerSetAdapter, conditionalReader);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+
+            if (!hasInputs)
+                throw new JsonParseException("Recipe needs to have inputs");
+
+            if (!hasOutputs)
+                throw new JsonParseException("Recipe needs to have outputs");
+
+            if (conditionalReader.isDisabled())
+                return GenericRecipeData.DISABLED;
+
+            conditionalReader.rethrowDeferredFailure();
+
+            final Set<ICondition> conditions = Sets.newHashSet();
+            for (int i = 0; i < conditionsArray.size(); i++)
+            {
+                conditions.add(CraftingHelper.getCondition(conditionsArray.get(i).getAsJsonObject()));
+            }
+
+            return new GenericRecipeDataBuilder().setInputs(inputs).setRequiredKnownOutputs(requiredKnownOutputs).setOutputs(outputs).setConditions(conditions).createGenericRecipeData();
+        }
+    }
+
+    private static final class IngredientSetAdapter extends StreamingTypeAdapter<Set<IRecipeIngredient>>
+    {
+        private final TypeAdapter<?> ingredientAdapter;
+
+        private IngredientSetAdapter(final Gson gson, final TypeAdapter<Set<IRecipeIngredient>> writeDelegate)
+        {
+            super(writeDelegate);
+            this.ingredientAdapter = gson.getAdapter(TypeToken.get(IngredientSerializerRegistry.HANDLED_TYPE));
+        }
+
+        @Override
+        public Set<IRecipeIngredient> read(final JsonReader in, final ConditionalJsonReader conditionalReader) throws IOException
+        {
+            final Set<IRecipeIngredient> ingredients = Sets.newHashSet();
+            switch (in.peek())
+            {
+                case NULL:
+                    in.nextNull();
+                    return null;
+                case BEGIN_OBJECT:
+                    readIngredient(in, conditionalReader, ingredients);
+                    return ingredients;
+                case BEGIN_ARRAY:
+                    in.beginArray();
+                    while (in.hasNext())
+                    {
+                        readIngredient(in, conditionalReader, ingredients);
+                    }
+                    in.endArray();
+                    return ingredients;
+                default:
+                    throw new JsonParseException("Recipe ingredient set needs to be null, object or array");
+            }
+        }
+
+        private void readIngredient(final JsonReader in, final ConditionalJsonReader conditionalReader, final Set<IRecipeIngredient> ingredients) throws IOException
+        {
+            final Object ingredient = conditionalReader.readEntry(in, ingredientAdapter);
+            if (ingredient instanceof IRecipeIngredient)
+                ingredients.add((IRecipeIngredient) ingredient);
+        }
+    }
+}
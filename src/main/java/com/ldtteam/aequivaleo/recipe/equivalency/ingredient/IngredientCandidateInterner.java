@@ -0,0 +1,112 @@
+package com.ldtteam.aequivaleo.recipe.equivalency.ingredient;
+
+import com.google.common.collect.MapMaker;
+import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
+import com.ldtteam.aequivaleo.api.recipe.equivalency.ingredient.IIngredientCandidateInterner;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Shares the candidate sets of structurally identical ingredients.
+ *
+ * While a session is active, for example during a reload, all ingredients with the same candidates share one immutable
+ * candidate set instance. Outside of a session each ingredient gets its own immutable copy.
+ * Sessions are only managed by the reload listener, addons only see the {@link IIngredientCandidateInterner}.
+ */
+public final class IngredientCandidateInterner implements IIngredientCandidateInterner
+{
+    private static final IngredientCandidateInterner INSTANCE = new IngredientCandidateInterner();
+
+    public static IngredientCandidateInterner getInstance()
+    {
+        return INSTANCE;
+    }
+
+    private final AtomicReference<Session> activeSession = new AtomicReference<>();
+
+    private IngredientCandidateInterner()
+    {
+    }
+
+    /**
+     * Starts a new session, replacing the active one if any.
+     * Ingredients of a superseded reload which are still created afterwards share their sets through the new session.
+     *
+     * @return The new session, needed to end it again.
+     */
+    @NotNull
+    public Session startSession()
+    {
+        final Session session = new Session();
+        activeSession.set(session);
+        return session;
+    }
+
+    /**
+     * Ends the given session, if it is still the active one.
+     * The candidate sets which have been handed out stay valid.
+     *
+     * @param session The session to end.
+     */
+    public void endSession(@NotNull final Session session)
+    {
+        activeSession.compareAndSet(session, null);
+    }
+
+    @NotNull
+    @Override
+    public SortedSet<ICompoundContainer<?>> intern(@NotNull final Set<ICompoundContainer<?>> candidates)
+    {
+        final Session session = activeSession.get();
+        if (session == null)
+            return Collections.unmodifiableSortedSet(new TreeSet<>(candidates));
+
+        return session.intern(candidates);
+    }
+
+    @Override
+    public boolean isInterned(@NotNull final Set<ICompoundContainer<?>> candidates)
+    {
+        final Session session = activeSession.get();
+        return session != null && session.interned.containsKey(candidates);
+    }
+
+    /**
+     * A single session of the interner.
+     */
+    public static final class Session
+    {
+        private final Map<Set<ICompoundContainer<?>>, SortedSet<ICompoundContainer<?>>> candidateSets = new ConcurrentHashMap<>();
+
+        //Weak keys compare by identity, which is exactly what is needed to recognize the shared instances.
+        private final Map<Set<ICompoundContainer<?>>, Boolean> interned = new MapMaker().weakKeys().makeMap();
+
+        private Session()
+        {
+        }
+
+        private SortedSet<ICompoundContainer<?>> intern(final Set<ICompoundContainer<?>> candidates)
+        {
+            if (interned.containsKey(candidates))
+                return (SortedSet<ICompoundContainer<?>>) candidates;
+
+            final SortedSet<ICompoundContainer<?>> existing = candidateSets.get(candidates);
+            if (existing != null)
+                return existing;
+
+            //The given set might be mutable, so only the immutable copy is used as key.
+            final SortedSet<ICompoundContainer<?>> shared = Collections.unmodifiableSortedSet(new TreeSet<>(candidates));
+            interned.put(shared, Boolean.TRUE);
+
+            final SortedSet<ICompoundContainer<?>> previous = candidateSets.putIfAbsent(shared, shared);
+            return previous != null ? previous : shared;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.ldtteam.aequivaleo.results;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.ldtteam.aequivaleo.analyzer.compound.CompoundTypeIndex;
+import com.ldtteam.aequivaleo.api.compound.CompoundInstance;
+import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
+import com.ldtteam.aequivaleo.api.compound.type.group.ICompoundTypeGroup;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.SoftReference;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Stores the results of an analysis in primitive columns, instead of a set of instances per container.
+ *
+ * Each container is given a row, its compounds are stored as a range of type ids and amounts, ordered by type id.
+ * Since the types of a group have consecutive ids, the compounds of a single group form a sub range of the row.
+ * Only the containers themselves are kept as objects, the instance sets are created when they are first requested.
+ * Requested sets are interned and softly cached, so repeated lookups of the same container or group do not allocate,
+ * while sets which are no longer used can be released again when memory runs low.
+ */
+final class CompactResultsStore
+{
+    private static final int NO_ROW = -1;
+
+    private final CompoundTypeIndex                           typeIndex;
+    private final Object2IntOpenHashMap<ICompoundContainer<?>> rows;
+    private final ICompoundContainer<?>[]                     containers;
+    private final int[]                                       offsets;
+    private final int[]                                       typeIds;
+    private final double[]                                    amounts;
+
+    private final AtomicReferenceArray<SoftReference<Set<CompoundInstance>>>                         instanceCache;
+    private final LoadingCache<ICompoundTypeGroup, Map<ICompoundContainer<?>, Set<CompoundInstance>>> groupCache    = CacheBuilder.newBuilder()
+      .softValues()
+      .build(CacheLoader.from(this::createAllDataOf));
+
+    private CompactResultsStore(
+      final CompoundTypeIndex typeIndex,
+      final Object2IntOpenHashMap<ICompoundContainer<?>> rows,
+      final ICompoundContainer<?>[] containers,
+      final int[] offsets,
+      final int[] typeIds,
+      final double[] amounts)
+    {
+        this.typeIndex = typeIndex;
+        this.rows = rows;
+        this.containers = containers;
+        this.offsets = offsets;
+        this.typeIds = typeIds;
+        this.amounts = amounts;
+        this.instanceCache = new AtomicReferenceArray<>(containers.length);
+    }
+
+    /**
+     * Creates a new store from the given results.
+     *
+     * @param data The results.
+     * @return The store.
+     */
+    @NotNull
+    static CompactResultsStore of(@NotNull final Map<ICompoundContainer<?>, Set<CompoundInstance>> data)
+    {
+        //Types which are not part of the current index yet are added, before any of the ids are used.
+        CompoundTypeIndex currentIndex = CompoundTypeIndex.getInstance();
+        int total = 0;
+        for (final Set<CompoundInstance> instances : data.values())
+        {
+            total += instances.size();
+            for (final CompoundInstance instance : instances)
+            {
+                if (!currentIndex.contains(instance.getType()))
+                {
+                    currentIndex = CompoundTypeIndex.getInstanceFor(instance.getType());
+                }
+            }
+        }
+        final CompoundTypeIndex typeIndex = currentIndex;
+
+        final Object2IntOpenHashMap<ICompoundContainer<?>> rows = new Object2IntOpenHashMap<>(data.size());
+        rows.defaultReturnValue(NO_ROW);
+        final ICompoundContainer<?>[] containers = new ICompoundContainer<?>[data.size()];
+        final int[] offsets = new int[data.size() + 1];
+        final int[] typeIds = new int[total];
+        final double[] amounts = new double[total];
+
+        int row = 0;
+        int offset = 0;
+        for (final Map.Entry<ICompoundContainer<?>, Set<CompoundInstance>> entry : data.entrySet())
+        {
+            rows.put(entry.getKey(), row);
+            containers[row] = entry.getKey();
+            offsets[row] = offset;
+
+            final long[] packed = new long[entry.getValue().size()];
+            final double[] rowAmounts = new double[packed.length];
+            int index = 0;
+            for (final CompoundInstance instance : entry.getValue())
+            {
+                //The type id is in the upper half, so sorting orders by type id and keeps the index of the amount.
+                packed[index] = ((long) typeIndex.getId(instance.getType()) << 32) | index;
+                rowAmounts[index] = instance.getAmount();
+                index++;
+            }
+            Arrays.sort(packed);
+
+            for (final long value : packed)
+            {
+                typeIds[offset] = (int) (value >>> 32);
+                amounts[offset] = rowAmounts[(int) value];
+                offset++;
+            }
+
+            row++;
+        }
+        offsets[row] = offset;
+        rows.trim();
+
+        return new CompactResultsStore(typeIndex, rows, containers, offsets, typeIds, amounts);
+    }
+
+    /**
+     * The amount of containers in the store.
+     *
+     * @return The amount of containers.
+     */
+    int size()
+    {
+        return containers.length;
+    }
+
+    /**
+     * Indicates if the store has results for the given container.
+     *
+     * @param container The container, with a count of 1.
+     * @return {@code True} when the container is known.
+     */
+    boolean contains(@NotNull final ICompoundContainer<?> container)
+    {
+        return rows.getInt(container) != NO_ROW;
+    }
+
+    /**
+     * Gives access to the instances of the given container.
+     * The instances are created on the first request, and reused while they are still cached.
+     *
+     * @param container The container, with a count of 1.
+     * @return The instances, or {@code null} if the container is not known.
+     */
+    @Nullable
+    Set<CompoundInstance> get(@NotNull final ICompoundContainer<?> container)
+    {
+        final int row = rows.getInt(container);
+        if (row == NO_ROW)
+            return null;
+
+        return getInstances(row);
+    }
+
+    private Set<CompoundInstance> getInstances(final int row)
+    {
+        while (true)
+        {
+            final SoftReference<Set<CompoundInstance>> reference = instanceCache.get(row);
+            final Set<CompoundInstance> cached = reference == null ? null : reference.get();
+            if (cached != null)
+                return cached;
+
+            final Set<CompoundInstance> instances = CompoundInstanceSetInterner.getInstance().intern(createInstances(offsets[row], offsets[row + 1]));
+            if (instanceCache.compareAndSet(row, reference, new SoftReference<>(instances)))
+                return instances;
+        }
+    }
+
+    /**
+     * Gives access to the instances of all containers, for example to send them to a client.
+     * The sets are shared with {@link #get(ICompoundContainer)}.
+     *
+     * @return The containers and their instances.
+     */
+    @NotNull
+    List<Map.Entry<ICompoundContainer<?>, Set<CompoundInstance>>> entries()
+    {
+        final List<Map.Entry<ICompoundContainer<?>, Set<CompoundInstance>>> entries = Lists.newArrayListWithExpectedSize(containers.length);
+        for (int row = 0; row < containers.length; row++)
+        {
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(containers[row], getInstances(row)));
+        }
+        return entries;
+    }
+
+    /**
+     * Gives access to the instances of the given group, for all containers which have at least one instance of the group.
+     * The map is created on the first request, and reused while it is still cached.
+     *
+     * @param group The group.
+     * @return The unmodifiable map of the containers and their instances of the given group.
+     */
+    @NotNull
+    Map<ICompoundContainer<?>, Set<CompoundInstance>> getAllDataOf(@NotNull final ICompoundTypeGroup group)
+    {
+        return groupCache.getUnchecked(group);
+    }
+
+    private Map<ICompoundContainer<?>, Set<CompoundInstance>> createAllDataOf(final ICompoundTypeGroup group)
+    {
+        final int groupStart = typeIndex.getGroupStart(group);
+        final int groupEnd = typeIndex.getGroupEnd(group);
+
+        final Map<ICompoundContainer<?>, Set<CompoundInstance>> result = Maps.newHashMap();
+        for (int row = 0; row < containers.length; row++)
+        {
+            int start = offsets[row];
+            final int rowEnd = offsets[row + 1];
+            while (start < rowEnd && typeIds[start] < groupStart)
+                start++;
+
+            int end = start;
+            while (end < rowEnd && typeIds[end] < groupEnd)
+                end++;
+
+            if (end > start)
+                result.put(containers[row], CompoundInstanceSetInterner.getInstance().intern(createInstances(start, end)));
+        }
+
+        return Collections.unmodifiableMap(result);
+    }
+
+    private Set<CompoundInstance> createInstances(final int start, final int end)
+    {
+        if (start == end)
+            return Collections.emptySet();
+
+        final Set<CompoundInstance> instances = Sets.newHashSetWithExpectedSize(end - start);
+        for (int i = start; i < end; i++)
+        {
+            instances.add(new CompoundInstance(typeIndex.getType(typeIds[i]), amounts[i]));
+        }
+        return Collections.unmodifiableSet(instances);
+    }
+}
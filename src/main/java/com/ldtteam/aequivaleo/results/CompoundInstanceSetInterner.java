@@ -0,0 +1,48 @@
+package com.ldtteam.aequivaleo.results;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.ldtteam.aequivaleo.api.compound.CompoundInstance;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Shares the final compound sets of containers.
+ *
+ * Many containers end up with the same compounds, like all colours of a dye or all variants of a stone.
+ * Each distinct set is only held once, as a compact immutable set, no matter how many containers or worlds use it.
+ * Sets which are no longer used by any container are released again.
+ */
+public final class CompoundInstanceSetInterner
+{
+    private static final CompoundInstanceSetInterner INSTANCE = new CompoundInstanceSetInterner();
+
+    public static CompoundInstanceSetInterner getInstance()
+    {
+        return INSTANCE;
+    }
+
+    private final Interner<ImmutableSet<CompoundInstance>> interner = Interners.newWeakInterner();
+
+    private CompoundInstanceSetInterner()
+    {
+    }
+
+    /**
+     * Returns the canonical immutable set with the given instances.
+     *
+     * @param instances The instances.
+     * @return The canonical set.
+     */
+    @NotNull
+    public Set<CompoundInstance> intern(@NotNull final Collection<CompoundInstance> instances)
+    {
+        if (instances.isEmpty())
+            return ImmutableSet.of();
+
+        return interner.intern(ImmutableSet.copyOf(instances));
+    }
+}
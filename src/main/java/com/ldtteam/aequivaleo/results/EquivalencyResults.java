@@ -5,6 +5,10 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Table;
 import com.google.common.collect.Tables;
 import com.ldtteam.aequivaleo.Aequivaleo;
+import com.ldtteam.aequivaleo.analyzer.AnalysisGeneration;
+import com.ldtteam.aequivaleo.analyzer.metrics.AnalysisMetricsManager;
+import com.ldtteam.aequivaleo.analyzer.metrics.PhaseTimer;
+import com.ldtteam.aequivaleo.api.analysis.AnalysisPhase;
 import com.ldtteam.aequivaleo.api.IAequivaleoAPI;
 import com.ldtteam.aequivaleo.api.compound.CompoundInstance;
 import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
@@ -25,9 +29,11 @@ import net.minecraftforge.fml.common.Mod;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @SuppressWarnings({"UnstableApiUsage", "deprecation"})
@@ -40,7 +46,21 @@ public class EquivalencyResults implements IResultsInformationCache, IEquivalenc
 
     private static final Map<ResourceKey<Level>, EquivalencyResults> WORLD_INSTANCES = Maps.newConcurrentMap();
 
+    /**
+     * The id of the generation which published the current data.
+     */
+    private final AtomicLong publishedGeneration = new AtomicLong(Long.MIN_VALUE);
+
     private       Map<ICompoundContainer<?>, Set<CompoundInstance>>                       rawData          = Maps.newConcurrentMap();
+    /**
+     * Replaces the raw data and the grouped instances when the compact results storage is enabled.
+     */
+    @Nullable
+    private volatile CompactResultsStore                                                  compactData      = null;
+    /**
+     * The cache objects of the groups are always kept, also when the compact results storage is enabled.
+     * They are opaque objects created by the groups, so they can not be stored in primitive columns or recreated cheaply.
+     */
     private final Table<ICompoundContainer<?>, ICompoundTypeGroup, Object>           processedData    = Tables.newCustomTable(
       new ConcurrentHashMap<>(),
       ConcurrentHashMap::new
@@ -75,7 +95,8 @@ public class EquivalencyResults implements IResultsInformationCache, IEquivalenc
         final ICompoundContainer<?> unitContainer = container.getContentsCount() == 1d ? container :
                                                                                                      IAequivaleoAPI.Holder.getInstance().getCompoundContainerFactoryManager().wrapInContainer(container.getContents(), 1d);
 
-        if (!rawData.containsKey(unitContainer)) {
+        final Set<CompoundInstance> data = getRawData(unitContainer);
+        if (data == null) {
             final Set<?> alternatives = ResultsAdapterHandlerRegistry.getInstance().produceAlternatives(container.getContents());
             for (final Object alternative : alternatives)
             {
@@ -89,9 +110,28 @@ public class EquivalencyResults implements IResultsInformationCache, IEquivalenc
             return Collections.emptySet();
         }
 
+        return data;
+    }
+
+    @Nullable
+    private Set<CompoundInstance> getRawData(@NotNull final ICompoundContainer<?> unitContainer)
+    {
+        final CompactResultsStore store = compactData;
+        if (store != null)
+            return store.get(unitContainer);
+
         return rawData.get(unitContainer);
     }
 
+    private List<Map.Entry<ICompoundContainer<?>, Set<CompoundInstance>>> getRawDataEntries()
+    {
+        final CompactResultsStore store = compactData;
+        if (store != null)
+            return store.entries();
+
+        return Lists.newArrayList(rawData.entrySet());
+    }
+
     @SuppressWarnings("unchecked")
     @NotNull
     @Override
@@ -129,6 +169,10 @@ public class EquivalencyResults implements IResultsInformationCache, IEquivalenc
 
     @Override
     public Map<ICompoundContainer<?>, Set<CompoundInstance>> getAllDataOf(final ICompoundTypeGroup group) {
+        final CompactResultsStore store = compactData;
+        if (store != null)
+            return store.getAllDataOf(group);
+
         return Collections.unmodifiableMap(this.groupedInstances.row(group));
     }
 
@@ -161,19 +205,52 @@ public class EquivalencyResults implements IResultsInformationCache, IEquivalenc
         return Collections.unmodifiableMap(resultsMap);
     }
 
+    /**
+     * Replaces the data with the results of the given generation.
+     * Nothing is replaced when the data of a newer generation has already been published.
+     *
+     * @param generation The generation which calculated the data.
+     * @param data The new data.
+     * @return {@code True} when the data was replaced.
+     */
+    public boolean set(@NotNull final AnalysisGeneration generation, @NotNull final Map<ICompoundContainer<?>, Set<CompoundInstance>> data)
+    {
+        if (!generation.claim(publishedGeneration))
+            return false;
+
+        set(data);
+        return true;
+    }
+
     public void set(@NotNull final Map<ICompoundContainer<?>, Set<CompoundInstance>> data)
     {
-        this.rawData = new ConcurrentHashMap<>(data);
+        //The compact storage only keeps the primitive columns, the instance sets are created on demand.
+        final boolean compact = Aequivaleo.getInstance().getConfiguration().getCommon().compactResults.get();
+        if (compact)
+        {
+            this.compactData = CompactResultsStore.of(data);
+            this.rawData = Maps.newConcurrentMap();
+        }
+        else
+        {
+            final Map<ICompoundContainer<?>, Set<CompoundInstance>> internedData = new ConcurrentHashMap<>(data.size());
+            data.forEach((container, instances) -> internedData.put(container, CompoundInstanceSetInterner.getInstance().intern(instances)));
+            this.rawData = internedData;
+            this.compactData = null;
+        }
+
         this.processedData.clear();
         this.groupedInstances.clear();
-        this.rawData.entrySet().parallelStream().forEach(e -> {
+        data.entrySet().parallelStream().forEach(e -> {
             final Map<ICompoundTypeGroup, Collection<CompoundInstance>> instancesGroupedByGroup =
               GroupingUtils.groupByUsingSetToMap(e.getValue(), i -> i.getType().getGroup());
 
             instancesGroupedByGroup.forEach((group, instances) -> {
-                final Set<CompoundInstance> instanceSet = Collections.unmodifiableSet(
-                  new HashSet<>(instances)
-                );
+                //The compact storage creates its own group sets on demand, so they are only interned when they are kept.
+                //The grouping uses sets, so the grouped instances can be handed to the group as they are.
+                final Set<CompoundInstance> instanceSet = compact ?
+                                                            Collections.unmodifiableSet((Set<CompoundInstance>) instances) :
+                                                            CompoundInstanceSetInterner.getInstance().intern(instances);
 
                 Object groupCacheObject = null;
                 try {
@@ -196,27 +273,34 @@ public class EquivalencyResults implements IResultsInformationCache, IEquivalenc
                     );
                 }
 
-                groupedInstances.put(
-                  group,
-                  e.getKey(),
-                  instanceSet
-                );
+                if (!compact) {
+                    groupedInstances.put(
+                      group,
+                      e.getKey(),
+                      instanceSet
+                    );
+                }
             });
         });
     }
 
     public static void updateAllPlayers() {
-        WORLD_INSTANCES.forEach((key, data) -> NetworkSplittingManager.getInstance().sendSplit(
-          Lists.newArrayList(data.rawData.entrySet()),
-          PartialSyncResultsMessage::new,
-          integer -> new SyncCompletedMessage(integer, key.location()),
-          message -> Aequivaleo.getInstance().getNetworkChannel().sendToEveryone(message)
-        ));
+        WORLD_INSTANCES.forEach((key, data) -> {
+            try (PhaseTimer ignored = AnalysisMetricsManager.getMetrics(key).time(AnalysisPhase.NETWORK_SYNC))
+            {
+                NetworkSplittingManager.getInstance().sendSplit(
+                  data.getRawDataEntries(),
+                  PartialSyncResultsMessage::new,
+                  integer -> new SyncCompletedMessage(integer, key.location()),
+                  message -> Aequivaleo.getInstance().getNetworkChannel().sendToEveryone(message)
+                );
+            }
+        });
     }
 
     public static void updatePlayer(@NotNull final ServerPlayer player) {
         WORLD_INSTANCES.forEach((key, data) -> NetworkSplittingManager.getInstance().sendSplit(
-          Lists.newArrayList(data.rawData.entrySet()),
+          data.getRawDataEntries(),
           PartialSyncResultsMessage::new,
           integer -> new SyncCompletedMessage(integer, key.location()),
           message -> Aequivaleo.getInstance().getNetworkChannel().sendToPlayer(message, player)
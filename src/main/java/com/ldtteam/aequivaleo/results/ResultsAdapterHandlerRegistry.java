@@ -1,11 +1,14 @@
 package com.ldtteam.aequivaleo.results;
 
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.ldtteam.aequivaleo.api.results.IResultsAdapterHandlerRegistry;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -21,6 +24,12 @@ public class ResultsAdapterHandlerRegistry implements IResultsAdapterHandlerRegi
 
     private final Queue<Entry<?>> alternativeHandlers = new ConcurrentLinkedQueue<Entry<?>>();
 
+    /**
+     * The handlers which apply to a given target class, in registration order.
+     * Filled lazily and reset whenever a new handler is registered.
+     */
+    private volatile Map<Class<?>, List<Entry<?>>> handlerChains = new ConcurrentHashMap<>();
+
     private ResultsAdapterHandlerRegistry()
     {
     }
@@ -28,12 +37,25 @@ public class ResultsAdapterHandlerRegistry implements IResultsAdapterHandlerRegi
     @Override
     public <T> IResultsAdapterHandlerRegistry registerHandler(final Predicate<Object> canHandlePredicate, final Function<T, Set<?>> alternativesProducer)
     {
-        this.alternativeHandlers.add(new Entry<>(canHandlePredicate, alternativesProducer));
+        return register(new Entry<>(null, canHandlePredicate, alternativesProducer));
+    }
+
+    @Override
+    public <T> IResultsAdapterHandlerRegistry registerHandler(final Class<T> type, final Function<T, Set<?>> alternativesProducer)
+    {
+        //The chain only contains handlers whose type matches the target, so no further checks are needed when the handler is invoked.
+        return register(new Entry<>(type, target -> true, alternativesProducer));
+    }
+
+    private synchronized IResultsAdapterHandlerRegistry register(final Entry<?> entry)
+    {
+        this.alternativeHandlers.add(entry);
+        this.handlerChains = new ConcurrentHashMap<>();
         return this;
     }
 
     public Set<?> produceAlternatives(final Object target) {
-        for (final Entry<?> alternativeHandler : alternativeHandlers)
+        for (final Entry<?> alternativeHandler : handlerChains.computeIfAbsent(target.getClass(), this::buildHandlerChain))
         {
             final Optional<Set<?>> result = handleEntry(target, alternativeHandler);
             if (result.isPresent())
@@ -45,6 +67,18 @@ public class ResultsAdapterHandlerRegistry implements IResultsAdapterHandlerRegi
         return Collections.emptySet();
     }
 
+    private List<Entry<?>> buildHandlerChain(final Class<?> targetClass)
+    {
+        final List<Entry<?>> chain = Lists.newArrayList();
+        for (final Entry<?> alternativeHandler : alternativeHandlers)
+        {
+            if (alternativeHandler.canHandle(targetClass))
+                chain.add(alternativeHandler);
+        }
+
+        return chain.isEmpty() ? Collections.emptyList() : chain;
+    }
+
     @SuppressWarnings("unchecked")
     private <T> Optional<Set<?>> handleEntry(final Object target, final Entry<T> entry) {
         if (entry.getCanHandleCallback().test(target)) {
@@ -55,14 +89,29 @@ public class ResultsAdapterHandlerRegistry implements IResultsAdapterHandlerRegi
     }
 
     private static final class Entry<T> {
+        @Nullable
+        final Class<T> type;
         final Predicate<Object> canHandleCallback;
         final Function<T, Set<?>> alternativesProducer;
 
-        private Entry(final Predicate<Object> canHandleCallback, final Function<T, Set<?>> alternativesProducer) {
+        private Entry(@Nullable final Class<T> type, final Predicate<Object> canHandleCallback, final Function<T, Set<?>> alternativesProducer) {
+            this.type = type;
             this.canHandleCallback = canHandleCallback;
             this.alternativesProducer = alternativesProducer;
         }
 
+        /**
+         * Checks if the handler might apply to targets of the given class.
+         * Handlers registered with a predicate only can apply to any class.
+         *
+         * @param targetClass The class of the target.
+         * @return True when the handler needs to be considered.
+         */
+        public boolean canHandle(final Class<?> targetClass)
+        {
+            return type == null || type.isAssignableFrom(targetClass);
+        }
+
         public Predicate<Object> getCanHandleCallback()
         {
             return canHandleCallback;
@@ -0,0 +1,118 @@
+package com.ldtteam.aequivaleo.utils;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import net.minecraftforge.common.crafting.CraftingHelper;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+
+/**
+ * Reads the entries of a streamed json object whose conditions might only be known after its entries have been read.
+ *
+ * As long as the conditions are unknown, failures of individual entries are deferred.
+ * This way a disabled object never fails because of an entry which its conditions guard, for example a container of a missing mod.
+ */
+public final class ConditionalJsonReader
+{
+    private static final String                   CONDITIONS_KEY  = "conditions";
+    private static final TypeAdapter<JsonElement> ELEMENT_ADAPTER = new Gson().getAdapter(JsonElement.class);
+
+    @Nullable
+    private Boolean          enabled;
+    @Nullable
+    private RuntimeException failure;
+
+    private ConditionalJsonReader(@Nullable final Boolean enabled)
+    {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Creates a reader for an object without conditions, failures are thrown immediately.
+     *
+     * @return The reader.
+     */
+    public static ConditionalJsonReader unconditional()
+    {
+        return new ConditionalJsonReader(true);
+    }
+
+    /**
+     * Creates a reader for an object whose conditions are not known yet.
+     *
+     * @return The reader.
+     */
+    public static ConditionalJsonReader conditional()
+    {
+        return new ConditionalJsonReader(null);
+    }
+
+    /**
+     * Evaluates the given conditions of the object.
+     *
+     * @param conditions The conditions.
+     */
+    public void readConditions(final JsonArray conditions)
+    {
+        final JsonObject wrapper = new JsonObject();
+        wrapper.add(CONDITIONS_KEY, conditions);
+        this.enabled = CraftingHelper.processConditions(wrapper, CONDITIONS_KEY);
+    }
+
+    /**
+     * Indicates if the conditions of the object are known to fail.
+     * The remaining entries of a disabled object can be skipped.
+     *
+     * @return {@code True} when the object is disabled.
+     */
+    public boolean isDisabled()
+    {
+        return Boolean.FALSE.equals(enabled);
+    }
+
+    /**
+     * Reads a single entry with the given adapter.
+     * If the conditions are not known yet, the entry is first read as a json tree, so that the reader stays aligned
+     * when the adapter fails halfway through the entry. Such a failure is then deferred and {@code null} is returned.
+     *
+     * @param in The reader to read from.
+     * @param adapter The adapter of the entry.
+     * @param <T> The type of the entry.
+     * @return The entry.
+     * @throws IOException When the underlying reader fails.
+     */
+    @Nullable
+    public <T> T readEntry(final JsonReader in, final TypeAdapter<T> adapter) throws IOException
+    {
+        if (enabled != null)
+            return adapter.read(in);
+
+        final JsonElement entry = ELEMENT_ADAPTER.read(in);
+        try
+        {
+            return adapter.fromJsonTree(entry);
+        }
+        catch (RuntimeException ex)
+        {
+            if (failure == null)
+                failure = ex;
+
+            return null;
+        }
+    }
+
+    /**
+     * Throws the first deferred failure, if any.
+     * Only called once the object is known to be enabled.
+     */
+    public void rethrowDeferredFailure()
+    {
+        if (failure != null)
+            throw failure;
+    }
+}
@@ -1,10 +1,12 @@
 package com.ldtteam.aequivaleo.utils;
 
-import com.google.common.collect.Sets;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.ldtteam.aequivaleo.api.compound.CompoundInstance;
 import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
 import com.ldtteam.aequivaleo.api.util.PacketBufferUtils;
 import com.ldtteam.aequivaleo.compound.container.registry.CompoundContainerFactoryManager;
+import com.ldtteam.aequivaleo.results.CompoundInstanceSetInterner;
 import net.minecraft.network.FriendlyByteBuf;
 
 import java.util.AbstractMap;
@@ -20,28 +22,59 @@ public class IOUtils
         throw new IllegalStateException("Can not instantiate an instance of: IOUtils. This is a utility class");
     }
 
+    /**
+     * Writes the given compound data.
+     * Each distinct set of compounds is only written once, the containers reference their set by its index.
+     *
+     * @param buf The buffer to write to.
+     * @param compoundData The containers and their compounds.
+     */
     public static void writeCompoundDataEntries(final FriendlyByteBuf buf, final List<Map.Entry<ICompoundContainer<?>, Set<CompoundInstance>>> compoundData)
     {
-        buf.writeVarInt(compoundData.size());
-        for (final Map.Entry<ICompoundContainer<?>, Set<CompoundInstance>> entry : compoundData)
+        final Map<Set<CompoundInstance>, Integer> setIndices = Maps.newHashMap();
+        final List<Set<CompoundInstance>> sets = Lists.newArrayList();
+        final int[] references = new int[compoundData.size()];
+        for (int i = 0; i < compoundData.size(); i++)
         {
-            CompoundContainerFactoryManager.getInstance().write(entry.getKey(), buf);
-            buf.writeVarInt(entry.getValue().size());
-            for (final CompoundInstance compoundInstance : entry.getValue())
+            references[i] = setIndices.computeIfAbsent(compoundData.get(i).getValue(), set -> {
+                sets.add(set);
+                return sets.size() - 1;
+            });
+        }
+
+        buf.writeVarInt(sets.size());
+        for (final Set<CompoundInstance> set : sets)
+        {
+            buf.writeVarInt(set.size());
+            for (final CompoundInstance compoundInstance : set)
             {
                 PacketBufferUtils.writeCompoundInstance(compoundInstance, buf);
             }
         }
+
+        buf.writeVarInt(compoundData.size());
+        for (int i = 0; i < compoundData.size(); i++)
+        {
+            CompoundContainerFactoryManager.getInstance().write(compoundData.get(i).getKey(), buf);
+            buf.writeVarInt(references[i]);
+        }
     }
 
+    /**
+     * Reads compound data written by {@link #writeCompoundDataEntries(FriendlyByteBuf, List)}.
+     * Containers with the same compounds share one canonical set.
+     *
+     * @param buffer The buffer to read from.
+     * @param compoundData The list to add the containers and their compounds to.
+     */
     public static void readCompoundData(final FriendlyByteBuf buffer, final List<Map.Entry<ICompoundContainer<?>, Set<CompoundInstance>>> compoundData)
     {
-        final int containerCount = buffer.readVarInt();
-        for (int i = 0; i < containerCount; i++)
+        final int setCount = buffer.readVarInt();
+        final List<Set<CompoundInstance>> sets = Lists.newArrayListWithExpectedSize(setCount);
+        for (int i = 0; i < setCount; i++)
         {
-            final ICompoundContainer<?> container = CompoundContainerFactoryManager.getInstance().read(buffer);
             final int compoundCount = buffer.readVarInt();
-            final Set<CompoundInstance> instances = Sets.newHashSet();
+            final List<CompoundInstance> instances = Lists.newArrayListWithExpectedSize(compoundCount);
             for (int j = 0; j < compoundCount; j++)
             {
                 instances.add(
@@ -51,7 +84,14 @@ public class IOUtils
                 );
             }
 
-            compoundData.add(new AbstractMap.SimpleEntry<>(container, instances));
+            sets.add(CompoundInstanceSetInterner.getInstance().intern(instances));
+        }
+
+        final int containerCount = buffer.readVarInt();
+        for (int i = 0; i < containerCount; i++)
+        {
+            final ICompoundContainer<?> container = CompoundContainerFactoryManager.getInstance().read(buffer);
+            compoundData.add(new AbstractMap.SimpleEntry<>(container, sets.get(buffer.readVarInt())));
         }
     }
 }
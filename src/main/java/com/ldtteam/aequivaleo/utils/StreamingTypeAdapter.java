@@ -0,0 +1,63 @@
+package com.ldtteam.aequivaleo.utils;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * A type adapter which reads its type directly from the json stream, without building a json tree first.
+ * Writing is left to the tree based serializer which the adapter replaces for reading.
+ *
+ * @param <T> The type which is read.
+ */
+public abstract class StreamingTypeAdapter<T> extends TypeAdapter<T>
+{
+    private final TypeAdapter<T> writeDelegate;
+
+    protected StreamingTypeAdapter(final TypeAdapter<T> writeDelegate)
+    {
+        this.writeDelegate = writeDelegate;
+    }
+
+    @Override
+    public void write(final JsonWriter out, final T value) throws IOException
+    {
+        writeDelegate.write(out, value);
+    }
+
+    @Override
+    public T read(final JsonReader in) throws IOException
+    {
+        return read(in, ConditionalJsonReader.unconditional());
+    }
+
+    /**
+     * Reads the value as part of an object whose conditions might not be known yet.
+     *
+     * @param in The reader to read from.
+     * @param conditionalReader The reader which tracks the conditions of the surrounding object.
+     * @return The value.
+     * @throws IOException When the underlying reader fails.
+     */
+    public abstract T read(JsonReader in, ConditionalJsonReader conditionalReader) throws IOException;
+
+    /**
+     * Reads a nested value, streaming it when the adapter supports it.
+     *
+     * @param in The reader to read from.
+     * @param adapter The adapter of the nested value.
+     * @param conditionalReader The reader which tracks the conditions of the surrounding object.
+     * @param <Z> The type of the nested value.
+     * @return The nested value.
+     * @throws IOException When the underlying reader fails.
+     */
+    protected static <Z> Z readNested(final JsonReader in, final TypeAdapter<Z> adapter, final ConditionalJsonReader conditionalReader) throws IOException
+    {
+        if (adapter instanceof StreamingTypeAdapter)
+            return ((StreamingTypeAdapter<Z>) adapter).read(in, conditionalReader);
+
+        return conditionalReader.readEntry(in, adapter);
+    }
+}
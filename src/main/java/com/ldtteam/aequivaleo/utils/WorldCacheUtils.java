@@ -21,6 +21,12 @@ public class WorldCacheUtils
 {
 
     private static final Logger LOGGER = LogManager.getLogger();
+
+    /**
+     * The name of a cache file, versioned so that caches written in an older format are never read.
+     */
+    private static final String CACHE_FILE_NAME = "%d.v2.bin-cache";
+
     private WorldCacheUtils()
     {
         throw new IllegalStateException("Can not instantiate an instance of: WorldCacheUtils. This is a utility class");
@@ -32,7 +38,7 @@ public class WorldCacheUtils
         final File cacheDirectory = new File(aequivaleoDirectory, "cache");
         final File worldCacheDirectory = new File(cacheDirectory,
           String.format("%s_%s", world.dimension().location().getNamespace(), world.dimension().location().getPath()));
-        final File cacheFile = new File(worldCacheDirectory, String.format("%d.bin-cache", id));
+        final File cacheFile = new File(worldCacheDirectory, String.format(CACHE_FILE_NAME, id));
 
         worldCacheDirectory.mkdirs();
 
@@ -95,7 +101,7 @@ public class WorldCacheUtils
         final File cacheDirectory = new File(aequivaleoDirectory, "cache");
         final File worldCacheDirectory = new File(cacheDirectory,
           String.format("%s_%s", world.dimension().location().getNamespace(), world.dimension().location().getPath()));
-        final File cacheFile = new File(worldCacheDirectory, String.format("%d.bin-cache", id));
+        final File cacheFile = new File(worldCacheDirectory, String.format(CACHE_FILE_NAME, id));
 
         worldCacheDirectory.mkdirs();
 
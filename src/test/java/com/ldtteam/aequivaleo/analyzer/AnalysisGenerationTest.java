@@ -0,0 +1,126 @@
+package com.ldtteam.aequivaleo.analyzer;
+
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class AnalysisGenerationTest
+{
+    @Test
+    public void newGenerationIsCurrent()
+    {
+        final AnalysisGeneration generation = AnalysisGeneration.startNext(0);
+
+        assertFalse(generation.isSuperseded());
+        assertFalse(generation.isTimedOut());
+        assertFalse(generation.isCancelled());
+        generation.checkCancelled();
+        assertTrue(generation.runIfCurrent(() -> {}));
+        assertTrue(generation.runIfNotSuperseded(() -> {}));
+    }
+
+    @Test
+    public void startingTheNextGenerationSupersedesTheCurrentOne()
+    {
+        final AnalysisGeneration first = AnalysisGeneration.startNext(0);
+        final AnalysisGeneration second = AnalysisGeneration.startNext(0);
+
+        assertTrue(second.getId() > first.getId());
+        assertTrue(first.isSuperseded());
+        assertTrue(first.isCancelled());
+        assertFalse(second.isCancelled());
+
+        final AtomicBoolean ran = new AtomicBoolean();
+        assertFalse(first.runIfCurrent(() -> ran.set(true)));
+        assertFalse(first.runIfNotSuperseded(() -> ran.set(true)));
+        assertFalse(ran.get());
+    }
+
+    @Test
+    public void supersededGenerationIsCancelled()
+    {
+        final AnalysisGeneration first = AnalysisGeneration.startNext(0);
+        AnalysisGeneration.startNext(0);
+
+        try
+        {
+            first.checkCancelled();
+            fail("A superseded generation needs to be cancelled.");
+        }
+        catch (AnalysisCancelledException ex)
+        {
+            assertSame(first, ex.getGeneration());
+        }
+    }
+
+    @Test
+    public void timedOutGenerationOnlyReportsItsOutcome()
+    {
+        final AnalysisGeneration generation = AnalysisGeneration.startNext(1, TimeUnit.NANOSECONDS);
+        while (!generation.isTimedOut())
+        {
+            Thread.onSpinWait();
+        }
+
+        assertFalse(generation.isSuperseded());
+        assertTrue(generation.isCancelled());
+        assertThrows(AnalysisCancelledException.class, generation::checkCancelled);
+        assertFalse(generation.runIfCurrent(() -> {}));
+        assertTrue(generation.runIfNotSuperseded(() -> {}));
+    }
+
+    @Test
+    public void callbacksDoNotBlockTheNextGeneration() throws Exception
+    {
+        final AnalysisGeneration generation = AnalysisGeneration.startNext(0);
+        final AtomicReference<AnalysisGeneration> next = new AtomicReference<>();
+
+        assertTrue(generation.runIfCurrent(() -> next.set(
+          CompletableFuture.supplyAsync(() -> AnalysisGeneration.startNext(0)).orTimeout(10, TimeUnit.SECONDS).join()
+        )));
+
+        assertTrue(generation.isSuperseded());
+        assertFalse(next.get().isCancelled());
+    }
+
+    @Test
+    public void supersededGenerationCanNotReplaceNewerData()
+    {
+        final AnalysisGeneration first = AnalysisGeneration.startNext(0);
+        final AnalysisGeneration second = AnalysisGeneration.startNext(0);
+        final AtomicLong stamp = new AtomicLong(Long.MIN_VALUE);
+
+        assertTrue(second.claim(stamp));
+        assertFalse(first.claim(stamp));
+        assertEquals(second.getId(), stamp.get());
+        assertTrue(second.claim(stamp));
+    }
+
+    @Test
+    public void generationCanReplaceOlderData()
+    {
+        final AnalysisGeneration first = AnalysisGeneration.startNext(0);
+        final AnalysisGeneration second = AnalysisGeneration.startNext(0);
+        final AtomicLong stamp = new AtomicLong(Long.MIN_VALUE);
+
+        assertTrue(first.claim(stamp));
+        assertTrue(second.claim(stamp));
+        assertEquals(second.getId(), stamp.get());
+    }
+
+    @Test
+    public void untrackedGenerationIsNeverCancelled()
+    {
+        AnalysisGeneration.startNext(0);
+
+        assertFalse(AnalysisGeneration.UNTRACKED.isCancelled());
+        assertTrue(AnalysisGeneration.UNTRACKED.runIfCurrent(() -> {}));
+        assertTrue(AnalysisGeneration.UNTRACKED.claim(new AtomicLong(Long.MAX_VALUE)));
+    }
+}
@@ -0,0 +1,210 @@
+package com.ldtteam.aequivaleo.analyzer;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.gson.*;
+import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
+import com.ldtteam.aequivaleo.api.compound.container.factory.ICompoundContainerFactory;
+import com.ldtteam.aequivaleo.api.compound.information.datagen.data.CompoundInstanceData;
+import com.ldtteam.aequivaleo.api.compound.information.datagen.data.CompoundInstanceRef;
+import com.ldtteam.aequivaleo.api.datagen.DataBundle;
+import com.ldtteam.aequivaleo.api.datagen.DataBundleWriter;
+import com.ldtteam.aequivaleo.api.util.ModRegistries;
+import com.ldtteam.aequivaleo.compound.container.registry.CompoundContainerFactoryManager;
+import com.ldtteam.aequivaleo.testing.compound.container.testing.StringCompoundContainer;
+import com.ldtteam.aequivaleo.testing.conditions.TestingConditions;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.Resource;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraftforge.common.crafting.conditions.FalseCondition;
+import net.minecraftforge.common.crafting.conditions.ICondition;
+import net.minecraftforge.common.crafting.conditions.TrueCondition;
+import net.minecraftforge.registries.IForgeRegistry;
+import org.jetbrains.annotations.Nullable;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DataBundleReaderTest
+{
+    private static final ResourceLocation BUNDLE_LOCATION = new ResourceLocation("testing", "aequivaleo/value/general/data.aqbundle");
+    private static final ResourceLocation KNOWN_TYPE      = new ResourceLocation("testing", "zero");
+    private static final ResourceLocation UNKNOWN_TYPE    = new ResourceLocation("missing", "type");
+
+    Gson gson;
+
+    @BeforeClass
+    public static void setUpConditions()
+    {
+        TestingConditions.register();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Before
+    public void setUp()
+    {
+        final List<ICompoundContainerFactory<?>> containerFactories = ImmutableList.of(new JsonStringCompoundContainerFactory());
+        ModRegistries.CONTAINER_FACTORY = mock(IForgeRegistry.class);
+        when(ModRegistries.CONTAINER_FACTORY.iterator()).thenAnswer(invocation -> containerFactories.iterator());
+        when(ModRegistries.CONTAINER_FACTORY.getValue(JsonStringCompoundContainerFactory.NAME)).thenReturn(containerFactories.get(0));
+        CompoundContainerFactoryManager.getInstance().bake();
+
+        ModRegistries.COMPOUND_TYPE = mock(IForgeRegistry.class);
+        when(ModRegistries.COMPOUND_TYPE.containsKey(any(ResourceLocation.class))).thenAnswer(invocation -> KNOWN_TYPE.equals(invocation.getArgument(0)));
+
+        gson = new GsonBuilder()
+                 .registerTypeAdapter(CompoundContainerFactoryManager.HANDLED_TYPE, CompoundContainerFactoryManager.getInstance())
+                 .registerTypeAdapter(ResourceLocation.class, new ResourceLocation.Serializer())
+                 .create();
+    }
+
+    @Test
+    public void informationSurvivesARoundTrip() throws IOException
+    {
+        final List<CompoundInstanceData> written = Lists.newArrayList(
+          data(CompoundInstanceData.Mode.ADDITIVE, ImmutableSet.of("a", "b"), 2d, Collections.emptySet()),
+          data(CompoundInstanceData.Mode.REPLACING, ImmutableSet.of("c"), 4d, ImmutableSet.of(TrueCondition.INSTANCE))
+        );
+
+        final List<Object> read = roundTrip(written);
+
+        assertEquals(describe(written), describe(read));
+    }
+
+    @Test
+    public void disabledEntriesAreSkipped() throws IOException
+    {
+        final List<Object> read = roundTrip(Lists.newArrayList(
+          data(CompoundInstanceData.Mode.ADDITIVE, ImmutableSet.of("a"), 2d, ImmutableSet.of(FalseCondition.INSTANCE)),
+          data(CompoundInstanceData.Mode.ADDITIVE, ImmutableSet.of("b"), 3d, Collections.emptySet())
+        ));
+
+        assertEquals(1, read.size());
+        assertEquals(Lists.newArrayList("ADDITIVE|[b]|[testing:zero=3.0]|0"), describe(read));
+    }
+
+    @Test
+    public void sharedContainersAreParsedOnce() throws IOException
+    {
+        final List<Object> read = roundTrip(Lists.newArrayList(
+          data(CompoundInstanceData.Mode.ADDITIVE, ImmutableSet.of("a"), 2d, Collections.emptySet()),
+          data(CompoundInstanceData.Mode.REPLACING, ImmutableSet.of("a"), 3d, Collections.emptySet())
+        ));
+
+        assertEquals(2, read.size());
+        assertSame(
+          ((CompoundInstanceData) read.get(0)).getContainers().iterator().next(),
+          ((CompoundInstanceData) read.get(1)).getContainers().iterator().next()
+        );
+    }
+
+    @Test
+    public void unknownCompoundTypesAreDropped() throws IOException
+    {
+        final DataBundleWriter writer = new DataBundleWriter(gson, DataBundle.Kind.INFORMATION);
+        writer.writeInformation(new CompoundInstanceData(
+          CompoundInstanceData.Mode.ADDITIVE,
+          ImmutableSet.of(new StringCompoundContainer("a", 1)),
+          ImmutableSet.of(new CompoundInstanceRef(KNOWN_TYPE, 1d), new CompoundInstanceRef(UNKNOWN_TYPE, 2d)),
+          Collections.emptySet()
+        ));
+
+        final List<Object> read = read(writer, DataBundle.Kind.INFORMATION);
+
+        assertEquals(Lists.newArrayList("ADDITIVE|[a]|[testing:zero=1.0]|0"), describe(read));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void bundlesOfAnotherKindAreRejected() throws IOException
+    {
+        final DataBundleWriter writer = new DataBundleWriter(gson, DataBundle.Kind.INFORMATION);
+        writer.writeInformation(data(CompoundInstanceData.Mode.ADDITIVE, ImmutableSet.of("a"), 2d, Collections.emptySet()));
+
+        read(writer, DataBundle.Kind.RECIPES);
+    }
+
+    private List<Object> roundTrip(final List<CompoundInstanceData> data) throws IOException
+    {
+        final DataBundleWriter writer = new DataBundleWriter(gson, DataBundle.Kind.INFORMATION);
+        data.forEach(writer::writeInformation);
+        return read(writer, DataBundle.Kind.INFORMATION);
+    }
+
+    private List<Object> read(final DataBundleWriter writer, final DataBundle.Kind kind) throws IOException
+    {
+        final byte[] bytes = writer.toByteArray();
+
+        final Resource resource = mock(Resource.class);
+        when(resource.getInputStream()).thenReturn(new ByteArrayInputStream(bytes));
+        final ResourceManager resourceManager = mock(ResourceManager.class);
+        when(resourceManager.getResource(BUNDLE_LOCATION)).thenReturn(resource);
+
+        return DataBundleReader.read(resourceManager, gson, BUNDLE_LOCATION, kind);
+    }
+
+    private static CompoundInstanceData data(
+      final CompoundInstanceData.Mode mode,
+      final Set<String> targets,
+      final double amount,
+      final Set<ICondition> conditions)
+    {
+        return new CompoundInstanceData(
+          mode,
+          targets.stream().map(target -> new StringCompoundContainer(target, 1)).collect(Collectors.toSet()),
+          ImmutableSet.of(new CompoundInstanceRef(KNOWN_TYPE, amount)),
+          conditions
+        );
+    }
+
+    private static List<String> describe(final List<?> data)
+    {
+        return data.stream()
+          .map(CompoundInstanceData.class::cast)
+          .map(entry -> String.format(
+            "%s|%s|%s|%d",
+            entry.getMode(),
+            entry.getContainers().stream().map(ICompoundContainer::getContents).map(String::valueOf).sorted().collect(Collectors.toList()),
+            entry.getCompoundInstances().stream().map(ref -> ref.getType() + "=" + ref.getAmount()).sorted().collect(Collectors.toList()),
+            entry.getConditions().size()
+          ))
+          .collect(Collectors.toList());
+    }
+
+    private static final class JsonStringCompoundContainerFactory extends StringCompoundContainer.Factory
+    {
+        private static final ResourceLocation NAME = new ResourceLocation("testing", "string");
+
+        @Override
+        public ICompoundContainer<String> deserialize(final JsonElement json, final Type typeOfT, final JsonDeserializationContext context) throws JsonParseException
+        {
+            return new StringCompoundContainer(json.getAsString(), 1);
+        }
+
+        @Override
+        public JsonElement serialize(final ICompoundContainer<String> src, final Type typeOfSrc, final JsonSerializationContext context)
+        {
+            return new JsonPrimitive(src.getContents());
+        }
+
+        @Nullable
+        @Override
+        public ResourceLocation getRegistryName()
+        {
+            return NAME;
+        }
+    }
+}
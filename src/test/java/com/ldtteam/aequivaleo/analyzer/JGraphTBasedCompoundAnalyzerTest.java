@@ -21,10 +21,12 @@ import com.ldtteam.aequivaleo.compound.information.CompoundInformationRegistry;
 import com.ldtteam.aequivaleo.config.CommonConfiguration;
 import com.ldtteam.aequivaleo.config.Configuration;
 import com.ldtteam.aequivaleo.config.ServerConfiguration;
+import com.ldtteam.aequivaleo.recipe.equivalency.TagEquivalencyRecipe;
 import com.ldtteam.aequivaleo.testing.compound.container.testing.StringCompoundContainer;
 import com.ldtteam.aequivaleo.testing.recipe.equivalency.TestingEquivalencyRecipe;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.Tag;
 import net.minecraft.world.level.Level;
 import net.minecraftforge.common.ForgeConfigSpec;
 import net.minecraftforge.fml.ModList;
@@ -131,6 +133,7 @@ public class JGraphTBasedCompoundAnalyzerTest
                              .orElse(Sets.newHashSet())
         ));
         when(groupUnknownIsZero.shouldIncompleteRecipeBeProcessed(any())).thenReturn(true);
+        when(groupUnknownIsZero.adaptRecipeResult(any(), any())).thenAnswer(invocation -> invocation.getArgument(1));
 
         when(typeUnknownIsInvalid.getGroup()).thenReturn(groupUnknownIsInvalid);
         when(typeUnknownIsInvalid.toString()).thenReturn("Type:Invalid");
@@ -166,6 +169,7 @@ public class JGraphTBasedCompoundAnalyzerTest
         });
 
         when(groupUnknownIsInvalid.shouldIncompleteRecipeBeProcessed(any())).thenReturn(false);
+        when(groupUnknownIsInvalid.adaptRecipeResult(any(), any())).thenAnswer(invocation -> invocation.getArgument(1));
 
         ForgeRegistry<ICompoundType> typeReg = mock(ForgeRegistry.class);
         when(typeReg.getID(any(ICompoundType.class))).thenAnswer((Answer<Integer>) invocation -> Lists.newArrayList(typeUnknownIsZero, typeUnknownIsInvalid).indexOf(invocation.getArgument(0)));
@@ -208,6 +212,96 @@ public class JGraphTBasedCompoundAnalyzerTest
         assertEquals(s(cz(32)), result.get(cc("workbench")));
     }
 
+    @Test
+    public void testTagWithSharedMembers()
+    {
+        final Tag.Named<String> planks = tag("planks");
+        input.registerValue("log", s(cz( 32.0)));
+
+        registerRecipe("1x log to 1x oak", s(cc("log", 1)), s(cc("oak", 1)));
+        registerRecipe("2x birch to 1x stick", s(cc("birch", 2)), s(cc("stick", 1)));
+        registerTagEquivalence(planks, "#planks", "oak", "birch");
+
+        final Map<ICompoundContainer<?>, Set<CompoundInstance>> result = analyzer.calculateAndGet();
+        assertEquals(s(cz(32)), result.get(cc("oak")));
+        assertEquals(s(cz(32)), result.get(cc("birch")));
+        assertEquals(s(cz(32)), result.get(cc("#planks")));
+        assertEquals(s(cz(64)), result.get(cc("stick")));
+    }
+
+    @Test
+    public void testTagWithoutSharedMembersUsesTagRecipes()
+    {
+        //The locked tag and the element which is part of both tags keep their own nodes.
+        final Tag.Named<String> logs = tag("logs");
+        final Tag.Named<String> burnable = tag("burnable");
+        input.registerLocking("#logs", s(cz( 4.0)));
+
+        registerTagEquivalence(logs, "#logs", "oak");
+        registerTagEquivalence(burnable, "#burnable", "oak");
+
+        final Map<ICompoundContainer<?>, Set<CompoundInstance>> result = analyzer.calculateAndGet();
+        assertEquals(s(cz(4)), result.get(cc("#logs")));
+        assertEquals(s(cz(4)), result.get(cc("oak")));
+        assertEquals(s(cz(4)), result.get(cc("#burnable")));
+    }
+
+    @Test
+    public void testTagEquivalenceMatchesTagRecipes()
+    {
+        final Tag.Named<String> planks = tag("planks");
+        final Tag.Named<String> logs = tag("logs");
+        final Runnable registerScenario = () -> {
+            input.registerValue("log", s(cz( 32.0)));
+            input.registerValue("spruce", s(cz( 32.0)));
+            input.registerLocking("#logs", s(cz( 8.0)));
+
+            registerRecipe("1x log to 1x oak", s(cc("log", 1)), s(cc("oak", 1)));
+            registerRecipe("2x birch to 1x stick", s(cc("birch", 2)), s(cc("stick", 1)));
+            registerRecipe("1x acacia_log to 2x acacia", s(cc("acacia_log", 1)), s(cc("acacia", 2)));
+        };
+
+        registerScenario.run();
+        registerTagEquivalence(planks, "#planks", "oak", "birch", "spruce");
+        registerTagEquivalence(logs, "#logs", "log", "acacia_log");
+        final Map<ICompoundContainer<?>, Set<CompoundInstance>> tagNodeResult = analyzer.calculateAndGet();
+
+        CompoundInformationRegistry.getInstance(key).reset();
+        EquivalencyRecipeRegistry.getInstance(key).reset();
+
+        registerScenario.run();
+        registerTagRecipes(planks, "#planks", "oak", "birch", "spruce");
+        registerTagRecipes(logs, "#logs", "log", "acacia_log");
+        final Map<ICompoundContainer<?>, Set<CompoundInstance>> tagRecipeResult = new JGraphTBasedCompoundAnalyzer(world, true, false).calculateAndGet();
+
+        for (final String container : ImmutableList.of("#planks", "oak", "birch", "spruce", "stick", "#logs", "log", "acacia_log", "acacia"))
+        {
+            assertEquals(container, tagRecipeResult.get(cc(container)), tagNodeResult.get(cc(container)));
+        }
+    }
+
+    @Test
+    public void testRecipeResultIsAdaptedByTheGroup()
+    {
+        //A lossy group, every recipe only keeps half of the value of its inputs.
+        when(groupUnknownIsZero.adaptRecipeResult(any(), any())).thenAnswer(invocation -> {
+            final Collection<CompoundInstance> candidateData = invocation.getArgument(1);
+            return candidateData.stream()
+                     .map(instance -> new CompoundInstance(instance.getType(), instance.getAmount() / 2))
+                     .collect(Collectors.toSet());
+        });
+
+        input.registerValue("log", s(cz( 32.0)));
+
+        registerRecipe("1x log to 4x plank", s(cc("log", 1)), s(cc("plank", 4)));
+        registerRecipe("4x plank to 1x workbench", s(cc("plank", 4)), s(cc("workbench", 1)));
+
+        final Map<ICompoundContainer<?>, Set<CompoundInstance>> result = analyzer.calculateAndGet();
+        assertEquals(s(cz(32)), result.get(cc("log")));
+        assertEquals(s(cz(4)), result.get(cc("plank")));
+        assertEquals(s(cz(8)), result.get(cc("workbench")));
+    }
+
     @Test
     public void testGenerateValuesSimpleMultiRecipeWithEmptyAlternative()
     {
@@ -665,6 +759,37 @@ public class JGraphTBasedCompoundAnalyzerTest
         );
     }
     
+    @SuppressWarnings("unchecked")
+    public Tag.Named<String> tag(final String name)
+    {
+        final Tag.Named<String> tag = mock(Tag.Named.class);
+        when(tag.getName()).thenReturn(new ResourceLocation(Constants.MOD_ID, name));
+        return tag;
+    }
+
+    public void registerTagEquivalence(final Tag.Named<String> tag, final String tagContainer, final String... elements)
+    {
+        EquivalencyRecipeRegistry.getInstance(key).registerTagEquivalence(
+          tag,
+          cc(tagContainer),
+          Arrays.stream(elements).map(this::cc).collect(Collectors.toList())
+        );
+    }
+
+    /**
+     * Registers the tag as a recipe from the tag to each element and back, like tags were represented before they
+     * became a single node.
+     */
+    public void registerTagRecipes(final Tag.Named<String> tag, final String tagContainer, final String... elements)
+    {
+        for (final String element : elements)
+        {
+            EquivalencyRecipeRegistry.getInstance(key)
+              .register(new TagEquivalencyRecipe<>(tag, cc(tagContainer), cc(element)))
+              .register(new TagEquivalencyRecipe<>(tag, cc(element), cc(tagContainer)));
+        }
+    }
+
     public void addConversion(int count, String result, List<String> inputs) {
         final Collection<Collection<String>> groupedInputs = GroupingUtils.groupByUsingList(inputs, Function.identity());
         final Set<ICompoundContainer<?>> inputContainers = groupedInputs
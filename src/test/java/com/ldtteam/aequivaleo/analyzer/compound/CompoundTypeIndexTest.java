@@ -0,0 +1,120 @@
+package com.ldtteam.aequivaleo.analyzer.compound;
+
+import com.google.common.collect.ImmutableList;
+import com.ldtteam.aequivaleo.api.compound.type.ICompoundType;
+import com.ldtteam.aequivaleo.api.compound.type.group.ICompoundTypeGroup;
+import com.ldtteam.aequivaleo.api.util.ModRegistries;
+import net.minecraftforge.registries.IForgeRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CompoundTypeIndexTest
+{
+    ICompoundTypeGroup groupA;
+    ICompoundTypeGroup groupB;
+
+    ICompoundType typeA1;
+    ICompoundType typeA2;
+    ICompoundType typeB;
+
+    @SuppressWarnings("unchecked")
+    @Before
+    public void setUp()
+    {
+        groupA = mock(ICompoundTypeGroup.class);
+        groupB = mock(ICompoundTypeGroup.class);
+
+        typeA1 = createType(groupA);
+        typeB = createType(groupB);
+        typeA2 = createType(groupA);
+
+        final List<ICompoundType> types = ImmutableList.of(typeA1, typeB, typeA2);
+        ModRegistries.COMPOUND_TYPE = mock(IForgeRegistry.class);
+        when(ModRegistries.COMPOUND_TYPE.iterator()).thenAnswer(invocation -> types.iterator());
+    }
+
+    @Test
+    public void idsRoundTrip()
+    {
+        final CompoundTypeIndex index = CompoundTypeIndex.getInstance();
+
+        assertEquals(3, index.size());
+        for (final ICompoundType type : ImmutableList.of(typeA1, typeA2, typeB))
+        {
+            assertTrue(index.contains(type));
+            assertSame(type, index.getType(index.getId(type)));
+        }
+    }
+
+    @Test
+    public void typesOfAGroupFormASlice()
+    {
+        final CompoundTypeIndex index = CompoundTypeIndex.getInstance();
+
+        assertEquals(ImmutableList.of(groupA, groupB), index.getGroups());
+        assertEquals(0, index.getGroupStart(groupA));
+        assertEquals(2, index.getGroupEnd(groupA));
+        assertEquals(2, index.getGroupStart(groupB));
+        assertEquals(3, index.getGroupEnd(groupB));
+        assertEquals(groupA, index.getType(1).getGroup());
+    }
+
+    @Test
+    public void indexIsSharedUntilTheRegistryChanges()
+    {
+        final CompoundTypeIndex index = CompoundTypeIndex.getInstance();
+        assertSame(index, CompoundTypeIndex.getInstance());
+
+        setUp();
+        assertNotSame(index, CompoundTypeIndex.getInstance());
+    }
+
+    @Test
+    public void unknownTypesHaveNoId()
+    {
+        final CompoundTypeIndex index = CompoundTypeIndex.getInstance();
+        final ICompoundType unknown = createType(groupB);
+
+        assertFalse(index.contains(unknown));
+        assertEquals(CompoundTypeIndex.UNKNOWN, index.getId(unknown));
+        assertEquals(0, index.getGroupStart(mock(ICompoundTypeGroup.class)));
+        assertEquals(0, index.getGroupEnd(mock(ICompoundTypeGroup.class)));
+    }
+
+    @Test
+    public void unknownTypesAreAddedByRebuildingTheIndex()
+    {
+        final CompoundTypeIndex index = CompoundTypeIndex.getInstance();
+        final ICompoundType lateType = createType(groupA);
+        final ICompoundTypeGroup lateGroup = mock(ICompoundTypeGroup.class);
+        final ICompoundType lateGroupType = createType(lateGroup);
+
+        assertSame(index, CompoundTypeIndex.getInstanceFor(typeA1));
+
+        final CompoundTypeIndex rebuilt = CompoundTypeIndex.getInstanceFor(lateType);
+        assertNotSame(index, rebuilt);
+        assertSame(rebuilt, CompoundTypeIndex.getInstance());
+        assertEquals(4, rebuilt.size());
+        assertEquals(3, rebuilt.getGroupEnd(groupA));
+        assertSame(lateType, rebuilt.getType(rebuilt.getId(lateType)));
+
+        //Earlier additions are kept when the index is rebuilt again.
+        final CompoundTypeIndex rebuiltAgain = CompoundTypeIndex.getInstanceFor(lateGroupType);
+        assertTrue(rebuiltAgain.contains(lateType));
+        assertTrue(rebuiltAgain.contains(lateGroupType));
+        assertEquals(ImmutableList.of(groupA, groupB, lateGroup), rebuiltAgain.getGroups());
+    }
+
+    private static ICompoundType createType(final ICompoundTypeGroup group)
+    {
+        final ICompoundType type = mock(ICompoundType.class);
+        when(type.getGroup()).thenReturn(group);
+        return type;
+    }
+}
@@ -0,0 +1,133 @@
+package com.ldtteam.aequivaleo.analyzer.compound;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.ldtteam.aequivaleo.api.compound.CompoundInstance;
+import com.ldtteam.aequivaleo.api.compound.type.ICompoundType;
+import com.ldtteam.aequivaleo.api.compound.type.group.ICompoundTypeGroup;
+import com.ldtteam.aequivaleo.api.util.ModRegistries;
+import net.minecraftforge.registries.IForgeRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CompoundVectorTest
+{
+    ICompoundTypeGroup groupA;
+    ICompoundTypeGroup groupB;
+
+    ICompoundType typeA1;
+    ICompoundType typeA2;
+    ICompoundType typeB;
+
+    @SuppressWarnings("unchecked")
+    @Before
+    public void setUp()
+    {
+        groupA = mock(ICompoundTypeGroup.class);
+        groupB = mock(ICompoundTypeGroup.class);
+
+        typeA1 = createType(groupA);
+        typeB = createType(groupB);
+        typeA2 = createType(groupA);
+
+        final List<ICompoundType> types = ImmutableList.of(typeA1, typeB, typeA2);
+        ModRegistries.COMPOUND_TYPE = mock(IForgeRegistry.class);
+        when(ModRegistries.COMPOUND_TYPE.iterator()).thenAnswer(invocation -> types.iterator());
+    }
+
+    @Test
+    public void instancesRoundTrip()
+    {
+        final Set<CompoundInstance> instances = ImmutableSet.of(new CompoundInstance(typeA1, 1d), new CompoundInstance(typeB, 2d));
+
+        final CompoundVector vector = CompoundVector.of(instances);
+
+        assertEquals(instances, vector.toInstances());
+        assertEquals(ImmutableSet.of(new CompoundInstance(typeA1, 1d)), vector.toInstances(groupA));
+        assertEquals(ImmutableSet.of(new CompoundInstance(typeB, 2d)), vector.toInstances(groupB));
+    }
+
+    @Test
+    public void zeroAmountsArePresent()
+    {
+        final CompoundVector vector = CompoundVector.of(ImmutableSet.of(new CompoundInstance(typeA1, 0d)));
+
+        assertFalse(vector.isEmpty());
+        assertTrue(vector.hasGroup(groupA));
+        assertFalse(vector.hasGroup(groupB));
+        assertEquals(0d, vector.get(typeA1), 0d);
+        assertTrue(Double.isNaN(vector.get(typeA2)));
+        assertEquals(ImmutableSet.of(new CompoundInstance(typeA1, 0d)), vector.toInstances());
+    }
+
+    @Test
+    public void emptyVectorHasNoData()
+    {
+        final CompoundVector vector = CompoundVector.empty();
+
+        assertTrue(vector.isEmpty());
+        assertFalse(vector.hasGroup(groupA));
+        assertTrue(vector.toInstances().isEmpty());
+    }
+
+    @Test
+    public void amountsOfTheSameTypeAreMerged()
+    {
+        final CompoundVector vector = CompoundVector.empty();
+        vector.add(typeA1, 1d);
+        vector.add(typeA1, 2d);
+        vector.add(typeB, 4d);
+
+        assertEquals(3d, vector.get(typeA1), 0d);
+        assertEquals(4d, vector.get(typeB), 0d);
+        assertFalse(vector.contains(vector.getIndex().getId(typeA2)));
+    }
+
+    @Test
+    public void scaleAndDivideCreateNewVectors()
+    {
+        final CompoundVector vector = CompoundVector.of(ImmutableSet.of(new CompoundInstance(typeA1, 2d), new CompoundInstance(typeB, 4d)));
+
+        final CompoundVector scaled = vector.scale(3d);
+        final CompoundVector divided = vector.divide(2d);
+
+        assertEquals(ImmutableSet.of(new CompoundInstance(typeA1, 6d), new CompoundInstance(typeB, 12d)), scaled.toInstances());
+        assertEquals(ImmutableSet.of(new CompoundInstance(typeA1, 1d), new CompoundInstance(typeB, 2d)), divided.toInstances());
+        assertTrue(Double.isNaN(scaled.get(typeA2)));
+        assertEquals(ImmutableSet.of(new CompoundInstance(typeA1, 2d), new CompoundInstance(typeB, 4d)), vector.toInstances());
+    }
+
+    @Test
+    public void unknownTypesMoveTheVectorToARebuiltIndex()
+    {
+        final CompoundVector vector = CompoundVector.of(ImmutableSet.of(new CompoundInstance(typeA1, 1d), new CompoundInstance(typeB, 2d)));
+        final CompoundTypeIndex original = vector.getIndex();
+        final ICompoundType lateType = createType(groupA);
+
+        assertTrue(Double.isNaN(vector.get(lateType)));
+
+        vector.add(lateType, 3d);
+
+        assertNotSame(original, vector.getIndex());
+        assertTrue(vector.getIndex().contains(lateType));
+        assertEquals(
+          ImmutableSet.of(new CompoundInstance(typeA1, 1d), new CompoundInstance(lateType, 3d)),
+          vector.toInstances(groupA)
+        );
+        assertEquals(ImmutableSet.of(new CompoundInstance(typeB, 2d)), vector.toInstances(groupB));
+    }
+
+    private static ICompoundType createType(final ICompoundTypeGroup group)
+    {
+        final ICompoundType type = mock(ICompoundType.class);
+        when(type.getGroup()).thenReturn(group);
+        return type;
+    }
+}
@@ -0,0 +1,216 @@
+package com.ldtteam.aequivaleo.analyzer.jgrapht.iterator;
+
+import com.ldtteam.aequivaleo.analyzer.jgrapht.aequivaleo.IGraph;
+import com.ldtteam.aequivaleo.analyzer.jgrapht.aequivaleo.INode;
+import com.ldtteam.aequivaleo.analyzer.jgrapht.aequivaleo.MissingDataState;
+import com.ldtteam.aequivaleo.analyzer.jgrapht.graph.AequivaleoGraph;
+import com.ldtteam.aequivaleo.api.compound.type.group.ICompoundTypeGroup;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class MissingDataIndexTest
+{
+    ICompoundTypeGroup group;
+    IGraph             graph;
+
+    @Before
+    public void setUp()
+    {
+        group = mock(ICompoundTypeGroup.class);
+        graph = new AequivaleoGraph();
+    }
+
+    @Test
+    public void ownStateDecides()
+    {
+        final INode missing = addNode(MissingDataState.MISSING);
+        final INode complete = addNode(MissingDataState.COMPLETE);
+        final MissingDataIndex index = new MissingDataIndex(graph);
+
+        assertTrue(index.hasMissingData(missing, group));
+        assertFalse(index.hasMissingData(complete, group));
+    }
+
+    @Test
+    public void inheritedStateFollowsTheAncestors()
+    {
+        final INode root = addNode(MissingDataState.MISSING);
+        final INode middle = addNode(MissingDataState.INHERITED);
+        final INode leaf = addNode(MissingDataState.INHERITED);
+        graph.addEdge(root, middle);
+        graph.addEdge(middle, leaf);
+        final MissingDataIndex index = new MissingDataIndex(graph);
+
+        assertTrue(index.hasMissingData(leaf, group));
+    }
+
+    @Test
+    public void inheritedStateIsMissingIfAnyParentIsMissing()
+    {
+        final INode complete = addNode(MissingDataState.COMPLETE);
+        final INode missing = addNode(MissingDataState.MISSING);
+        final INode inheritedFromComplete = addNode(MissingDataState.INHERITED);
+        final INode inheritedFromBoth = addNode(MissingDataState.INHERITED);
+        graph.addEdge(complete, inheritedFromComplete);
+        graph.addEdge(complete, inheritedFromBoth);
+        graph.addEdge(missing, inheritedFromBoth);
+        final MissingDataIndex index = new MissingDataIndex(graph);
+
+        assertFalse(index.hasMissingData(inheritedFromComplete, group));
+        assertTrue(index.hasMissingData(inheritedFromBoth, group));
+    }
+
+    @Test
+    public void rootWithoutOwnStateIsNotMissing()
+    {
+        final INode root = addNode(MissingDataState.INHERITED);
+        final MissingDataIndex index = new MissingDataIndex(graph);
+
+        assertFalse(index.hasMissingData(root, group));
+    }
+
+    @Test
+    public void processedStatesAreMemoized()
+    {
+        final INode root = addNode(MissingDataState.MISSING);
+        final INode leaf = addNode(MissingDataState.INHERITED);
+        graph.addEdge(root, leaf);
+        final MissingDataIndex index = new MissingDataIndex(graph);
+        index.onProcessed(root);
+        index.onProcessed(leaf);
+
+        assertTrue(index.hasMissingData(leaf, group));
+
+        doReturn(MissingDataState.COMPLETE).when(root).getOwnMissingDataState(group);
+        assertTrue(index.hasMissingData(leaf, group));
+        assertTrue(index.hasMissingData(root, group));
+        verify(root, times(1)).getOwnMissingDataState(group);
+    }
+
+    @Test
+    public void unprocessedStatesFollowTheCurrentResults()
+    {
+        final INode root = addNode(MissingDataState.MISSING);
+        final INode leaf = addNode(MissingDataState.INHERITED);
+        graph.addEdge(root, leaf);
+        final MissingDataIndex index = new MissingDataIndex(graph);
+        index.onProcessed(leaf);
+
+        assertTrue(index.hasMissingData(leaf, group));
+
+        when(root.getOwnMissingDataState(group)).thenReturn(MissingDataState.COMPLETE);
+        assertFalse(index.hasMissingData(leaf, group));
+    }
+
+    @Test
+    public void stableMissingParentIsEnoughToMemoize()
+    {
+        final INode missing = addNode(MissingDataState.MISSING);
+        final INode unprocessed = addNode(MissingDataState.COMPLETE);
+        final INode leaf = addNode(MissingDataState.INHERITED);
+        graph.addEdge(missing, leaf);
+        graph.addEdge(unprocessed, leaf);
+        final MissingDataIndex index = new MissingDataIndex(graph);
+        index.onProcessed(missing);
+        index.onProcessed(leaf);
+
+        assertTrue(index.hasMissingData(leaf, group));
+
+        when(missing.getOwnMissingDataState(group)).thenReturn(MissingDataState.COMPLETE);
+        assertTrue(index.hasMissingData(leaf, group));
+    }
+
+    @Test
+    public void statesAreTrackedPerGroup()
+    {
+        final ICompoundTypeGroup otherGroup = mock(ICompoundTypeGroup.class);
+        final INode root = addNode(MissingDataState.INHERITED);
+        when(root.getOwnMissingDataState(otherGroup)).thenReturn(MissingDataState.MISSING);
+        final INode leaf = addNode(MissingDataState.INHERITED);
+        when(leaf.getOwnMissingDataState(otherGroup)).thenReturn(MissingDataState.INHERITED);
+        graph.addEdge(root, leaf);
+        final MissingDataIndex index = new MissingDataIndex(graph);
+        index.onProcessed(root);
+        index.onProcessed(leaf);
+
+        assertFalse(index.hasMissingData(leaf, group));
+        assertTrue(index.hasMissingData(leaf, otherGroup));
+    }
+
+    @Test
+    public void cyclesDoNotRecurse()
+    {
+        final INode first = addNode(MissingDataState.INHERITED);
+        final INode second = addNode(MissingDataState.INHERITED);
+        graph.addEdge(first, second);
+        graph.addEdge(second, first);
+        final MissingDataIndex index = new MissingDataIndex(graph);
+
+        assertFalse(index.hasMissingData(first, group));
+        assertFalse(index.hasMissingData(second, group));
+    }
+
+    @Test
+    public void deepChainsDoNotRecurse()
+    {
+        INode previous = addNode(MissingDataState.MISSING);
+        for (int i = 0; i < 20_000; i++)
+        {
+            final INode next = addNode(MissingDataState.INHERITED);
+            graph.addEdge(previous, next);
+            previous = next;
+        }
+        final MissingDataIndex index = new MissingDataIndex(graph);
+
+        assertTrue(index.hasMissingData(previous, group));
+    }
+
+    @Test
+    public void nodesOutsideOfTheGraphOnlyUseTheirOwnState()
+    {
+        final MissingDataIndex index = new MissingDataIndex(graph);
+
+        assertTrue(index.hasMissingData(createNode(MissingDataState.MISSING), group));
+        assertFalse(index.hasMissingData(createNode(MissingDataState.INHERITED), group));
+    }
+
+    @Test
+    public void nodesUseTheIndexOfTheirGraph()
+    {
+        final INode root = addNode(MissingDataState.MISSING);
+        final INode leaf = mock(INode.class, Mockito.CALLS_REAL_METHODS);
+        doReturn(MissingDataState.INHERITED).when(leaf).getOwnMissingDataState(group);
+        graph.addVertex(leaf);
+        graph.addEdge(root, leaf);
+
+        assertNull(graph.getMissingDataIndex());
+        assertTrue(leaf.hasMissingData(graph, group));
+
+        final MissingDataIndex index = new MissingDataIndex(graph);
+        index.onProcessed(root);
+        index.onProcessed(leaf);
+        graph.setMissingDataIndex(index);
+        assertTrue(leaf.hasMissingData(graph, group));
+
+        when(root.getOwnMissingDataState(group)).thenReturn(MissingDataState.COMPLETE);
+        assertTrue(leaf.hasMissingData(graph, group));
+    }
+
+    private INode addNode(final MissingDataState state)
+    {
+        final INode node = createNode(state);
+        graph.addVertex(node);
+        return node;
+    }
+
+    private INode createNode(final MissingDataState state)
+    {
+        final INode node = mock(INode.class);
+        when(node.getOwnMissingDataState(group)).thenReturn(state);
+        return node;
+    }
+}
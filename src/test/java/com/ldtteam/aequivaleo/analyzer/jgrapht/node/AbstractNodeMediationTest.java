@@ -0,0 +1,221 @@
+package com.ldtteam.aequivaleo.analyzer.jgrapht.node;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.ldtteam.aequivaleo.analyzer.jgrapht.aequivaleo.IEdge;
+import com.ldtteam.aequivaleo.analyzer.jgrapht.aequivaleo.IGraph;
+import com.ldtteam.aequivaleo.analyzer.jgrapht.aequivaleo.INode;
+import com.ldtteam.aequivaleo.analyzer.jgrapht.graph.AequivaleoGraph;
+import com.ldtteam.aequivaleo.api.compound.CompoundInstance;
+import com.ldtteam.aequivaleo.api.compound.type.ICompoundType;
+import com.ldtteam.aequivaleo.api.compound.type.group.ICompoundTypeGroup;
+import com.ldtteam.aequivaleo.api.mediation.IBulkMediationContext;
+import com.ldtteam.aequivaleo.api.mediation.IBulkMediationEngine;
+import com.ldtteam.aequivaleo.api.mediation.IMediationCandidate;
+import com.ldtteam.aequivaleo.api.mediation.IMediationContext;
+import com.ldtteam.aequivaleo.api.util.ModRegistries;
+import com.ldtteam.aequivaleo.testing.compound.container.testing.StringCompoundContainer;
+import net.minecraftforge.registries.IForgeRegistry;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AbstractNodeMediationTest
+{
+    ICompoundTypeGroup bulkGroup;
+    ICompoundTypeGroup classicGroup;
+
+    ICompoundType bulkType;
+    ICompoundType classicType;
+
+    IGraph graph;
+    IEdge  edge;
+    INode  neighborA;
+    INode  neighborB;
+
+    ContainerNode node;
+
+    @SuppressWarnings("unchecked")
+    @Before
+    public void setUp()
+    {
+        bulkGroup = mock(ICompoundTypeGroup.class);
+        when(bulkGroup.getMediationEngine()).thenReturn(new MinimalCompleteBulkEngine());
+        when(bulkGroup.isValidFor(any(), any())).thenReturn(true);
+
+        classicGroup = mock(ICompoundTypeGroup.class);
+        when(classicGroup.getMediationEngine()).thenReturn(context -> context.getCandidates()
+                                                                        .stream()
+                                                                        .max(Comparator.comparingDouble(AbstractNodeMediationTest::total))
+                                                                        .map(IMediationCandidate::getValues));
+        when(classicGroup.isValidFor(any(), any())).thenReturn(true);
+
+        bulkType = createType(bulkGroup);
+        classicType = createType(classicGroup);
+
+        final List<ICompoundType> types = ImmutableList.of(bulkType, classicType);
+        ModRegistries.COMPOUND_TYPE = mock(IForgeRegistry.class);
+        when(ModRegistries.COMPOUND_TYPE.iterator()).thenAnswer(invocation -> types.iterator());
+
+        graph = new AequivaleoGraph();
+        edge = mock(IEdge.class);
+        neighborA = mock(INode.class);
+        neighborB = mock(INode.class);
+
+        node = new ContainerNode(new StringCompoundContainer("target", 1));
+    }
+
+    @Test
+    public void bulkEngineSelectsTheCandidateRow()
+    {
+        offer(neighborA, b(4));
+        offer(neighborB, b(2));
+
+        node.determineResult(graph);
+
+        assertEquals(Optional.of(ImmutableSet.of(b(2))), node.getResultingValue());
+    }
+
+    @Test
+    public void bulkEngineOnlySeesTheTypesOfItsGroup()
+    {
+        offer(neighborA, b(1), c(10));
+        offer(neighborB, b(2), c(1));
+
+        node.determineResult(graph);
+
+        //If the classic amounts were part of the bulk rows, neighbor B would have the minimal total.
+        assertEquals(Optional.of(ImmutableSet.of(b(1), c(10))), node.getResultingValue());
+    }
+
+    @Test
+    public void noResultLeavesTheGroupWithoutValue()
+    {
+        when(neighborA.hasMissingData(any(), eq(bulkGroup))).thenReturn(true);
+        when(neighborB.hasMissingData(any(), eq(bulkGroup))).thenReturn(true);
+        offer(neighborA, b(4), c(1));
+        offer(neighborB, b(2), c(3));
+
+        node.determineResult(graph);
+
+        assertEquals(Optional.of(ImmutableSet.of(c(3))), node.getResultingValue());
+    }
+
+    @Test
+    public void incompleteSourcesAreReportedToTheBulkEngine()
+    {
+        when(neighborB.hasMissingData(any(), eq(bulkGroup))).thenReturn(true);
+        offer(neighborA, b(4));
+        offer(neighborB, b(2));
+
+        node.determineResult(graph);
+
+        assertEquals(Optional.of(ImmutableSet.of(b(4))), node.getResultingValue());
+    }
+
+    @Test
+    public void lastValueOfANeighborReplacesItsRow()
+    {
+        offer(neighborA, b(1));
+        offer(neighborB, b(3));
+        offer(neighborA, b(5));
+
+        node.determineResult(graph);
+
+        assertEquals(Optional.of(ImmutableSet.of(b(3))), node.getResultingValue());
+    }
+
+    @Test
+    public void lastValueOfANeighborOnlyReplacesTheGroupsItContains()
+    {
+        offer(neighborA, b(1), c(1));
+        offer(neighborB, b(3), c(2));
+        offer(neighborA, c(5));
+
+        node.determineResult(graph);
+
+        assertEquals(Optional.of(ImmutableSet.of(b(1), c(5))), node.getResultingValue());
+    }
+
+    @Test
+    public void emptyCandidatesAreIgnored()
+    {
+        offer(neighborA, b(4));
+        node.addCandidateResult(neighborB, edge, Optional.empty());
+        offer(neighborB, b(6));
+
+        node.determineResult(graph);
+
+        assertEquals(Optional.of(ImmutableSet.of(b(4))), node.getResultingValue());
+    }
+
+    private void offer(final INode neighbor, final CompoundInstance... instances)
+    {
+        node.addCandidateResult(neighbor, edge, Optional.of(ImmutableSet.copyOf(instances)));
+    }
+
+    private CompoundInstance b(final double amount)
+    {
+        return new CompoundInstance(bulkType, amount);
+    }
+
+    private CompoundInstance c(final double amount)
+    {
+        return new CompoundInstance(classicType, amount);
+    }
+
+    private static double total(final IMediationCandidate candidate)
+    {
+        return candidate.getValues().stream().mapToDouble(CompoundInstance::getAmount).sum();
+    }
+
+    private static ICompoundType createType(final ICompoundTypeGroup group)
+    {
+        final ICompoundType type = mock(ICompoundType.class);
+        when(type.getGroup()).thenReturn(group);
+        return type;
+    }
+
+    /**
+     * Selects the complete candidate with the minimal total, or no candidate when all sources are incomplete.
+     */
+    private static final class MinimalCompleteBulkEngine implements IBulkMediationEngine
+    {
+        @NotNull
+        @Override
+        public Optional<Set<CompoundInstance>> determineMediationResult(@NotNull final IMediationContext context)
+        {
+            throw new UnsupportedOperationException("The flat data is always available in the analysis.");
+        }
+
+        @Override
+        public int selectCandidate(@NotNull final IBulkMediationContext context)
+        {
+            int selected = NO_RESULT;
+            for (int candidate = 0; candidate < context.getCandidateCount(); candidate++)
+            {
+                if (context.isSourceIncomplete(candidate))
+                {
+                    continue;
+                }
+
+                if (selected == NO_RESULT || context.getTotalAmount(candidate) < context.getTotalAmount(selected))
+                {
+                    selected = candidate;
+                }
+            }
+            return selected;
+        }
+    }
+}
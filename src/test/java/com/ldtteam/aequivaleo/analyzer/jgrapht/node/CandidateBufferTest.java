@@ -0,0 +1,165 @@
+package com.ldtteam.aequivaleo.analyzer.jgrapht.node;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.ldtteam.aequivaleo.analyzer.jgrapht.aequivaleo.INode;
+import com.ldtteam.aequivaleo.api.compound.CompoundInstance;
+import com.ldtteam.aequivaleo.api.compound.type.ICompoundType;
+import com.ldtteam.aequivaleo.api.compound.type.group.ICompoundTypeGroup;
+import com.ldtteam.aequivaleo.api.util.ModRegistries;
+import net.minecraftforge.registries.IForgeRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CandidateBufferTest
+{
+    INode owner;
+    INode neighborA;
+    INode neighborB;
+
+    ICompoundType type;
+
+    CandidateBuffer buffer;
+
+    @SuppressWarnings("unchecked")
+    @Before
+    public void setUp()
+    {
+        owner = mock(INode.class);
+        neighborA = mock(INode.class);
+        neighborB = mock(INode.class);
+        type = mock(ICompoundType.class);
+        when(type.getGroup()).thenReturn(mock(ICompoundTypeGroup.class));
+
+        final List<ICompoundType> types = Lists.newArrayList(type);
+        ModRegistries.COMPOUND_TYPE = mock(IForgeRegistry.class);
+        when(ModRegistries.COMPOUND_TYPE.iterator()).thenAnswer(invocation -> types.iterator());
+
+        buffer = new CandidateBuffer(owner);
+    }
+
+    @Test
+    public void equalValuesOfDifferentNeighborsAreDistinctOnce()
+    {
+        buffer.add(neighborA, Optional.of(Sets.newHashSet(new CompoundInstance(type, 1d))));
+        buffer.add(neighborB, Optional.of(ImmutableSet.of(new CompoundInstance(type, 1d))));
+
+        assertEquals(1, buffer.getValues().size());
+        assertTrue(buffer.getValues().contains(ImmutableSet.of(new CompoundInstance(type, 1d))));
+        assertEquals(ImmutableSet.of(neighborA, neighborB), buffer.getAnalyzedNeighbors());
+    }
+
+    @Test
+    public void differentValuesAreAllKept()
+    {
+        buffer.add(neighborA, Optional.of(ImmutableSet.of(new CompoundInstance(type, 1d))));
+        buffer.add(neighborB, Optional.of(ImmutableSet.of(new CompoundInstance(type, 2d))));
+
+        assertEquals(2, buffer.getValues().size());
+        assertTrue(buffer.getValues().contains(ImmutableSet.of(new CompoundInstance(type, 1d))));
+        assertTrue(buffer.getValues().contains(ImmutableSet.of(new CompoundInstance(type, 2d))));
+    }
+
+    @Test
+    public void emptyCandidatesAreNotValues()
+    {
+        buffer.add(neighborA, Optional.empty());
+
+        assertTrue(buffer.getValues().isEmpty());
+        assertEquals(ImmutableSet.of(neighborA), buffer.getAnalyzedNeighbors());
+    }
+
+    @Test
+    public void ownerCandidateIsNotAnAnalyzedNeighbor()
+    {
+        buffer.add(owner, Optional.of(ImmutableSet.of(new CompoundInstance(type, 1d))));
+
+        assertTrue(buffer.containsOwnerCandidate());
+        assertTrue(buffer.getAnalyzedNeighbors().isEmpty());
+        assertEquals(Optional.of(ImmutableSet.of(new CompoundInstance(type, 1d))), buffer.getOwnerCandidate());
+    }
+
+    @Test
+    public void ownerCandidateIsReplaced()
+    {
+        buffer.add(owner, Optional.of(ImmutableSet.of(new CompoundInstance(type, 1d))));
+        buffer.add(neighborA, Optional.of(ImmutableSet.of(new CompoundInstance(type, 3d))));
+        buffer.add(owner, Optional.of(ImmutableSet.of(new CompoundInstance(type, 2d))));
+
+        assertEquals(Optional.of(ImmutableSet.of(new CompoundInstance(type, 2d))), buffer.getOwnerCandidate());
+        assertEquals(2, buffer.getValues().size());
+        assertFalse(buffer.getValues().contains(ImmutableSet.of(new CompoundInstance(type, 1d))));
+        assertTrue(buffer.getValues().contains(ImmutableSet.of(new CompoundInstance(type, 2d))));
+        assertTrue(buffer.getValues().contains(ImmutableSet.of(new CompoundInstance(type, 3d))));
+
+        final List<INode> neighbors = Lists.newArrayList();
+        buffer.forEach((neighbor, value) -> neighbors.add(neighbor));
+        assertEquals(Lists.newArrayList(neighborA, owner), neighbors);
+    }
+
+    @Test
+    public void replacedOwnerCandidateKeepsValueSharedWithNeighbor()
+    {
+        final Set<CompoundInstance> shared = ImmutableSet.of(new CompoundInstance(type, 1d));
+        buffer.add(owner, Optional.of(shared));
+        buffer.add(neighborA, Optional.of(shared));
+        buffer.add(owner, Optional.empty());
+
+        assertTrue(buffer.containsOwnerCandidate());
+        assertEquals(Optional.empty(), buffer.getOwnerCandidate());
+        assertEquals(1, buffer.getValues().size());
+        assertTrue(buffer.getValues().contains(shared));
+    }
+
+    @Test
+    public void candidatesAreIndexedInOrderWithDenseNeighborIndices()
+    {
+        buffer.add(neighborA, Optional.of(ImmutableSet.of(new CompoundInstance(type, 1d))));
+        buffer.add(neighborB, Optional.empty());
+        buffer.add(neighborA, Optional.of(ImmutableSet.of(new CompoundInstance(type, 2d))));
+
+        assertEquals(3, buffer.size());
+        assertEquals(2, buffer.getNeighborCount());
+        assertSame(neighborA, buffer.getNeighbor(0));
+        assertSame(neighborB, buffer.getNeighbor(1));
+        assertSame(neighborA, buffer.getNeighbor(2));
+        assertEquals(0, buffer.getNeighborIndex(0));
+        assertEquals(1, buffer.getNeighborIndex(1));
+        assertEquals(0, buffer.getNeighborIndex(2));
+        assertNull(buffer.getVector(1));
+        assertEquals(2d, buffer.getVector(2).get(type), 0d);
+    }
+
+    @Test
+    public void equalValuesShareTheirVector()
+    {
+        buffer.add(neighborA, Optional.of(Sets.newHashSet(new CompoundInstance(type, 1d))));
+        buffer.add(neighborB, Optional.of(ImmutableSet.of(new CompoundInstance(type, 1d))));
+
+        assertSame(buffer.getVector(0), buffer.getVector(1));
+        assertEquals(1d, buffer.getVector(0).get(type), 0d);
+    }
+
+    @Test
+    public void replacedOwnerCandidateIsRemovedFromTheIndex()
+    {
+        buffer.add(owner, Optional.of(ImmutableSet.of(new CompoundInstance(type, 1d))));
+        buffer.add(neighborA, Optional.of(ImmutableSet.of(new CompoundInstance(type, 3d))));
+        buffer.add(owner, Optional.of(ImmutableSet.of(new CompoundInstance(type, 2d))));
+
+        assertEquals(2, buffer.size());
+        assertSame(neighborA, buffer.getNeighbor(0));
+        assertSame(owner, buffer.getNeighbor(1));
+        assertEquals(0, buffer.getNeighborIndex(1));
+        assertEquals(2d, buffer.getVector(1).get(type), 0d);
+    }
+}
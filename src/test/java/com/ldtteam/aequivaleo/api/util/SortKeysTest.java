@@ -0,0 +1,131 @@
+package com.ldtteam.aequivaleo.api.util;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
+import com.ldtteam.aequivaleo.api.recipe.equivalency.IEquivalencyRecipe;
+import com.ldtteam.aequivaleo.api.recipe.equivalency.ingredient.IRecipeIngredient;
+import com.ldtteam.aequivaleo.api.recipe.equivalency.ingredient.SimpleIngredientBuilder;
+import com.ldtteam.aequivaleo.testing.compound.container.testing.StringCompoundContainer;
+import com.ldtteam.aequivaleo.testing.recipe.equivalency.TestingEquivalencyRecipe;
+import net.minecraft.resources.ResourceLocation;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SortKeysTest
+{
+    @Test
+    public void equalContainersHaveTheSameKey()
+    {
+        assertEquals(new KeyedStringCompoundContainer("a", 1).getSortKey(), new KeyedStringCompoundContainer("a", 1).getSortKey());
+        assertNotEquals(new KeyedStringCompoundContainer("a", 1).getSortKey(), new KeyedStringCompoundContainer("b", 1).getSortKey());
+    }
+
+    @Test
+    public void equalIngredientsHaveTheSameKey()
+    {
+        final IRecipeIngredient first = new SimpleIngredientBuilder()
+                                          .withCandidates(ImmutableSet.<ICompoundContainer<?>>of(new KeyedStringCompoundContainer("a", 1), new KeyedStringCompoundContainer("b", 1)))
+                                          .withCount(2)
+                                          .createIngredient();
+        final IRecipeIngredient second = new SimpleIngredientBuilder()
+                                           .withCandidates(ImmutableSet.<ICompoundContainer<?>>of(new KeyedStringCompoundContainer("b", 1), new KeyedStringCompoundContainer("a", 1)))
+                                           .withCount(2)
+                                           .createIngredient();
+
+        assertEquals(first, second);
+        assertEquals(0, first.compareTo(second));
+        assertEquals(first.getSortKey(), second.getSortKey());
+    }
+
+    @Test
+    public void ingredientsWithDifferentCountsAreOrderedByKey()
+    {
+        final IRecipeIngredient single = new SimpleIngredientBuilder().from(new KeyedStringCompoundContainer("a", 1)).createIngredient();
+        final IRecipeIngredient doubled = new SimpleIngredientBuilder().from(new KeyedStringCompoundContainer("a", 2)).createIngredient();
+
+        assertNotEquals(single.getSortKey(), doubled.getSortKey());
+        assertEquals(Long.signum(Long.compare(single.getSortKey(), doubled.getSortKey())), Integer.signum(single.compareTo(doubled)));
+    }
+
+    @Test
+    public void containersWithoutKeyFallBackToTheFullComparison()
+    {
+        final IRecipeIngredient a = new SimpleIngredientBuilder().from(new StringCompoundContainer("a", 1)).createIngredient();
+        final IRecipeIngredient b = new SimpleIngredientBuilder().from(new StringCompoundContainer("b", 1)).createIngredient();
+
+        assertEquals(a.getSortKey(), b.getSortKey());
+        assertTrue(a.compareTo(b) < 0);
+        assertTrue(b.compareTo(a) > 0);
+    }
+
+    @Test
+    public void equalRecipesHaveTheSameKey()
+    {
+        final IEquivalencyRecipe first = createRecipe("first", "a", "b", "c");
+        final IEquivalencyRecipe second = createRecipe("second", "a", "b", "c");
+
+        assertEquals(0, first.compareTo(second));
+        assertEquals(first.getSortKey(), second.getSortKey());
+    }
+
+    @Test
+    public void recipeOrderingIsConsistentWithKeys()
+    {
+        final List<IEquivalencyRecipe> recipes = Lists.newArrayList(
+          createRecipe("1", "a", "b", "c"),
+          createRecipe("2", "a", "b", "d"),
+          createRecipe("3", "b", "a", "c"),
+          createRecipe("4", "c", "c", "a"),
+          createRecipe("5", "a", "b", "c")
+        );
+
+        for (final IEquivalencyRecipe left : recipes)
+        {
+            for (final IEquivalencyRecipe right : recipes)
+            {
+                final int comparison = Integer.signum(left.compareTo(right));
+                assertEquals(-comparison, Integer.signum(right.compareTo(left)));
+
+                if (comparison == 0)
+                {
+                    assertEquals(left.getSortKey(), right.getSortKey());
+                }
+                else if (left.getSortKey() != right.getSortKey())
+                {
+                    assertEquals(Long.signum(Long.compare(left.getSortKey(), right.getSortKey())), comparison);
+                }
+            }
+        }
+    }
+
+    private static IEquivalencyRecipe createRecipe(final String name, final String input, final String requiredKnownOutput, final String output)
+    {
+        return new TestingEquivalencyRecipe(
+          name,
+          ImmutableSet.of(new SimpleIngredientBuilder().from(new KeyedStringCompoundContainer(input, 1)).createIngredient()),
+          ImmutableSet.<ICompoundContainer<?>>of(new KeyedStringCompoundContainer(requiredKnownOutput, 1)),
+          ImmutableSet.<ICompoundContainer<?>>of(new KeyedStringCompoundContainer(output, 1))
+        );
+    }
+
+    private static final class KeyedStringCompoundContainer extends StringCompoundContainer
+    {
+        private final long sortKey;
+
+        private KeyedStringCompoundContainer(final String content, final double count)
+        {
+            super(content, count);
+            this.sortKey = SortKeys.of(new ResourceLocation("testing", content), 0);
+        }
+
+        @Override
+        public long getSortKey()
+        {
+            return sortKey;
+        }
+    }
+}
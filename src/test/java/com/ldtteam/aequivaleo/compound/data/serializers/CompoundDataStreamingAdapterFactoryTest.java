@@ -0,0 +1,187 @@
+package com.ldtteam.aequivaleo.compound.data.serializers;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializationContext;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
+import com.ldtteam.aequivaleo.api.compound.information.datagen.data.CompoundInstanceData;
+import com.ldtteam.aequivaleo.api.util.ModRegistries;
+import com.ldtteam.aequivaleo.compound.container.registry.CompoundContainerFactoryManager;
+import com.ldtteam.aequivaleo.testing.compound.container.testing.StringCompoundContainer;
+import com.ldtteam.aequivaleo.testing.conditions.TestingConditions;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.registries.IForgeRegistry;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CompoundDataStreamingAdapterFactoryTest
+{
+    private static final Type DATA_LIST_TYPE = new TypeToken<List<CompoundInstanceData>>(){}.getType();
+
+    Gson treeGson;
+    Gson streamingGson;
+
+    @BeforeClass
+    public static void setUpConditions()
+    {
+        TestingConditions.register();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Before
+    public void setUp()
+    {
+        ModRegistries.CONTAINER_FACTORY = mock(IForgeRegistry.class);
+        when(ModRegistries.CONTAINER_FACTORY.getValue(new ResourceLocation("testing", "string"))).thenReturn(new ParsingStringCompoundContainerFactory());
+
+        ModRegistries.COMPOUND_TYPE = mock(IForgeRegistry.class);
+        when(ModRegistries.COMPOUND_TYPE.containsKey(any(ResourceLocation.class))).thenAnswer(invocation -> invocation.getArgument(0).equals(new ResourceLocation("testing", "zero")));
+
+        treeGson = createGson(false);
+        streamingGson = createGson(true);
+    }
+
+    @Test
+    public void simpleDataIsReadIdentically()
+    {
+        assertSameResult("[{\"mode\":\"REPLACING\",\"targets\":[{\"type\":\"testing:string\",\"data\":\"a\"},{\"type\":\"testing:string\",\"data\":\"b\"}],"
+                           + "\"compounds\":[{\"type\":\"testing:zero\",\"amount\":2.0}]},"
+                           + "{\"targets\":{\"type\":\"testing:string\",\"data\":\"c\"},\"compounds\":[{\"type\":\"testing:zero\",\"amount\":1.0}]}]");
+    }
+
+    @Test
+    public void enabledConditionsAreKept()
+    {
+        final List<CompoundInstanceData> streamed = assertSameResult(
+          "[{\"conditions\":[{\"type\":\"forge:true\"}],\"targets\":[{\"type\":\"testing:string\",\"data\":\"a\"}],\"compounds\":[{\"type\":\"testing:zero\",\"amount\":2.0}]}]");
+
+        assertEquals(1, streamed.get(0).getConditions().size());
+    }
+
+    @Test
+    public void disabledDataIsReadIdentically()
+    {
+        final List<CompoundInstanceData> streamed = assertSameResult(
+          "[{\"conditions\":[{\"type\":\"forge:false\"}],\"targets\":[{\"type\":\"missing:container\",\"data\":\"a\"}],\"compounds\":[{\"type\":\"testing:zero\",\"amount\":2.0}]}]");
+
+        assertSame(CompoundInstanceData.DISABLED, streamed.get(0));
+    }
+
+    @Test
+    public void failuresBeforeDisabledConditionsAreIgnored()
+    {
+        final List<CompoundInstanceData> streamed = assertSameResult(
+          "[{\"targets\":[{\"type\":\"missing:container\",\"data\":\"a\"}],\"compounds\":[{\"type\":\"testing:zero\",\"amount\":2.0}],\"conditions\":[{\"type\":\"forge:false\"}]}]");
+
+        assertSame(CompoundInstanceData.DISABLED, streamed.get(0));
+    }
+
+    @Test
+    public void malformedEntryBeforeDisabledConditionsKeepsTheReaderAligned()
+    {
+        final List<CompoundInstanceData> streamed = assertSameResult(
+          "[{\"compounds\":[{\"type\":\"testing:zero\",\"amount\":\"not a number\",\"extra\":[1,2,3]},{\"type\":\"testing:zero\",\"amount\":1.0}],"
+            + "\"targets\":[{\"type\":\"testing:string\",\"data\":\"a\"}],\"conditions\":[{\"type\":\"forge:false\"}]},"
+            + "{\"targets\":[{\"type\":\"testing:string\",\"data\":\"b\"}],\"compounds\":[{\"type\":\"testing:zero\",\"amount\":3.0}]}]");
+
+        assertEquals(2, streamed.size());
+        assertSame(CompoundInstanceData.DISABLED, streamed.get(0));
+        assertEquals(describe(treeGson.fromJson(
+          "[{\"targets\":[{\"type\":\"testing:string\",\"data\":\"b\"}],\"compounds\":[{\"type\":\"testing:zero\",\"amount\":3.0}]}]", DATA_LIST_TYPE)),
+          describe(streamed.subList(1, 2)));
+    }
+
+    @Test
+    public void malformedEntryOfEnabledDataFailsBothReaders()
+    {
+        final String json = "[{\"compounds\":[{\"type\":\"testing:zero\",\"amount\":\"not a number\"}],"
+                              + "\"targets\":[{\"type\":\"testing:string\",\"data\":\"a\"}],\"conditions\":[{\"type\":\"forge:true\"}]}]";
+
+        assertFails(treeGson, json);
+        assertFails(streamingGson, json);
+    }
+
+    @Test
+    public void unknownContainerOfEnabledDataFailsBothReaders()
+    {
+        final String json = "[{\"targets\":[{\"type\":\"missing:container\",\"data\":\"a\"}],\"compounds\":[{\"type\":\"testing:zero\",\"amount\":2.0}]}]";
+
+        assertFails(treeGson, json);
+        assertFails(streamingGson, json);
+    }
+
+    private List<CompoundInstanceData> assertSameResult(final String json)
+    {
+        final List<CompoundInstanceData> tree = treeGson.fromJson(json, DATA_LIST_TYPE);
+        final List<CompoundInstanceData> streamed = streamingGson.fromJson(json, DATA_LIST_TYPE);
+
+        assertEquals(describe(tree), describe(streamed));
+        return streamed;
+    }
+
+    private static void assertFails(final Gson gson, final String json)
+    {
+        try
+        {
+            gson.fromJson(json, DATA_LIST_TYPE);
+            fail("Reading malformed data should fail.");
+        }
+        catch (RuntimeException ignored)
+        {
+            //Expected.
+        }
+    }
+
+    private static List<String> describe(final List<CompoundInstanceData> data)
+    {
+        return data.stream()
+          .map(entry -> entry == CompoundInstanceData.DISABLED ? "DISABLED" : String.format(
+            "%s|%s|%s|%d",
+            entry.getMode(),
+            entry.getContainers().stream().map(ICompoundContainer::getContents).map(String::valueOf).sorted().collect(Collectors.toList()),
+            entry.getCompoundInstances().stream().map(ref -> ref.getType() + "=" + ref.getAmount()).sorted().collect(Collectors.toList()),
+            entry.getConditions().size()
+          ))
+          .collect(Collectors.toList());
+    }
+
+    private static Gson createGson(final boolean streaming)
+    {
+        final GsonBuilder builder = new GsonBuilder()
+                                      .setLenient()
+                                      .registerTypeAdapter(CompoundInstanceDataModeSerializer.HANDLED_TYPE, new CompoundInstanceDataModeSerializer())
+                                      .registerTypeAdapter(CompoundInstanceDataSerializer.HANDLED_TYPE, new CompoundInstanceDataSerializer())
+                                      .registerTypeAdapter(CompoundInstanceRefSerializer.HANDLED_TYPE, new CompoundInstanceRefSerializer())
+                                      .registerTypeAdapter(CompoundInstanceRefSetSerializer.HANDLED_TYPE, new CompoundInstanceRefSetSerializer())
+                                      .registerTypeAdapter(CompoundContainerSetSerializer.HANDLED_TYPE, new CompoundContainerSetSerializer())
+                                      .registerTypeAdapter(CompoundContainerFactoryManager.HANDLED_TYPE, CompoundContainerFactoryManager.getInstance())
+                                      .registerTypeAdapter(ResourceLocation.class, new ResourceLocation.Serializer());
+
+        if (streaming)
+            builder.registerTypeAdapterFactory(new CompoundDataStreamingAdapterFactory());
+
+        return builder.create();
+    }
+
+    private static final class ParsingStringCompoundContainerFactory extends StringCompoundContainer.Factory
+    {
+        @Override
+        public ICompoundContainer<String> deserialize(final JsonElement json, final Type typeOfT, final JsonDeserializationContext context) throws JsonParseException
+        {
+            return new StringCompoundContainer(json.getAsString(), 1);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.ldtteam.aequivaleo.instanced;
+
+import com.google.common.collect.ImmutableList;
+import com.ldtteam.aequivaleo.api.compound.container.factory.ICompoundContainerFactory;
+import com.ldtteam.aequivaleo.api.recipe.equivalency.IEquivalencyRecipe;
+import com.ldtteam.aequivaleo.api.util.ModRegistries;
+import com.ldtteam.aequivaleo.compound.container.registry.CompoundContainerFactoryManager;
+import net.minecraftforge.registries.IForgeRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class InstancedEquivalencyCacheTest
+{
+    private final AtomicInteger discoveries = new AtomicInteger();
+
+    private Supplier<ImmutableList<IEquivalencyRecipe>> previousDiscovery;
+
+    @Before
+    public void setUp()
+    {
+        previousDiscovery = InstancedEquivalencyCache.getInstance().setDiscovery(this::discover);
+    }
+
+    @After
+    public void tearDown()
+    {
+        InstancedEquivalencyCache.getInstance().setDiscovery(previousDiscovery);
+    }
+
+    private ImmutableList<IEquivalencyRecipe> discover()
+    {
+        discoveries.incrementAndGet();
+        return ImmutableList.of(mock(IEquivalencyRecipe.class));
+    }
+
+    @Test
+    public void discoveryRunsOnce()
+    {
+        final ImmutableList<IEquivalencyRecipe> first = InstancedEquivalencyCache.getInstance().get();
+
+        assertSame(first, InstancedEquivalencyCache.getInstance().get());
+        assertEquals(1, discoveries.get());
+    }
+
+    @Test
+    public void invalidateRunsTheDiscoveryAgain()
+    {
+        final ImmutableList<IEquivalencyRecipe> first = InstancedEquivalencyCache.getInstance().get();
+        InstancedEquivalencyCache.getInstance().invalidate();
+
+        assertNotSame(first, InstancedEquivalencyCache.getInstance().get());
+        assertEquals(2, discoveries.get());
+    }
+
+    @Test
+    public void registeringAHandlerInvalidates()
+    {
+        final ImmutableList<IEquivalencyRecipe> first = InstancedEquivalencyCache.getInstance().get();
+        InstancedEquivalencyHandlerRegistry.getInstance().registerHandler(new Object(), consumer -> {});
+
+        assertNotSame(first, InstancedEquivalencyCache.getInstance().get());
+        assertEquals(2, discoveries.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void bakingTheFactoriesInvalidates()
+    {
+        final IForgeRegistry<ICompoundContainerFactory<?>> previousRegistry = ModRegistries.CONTAINER_FACTORY;
+        ModRegistries.CONTAINER_FACTORY = mock(IForgeRegistry.class);
+        when(ModRegistries.CONTAINER_FACTORY.iterator()).thenAnswer(invocation -> Collections.emptyIterator());
+        try
+        {
+            final ImmutableList<IEquivalencyRecipe> first = InstancedEquivalencyCache.getInstance().get();
+            CompoundContainerFactoryManager.getInstance().bake();
+
+            assertNotSame(first, InstancedEquivalencyCache.getInstance().get());
+            assertEquals(2, discoveries.get());
+        }
+        finally
+        {
+            ModRegistries.CONTAINER_FACTORY = previousRegistry;
+        }
+    }
+
+    @Test
+    public void invalidationDuringTheDiscoveryDiscardsTheResult()
+    {
+        final ImmutableList<IEquivalencyRecipe> stale = ImmutableList.of(mock(IEquivalencyRecipe.class));
+        InstancedEquivalencyCache.getInstance().setDiscovery(() -> {
+            if (discoveries.incrementAndGet() == 1)
+            {
+                InstancedEquivalencyCache.getInstance().invalidate();
+                return stale;
+            }
+            return ImmutableList.of(mock(IEquivalencyRecipe.class));
+        });
+
+        final ImmutableList<IEquivalencyRecipe> result = InstancedEquivalencyCache.getInstance().get();
+
+        assertNotSame(stale, result);
+        assertSame(result, InstancedEquivalencyCache.getInstance().get());
+        assertEquals(2, discoveries.get());
+    }
+}
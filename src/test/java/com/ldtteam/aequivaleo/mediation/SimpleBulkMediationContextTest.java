@@ -0,0 +1,185 @@
+package com.ldtteam.aequivaleo.mediation;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.ldtteam.aequivaleo.analyzer.compound.CompoundTypeIndex;
+import com.ldtteam.aequivaleo.analyzer.compound.CompoundVector;
+import com.ldtteam.aequivaleo.api.compound.CompoundInstance;
+import com.ldtteam.aequivaleo.api.compound.type.ICompoundType;
+import com.ldtteam.aequivaleo.api.compound.type.group.ICompoundTypeGroup;
+import com.ldtteam.aequivaleo.api.util.ModRegistries;
+import net.minecraftforge.registries.IForgeRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SimpleBulkMediationContextTest
+{
+    ICompoundTypeGroup group;
+    ICompoundTypeGroup otherGroup;
+
+    ICompoundType type1;
+    ICompoundType type2;
+    ICompoundType otherType;
+
+    SimpleBulkMediationContext context;
+
+    @SuppressWarnings("unchecked")
+    @Before
+    public void setUp()
+    {
+        group = mock(ICompoundTypeGroup.class);
+        otherGroup = mock(ICompoundTypeGroup.class);
+
+        otherType = createType(otherGroup);
+        type1 = createType(group);
+        type2 = createType(group);
+
+        final List<ICompoundType> types = ImmutableList.of(otherType, type1, type2);
+        ModRegistries.COMPOUND_TYPE = mock(IForgeRegistry.class);
+        when(ModRegistries.COMPOUND_TYPE.iterator()).thenAnswer(invocation -> types.iterator());
+
+        context = new SimpleBulkMediationContext(group, CompoundTypeIndex.getInstance(), () -> true);
+    }
+
+    @Test
+    public void columnsAreTheTypesOfTheGroup()
+    {
+        assertSame(group, context.getGroup());
+        assertEquals(2, context.getTypeCount());
+        assertEquals(ImmutableSet.of(type1, type2), ImmutableSet.of(context.getType(0), context.getType(1)));
+    }
+
+    @Test
+    public void absentTypesAreNaN()
+    {
+        final int row = context.addCandidate(() -> false);
+        context.addAmount(row, type1, 2d);
+
+        assertEquals(1, context.getCandidateCount());
+        assertEquals(2d, context.getAmount(row, column(type1)), 0d);
+        assertTrue(Double.isNaN(context.getAmount(row, column(type2))));
+        assertEquals(2d, context.getTotalAmount(row), 0d);
+        assertEquals(ImmutableSet.of(new CompoundInstance(type1, 2d)), context.getInstances(row));
+    }
+
+    @Test
+    public void zeroAmountsArePresent()
+    {
+        final int row = context.addCandidate(() -> false);
+        context.addAmount(row, type1, 0d);
+
+        assertEquals(0d, context.getAmount(row, column(type1)), 0d);
+        assertEquals(ImmutableSet.of(new CompoundInstance(type1, 0d)), context.getInstances(row));
+    }
+
+    @Test
+    public void amountsOfTheSameTypeAreSummed()
+    {
+        final int row = context.addCandidate(() -> false);
+        context.addAmount(row, type1, 2d);
+        context.addAmount(row, type1, 3d);
+
+        assertEquals(5d, context.getAmount(row, column(type1)), 0d);
+    }
+
+    @Test
+    public void resetClearsTheRowAndItsSourceState()
+    {
+        final int row = context.addCandidate(() -> true);
+        context.addAmount(row, type1, 2d);
+        assertTrue(context.isSourceIncomplete(row));
+
+        context.resetCandidate(row, () -> false);
+        context.addAmount(row, type2, 4d);
+
+        assertEquals(1, context.getCandidateCount());
+        assertTrue(Double.isNaN(context.getAmount(row, column(type1))));
+        assertEquals(4d, context.getAmount(row, column(type2)), 0d);
+        assertFalse(context.isSourceIncomplete(row));
+    }
+
+    @Test
+    public void sourceStateIsOnlyDeterminedOnce()
+    {
+        final AtomicInteger calls = new AtomicInteger();
+        final int row = context.addCandidate(() -> calls.incrementAndGet() > 0);
+
+        assertTrue(context.isSourceIncomplete(row));
+        assertTrue(context.isSourceIncomplete(row));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void rowsGrowBeyondTheInitialCapacity()
+    {
+        for (int i = 0; i < 10; i++)
+        {
+            final int row = context.addCandidate(() -> false);
+            assertEquals(i, row);
+            context.addAmount(row, type1, i);
+        }
+
+        assertEquals(10, context.getCandidateCount());
+        for (int row = 0; row < 10; row++)
+        {
+            assertEquals(row, context.getAmount(row, column(type1)), 0d);
+            assertTrue(Double.isNaN(context.getAmount(row, column(type2))));
+        }
+    }
+
+    @Test
+    public void vectorsOnlyContributeTheSliceOfTheGroup()
+    {
+        final CompoundVector vector = CompoundVector.of(ImmutableSet.of(new CompoundInstance(type1, 1d), new CompoundInstance(otherType, 7d)));
+        final int row = context.addCandidate(() -> false);
+        context.addAmounts(row, vector);
+
+        assertEquals(ImmutableSet.of(new CompoundInstance(type1, 1d)), context.getInstances(row));
+
+        final CompoundVector target = CompoundVector.empty();
+        context.addTo(row, target);
+        assertEquals(ImmutableSet.of(new CompoundInstance(type1, 1d)), target.toInstances());
+    }
+
+    @Test
+    public void unknownTypesMoveTheRowsToARebuiltIndex()
+    {
+        final int first = context.addCandidate(() -> false);
+        context.addAmount(first, type1, 1d);
+        final int second = context.addCandidate(() -> false);
+        context.addAmount(second, type2, 2d);
+
+        final ICompoundType lateType = createType(group);
+        context.addAmount(second, lateType, 3d);
+
+        assertEquals(3, context.getTypeCount());
+        assertEquals(ImmutableSet.of(new CompoundInstance(type1, 1d)), context.getInstances(first));
+        assertEquals(ImmutableSet.of(new CompoundInstance(type2, 2d), new CompoundInstance(lateType, 3d)), context.getInstances(second));
+    }
+
+    private int column(final ICompoundType type)
+    {
+        for (int typeIndex = 0; typeIndex < context.getTypeCount(); typeIndex++)
+        {
+            if (context.getType(typeIndex) == type)
+            {
+                return typeIndex;
+            }
+        }
+        throw new IllegalArgumentException("Unknown type: " + type);
+    }
+
+    private static ICompoundType createType(final ICompoundTypeGroup group)
+    {
+        final ICompoundType type = mock(ICompoundType.class);
+        when(type.getGroup()).thenReturn(group);
+        return type;
+    }
+}
@@ -0,0 +1,140 @@
+package com.ldtteam.aequivaleo.results;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.ldtteam.aequivaleo.api.compound.CompoundInstance;
+import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
+import com.ldtteam.aequivaleo.api.compound.type.ICompoundType;
+import com.ldtteam.aequivaleo.api.compound.type.group.ICompoundTypeGroup;
+import com.ldtteam.aequivaleo.api.util.ModRegistries;
+import com.ldtteam.aequivaleo.testing.compound.container.testing.StringCompoundContainer;
+import net.minecraftforge.registries.IForgeRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CompactResultsStoreTest
+{
+    ICompoundTypeGroup groupA;
+    ICompoundTypeGroup groupB;
+    ICompoundTypeGroup unusedGroup;
+
+    ICompoundType typeA1;
+    ICompoundType typeA2;
+    ICompoundType typeB;
+
+    Map<ICompoundContainer<?>, Set<CompoundInstance>> source;
+    CompactResultsStore store;
+
+    @SuppressWarnings("unchecked")
+    @Before
+    public void setUp()
+    {
+        groupA = mock(ICompoundTypeGroup.class);
+        groupB = mock(ICompoundTypeGroup.class);
+        unusedGroup = mock(ICompoundTypeGroup.class);
+
+        //Registered out of group order, the index still gives the types of a group consecutive ids.
+        typeA1 = createType(groupA);
+        typeB = createType(groupB);
+        typeA2 = createType(groupA);
+
+        final List<ICompoundType> types = ImmutableList.of(typeA1, typeB, typeA2);
+        ModRegistries.COMPOUND_TYPE = mock(IForgeRegistry.class);
+        when(ModRegistries.COMPOUND_TYPE.iterator()).thenAnswer(invocation -> types.iterator());
+
+        source = Maps.newHashMap();
+        source.put(new StringCompoundContainer("a", 1), ImmutableSet.of(new CompoundInstance(typeA1, 1d), new CompoundInstance(typeB, 2d), new CompoundInstance(typeA2, 3d)));
+        source.put(new StringCompoundContainer("b", 1), ImmutableSet.of(new CompoundInstance(typeB, 4d)));
+        source.put(new StringCompoundContainer("c", 1), ImmutableSet.of(new CompoundInstance(typeA2, 5d)));
+        source.put(new StringCompoundContainer("d", 1), ImmutableSet.of());
+
+        store = CompactResultsStore.of(source);
+    }
+
+    @Test
+    public void getMatchesTheSource()
+    {
+        assertEquals(source.size(), store.size());
+        source.forEach((container, instances) -> {
+            assertTrue(store.contains(container));
+            assertEquals(instances, store.get(container));
+        });
+    }
+
+    @Test
+    public void unknownContainersHaveNoData()
+    {
+        assertFalse(store.contains(new StringCompoundContainer("e", 1)));
+        assertNull(store.get(new StringCompoundContainer("e", 1)));
+    }
+
+    @Test
+    public void getAllDataOfMatchesTheSource()
+    {
+        assertEquals(expectedDataOf(groupA), store.getAllDataOf(groupA));
+        assertEquals(expectedDataOf(groupB), store.getAllDataOf(groupB));
+        assertTrue(store.getAllDataOf(unusedGroup).isEmpty());
+    }
+
+    @Test
+    public void entriesMatchTheSource()
+    {
+        final Map<ICompoundContainer<?>, Set<CompoundInstance>> entries = Maps.newHashMap();
+        store.entries().forEach(entry -> entries.put(entry.getKey(), entry.getValue()));
+
+        assertEquals(source, entries);
+    }
+
+    @Test
+    public void repeatedRequestsAreCached()
+    {
+        final ICompoundContainer<?> container = new StringCompoundContainer("a", 1);
+
+        assertSame(store.get(container), store.get(container));
+        assertSame(store.getAllDataOf(groupA), store.getAllDataOf(groupA));
+    }
+
+    @Test
+    public void entriesShareTheSetsOfGet()
+    {
+        store.entries().forEach(entry -> assertSame(store.get(entry.getKey()), entry.getValue()));
+        store.entries().forEach(entry -> assertSame(store.get(entry.getKey()), entry.getValue()));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void getAllDataOfIsUnmodifiable()
+    {
+        store.getAllDataOf(groupA).clear();
+    }
+
+    private Map<ICompoundContainer<?>, Set<CompoundInstance>> expectedDataOf(final ICompoundTypeGroup group)
+    {
+        final Map<ICompoundContainer<?>, Set<CompoundInstance>> expected = Maps.newHashMap();
+        source.forEach((container, instances) -> {
+            final Set<CompoundInstance> groupInstances = instances.stream()
+              .filter(instance -> instance.getType().getGroup() == group)
+              .collect(Collectors.toSet());
+
+            if (!groupInstances.isEmpty())
+                expected.put(container, groupInstances);
+        });
+        return expected;
+    }
+
+    private static ICompoundType createType(final ICompoundTypeGroup group)
+    {
+        final ICompoundType type = mock(ICompoundType.class);
+        when(type.getGroup()).thenReturn(group);
+        return type;
+    }
+}
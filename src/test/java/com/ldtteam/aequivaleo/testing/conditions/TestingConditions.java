@@ -0,0 +1,28 @@
+package com.ldtteam.aequivaleo.testing.conditions;
+
+import net.minecraftforge.common.crafting.CraftingHelper;
+import net.minecraftforge.common.crafting.conditions.FalseCondition;
+import net.minecraftforge.common.crafting.conditions.TrueCondition;
+
+/**
+ * Registers the forge conditions which the tests use, the serializers can only be registered once per jvm.
+ */
+public final class TestingConditions
+{
+    private static boolean registered = false;
+
+    private TestingConditions()
+    {
+        throw new IllegalStateException("Tried to initialize: TestingConditions but this is a Utility class.");
+    }
+
+    public static synchronized void register()
+    {
+        if (registered)
+            return;
+
+        CraftingHelper.register(TrueCondition.Serializer.INSTANCE);
+        CraftingHelper.register(FalseCondition.Serializer.INSTANCE);
+        registered = true;
+    }
+}
@@ -0,0 +1,133 @@
+package com.ldtteam.aequivaleo.utils;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.ldtteam.aequivaleo.api.compound.CompoundInstance;
+import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
+import com.ldtteam.aequivaleo.api.compound.container.factory.ICompoundContainerFactory;
+import com.ldtteam.aequivaleo.api.compound.type.ICompoundType;
+import com.ldtteam.aequivaleo.api.util.ModRegistries;
+import com.ldtteam.aequivaleo.api.util.RegistryUtils;
+import com.ldtteam.aequivaleo.compound.container.registry.CompoundContainerFactoryManager;
+import com.ldtteam.aequivaleo.testing.compound.container.testing.StringCompoundContainer;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.registries.ForgeRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import java.util.AbstractMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+import static org.powermock.api.mockito.PowerMockito.*;
+
+@RunWith(PowerMockRunner.class)
+@PowerMockIgnore({"jdk.internal.reflect.*", "org.apache.log4j.*", "org.apache.commons.logging.*", "javax.management.*"})
+@PrepareForTest({RegistryUtils.class})
+public class IOUtilsTest
+{
+    ICompoundType typeA;
+    ICompoundType typeB;
+
+    @SuppressWarnings("unchecked")
+    @Before
+    public void setUp()
+    {
+        typeA = mock(ICompoundType.class);
+        typeB = mock(ICompoundType.class);
+
+        final ForgeRegistry<ICompoundType> typeRegistry = mock(ForgeRegistry.class);
+        when(typeRegistry.getID(typeA)).thenReturn(0);
+        when(typeRegistry.getID(typeB)).thenReturn(1);
+        when(typeRegistry.getValue(0)).thenReturn(typeA);
+        when(typeRegistry.getValue(1)).thenReturn(typeB);
+
+        mockStatic(RegistryUtils.class);
+        when(RegistryUtils.getFull(ICompoundType.class)).thenReturn(typeRegistry);
+
+        final ICompoundContainerFactory<?> containerFactory = new BufferStringCompoundContainerFactory();
+        final List<ICompoundContainerFactory<?>> containerFactories = ImmutableList.of(containerFactory);
+        final ForgeRegistry<ICompoundContainerFactory<?>> containerFactoryRegistry = mock(ForgeRegistry.class);
+        when(containerFactoryRegistry.iterator()).thenAnswer(invocation -> containerFactories.iterator());
+        when(containerFactoryRegistry.getID(containerFactory)).thenReturn(0);
+        when(containerFactoryRegistry.getValue(0)).thenReturn(containerFactory);
+        ModRegistries.CONTAINER_FACTORY = containerFactoryRegistry;
+        CompoundContainerFactoryManager.getInstance().bake();
+    }
+
+    @Test
+    public void compoundDataSurvivesARoundTrip()
+    {
+        final List<Map.Entry<ICompoundContainer<?>, Set<CompoundInstance>>> written = Lists.newArrayList(
+          entry("a", ImmutableSet.of(new CompoundInstance(typeA, 1d), new CompoundInstance(typeB, 2d))),
+          entry("b", ImmutableSet.of(new CompoundInstance(typeB, 3d))),
+          entry("c", ImmutableSet.of())
+        );
+
+        final List<Map.Entry<ICompoundContainer<?>, Set<CompoundInstance>>> read = roundTrip(written, 3);
+
+        assertEquals(written, read);
+    }
+
+    @Test
+    public void sharedSetsAreWrittenAndReadOnce()
+    {
+        final List<Map.Entry<ICompoundContainer<?>, Set<CompoundInstance>>> written = Lists.newArrayList(
+          entry("a", ImmutableSet.of(new CompoundInstance(typeA, 1d), new CompoundInstance(typeB, 2d))),
+          entry("b", ImmutableSet.of(new CompoundInstance(typeB, 2d), new CompoundInstance(typeA, 1d))),
+          entry("c", ImmutableSet.of(new CompoundInstance(typeA, 1d))),
+          entry("d", ImmutableSet.of(new CompoundInstance(typeA, 1d), new CompoundInstance(typeB, 2d)))
+        );
+
+        final List<Map.Entry<ICompoundContainer<?>, Set<CompoundInstance>>> read = roundTrip(written, 2);
+
+        assertEquals(written, read);
+        assertSame(read.get(0).getValue(), read.get(1).getValue());
+        assertSame(read.get(0).getValue(), read.get(3).getValue());
+        assertNotSame(read.get(0).getValue(), read.get(2).getValue());
+    }
+
+    private static List<Map.Entry<ICompoundContainer<?>, Set<CompoundInstance>>> roundTrip(
+      final List<Map.Entry<ICompoundContainer<?>, Set<CompoundInstance>>> written,
+      final int expectedSetCount)
+    {
+        final FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.buffer());
+        IOUtils.writeCompoundDataEntries(buffer, written);
+
+        //The distinct sets are written up front.
+        assertEquals(expectedSetCount, new FriendlyByteBuf(buffer.copy()).readVarInt());
+
+        final List<Map.Entry<ICompoundContainer<?>, Set<CompoundInstance>>> read = Lists.newArrayList();
+        IOUtils.readCompoundData(buffer, read);
+        assertEquals(0, buffer.readableBytes());
+        return read;
+    }
+
+    private static Map.Entry<ICompoundContainer<?>, Set<CompoundInstance>> entry(final String content, final Set<CompoundInstance> instances)
+    {
+        return new AbstractMap.SimpleEntry<>(new StringCompoundContainer(content, 1), instances);
+    }
+
+    private static final class BufferStringCompoundContainerFactory extends StringCompoundContainer.Factory
+    {
+        @Override
+        public void write(final ICompoundContainer<String> object, final FriendlyByteBuf buffer)
+        {
+            buffer.writeUtf(object.getContents());
+        }
+
+        @Override
+        public ICompoundContainer<String> read(final FriendlyByteBuf buffer)
+        {
+            return new StringCompoundContainer(buffer.readUtf(), 1);
+        }
+    }
+}
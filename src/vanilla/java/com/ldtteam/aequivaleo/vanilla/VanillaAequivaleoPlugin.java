@@ -1,9 +1,11 @@
 package com.ldtteam.aequivaleo.vanilla;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Sets;
+import com.google.common.collect.Maps;
+import com.ldtteam.aequivaleo.api.analysis.IAnalysisScheduler;
 import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
-import com.ldtteam.aequivaleo.api.compound.container.registry.ICompoundContainerFactoryManager;
 import com.ldtteam.aequivaleo.api.plugin.AequivaleoPlugin;
 import com.ldtteam.aequivaleo.api.plugin.IAequivaleoPlugin;
 import com.ldtteam.aequivaleo.api.recipe.IRecipeTypeProcessingRegistry;
@@ -12,19 +14,17 @@ import com.ldtteam.aequivaleo.api.recipe.equivalency.IEquivalencyRecipe;
 import com.ldtteam.aequivaleo.api.recipe.equivalency.IEquivalencyRecipeRegistry;
 import com.ldtteam.aequivaleo.api.recipe.equivalency.calculator.IRecipeCalculator;
 import com.ldtteam.aequivaleo.api.recipe.equivalency.ingredient.IRecipeIngredient;
-import com.ldtteam.aequivaleo.api.recipe.equivalency.ingredient.SimpleIngredient;
-import com.ldtteam.aequivaleo.api.recipe.equivalency.ingredient.SimpleIngredientBuilder;
 import com.ldtteam.aequivaleo.api.util.TriFunction;
 import com.ldtteam.aequivaleo.vanilla.api.IVanillaAequivaleoPluginAPI;
 import com.ldtteam.aequivaleo.vanilla.api.VanillaAequivaleoPluginAPI;
+import com.ldtteam.aequivaleo.vanilla.api.recipe.container.ContainerItemContents;
 import com.ldtteam.aequivaleo.vanilla.api.tags.ITagEquivalencyRegistry;
 import com.ldtteam.aequivaleo.vanilla.api.util.Constants;
 import com.ldtteam.aequivaleo.vanilla.config.Configuration;
+import com.ldtteam.aequivaleo.vanilla.recipe.container.ContainerItemRecipeRegistry;
 import com.ldtteam.aequivaleo.vanilla.recipe.equivalency.*;
-import net.minecraft.world.level.material.Fluid;
 import net.minecraft.world.level.material.Fluids;
 import net.minecraft.world.item.BucketItem;
-import net.minecraft.world.item.Item;
 import net.minecraft.world.item.Items;
 import net.minecraft.world.item.crafting.Recipe;
 import net.minecraft.world.item.crafting.RecipeType;
@@ -33,16 +33,21 @@ import net.minecraft.world.item.crafting.UpgradeRecipe;
 import net.minecraft.core.NonNullList;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.core.Registry;
-import net.minecraft.world.level.Level;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraftforge.fml.ModLoadingContext;
+import net.minecraftforge.registries.ForgeRegistries;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.SortedSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -52,8 +57,25 @@ public class VanillaAequivaleoPlugin implements IAequivaleoPlugin
 {
     private static final Logger LOGGER = LogManager.getLogger();
 
+    private static final int CONVERSION_BATCH_SIZE = 64;
+
     private Configuration configuration;
 
+    /**
+     * The recipes of the recipe manager, converted once per reload and shared by all worlds.
+     */
+    private volatile ImmutableList<IEquivalencyRecipe> convertedRecipes = ImmutableList.of();
+
+    /**
+     * The contents of all bucket items, only turned into recipes when enabled in the server configuration.
+     */
+    private List<ContainerItemContents> bucketContents = ImmutableList.of();
+
+    private Set<RecipeType<?>>     genericRecipeTypes             = null;
+    private List<? extends String> genericRecipeTypesBlackList    = null;
+    private Set<RecipeType<?>>     genericRecipeTypesKnownTypes   = null;
+    private Set<ResourceLocation>  genericRecipeTypesRegistryKeys = null;
+
     @Override
     public String getId()
     {
@@ -88,106 +110,143 @@ public class VanillaAequivaleoPlugin implements IAequivaleoPlugin
           .registerAs(Constants.STONE_CUTTING_RECIPE_TYPE, RecipeType.STONECUTTING)
           .registerAs(Constants.SMITHING_RECIPE_TYPE, RecipeType.SMITHING);
 
+        LOGGER.debug("Collecting buckets.");
+        bucketContents = ImmutableList.copyOf(ForgeRegistries.ITEMS.getValues()
+          .stream()
+          .filter(BucketItem.class::isInstance)
+          .map(BucketItem.class::cast)
+          .filter(bucketItem -> !bucketItem.getFluid().isSame(Fluids.EMPTY))
+          .map(bucketItem -> new ContainerItemContents(Items.BUCKET, bucketItem, bucketItem.getFluid(), 1000))
+          .collect(Collectors.toList()));
     }
 
     @Override
-    public void onReloadStartedFor(final ServerLevel world)
+    public void onReloadStarted(final MinecraftServer server)
     {
-        final List<Recipe<?>> smeltingRecipe = Lists.newArrayList();
-
-        IRecipeTypeProcessingRegistry
-          .getInstance()
-          .getRecipeTypesToBeProcessedAs(Constants.COOKING_RECIPE_TYPE)
-          .forEach(type -> smeltingRecipe.addAll(getRecipes(type, world)));
-
-        smeltingRecipe
-          .parallelStream()
-          .forEach(recipe -> processSmeltingRecipe(world, recipe));
+        //Drop the recipes of the previous reload, so a failed conversion never hands them to the worlds of this one.
+        convertedRecipes = ImmutableList.of();
 
-        final List<Recipe<?>> stoneCuttingsRecipe = Lists.newArrayList();
-
-        IRecipeTypeProcessingRegistry
-          .getInstance()
-          .getRecipeTypesToBeProcessedAs(Constants.STONE_CUTTING_RECIPE_TYPE)
-          .forEach(type -> stoneCuttingsRecipe.addAll(getRecipes(type, world)));
-
-        stoneCuttingsRecipe
-          .parallelStream()
-          .forEach(recipe -> processStoneCuttingRecipe(world, recipe));
-
-        final List<Recipe<?>> smithingRecipe = Lists.newArrayList();
-
-        IRecipeTypeProcessingRegistry
-          .getInstance()
-          .getRecipeTypesToBeProcessedAs(Constants.SMITHING_RECIPE_TYPE)
-          .forEach(type -> smithingRecipe.addAll(getRecipes(type, world)));
+        //The recipe manager is shared by all worlds, so its recipes only need to be converted once per reload.
+        final Map<RecipeType<?>, BiConsumer<List<IEquivalencyRecipe>, Recipe<?>>> converters = getConverters();
+        final List<Recipe<?>> recipes = server.getRecipeManager().getRecipes()
+          .stream()
+          .filter(recipe -> converters.containsKey(recipe.getType()))
+          .collect(Collectors.toList());
 
-        smithingRecipe
-          .parallelStream()
-          .forEach(recipe -> processSmithingRecipe(world, recipe));
+        //All recipe types are converted in a single stage, each batch is added to the shared queue at once.
+        final Queue<IEquivalencyRecipe> converted = new ConcurrentLinkedQueue<>();
+        IAnalysisScheduler.getInstance().forEach(IAnalysisScheduler.Lane.RECIPE_COLLECTION, Lists.partition(recipes, CONVERSION_BATCH_SIZE), batch -> {
+            final List<IEquivalencyRecipe> convertedBatch = Lists.newArrayList();
+            for (final Recipe<?> recipe : batch)
+            {
+                //A single broken recipe, or converter, should not drop the other recipes of its batch.
+                try
+                {
+                    converters.get(recipe.getType()).accept(convertedBatch, recipe);
+                }
+                catch (Exception ex)
+                {
+                    LOGGER.error(String.format("Failed to convert recipe: %s", recipe.getId()), ex);
+                }
+            }
+            converted.addAll(convertedBatch);
+        });
+
+        //The bucket recipes of the vanilla plugin are opt-in, container items registered by addons are always processed.
+        converted.addAll(ContainerItemRecipeRegistry.getInstance().createRecipes(
+          configuration.getServer().registerBucketRecipes.get() ? bucketContents : ImmutableList.of()
+        ));
+
+        convertedRecipes = ImmutableList.copyOf(converted);
+        LOGGER.info(String.format("Converted %d recipes into %d equivalency recipes for all worlds.", recipes.size(), convertedRecipes.size()));
+    }
 
-        final List<Recipe<?>> craftingRecipes = Lists.newArrayList();
+    private Map<RecipeType<?>, BiConsumer<List<IEquivalencyRecipe>, Recipe<?>>> getConverters()
+    {
+        final Map<RecipeType<?>, BiConsumer<List<IEquivalencyRecipe>, Recipe<?>>> converters = Maps.newHashMap();
+        addConverter(converters, Constants.COOKING_RECIPE_TYPE, VanillaAequivaleoPlugin::processSmeltingRecipe);
+        addConverter(converters, Constants.STONE_CUTTING_RECIPE_TYPE, VanillaAequivaleoPlugin::processStoneCuttingRecipe);
+        addConverter(converters, Constants.SMITHING_RECIPE_TYPE, VanillaAequivaleoPlugin::processSmithingRecipe);
+        addConverter(converters, Constants.SIMPLE_RECIPE_TYPE, VanillaAequivaleoPlugin::processCraftingRecipe);
+
+        getGenericRecipeTypes().forEach(type -> converters.merge(type, VanillaAequivaleoPlugin::processGenericRecipe, BiConsumer::andThen));
+        return converters;
+    }
 
+    private static void addConverter(
+      final Map<RecipeType<?>, BiConsumer<List<IEquivalencyRecipe>, Recipe<?>>> converters,
+      final ResourceLocation processingType,
+      final BiConsumer<List<IEquivalencyRecipe>, Recipe<?>> converter)
+    {
         IRecipeTypeProcessingRegistry
           .getInstance()
-          .getRecipeTypesToBeProcessedAs(Constants.SIMPLE_RECIPE_TYPE)
-          .forEach(type -> craftingRecipes.addAll(getRecipes(type, world)));
-
-        craftingRecipes
-          .parallelStream()
-          .forEach(recipe -> processCraftingRecipe(world, recipe));
-
-        final List<Recipe<?>> genericRecipes = Lists.newArrayList();
+          .getRecipeTypesToBeProcessedAs(processingType)
+          .forEach(type -> converters.merge(type, converter, BiConsumer::andThen));
+    }
 
-        final List<Pattern> blackListPatterns = configuration.getServer().recipeTypeNamePatternsToExclude
-          .get()
+    /**
+     * Determines the recipe types which are not known to any processing type and are not blacklisted.
+     * The types are only determined again when the configured blacklist, the known types or the registered types change.
+     *
+     * @return The recipe types whose recipes are converted as generic recipes.
+     */
+    private synchronized Set<RecipeType<?>> getGenericRecipeTypes()
+    {
+        final List<? extends String> blackList = configuration.getServer().recipeTypeNamePatternsToExclude.get();
+        final Set<RecipeType<?>> knownTypes = ImmutableSet.copyOf(IRecipeTypeProcessingRegistry.getInstance().getAllKnownTypes());
+        final Set<ResourceLocation> registryKeys = ImmutableSet.copyOf(Registry.RECIPE_TYPE.keySet());
+        if (genericRecipeTypes != null
+              && blackList.equals(genericRecipeTypesBlackList)
+              && knownTypes.equals(genericRecipeTypesKnownTypes)
+              && registryKeys.equals(genericRecipeTypesRegistryKeys))
+            return genericRecipeTypes;
+
+        final List<Pattern> blackListPatterns = blackList
           .stream()
           .map(Pattern::compile)
           .collect(Collectors.toList());
 
-        final Set<RecipeType<?>> knownTypes = IRecipeTypeProcessingRegistry.getInstance().getAllKnownTypes();
-        Registry.RECIPE_TYPE.entrySet().stream()
+        genericRecipeTypes = ImmutableSet.copyOf(Registry.RECIPE_TYPE.entrySet().stream()
           .filter(entry -> !knownTypes.contains(entry.getValue()))
           .filter(entry -> blackListPatterns.stream().noneMatch(blp -> blp.matcher(entry.getKey().location().toString()).find()))
-          .forEach(
-             entry -> genericRecipes.addAll(getRecipes(entry.getValue(), world))
-          );
+          .map(Map.Entry::getValue)
+          .collect(Collectors.toSet()));
+        genericRecipeTypesBlackList = ImmutableList.copyOf(blackList);
+        genericRecipeTypesKnownTypes = knownTypes;
+        genericRecipeTypesRegistryKeys = registryKeys;
 
-        genericRecipes
-          .parallelStream()
-          .forEach(recipe -> processGenericRecipe(world, recipe));
+        return genericRecipeTypes;
     }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
-    private static List<Recipe<?>> getRecipes(final RecipeType type, final Level world)
+    @Override
+    public void onReloadStartedFor(final ServerLevel world)
     {
-        final List<? extends Recipe<?>> recipes = world.getRecipeManager().getAllRecipesFor(type);
-        return Lists.newArrayList(recipes);
+        IEquivalencyRecipeRegistry.getInstance(world.dimension()).registerAll(convertedRecipes);
     }
 
-    private static void processSmeltingRecipe(@NotNull final Level world, Recipe<?> iRecipe)
+    private static void processSmeltingRecipe(@NotNull final List<IEquivalencyRecipe> converted, Recipe<?> iRecipe)
     {
-        processIRecipe(world, iRecipe, Recipe::getIngredients, (inputs, requiredKnownOutputs, outputs) -> new CookingEquivalencyRecipe(iRecipe.getId(), inputs, requiredKnownOutputs, outputs));
+        processIRecipe(converted, iRecipe, Recipe::getIngredients, (inputs, requiredKnownOutputs, outputs) -> new CookingEquivalencyRecipe(iRecipe.getId(), inputs, requiredKnownOutputs, outputs));
     }
 
-    private static void processCraftingRecipe(@NotNull final Level world, Recipe<?> iRecipe)
+    private static void processCraftingRecipe(@NotNull final List<IEquivalencyRecipe> converted, Recipe<?> iRecipe)
     {
-        processIRecipe(world, iRecipe, Recipe::getIngredients, (inputs, requiredKnownOutputs, outputs) -> new SimpleEquivalencyRecipe(iRecipe.getId(), inputs, requiredKnownOutputs, outputs));
+        processIRecipe(converted, iRecipe, Recipe::getIngredients, (inputs, requiredKnownOutputs, outputs) -> new SimpleEquivalencyRecipe(iRecipe.getId(), inputs, requiredKnownOutputs, outputs));
     }
 
-    private static void processStoneCuttingRecipe(@NotNull final Level world, Recipe<?> iRecipe)
+    private static void processStoneCuttingRecipe(@NotNull final List<IEquivalencyRecipe> converted, Recipe<?> iRecipe)
     {
-        processIRecipe(world, iRecipe, Recipe::getIngredients, (inputs, requiredKnownOutputs, outputs) -> new StoneCuttingEquivalencyRecipe(iRecipe.getId(), inputs, requiredKnownOutputs, outputs));
+        processIRecipe(converted, iRecipe, Recipe::getIngredients, (inputs, requiredKnownOutputs, outputs) -> new StoneCuttingEquivalencyRecipe(iRecipe.getId(), inputs, requiredKnownOutputs, outputs));
     }
 
-    private static void processGenericRecipe(@NotNull final Level world, Recipe<?> iRecipe)
+    private static void processGenericRecipe(@NotNull final List<IEquivalencyRecipe> converted, Recipe<?> iRecipe)
     {
-        processIRecipe(world, iRecipe, Recipe::getIngredients, (inputs, requiredKnownOutputs, outputs) -> new GenericRecipeEquivalencyRecipe(iRecipe.getId(), inputs, requiredKnownOutputs, outputs));
+        processIRecipe(converted, iRecipe, Recipe::getIngredients, (inputs, requiredKnownOutputs, outputs) -> new GenericRecipeEquivalencyRecipe(iRecipe.getId(), inputs, requiredKnownOutputs, outputs));
     }
 
-    private static void processSmithingRecipe(@NotNull final Level world, Recipe<?> iRecipe)
+    private static void processSmithingRecipe(@NotNull final List<IEquivalencyRecipe> converted, Recipe<?> iRecipe)
     {
-        processIRecipe(world,
+        processIRecipe(converted,
           iRecipe,
           smithingRecipe -> {
               if (!(smithingRecipe instanceof UpgradeRecipe))
@@ -202,7 +261,7 @@ public class VanillaAequivaleoPlugin implements IAequivaleoPlugin
     }
 
     private static void processIRecipe(
-      @NotNull final Level world,
+      @NotNull final List<IEquivalencyRecipe> converted,
       final Recipe<?> iRecipe,
       final Function<Recipe<?>, NonNullList<Ingredient>> ingredientExtractor,
       final TriFunction<SortedSet<IRecipeIngredient>, SortedSet<ICompoundContainer<?>>, SortedSet<ICompoundContainer<?>>, IEquivalencyRecipe> recipeFactory
@@ -224,52 +283,6 @@ public class VanillaAequivaleoPlugin implements IAequivaleoPlugin
             LOGGER.error(String.format("Failed to process recipe: %s See ingredient error logs for more information.", iRecipe.getId()));
         }
 
-        variants.forEach(recipe -> IEquivalencyRecipeRegistry.getInstance(world.dimension()).register(recipe));
-    }
-
-    private static void processBucketFluidRecipeFor(
-      @NotNull final Level world, final Item item) {
-        //new SimpleIngredientBuilder().from(wrappedStacks).withCount(1d).createIngredient()
-
-        if (!(item instanceof BucketItem))
-            return;
-
-        final BucketItem bucketItem = (BucketItem) item;
-
-        if (bucketItem.getFluid().isSame(Fluids.EMPTY))
-            return;
-
-        final ICompoundContainer<?> emptyBucketContainer = ICompoundContainerFactoryManager.getInstance().wrapInContainer(
-          Items.BUCKET, 1
-        );
-        final IRecipeIngredient emptyBucketIngredient = new SimpleIngredientBuilder().from(emptyBucketContainer).createIngredient();
-
-        final Fluid fluid = bucketItem.getFluid();
-        final ICompoundContainer<?> fluidContainer = ICompoundContainerFactoryManager.getInstance().wrapInContainer(
-          fluid, 1000
-        );
-        final IRecipeIngredient fluidIngredient = new SimpleIngredientBuilder().from(fluidContainer).createIngredient();
-
-        final ICompoundContainer<?> fullBucketContainer = ICompoundContainerFactoryManager.getInstance().wrapInContainer(
-          bucketItem, 1
-        );
-        final IRecipeIngredient fullBucketIngredient = new SimpleIngredientBuilder().from(fullBucketContainer
-        ).createIngredient();
-
-        final BucketFluidRecipe fillingRecipe = new BucketFluidRecipe(
-          Sets.newHashSet(emptyBucketIngredient, fluidIngredient),
-          Sets.newHashSet(fullBucketContainer)
-        );
-        final BucketFluidRecipe emptyingRecipe = new BucketFluidRecipe(
-          Sets.newHashSet(fullBucketIngredient),
-          Sets.newHashSet(emptyBucketContainer, fluidContainer)
-        );
-
-        IEquivalencyRecipeRegistry.getInstance(world.dimension()).register(
-          fillingRecipe
-        );
-        IEquivalencyRecipeRegistry.getInstance(world.dimension()).register(
-          emptyingRecipe
-        );
+        converted.addAll(variants);
     }
 }
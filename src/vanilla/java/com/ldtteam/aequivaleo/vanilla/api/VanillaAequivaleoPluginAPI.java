@@ -1,6 +1,8 @@
 package com.ldtteam.aequivaleo.vanilla.api;
 
+import com.ldtteam.aequivaleo.vanilla.api.recipe.container.IContainerItemRecipeRegistry;
 import com.ldtteam.aequivaleo.vanilla.api.tags.ITagEquivalencyRegistry;
+import com.ldtteam.aequivaleo.vanilla.recipe.container.ContainerItemRecipeRegistry;
 import com.ldtteam.aequivaleo.vanilla.tags.TagEquivalencyRegistry;
 
 public class VanillaAequivaleoPluginAPI implements IVanillaAequivaleoPluginAPI
@@ -19,6 +21,12 @@ public class VanillaAequivaleoPluginAPI implements IVanillaAequivaleoPluginAPI
         return TagEquivalencyRegistry.getInstance();
     }
 
+    @Override
+    public IContainerItemRecipeRegistry getContainerItemRecipeRegistry()
+    {
+        return ContainerItemRecipeRegistry.getInstance();
+    }
+
     private VanillaAequivaleoPluginAPI()
     {
     }
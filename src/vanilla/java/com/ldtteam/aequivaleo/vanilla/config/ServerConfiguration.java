@@ -18,6 +18,7 @@ public class ServerConfiguration extends AbstractAequivaleoConfiguration
 {
     public ForgeConfigSpec.ConfigValue<List<? extends String>> tagsToRegister;
     public ForgeConfigSpec.ConfigValue<List<? extends String>> recipeTypeNamePatternsToExclude;
+    public ForgeConfigSpec.BooleanValue                        registerBucketRecipes;
 
     protected ServerConfiguration(final ForgeConfigSpec.Builder builder)
     {
@@ -220,5 +221,8 @@ public class ServerConfiguration extends AbstractAequivaleoConfiguration
           }
         );
         finishCategory(builder);
+        createCategory(builder, "buckets");
+        registerBucketRecipes = defineBoolean(builder, "recipes.buckets.registerBucketRecipes", false);
+        finishCategory(builder);
     }
 }
\ No newline at end of file
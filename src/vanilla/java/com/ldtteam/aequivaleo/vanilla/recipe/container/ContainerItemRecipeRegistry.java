@@ -0,0 +1,97 @@
+package com.ldtteam.aequivaleo.vanilla.recipe.container;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
+import com.ldtteam.aequivaleo.api.compound.container.registry.ICompoundContainerFactoryManager;
+import com.ldtteam.aequivaleo.api.recipe.equivalency.IEquivalencyRecipe;
+import com.ldtteam.aequivaleo.api.recipe.equivalency.ingredient.IRecipeIngredient;
+import com.ldtteam.aequivaleo.api.recipe.equivalency.ingredient.SimpleIngredientBuilder;
+import com.ldtteam.aequivaleo.vanilla.api.recipe.container.ContainerItemContents;
+import com.ldtteam.aequivaleo.vanilla.api.recipe.container.IContainerItemRecipeRegistry;
+import com.ldtteam.aequivaleo.vanilla.recipe.equivalency.BucketFluidRecipe;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+public class ContainerItemRecipeRegistry implements IContainerItemRecipeRegistry
+{
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final ContainerItemRecipeRegistry INSTANCE = new ContainerItemRecipeRegistry();
+
+    public static ContainerItemRecipeRegistry getInstance()
+    {
+        return INSTANCE;
+    }
+
+    private final Set<ContainerItemContents> containerItems = Sets.newConcurrentHashSet();
+
+    private ContainerItemRecipeRegistry()
+    {
+    }
+
+    @Override
+    public IContainerItemRecipeRegistry registerAll(@NotNull final Collection<ContainerItemContents> containerItems)
+    {
+        this.containerItems.addAll(containerItems);
+        return this;
+    }
+
+    /**
+     * Creates the filling and emptying recipes for all registered container items, and the given additional ones.
+     * Containers and ingredients which are used by several container items, like the empty bucket, are only created once and shared by all recipes.
+     *
+     * @param additionalContainerItems The container items which are processed in addition to the registered ones.
+     * @return The recipes, two for each container item.
+     */
+    @NotNull
+    public ImmutableList<IEquivalencyRecipe> createRecipes(@NotNull final Collection<ContainerItemContents> additionalContainerItems)
+    {
+        final Map<ICompoundContainer<?>, ICompoundContainer<?>> containers = Maps.newHashMap();
+        final Map<ICompoundContainer<?>, IRecipeIngredient> ingredients = Maps.newHashMap();
+        final ImmutableList.Builder<IEquivalencyRecipe> recipes = ImmutableList.builder();
+
+        for (final ContainerItemContents containerItem : Sets.union(containerItems, ImmutableSet.copyOf(additionalContainerItems)))
+        {
+            try
+            {
+                final ICompoundContainer<?> emptyContainer = getCanonicalContainer(containers, containerItem.getEmptyContainer(), 1);
+                final ICompoundContainer<?> filledContainer = getCanonicalContainer(containers, containerItem.getFilledContainer(), 1);
+                final ICompoundContainer<?> contentsContainer = getCanonicalContainer(containers, containerItem.getContents(), containerItem.getAmount());
+
+                recipes.add(new BucketFluidRecipe(
+                  Sets.newHashSet(getIngredient(ingredients, emptyContainer), getIngredient(ingredients, contentsContainer)),
+                  Sets.newHashSet(filledContainer)
+                ));
+                recipes.add(new BucketFluidRecipe(
+                  Sets.newHashSet(getIngredient(ingredients, filledContainer)),
+                  Sets.newHashSet(emptyContainer, contentsContainer)
+                ));
+            }
+            catch (IllegalArgumentException ex)
+            {
+                LOGGER.error(String.format("Failed to create the recipes for the container item: %s", containerItem), ex);
+            }
+        }
+
+        return recipes.build();
+    }
+
+    private static ICompoundContainer<?> getCanonicalContainer(final Map<ICompoundContainer<?>, ICompoundContainer<?>> containers, final Object gameObject, final double count)
+    {
+        final ICompoundContainer<?> container = ICompoundContainerFactoryManager.getInstance().wrapInContainer(gameObject, count);
+        return containers.computeIfAbsent(container, key -> key);
+    }
+
+    private static IRecipeIngredient getIngredient(final Map<ICompoundContainer<?>, IRecipeIngredient> ingredients, final ICompoundContainer<?> container)
+    {
+        return ingredients.computeIfAbsent(container, key -> new SimpleIngredientBuilder().from(key).createIngredient());
+    }
+}
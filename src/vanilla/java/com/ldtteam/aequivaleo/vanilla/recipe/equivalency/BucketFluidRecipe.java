@@ -2,6 +2,7 @@ package com.ldtteam.aequivaleo.vanilla.recipe.equivalency;
 
 import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
 import com.ldtteam.aequivaleo.api.recipe.equivalency.ingredient.IRecipeIngredient;
+import com.ldtteam.aequivaleo.api.util.SortKeys;
 import com.ldtteam.aequivaleo.vanilla.api.recipe.equivalency.IBucketFluidEquivalencyRecipe;
 
 import java.util.Set;
@@ -12,11 +13,13 @@ public class BucketFluidRecipe implements IBucketFluidEquivalencyRecipe
 {
     private final SortedSet<IRecipeIngredient>     inputs;
     private final SortedSet<ICompoundContainer<?>> outputs;
+    private final long                             sortKey;
 
     public BucketFluidRecipe(final Set<IRecipeIngredient> inputs, final Set<ICompoundContainer<?>> outputs)
     {
         this.inputs = new TreeSet<>(inputs);
         this.outputs = new TreeSet<>(outputs);
+        this.sortKey = SortKeys.of(this);
     }
 
     @Override
@@ -37,6 +40,12 @@ public class BucketFluidRecipe implements IBucketFluidEquivalencyRecipe
         return outputs;
     }
 
+    @Override
+    public long getSortKey()
+    {
+        return sortKey;
+    }
+
     @Override
     public boolean equals(final Object o)
     {
@@ -3,6 +3,7 @@ package com.ldtteam.aequivaleo.vanilla.recipe.equivalency;
 import com.ldtteam.aequivaleo.api.compound.container.ICompoundContainer;
 import com.ldtteam.aequivaleo.vanilla.api.recipe.equivalency.ICookingEquivalencyRecipe;
 import com.ldtteam.aequivaleo.api.recipe.equivalency.ingredient.IRecipeIngredient;
+import com.ldtteam.aequivaleo.api.util.SortKeys;
 import net.minecraft.resources.ResourceLocation;
 import org.apache.commons.lang3.Validate;
 
@@ -16,6 +17,7 @@ public class CookingEquivalencyRecipe implements ICookingEquivalencyRecipe
     private final SortedSet<IRecipeIngredient> inputs;
     private final SortedSet<ICompoundContainer<?>> requiredKnownOutputs;
     private final SortedSet<ICompoundContainer<?>> outputs;
+    private final long sortKey;
 
     public CookingEquivalencyRecipe(
       final ResourceLocation recipeName, final Set<IRecipeIngredient> inputs,
@@ -24,6 +26,7 @@ public class CookingEquivalencyRecipe implements ICookingEquivalencyRecipe
         this.inputs = new TreeSet<>(Validate.noNullElements(Validate.notNull(inputs)));
         this.requiredKnownOutputs = new TreeSet<>(Validate.noNullElements(Validate.notNull(requiredKnownOutputs)));
         this.outputs = new TreeSet<>(Validate.noNullElements(Validate.notNull(outputs)));
+        this.sortKey = SortKeys.of(this);
     }
 
     @Override
@@ -44,6 +47,12 @@ public class CookingEquivalencyRecipe implements ICookingEquivalencyRecipe
         return outputs;
     }
 
+    @Override
+    public long getSortKey()
+    {
+        return sortKey;
+    }
+
     public ResourceLocation getRecipeName()
     {
         return recipeName;
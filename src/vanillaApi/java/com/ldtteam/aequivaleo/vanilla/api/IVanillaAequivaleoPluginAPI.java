@@ -1,5 +1,6 @@
 package com.ldtteam.aequivaleo.vanilla.api;
 
+import com.ldtteam.aequivaleo.vanilla.api.recipe.container.IContainerItemRecipeRegistry;
 import com.ldtteam.aequivaleo.vanilla.api.tags.ITagEquivalencyRegistry;
 
 /**
@@ -25,6 +26,12 @@ public interface IVanillaAequivaleoPluginAPI
      */
     ITagEquivalencyRegistry getTagEquivalencyRegistry();
 
+    /**
+     * Gives access to a registry which generates filling and emptying recipes for container items, like buckets.
+     * @return The registry which handles container items.
+     */
+    IContainerItemRecipeRegistry getContainerItemRecipeRegistry();
+
     class Holder {
         private static IVanillaAequivaleoPluginAPI apiInstance;
 
@@ -0,0 +1,109 @@
+package com.ldtteam.aequivaleo.vanilla.api.recipe.container;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Describes a container item, like a bucket, which can be filled with a given amount of contents, like a fluid.
+ */
+public final class ContainerItemContents
+{
+    @NotNull
+    private final Object emptyContainer;
+    @NotNull
+    private final Object filledContainer;
+    @NotNull
+    private final Object contents;
+    private final double amount;
+
+    /**
+     * Creates a new description of a filled container item.
+     *
+     * @param emptyContainer The game object which represents the empty container, for example {@code Items.BUCKET}.
+     * @param filledContainer The game object which represents the filled container, for example {@code Items.WATER_BUCKET}.
+     * @param contents The game object which is contained, for example {@code Fluids.WATER}.
+     * @param amount The amount of contents in the filled container, for example {@code 1000}.
+     */
+    public ContainerItemContents(@NotNull final Object emptyContainer, @NotNull final Object filledContainer, @NotNull final Object contents, final double amount)
+    {
+        if (amount <= 0)
+            throw new IllegalArgumentException("The given amount has to be greater then 0");
+
+        this.emptyContainer = emptyContainer;
+        this.filledContainer = filledContainer;
+        this.contents = contents;
+        this.amount = amount;
+    }
+
+    @NotNull
+    public Object getEmptyContainer()
+    {
+        return emptyContainer;
+    }
+
+    @NotNull
+    public Object getFilledContainer()
+    {
+        return filledContainer;
+    }
+
+    @NotNull
+    public Object getContents()
+    {
+        return contents;
+    }
+
+    public double getAmount()
+    {
+        return amount;
+    }
+
+    @Override
+    public boolean equals(final Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+        if (!(o instanceof ContainerItemContents))
+        {
+            return false;
+        }
+
+        final ContainerItemContents that = (ContainerItemContents) o;
+
+        if (Double.compare(that.getAmount(), getAmount()) != 0)
+        {
+            return false;
+        }
+        if (!getEmptyContainer().equals(that.getEmptyContainer()))
+        {
+            return false;
+        }
+        if (!getFilledContainer().equals(that.getFilledContainer()))
+        {
+            return false;
+        }
+        return getContents().equals(that.getContents());
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int result = getEmptyContainer().hashCode();
+        result = 31 * result + getFilledContainer().hashCode();
+        result = 31 * result + getContents().hashCode();
+        result = 31 * result + Double.hashCode(getAmount());
+        return result;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ContainerItemContents{" +
+                 "emptyContainer=" + emptyContainer +
+                 ", filledContainer=" + filledContainer +
+                 ", contents=" + contents +
+                 ", amount=" + amount +
+                 '}';
+    }
+}
@@ -0,0 +1,44 @@
+package com.ldtteam.aequivaleo.vanilla.api.recipe.container;
+
+import com.ldtteam.aequivaleo.vanilla.api.IVanillaAequivaleoPluginAPI;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Registry for container items, like buckets, which can be filled and emptied.
+ * For each registered container item a filling and an emptying recipe is generated for all worlds during each reload.
+ */
+public interface IContainerItemRecipeRegistry
+{
+    /**
+     * Gives access to the current instance of the container item recipe registry.
+     *
+     * @return The container item recipe registry.
+     */
+    static IContainerItemRecipeRegistry getInstance() {
+        return IVanillaAequivaleoPluginAPI.getInstance().getContainerItemRecipeRegistry();
+    }
+
+    /**
+     * Adds all the given container items to the registry.
+     *
+     * @param containerItems The container items and their contents.
+     * @return The registry with the container items added.
+     */
+    IContainerItemRecipeRegistry registerAll(@NotNull final Collection<ContainerItemContents> containerItems);
+
+    /**
+     * Adds a single container item to the registry.
+     *
+     * @param emptyContainer The game object which represents the empty container.
+     * @param filledContainer The game object which represents the filled container.
+     * @param contents The game object which is contained.
+     * @param amount The amount of contents in the filled container.
+     * @return The registry with the container item added.
+     */
+    default IContainerItemRecipeRegistry register(@NotNull final Object emptyContainer, @NotNull final Object filledContainer, @NotNull final Object contents, final double amount) {
+        return registerAll(Collections.singleton(new ContainerItemContents(emptyContainer, filledContainer, contents, amount)));
+    }
+}
@@ -6,6 +6,11 @@ import net.minecraft.tags.Tag;
 /**
  * Represents an equivalency recipe that comes from a tag.
  *
+ * The analysis does not add these recipes to the recipe graph for most tags, the tag and its elements share a single
+ * node instead. Instances of this recipe are still passed to the callbacks of the compound type groups, like
+ * {@link com.ldtteam.aequivaleo.api.compound.type.group.ICompoundTypeGroup#canContributeToRecipeAsInput(IEquivalencyRecipe, com.ldtteam.aequivaleo.api.compound.CompoundInstance)},
+ * when a value passes between the tag and one of its elements.
+ *
  * @param <T> The type for the tag.
  * @see Tag
  */